@@ -0,0 +1,113 @@
+package com.studywala.backend.config;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.autoconfigure.web.embedded.TomcatVirtualThreadsWebServerFactoryCustomizer;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concurrent-request capacity of the embedded Tomcat with its default platform thread pool (200
+ * workers) versus the virtual-thread executor that {@code spring.threads.virtual.enabled} installs.
+ * Each request blocks for {@code blockingMillis}, standing in for a Mongo query or an OpenAI call,
+ * and one operation is a burst of {@code concurrency} simultaneous requests. Requests per second
+ * is {@code concurrency / score}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class VirtualThreadsLoadBenchmark {
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    @Param({"200", "1000"})
+    private int concurrency;
+
+    @Param({"200"})
+    private long blockingMillis;
+
+    private WebServer server;
+    private ExecutorService clientExecutor;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup
+    public void setUp() {
+        TomcatServletWebServerFactory factory = new TomcatServletWebServerFactory(0);
+        if ("virtual".equals(threads)) {
+            new TomcatVirtualThreadsWebServerFactoryCustomizer().customize(factory);
+        }
+        server = factory.getWebServer(context -> context.addServlet("blocking", new BlockingServlet(blockingMillis))
+                .addMapping("/*"));
+        server.start();
+
+        clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + "/plans")).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop();
+        clientExecutor.close();
+    }
+
+    @Benchmark
+    public int burst() {
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            responses[i] = client.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+        }
+        CompletableFuture.allOf(responses).join();
+        return responses.length;
+    }
+
+    private static class BlockingServlet extends HttpServlet {
+
+        private final long blockingMillis;
+
+        BlockingServlet(long blockingMillis) {
+            this.blockingMillis = blockingMillis;
+        }
+
+        @Override
+        protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            try {
+                Thread.sleep(blockingMillis);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            resp.getWriter().write("{}");
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.studywala.backend.service;
+
+import com.studywala.backend.model.Subject;
+import com.studywala.backend.model.Topic;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedules a full academic year (365 days, 6 hours a day) for 20 subjects with a growing number
+ * of topics. Plans are scheduled on the request thread, so even the 5000-topic case should stay
+ * well under 50 ms.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StudyPlanSchedulerBenchmark {
+
+    private static final LocalDate START = LocalDate.of(2024, 9, 1);
+
+    @Param({"100", "1000", "5000"})
+    private int topicCount;
+
+    private final StudyPlanScheduler scheduler = new StudyPlanScheduler(120, 30, new int[]{1, 3, 7, 14}, 730);
+    private List<Subject> subjects;
+    private List<Topic> topics;
+
+    @Setup
+    public void setUp() {
+        subjects = new ArrayList<>();
+        for (int s = 0; s < 20; s++) {
+            Subject subject = new Subject();
+            subject.setId("subject" + s);
+            subject.setPriority(s % 5);
+            subjects.add(subject);
+        }
+        topics = new ArrayList<>(topicCount);
+        for (int t = 0; t < topicCount; t++) {
+            Topic topic = new Topic();
+            topic.setId("topic" + t);
+            topic.setSubjectId("subject" + (t % 20));
+            topic.setEstimatedHours(1 + t % 6);
+            topic.setPriority(t % 3);
+            topics.add(topic);
+        }
+    }
+
+    @Benchmark
+    public StudyPlanScheduler.Schedule schedule() {
+        return scheduler.schedule(subjects, topics, START, START.plusDays(364), 6);
+    }
+}
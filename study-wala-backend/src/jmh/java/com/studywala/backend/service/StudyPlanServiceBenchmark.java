@@ -0,0 +1,75 @@
+package com.studywala.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studywala.backend.dto.StudyPlanRequest;
+import com.studywala.backend.mapper.StudyPlanMapper;
+import com.studywala.backend.model.StudyPlan;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The CPU-bound parts of plan creation: building the prompt (which is also the cache key input)
+ * and turning the model's answer into a {@link StudyPlan}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StudyPlanServiceBenchmark {
+
+    private static final String AI_RESPONSE = """
+            {"title":"Finals","description":"Four week revision","startDate":"2024-05-01","endDate":"2024-05-28",
+             "totalHours":84,"status":"ACTIVE",
+             "subjects":[{"id":"math","name":"Mathematics","color":"#3366ff","priority":3},
+                         {"id":"phys","name":"Physics","color":"#ff6633","priority":2}],
+             "topics":[{"id":"t1","name":"Integrals","subjectId":"math","estimatedHours":10,"priority":3},
+                       {"id":"t2","name":"Series","subjectId":"math","estimatedHours":8,"priority":2},
+                       {"id":"t3","name":"Optics","subjectId":"phys","estimatedHours":6,"priority":2},
+                       {"id":"t4","name":"Mechanics","subjectId":"phys","estimatedHours":12,"priority":3}]}
+            """;
+
+    private StudyPlanService studyPlanService;
+    private StudyPlanRequest request;
+
+    @Setup
+    public void setUp() {
+        studyPlanService = new StudyPlanService(null, null, new StudyPlanMapper(), null, null, null, null,
+                new ObjectMapper().findAndRegisterModules());
+        request = new StudyPlanRequest();
+        request.setTitle("Finals");
+        request.setDescription("Four week revision");
+        request.setSubjectIds(List.of("phys", "math", "chem", "bio"));
+        request.setStartDate(LocalDate.of(2024, 5, 1));
+        request.setEndDate(LocalDate.of(2024, 5, 28));
+        request.setHoursPerDay(3);
+
+        // Guards against timing a parser that returns an empty plan: results would look fast and mean nothing.
+        if (parseAIResponse().getTopics() == null) {
+            throw new IllegalStateException("parseAIResponse did not parse the sample response");
+        }
+    }
+
+    @Benchmark
+    public String createAIPrompt() {
+        return studyPlanService.createAIPrompt(request);
+    }
+
+    @Benchmark
+    public StudyPlan parseAIResponse() {
+        return studyPlanService.parseAIResponse(AI_RESPONSE);
+    }
+}
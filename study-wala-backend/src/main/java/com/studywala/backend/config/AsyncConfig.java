@@ -0,0 +1,91 @@
+package com.studywala.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    @Value("${app.study-plan-jobs.workers:4}")
+    private int workers;
+
+    @Value("${app.study-plan-jobs.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${app.study-plans.stream.max-connections:50}")
+    private int maxStreamConnections;
+
+    @Value("${app.quizzes.pool.workers:2}")
+    private int quizPoolWorkers;
+
+    @Value("${app.quizzes.pool.queue-capacity:200}")
+    private int quizPoolQueueCapacity;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Bean
+    public ThreadPoolTaskExecutor studyPlanJobExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("plan-job-");
+        useVirtualThreads(executor, "plan-job-");
+        // Carries the submitting request's trace into the job, so it shows up under that request.
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+        // Jobs are persisted, so anything still queued at shutdown is picked up again on the next start.
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Runs plan streams: each connection uses one thread to generate and one to write events, and
+     * there is no queue, so a stream either starts right away or is rejected.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor studyPlanStreamExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2 * maxStreamConnections);
+        executor.setMaxPoolSize(2 * maxStreamConnections);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("plan-stream-");
+        useVirtualThreads(executor, "plan-stream-");
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Builds quiz question pools in the background. Refills are not persisted: one lost to a full
+     * queue or a restart is requested again by the next quiz started on that topic.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor quizPoolExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(quizPoolWorkers);
+        executor.setMaxPoolSize(quizPoolWorkers);
+        executor.setQueueCapacity(quizPoolQueueCapacity);
+        executor.setThreadNamePrefix("quiz-pool-");
+        useVirtualThreads(executor, "quiz-pool-");
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * In virtual-thread mode the pools keep their size and queue limits, which are what cap
+     * concurrent AI calls and trigger 429s, but each worker is a virtual thread so a task blocked on
+     * Mongo or OpenAI does not hold a carrier thread.
+     */
+    private void useVirtualThreads(ThreadPoolTaskExecutor executor, String namePrefix) {
+        if (virtualThreads) {
+            executor.setThreadFactory(Thread.ofVirtual().name(namePrefix, 1).factory());
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.studywala.backend.config;
+
+import com.studywala.backend.dto.AIResponseCacheStats;
+import com.studywala.backend.resilience.CircuitBreaker;
+import com.studywala.backend.service.AIResponseCache;
+import com.studywala.backend.service.AIService;
+import com.studywala.backend.service.StudySessionService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Publishes the stats the OpenAI client, its circuit breaker, the AI response cache and the study
+ * session buffer already keep. Request, repository, JWT, hashing and AI call timings are recorded where they happen.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder aiClientMetrics(AIService aiService) {
+        return registry -> {
+            gauge(registry, "ai.client.calls.in-flight", aiService, s -> s.getClientStats().getInFlightCalls());
+            gauge(registry, "ai.client.calls.waiting", aiService, s -> s.getClientStats().getWaitingCalls());
+            gauge(registry, "ai.client.calls.max", aiService, s -> s.getClientStats().getMaxConcurrentCalls());
+            gauge(registry, "ai.client.connections.pooled", aiService, s -> s.getClientStats().getPooledConnections());
+            gauge(registry, "ai.client.connections.idle", aiService, s -> s.getClientStats().getIdleConnections());
+            counter(registry, "ai.client.calls.rejected", aiService, s -> s.getClientStats().getRejectedCalls());
+        };
+    }
+
+    @Bean
+    public MeterBinder aiResilienceMetrics(AIService aiService) {
+        return registry -> {
+            for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+                Gauge.builder("ai.circuit.state", aiService,
+                                s -> state.name().equals(s.getResilienceStats().getCircuitState()) ? 1 : 0)
+                        .tag("state", state.name().toLowerCase())
+                        .register(registry);
+            }
+            Gauge.builder("ai.circuit.failure-rate", aiService, s -> s.getResilienceStats().getFailureRate())
+                    .baseUnit("percent")
+                    .register(registry);
+            Gauge.builder("ai.attempt.timeout", aiService, s -> s.getResilienceStats().getAttemptTimeoutMs() / 1000.0)
+                    .baseUnit("seconds")
+                    .register(registry);
+            counter(registry, "ai.circuit.not-permitted", aiService, s -> s.getResilienceStats().getNotPermittedCalls());
+            counter(registry, "ai.retries", aiService, s -> s.getResilienceStats().getRetries());
+            counter(registry, "ai.hedges", aiService, s -> s.getResilienceStats().getHedgedCalls());
+            counter(registry, "ai.hedges.won", aiService, s -> s.getResilienceStats().getHedgeWins());
+            counter(registry, "ai.attempt.timeouts", aiService, s -> s.getResilienceStats().getAttemptTimeouts());
+        };
+    }
+
+    @Bean
+    public MeterBinder aiResponseCacheMetrics(AIResponseCache cache) {
+        return registry -> {
+            gauge(registry, "ai.cache.size", cache, c -> c.getStats().getSize());
+            counter(registry, "ai.cache.evictions", cache, c -> c.getStats().getEvictions());
+            cacheCounter(registry, cache, "memory", "hit", AIResponseCacheStats::getMemoryHits);
+            cacheCounter(registry, cache, "memory", "miss", AIResponseCacheStats::getMemoryMisses);
+            cacheCounter(registry, cache, "persistent", "hit", AIResponseCacheStats::getPersistentHits);
+            cacheCounter(registry, cache, "persistent", "miss", AIResponseCacheStats::getPersistentMisses);
+        };
+    }
+
+    @Bean
+    public MeterBinder studySessionMetrics(StudySessionService studySessionService) {
+        return registry -> gauge(registry, "study-sessions.buffered", studySessionService,
+                StudySessionService::getBufferedCount);
+    }
+
+    private static <T> void gauge(MeterRegistry registry, String name, T source,
+                                  ToDoubleFunction<T> value) {
+        Gauge.builder(name, source, value).register(registry);
+    }
+
+    private static <T> void counter(MeterRegistry registry, String name, T source,
+                                    ToLongFunction<T> value) {
+        FunctionCounter.builder(name, source, value::applyAsLong).register(registry);
+    }
+
+    private static void cacheCounter(MeterRegistry registry, AIResponseCache cache,
+                                     String tier, String result, ToLongFunction<AIResponseCacheStats> value) {
+        FunctionCounter.builder("ai.cache.requests", cache, c -> value.applyAsLong(c.getStats()))
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,145 @@
+package com.studywala.backend.config;
+
+import com.mongodb.MongoException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates the indexes declared with {@code @Indexed}/{@code @CompoundIndex} on the mapped documents
+ * once the application is ready, and logs declared indexes that are missing and existing indexes
+ * that {@code $indexStats} reports as never used. Spring Data's own auto index creation stays off
+ * so a failing index build (e.g. duplicates under a new unique index) is logged instead of
+ * aborting startup.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MongoIndexManager {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.mongo.indexes.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.mongo.indexes.ensure-on-startup:true}")
+    private boolean ensureOnStartup;
+
+    @Value("${app.mongo.indexes.report-unused:true}")
+    private boolean reportUnused;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void manageIndexes() {
+        if (!enabled) {
+            return;
+        }
+        declaredIndexes().forEach((collection, definitions) -> {
+            try {
+                List<Document> existing = mongoTemplate.getCollection(collection).listIndexes().into(new ArrayList<>());
+                for (IndexDefinition definition : definitions) {
+                    if (existing.stream().noneMatch(index -> sameKeys(index.get("key", Document.class), definition.getIndexKeys()))) {
+                        ensure(collection, definition);
+                    }
+                }
+                if (reportUnused) {
+                    reportUnusedIndexes(collection);
+                }
+            } catch (DataAccessException | MongoException ex) {
+                log.error("Could not manage indexes of {}: {}", collection, ex.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Index definitions declared on top-level fields of each mapped collection. Definitions the
+     * resolver derives from embedded types (the subject/topic snapshots inside a study plan) are
+     * skipped: those snapshots are never queried on their own.
+     */
+    Map<String, List<IndexDefinition>> declaredIndexes() {
+        MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext =
+                mongoTemplate.getConverter().getMappingContext();
+        MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+
+        Map<String, List<IndexDefinition>> indexes = new LinkedHashMap<>();
+        for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+            if (!entity.isAnnotationPresent(org.springframework.data.mongodb.core.mapping.Document.class)) {
+                continue;
+            }
+            for (IndexDefinition definition : resolver.resolveIndexFor(entity.getTypeInformation())) {
+                if (definition.getIndexKeys().keySet().stream().noneMatch(key -> key.contains("."))) {
+                    indexes.computeIfAbsent(entity.getCollection(), name -> new ArrayList<>()).add(definition);
+                }
+            }
+        }
+        return indexes;
+    }
+
+    private void ensure(String collection, IndexDefinition definition) {
+        if (!ensureOnStartup) {
+            log.warn("Missing index {} on {}", definition.getIndexKeys().toJson(), collection);
+            return;
+        }
+        try {
+            String name = mongoTemplate.indexOps(collection).ensureIndex(definition);
+            log.info("Created index {} on {}", name, collection);
+        } catch (DataAccessException ex) {
+            log.error("Could not create index {} on {}: {}", definition.getIndexKeys().toJson(), collection, ex.getMessage());
+        }
+    }
+
+    private void reportUnusedIndexes(String collection) {
+        List<Document> stats = mongoTemplate.getCollection(collection)
+                .aggregate(List.of(new Document("$indexStats", new Document())))
+                .into(new ArrayList<>());
+        for (Document index : stats) {
+            Document accesses = index.get("accesses", Document.class);
+            if (accesses == null || "_id_".equals(index.getString("name"))) {
+                continue;
+            }
+            if (((Number) accesses.get("ops")).longValue() == 0) {
+                log.info("Index {} on {} has not been used since {}", index.getString("name"), collection,
+                        accesses.get("since", Date.class));
+            }
+        }
+    }
+
+    // Key order matters for compound indexes and the server may hand directions back as doubles.
+    static boolean sameKeys(Document existing, Document declared) {
+        if (existing == null || existing.size() != declared.size()) {
+            return false;
+        }
+        List<String> existingFields = new ArrayList<>(existing.keySet());
+        List<String> declaredFields = new ArrayList<>(declared.keySet());
+        if (!existingFields.equals(declaredFields)) {
+            return false;
+        }
+        for (String field : declaredFields) {
+            Object a = existing.get(field);
+            Object b = declared.get(field);
+            boolean equal = a instanceof Number x && b instanceof Number y
+                    ? x.intValue() == y.intValue()
+                    : String.valueOf(a).equals(String.valueOf(b));
+            if (!equal) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,199 @@
+package com.studywala.backend.config;
+
+import com.studywala.backend.resilience.ResilienceSettings;
+import com.studywala.backend.resilience.ResilientCaller;
+import com.studywala.backend.service.AIService;
+import com.theokanning.openai.client.OpenAiApi;
+import com.theokanning.openai.service.OpenAiService;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import retrofit2.Retrofit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Builds the single OpenAI client shared by the application. The OkHttp client owns the
+ * connection pool and dispatcher threads, so it must be created once and reused for every call.
+ */
+@Configuration
+public class OpenAiClientConfig {
+
+    @Value("${openai.api.key}")
+    private String openAiApiKey;
+
+    @Value("${openai.base-url:https://api.openai.com/v1/}")
+    private String baseUrl;
+
+    @Value("${openai.timeout.seconds:60}")
+    private long timeoutSeconds;
+
+    @Value("${openai.client.connect-timeout-ms:10000}")
+    private long connectTimeoutMs;
+
+    @Value("${openai.client.max-idle-connections:10}")
+    private int maxIdleConnections;
+
+    @Value("${openai.client.keep-alive-seconds:300}")
+    private long keepAliveSeconds;
+
+    @Value("${openai.client.max-concurrent-calls:20}")
+    private int maxConcurrentCalls;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${openai.resilience.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${openai.resilience.backoff.initial:PT0.5S}")
+    private Duration backoffInitial;
+
+    @Value("${openai.resilience.backoff.max:PT5S}")
+    private Duration backoffMax;
+
+    @Value("${openai.resilience.total-budget:PT90S}")
+    private Duration totalBudget;
+
+    @Value("${openai.resilience.timeout.min:PT10S}")
+    private Duration attemptTimeoutMin;
+
+    @Value("${openai.resilience.timeout.max:PT60S}")
+    private Duration attemptTimeoutMax;
+
+    @Value("${openai.resilience.timeout.p99-multiplier:2.0}")
+    private double attemptTimeoutMultiplier;
+
+    @Value("${openai.resilience.latency.window:PT5M}")
+    private Duration latencyWindow;
+
+    @Value("${openai.resilience.latency.min-samples:20}")
+    private long minLatencySamples;
+
+    @Value("${openai.resilience.hedge.enabled:false}")
+    private boolean hedgeEnabled;
+
+    @Value("${openai.resilience.hedge.min-delay:PT2S}")
+    private Duration hedgeMinDelay;
+
+    @Value("${openai.resilience.breaker.window-size:20}")
+    private int breakerWindowSize;
+
+    @Value("${openai.resilience.breaker.minimum-calls:10}")
+    private int breakerMinimumCalls;
+
+    @Value("${openai.resilience.breaker.failure-rate-threshold:50}")
+    private double breakerFailureRateThreshold;
+
+    @Value("${openai.resilience.breaker.open-duration:PT30S}")
+    private Duration breakerOpenDuration;
+
+    @Value("${openai.resilience.breaker.half-open-calls:2}")
+    private int breakerHalfOpenCalls;
+
+    @Bean
+    public OkHttpClient openAiHttpClient() {
+        Dispatcher dispatcher = new Dispatcher(dispatcherExecutor());
+        dispatcher.setMaxRequests(maxConcurrentCalls);
+        dispatcher.setMaxRequestsPerHost(maxConcurrentCalls);
+
+        // defaultClient installs the bearer-token interceptor; we only tune the transport.
+        return OpenAiService.defaultClient(openAiApiKey, Duration.ofSeconds(timeoutSeconds))
+                .newBuilder()
+                .connectionPool(new ConnectionPool(maxIdleConnections, keepAliveSeconds, TimeUnit.SECONDS))
+                .dispatcher(dispatcher)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .readTimeout(Duration.ofSeconds(timeoutSeconds))
+                .writeTimeout(Duration.ofSeconds(timeoutSeconds))
+                .callTimeout(Duration.ofSeconds(timeoutSeconds))
+                .build();
+    }
+
+    @Bean(destroyMethod = "shutdownExecutor")
+    public OpenAiService openAiService(OkHttpClient openAiHttpClient) {
+        // OpenAiApi paths are absolute (/v1/...), so only the scheme, host and port of the base URL apply.
+        HttpUrl root = HttpUrl.get(baseUrl).newBuilder().encodedPath("/").build();
+        Retrofit retrofit = OpenAiService.defaultRetrofit(openAiHttpClient, OpenAiService.defaultObjectMapper())
+                .newBuilder()
+                .baseUrl(root)
+                .build();
+        return new OpenAiService(retrofit.create(OpenAiApi.class), openAiHttpClient.dispatcher().executorService());
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ResilientCaller openAiCaller() {
+        ResilienceSettings settings = ResilienceSettings.builder()
+                .maxAttempts(maxAttempts)
+                .backoffInitial(backoffInitial)
+                .backoffMax(backoffMax)
+                .totalBudget(totalBudget)
+                .attemptTimeoutMin(attemptTimeoutMin)
+                .attemptTimeoutMax(attemptTimeoutMax)
+                .attemptTimeoutMultiplier(attemptTimeoutMultiplier)
+                .latencyWindow(latencyWindow)
+                .minLatencySamples(minLatencySamples)
+                .hedgeEnabled(hedgeEnabled)
+                .hedgeMinDelay(hedgeMinDelay)
+                .breakerWindowSize(breakerWindowSize)
+                .breakerMinimumCalls(breakerMinimumCalls)
+                .breakerFailureRateThreshold(breakerFailureRateThreshold)
+                .breakerOpenDuration(breakerOpenDuration)
+                .breakerHalfOpenCalls(breakerHalfOpenCalls)
+                .build();
+        // Attempts run under the caller's trace, so retries and hedges appear inside the ai.requests span.
+        ExecutorService executor = ContextExecutorService.wrap(attemptExecutor(),
+                ContextSnapshotFactory.builder().build()::captureAll);
+        return new ResilientCaller("AI service", settings, executor, AIService::isTransientFailure);
+    }
+
+    // Each caller runs at most two attempts at once, and every attempt takes an AIService permit
+    // before calling out, so the pool is bounded by the request threads rather than by its own size.
+    private ExecutorService attemptExecutor() {
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("openai-call-", 1).factory());
+        }
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "openai-call-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ThreadPoolExecutor(0, Integer.MAX_VALUE, keepAliveSeconds, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), threadFactory);
+    }
+
+    private ExecutorService dispatcherExecutor() {
+        if (virtualThreads) {
+            // The dispatcher already caps in-flight calls, so one virtual thread per call is enough.
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("openai-dispatcher-", 1).factory());
+        }
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "openai-dispatcher-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        // The dispatcher itself caps in-flight async calls, so the pool never needs more threads than that.
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                maxConcurrentCalls, maxConcurrentCalls,
+                keepAliveSeconds, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -0,0 +1,77 @@
+package com.studywala.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.theokanning.openai.service.OpenAiService;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Non-blocking OpenAI client for the reactive stack. The connection pool plays the role of the
+ * servlet stack's call permits: at most {@code max-concurrent-calls} requests are in flight and a
+ * caller that cannot get a connection within {@code acquire-timeout-ms} fails instead of queueing.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveOpenAiClientConfig {
+
+    @Value("${openai.api.key}")
+    private String openAiApiKey;
+
+    @Value("${openai.base-url:https://api.openai.com/v1/}")
+    private String baseUrl;
+
+    @Value("${openai.timeout.seconds:60}")
+    private long timeoutSeconds;
+
+    @Value("${openai.client.connect-timeout-ms:10000}")
+    private int connectTimeoutMs;
+
+    @Value("${openai.client.keep-alive-seconds:300}")
+    private long keepAliveSeconds;
+
+    @Value("${openai.client.max-concurrent-calls:20}")
+    private int maxConcurrentCalls;
+
+    @Value("${openai.client.acquire-timeout-ms:2000}")
+    private long acquireTimeoutMs;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider openAiConnectionProvider() {
+        return ConnectionProvider.builder("openai")
+                .maxConnections(maxConcurrentCalls)
+                .pendingAcquireTimeout(Duration.ofMillis(acquireTimeoutMs))
+                .maxIdleTime(Duration.ofSeconds(keepAliveSeconds))
+                .build();
+    }
+
+    @Bean
+    public WebClient openAiWebClient(ConnectionProvider openAiConnectionProvider) {
+        HttpClient httpClient = HttpClient.create(openAiConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofSeconds(timeoutSeconds));
+        // The OpenAI model classes rely on the library's snake_case mapper.
+        ObjectMapper mapper = OpenAiService.defaultObjectMapper();
+        return WebClient.builder()
+                .baseUrl(baseUrl)
+                .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + openAiApiKey)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(mapper, MediaType.APPLICATION_JSON));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(mapper, MediaType.APPLICATION_JSON));
+                })
+                .build();
+    }
+}
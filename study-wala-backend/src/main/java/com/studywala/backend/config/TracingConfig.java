@@ -0,0 +1,26 @@
+package com.studywala.backend.config;
+
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.observability.ContextProviderFactory;
+import org.springframework.data.mongodb.observability.MongoObservationCommandListener;
+
+/**
+ * Traces every Mongo command (repository queries, saves and reference lookups) as a child of the
+ * current request or job span. Spans are exported over OTLP when
+ * {@code management.otlp.tracing.endpoint} is set.
+ */
+@Configuration
+public class TracingConfig {
+
+    // Applies to both the blocking and the reactive client; the context provider finds the parent
+    // span in the thread-local scope or in the Reactor context respectively.
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoObservationCustomizer(ObservationRegistry observationRegistry) {
+        return settings -> settings
+                .contextProvider(ContextProviderFactory.create(observationRegistry))
+                .addCommandListener(new MongoObservationCommandListener(observationRegistry));
+    }
+}
@@ -1,13 +1,21 @@
 package com.studywala.backend.config;
 
+import com.studywala.backend.ratelimit.AiRateLimitInterceptor;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+    private final AiRateLimitInterceptor aiRateLimitInterceptor;
+
     @Value("${cors.allowed-origins}")
     private String[] allowedOrigins;
 
@@ -22,4 +30,9 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedHeaders("*")
                 .allowCredentials(true);
     }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(aiRateLimitInterceptor).addPathPatterns("/api/study-plans/**");
+    }
 }
@@ -6,21 +6,34 @@ import com.studywala.backend.dto.SignUpRequest;
 import com.studywala.backend.model.User;
 import com.studywala.backend.repository.UserRepository;
 import com.studywala.backend.security.JwtTokenProvider;
+import com.studywala.backend.security.JwtValidationResult;
+import com.studywala.backend.security.LoginAttemptThrottle;
+import com.studywala.backend.security.TokenRevocationService;
+import com.studywala.backend.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
 @RequestMapping("/api/auth")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 public class AuthController {
 
@@ -28,19 +41,34 @@ public class AuthController {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider tokenProvider;
+    private final TokenRevocationService tokenRevocationService;
+    private final LoginAttemptThrottle loginAttemptThrottle;
 
     @PostMapping("/login")
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        loginRequest.getUsernameOrEmail(),
-                        loginRequest.getPassword()
-                )
-        );
+    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest,
+                                              HttpServletRequest request) {
+        String account = loginRequest.getUsernameOrEmail();
+        String clientIp = request.getRemoteAddr();
+        // Refuse throttled accounts and clients before BCrypt is paid for.
+        loginAttemptThrottle.checkAllowed(account, clientIp);
+
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            account,
+                            loginRequest.getPassword()
+                    )
+            );
+        } catch (BadCredentialsException ex) {
+            loginAttemptThrottle.recordFailure(account, clientIp);
+            throw ex;
+        }
+        loginAttemptThrottle.recordSuccess(account);
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
         String jwt = tokenProvider.generateToken(authentication);
-        User user = (User) authentication.getPrincipal();
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
 
         return ResponseEntity.ok(AuthResponse.builder()
                 .accessToken(jwt)
@@ -49,6 +77,41 @@ public class AuthController {
                 .build());
     }
 
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = "Authorization", required = false) String authorization) {
+        if (StringUtils.hasText(authorization) && authorization.startsWith("Bearer ")) {
+            JwtValidationResult result = tokenProvider.parseAndValidate(authorization.substring(7));
+            if (result.isValid()) {
+                tokenRevocationService.revoke(result.getClaims());
+            }
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Signs the user out on every device by revoking all tokens issued to them so far.
+     */
+    @PostMapping("/logout-all")
+    public ResponseEntity<Void> logoutAll(@RequestHeader(value = "Authorization", required = false) String authorization) {
+        if (StringUtils.hasText(authorization) && authorization.startsWith("Bearer ")) {
+            JwtValidationResult result = tokenProvider.parseAndValidate(authorization.substring(7));
+            String userId = result.isValid() ? userIdOf(result.getClaims()) : null;
+            if (userId != null) {
+                tokenRevocationService.revokeAllForUser(userId);
+                return ResponseEntity.noContent().build();
+            }
+        }
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+    }
+
+    // Tokens minted before identity claims existed still need the user lookup.
+    private String userIdOf(Claims claims) {
+        UserPrincipal principal = tokenProvider.getUserPrincipal(claims);
+        return principal != null
+                ? principal.getId()
+                : userRepository.findByUsername(claims.getSubject()).map(User::getId).orElse(null);
+    }
+
     @PostMapping("/signup")
     public ResponseEntity<?> registerUser(@Valid @RequestBody SignUpRequest signUpRequest) {
         if (userRepository.existsByUsername(signUpRequest.getUsername())) {
@@ -64,7 +127,16 @@ public class AuthController {
         user.setEmail(signUpRequest.getEmail());
         user.setPassword(passwordEncoder.encode(signUpRequest.getPassword()));
 
-        userRepository.save(user);
+        // The checks above are only a fast path; the unique indexes on username and email
+        // reject concurrent sign-ups that both got past them.
+        try {
+            userRepository.save(user);
+        } catch (DuplicateKeyException ex) {
+            // The winning sign-up is stored by now, so a second look tells which field collided.
+            return ResponseEntity.badRequest().body(userRepository.existsByEmail(signUpRequest.getEmail())
+                    ? "Error: Email is already in use!"
+                    : "Error: Username is already taken!");
+        }
 
         return ResponseEntity.ok("User registered successfully!");
     }
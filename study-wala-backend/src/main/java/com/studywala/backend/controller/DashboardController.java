@@ -0,0 +1,30 @@
+package com.studywala.backend.controller;
+
+import com.studywala.backend.dto.DashboardResponse;
+import com.studywala.backend.service.UserStudyStatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.security.Principal;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+@Tag(name = "Dashboard", description = "APIs for study progress analytics")
+public class DashboardController {
+
+    private final UserStudyStatsService userStudyStatsService;
+
+    @GetMapping
+    @Operation(summary = "Get study totals, streaks, plan progress and history of the current user")
+    public ResponseEntity<DashboardResponse> getDashboard(Principal principal) {
+        return ResponseEntity.ok(userStudyStatsService.getDashboard(principal.getName()));
+    }
+}
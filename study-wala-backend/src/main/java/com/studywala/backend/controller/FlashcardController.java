@@ -0,0 +1,59 @@
+package com.studywala.backend.controller;
+
+import com.studywala.backend.dto.FlashcardRequest;
+import com.studywala.backend.dto.FlashcardResponse;
+import com.studywala.backend.dto.FlashcardReviewBatchRequest;
+import com.studywala.backend.dto.ReviewLogResponse;
+import com.studywala.backend.service.FlashcardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/flashcards")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+@Tag(name = "Flashcards", description = "APIs for spaced-repetition flashcards")
+public class FlashcardController {
+
+    private final FlashcardService flashcardService;
+
+    @PostMapping
+    @Operation(summary = "Create a flashcard for a topic")
+    public ResponseEntity<FlashcardResponse> createFlashcard(
+            @Valid @RequestBody FlashcardRequest request,
+            Principal principal) {
+        return ResponseEntity.ok(flashcardService.createFlashcard(request, principal.getName()));
+    }
+
+    @GetMapping("/due")
+    @Operation(summary = "Get the flashcards that are due for review, most overdue first")
+    public ResponseEntity<List<FlashcardResponse>> getDueFlashcards(
+            @RequestParam(defaultValue = "50") int limit,
+            Principal principal) {
+        return ResponseEntity.ok(flashcardService.getDueFlashcards(principal.getName(), limit));
+    }
+
+    @PostMapping("/reviews")
+    @Operation(summary = "Submit a batch of graded reviews")
+    public ResponseEntity<List<FlashcardResponse>> submitReviews(
+            @Valid @RequestBody FlashcardReviewBatchRequest request,
+            Principal principal) {
+        return ResponseEntity.ok(flashcardService.submitReviews(request.getReviews(), principal.getName()));
+    }
+
+    @GetMapping("/{id}/reviews")
+    @Operation(summary = "Get the review history of a flashcard")
+    public ResponseEntity<List<ReviewLogResponse>> getReviewHistory(
+            @PathVariable String id,
+            Principal principal) {
+        return ResponseEntity.ok(flashcardService.getReviewHistory(id, principal.getName()));
+    }
+}
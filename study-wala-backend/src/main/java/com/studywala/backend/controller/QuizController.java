@@ -0,0 +1,59 @@
+package com.studywala.backend.controller;
+
+import com.studywala.backend.dto.QuizRequest;
+import com.studywala.backend.dto.QuizResponse;
+import com.studywala.backend.dto.QuizSubmission;
+import com.studywala.backend.service.QuizService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+
+@RestController
+@RequestMapping("/api/quizzes")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+@Tag(name = "Quizzes", description = "APIs for topic quizzes")
+public class QuizController {
+
+    private final QuizService quizService;
+
+    @PostMapping
+    @Operation(summary = "Start a quiz sampled from a topic's question pool")
+    public ResponseEntity<QuizResponse> startQuiz(
+            @Valid @RequestBody QuizRequest request,
+            Principal principal) {
+        return ResponseEntity.ok(quizService.startQuiz(request, principal.getName()));
+    }
+
+    @PostMapping("/pools/{topicId}")
+    @Operation(summary = "Queue a background build of a topic's question pool")
+    public ResponseEntity<Void> requestPool(
+            @PathVariable String topicId,
+            Principal principal) {
+        quizService.requestPool(topicId, principal.getName());
+        return ResponseEntity.accepted().build();
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get a quiz; answers are included once it has been submitted")
+    public ResponseEntity<QuizResponse> getQuiz(
+            @PathVariable String id,
+            Principal principal) {
+        return ResponseEntity.ok(quizService.getQuiz(id, principal.getName()));
+    }
+
+    @PostMapping("/{id}/submission")
+    @Operation(summary = "Submit the answers of a quiz and get it graded")
+    public ResponseEntity<QuizResponse> submitQuiz(
+            @PathVariable String id,
+            @Valid @RequestBody QuizSubmission submission,
+            Principal principal) {
+        return ResponseEntity.ok(quizService.submitQuiz(id, submission, principal.getName()));
+    }
+}
@@ -0,0 +1,145 @@
+package com.studywala.backend.controller;
+
+import com.studywala.backend.dto.AuthResponse;
+import com.studywala.backend.dto.LoginRequest;
+import com.studywala.backend.dto.SignUpRequest;
+import com.studywala.backend.model.User;
+import com.studywala.backend.repository.ReactiveUserRepository;
+import com.studywala.backend.security.JwtTokenProvider;
+import com.studywala.backend.security.JwtValidationResult;
+import com.studywala.backend.security.LoginAttemptThrottle;
+import com.studywala.backend.security.TokenRevocationService;
+import com.studywala.backend.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.InetSocketAddress;
+
+@RestController
+@RequestMapping("/api/auth")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveAuthController {
+
+    private final ReactiveAuthenticationManager authenticationManager;
+    private final ReactiveUserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JwtTokenProvider tokenProvider;
+    private final TokenRevocationService tokenRevocationService;
+    private final LoginAttemptThrottle loginAttemptThrottle;
+
+    @PostMapping("/login")
+    public Mono<ResponseEntity<?>> authenticateUser(@Valid @RequestBody LoginRequest loginRequest,
+                                                    ServerHttpRequest request) {
+        String account = loginRequest.getUsernameOrEmail();
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        String clientIp = remoteAddress == null ? null : remoteAddress.getHostString();
+        return Mono.defer(() -> {
+                    // Refuse throttled accounts and clients before BCrypt is paid for.
+                    loginAttemptThrottle.checkAllowed(account, clientIp);
+                    return authenticationManager.authenticate(
+                            new UsernamePasswordAuthenticationToken(account, loginRequest.getPassword()));
+                })
+                .doOnError(BadCredentialsException.class, ex -> loginAttemptThrottle.recordFailure(account, clientIp))
+                .doOnNext(authentication -> loginAttemptThrottle.recordSuccess(account))
+                .map(authentication -> {
+                    UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
+                    return ResponseEntity.ok(AuthResponse.builder()
+                            .accessToken(tokenProvider.generateToken(authentication))
+                            .username(user.getUsername())
+                            .email(user.getEmail())
+                            .build());
+                });
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = "Authorization", required = false) String authorization) {
+        if (StringUtils.hasText(authorization) && authorization.startsWith("Bearer ")) {
+            JwtValidationResult result = tokenProvider.parseAndValidate(authorization.substring(7));
+            if (result.isValid()) {
+                tokenRevocationService.revoke(result.getClaims());
+            }
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Signs the user out on every device by revoking all tokens issued to them so far.
+     */
+    @PostMapping("/logout-all")
+    public Mono<ResponseEntity<Void>> logoutAll(@RequestHeader(value = "Authorization", required = false) String authorization) {
+        if (!StringUtils.hasText(authorization) || !authorization.startsWith("Bearer ")) {
+            return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+        }
+        JwtValidationResult result = tokenProvider.parseAndValidate(authorization.substring(7));
+        if (!result.isValid()) {
+            return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+        }
+        return userIdOf(result.getClaims())
+                .map(userId -> {
+                    tokenRevocationService.revokeAllForUser(userId);
+                    return ResponseEntity.noContent().<Void>build();
+                })
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+    }
+
+    // Tokens minted before identity claims existed still need the user lookup.
+    private Mono<String> userIdOf(Claims claims) {
+        UserPrincipal principal = tokenProvider.getUserPrincipal(claims);
+        return principal != null
+                ? Mono.just(principal.getId())
+                : userRepository.findByUsername(claims.getSubject()).map(User::getId);
+    }
+
+    @PostMapping("/signup")
+    public Mono<ResponseEntity<?>> registerUser(@Valid @RequestBody SignUpRequest signUpRequest) {
+        return userRepository.existsByUsername(signUpRequest.getUsername()).flatMap(usernameTaken -> {
+            if (usernameTaken) {
+                return Mono.just(ResponseEntity.badRequest().body("Error: Username is already taken!"));
+            }
+            return userRepository.existsByEmail(signUpRequest.getEmail()).flatMap(emailTaken -> {
+                if (emailTaken) {
+                    return Mono.just(ResponseEntity.badRequest().body("Error: Email is already in use!"));
+                }
+                return register(signUpRequest);
+            });
+        });
+    }
+
+    private Mono<ResponseEntity<?>> register(SignUpRequest signUpRequest) {
+        // BCrypt is deliberately slow, so hash off the event loop.
+        return Mono.fromCallable(() -> passwordEncoder.encode(signUpRequest.getPassword()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(hash -> {
+                    User user = new User();
+                    user.setUsername(signUpRequest.getUsername());
+                    user.setEmail(signUpRequest.getEmail());
+                    user.setPassword(hash);
+                    return userRepository.save(user);
+                })
+                .<ResponseEntity<?>>map(saved -> ResponseEntity.ok("User registered successfully!"))
+                // The unique indexes on username and email reject concurrent sign-ups that both passed the checks.
+                .onErrorResume(DuplicateKeyException.class, ex -> userRepository.existsByEmail(signUpRequest.getEmail())
+                        .map(emailTaken -> ResponseEntity.badRequest().body(emailTaken
+                                ? "Error: Email is already in use!"
+                                : "Error: Username is already taken!")));
+    }
+}
@@ -0,0 +1,97 @@
+package com.studywala.backend.controller;
+
+import com.studywala.backend.dto.CursorPage;
+import com.studywala.backend.dto.StudyPlanRequest;
+import com.studywala.backend.dto.StudyPlanResponse;
+import com.studywala.backend.dto.StudyPlanSummary;
+import com.studywala.backend.service.ReactiveStudyPlanService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.security.Principal;
+
+/**
+ * The study plan API on the reactive stack. Same paths and payloads as {@link StudyPlanController};
+ * background jobs ({@code ?async=true}, {@code /jobs/{id}}) are servlet-only.
+ */
+@RestController
+@RequestMapping("/api/study-plans")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+@Tag(name = "Study Plans", description = "APIs for managing study plans")
+public class ReactiveStudyPlanController {
+
+    private final ReactiveStudyPlanService studyPlanService;
+
+    @PostMapping
+    @Operation(summary = "Create a new study plan")
+    public Mono<ResponseEntity<StudyPlanResponse>> createStudyPlan(
+            @Valid @RequestBody StudyPlanRequest request,
+            Principal principal) {
+        return studyPlanService.createStudyPlan(request, principal.getName()).map(ResponseEntity::ok);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Generate a study plan with AI and stream its progress as server-sent events")
+    public Flux<ServerSentEvent<Object>> streamStudyPlan(
+            @Valid @ModelAttribute StudyPlanRequest request,
+            Principal principal) {
+        return studyPlanService.streamStudyPlan(request, principal.getName());
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get a study plan by ID")
+    public Mono<ResponseEntity<StudyPlanResponse>> getStudyPlan(
+            @PathVariable String id,
+            Principal principal) {
+        return studyPlanService.getStudyPlan(id, principal.getName()).map(ResponseEntity::ok);
+    }
+
+    @GetMapping
+    @Operation(summary = "Get all study plans for the current user")
+    public Flux<StudyPlanResponse> getUserStudyPlans(Principal principal) {
+        return studyPlanService.getUserStudyPlans(principal.getName());
+    }
+
+    @GetMapping("/page")
+    @Operation(summary = "Get a page of the current user's study plans, ordered by id")
+    public Mono<ResponseEntity<CursorPage<StudyPlanResponse>>> getUserStudyPlansPage(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int limit,
+            Principal principal) {
+        return studyPlanService.getUserStudyPlansPage(principal.getName(), after, limit).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/summaries")
+    @Operation(summary = "Get a page of study plan summaries without subjects and topics")
+    public Mono<ResponseEntity<CursorPage<StudyPlanSummary>>> getUserStudyPlanSummaries(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int limit,
+            Principal principal) {
+        return studyPlanService.getUserStudyPlanSummaries(principal.getName(), after, limit).map(ResponseEntity::ok);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Stream all study plans of the current user as a JSON array")
+    public Flux<StudyPlanResponse> exportStudyPlans(Principal principal) {
+        return studyPlanService.streamUserStudyPlans(principal.getName());
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Delete a study plan")
+    public Mono<ResponseEntity<Void>> deleteStudyPlan(
+            @PathVariable String id,
+            Principal principal) {
+        return studyPlanService.deleteStudyPlan(id, principal.getName())
+                .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+}
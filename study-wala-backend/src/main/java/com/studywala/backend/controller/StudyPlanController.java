@@ -1,27 +1,48 @@
 package com.studywala.backend.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studywala.backend.dto.CursorPage;
+import com.studywala.backend.dto.StudyPlanJobResponse;
 import com.studywala.backend.dto.StudyPlanRequest;
 import com.studywala.backend.dto.StudyPlanResponse;
+import com.studywala.backend.dto.StudyPlanSummary;
+import com.studywala.backend.ratelimit.AiRateLimited;
+import com.studywala.backend.service.StudyPlanJobService;
 import com.studywala.backend.service.StudyPlanService;
+import com.studywala.backend.service.StudyPlanStreamService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.net.URI;
 import java.security.Principal;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/study-plans")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 @Tag(name = "Study Plans", description = "APIs for managing study plans")
 public class StudyPlanController {
 
     private final StudyPlanService studyPlanService;
+    private final StudyPlanJobService studyPlanJobService;
+    private final StudyPlanStreamService studyPlanStreamService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
+    @AiRateLimited(onlyWithEnrichment = true)
     @Operation(summary = "Create a new study plan")
     public ResponseEntity<StudyPlanResponse> createStudyPlan(
             @Valid @RequestBody StudyPlanRequest request,
@@ -30,6 +51,37 @@ public class StudyPlanController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping(params = "async=true")
+    @AiRateLimited(onlyWithEnrichment = true)
+    @Operation(summary = "Queue a study plan for background generation")
+    public ResponseEntity<StudyPlanJobResponse> createStudyPlanAsync(
+            @Valid @RequestBody StudyPlanRequest request,
+            Principal principal) {
+        StudyPlanJobResponse job = studyPlanJobService.submit(request, principal.getName());
+        URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/study-plans/jobs/{id}")
+                .buildAndExpand(job.getId())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(job);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @AiRateLimited
+    @Operation(summary = "Generate a study plan with AI and stream its progress as server-sent events")
+    public SseEmitter streamStudyPlan(
+            @Valid @ModelAttribute StudyPlanRequest request,
+            Principal principal) {
+        return studyPlanStreamService.stream(request, principal.getName());
+    }
+
+    @GetMapping("/jobs/{id}")
+    @Operation(summary = "Get the status of a study plan generation job")
+    public ResponseEntity<StudyPlanJobResponse> getStudyPlanJob(
+            @PathVariable String id,
+            Principal principal) {
+        return ResponseEntity.ok(studyPlanJobService.getJob(id, principal.getName()));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get a study plan by ID")
     public ResponseEntity<StudyPlanResponse> getStudyPlan(
@@ -46,6 +98,43 @@ public class StudyPlanController {
         return ResponseEntity.ok(responses);
     }
 
+    @GetMapping("/page")
+    @Operation(summary = "Get a page of the current user's study plans, ordered by id")
+    public ResponseEntity<CursorPage<StudyPlanResponse>> getUserStudyPlansPage(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int limit,
+            Principal principal) {
+        return ResponseEntity.ok(studyPlanService.getUserStudyPlansPage(principal.getName(), after, limit));
+    }
+
+    @GetMapping("/summaries")
+    @Operation(summary = "Get a page of study plan summaries without subjects and topics")
+    public ResponseEntity<CursorPage<StudyPlanSummary>> getUserStudyPlanSummaries(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int limit,
+            Principal principal) {
+        return ResponseEntity.ok(studyPlanService.getUserStudyPlanSummaries(principal.getName(), after, limit));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Stream all study plans of the current user as a JSON array")
+    public ResponseEntity<StreamingResponseBody> exportStudyPlans(Principal principal) {
+        String userId = principal.getName();
+        StreamingResponseBody body = out -> {
+            try (Stream<StudyPlanResponse> plans = studyPlanService.streamUserStudyPlans(userId);
+                 JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.writeStartArray();
+                for (Iterator<StudyPlanResponse> it = plans.iterator(); it.hasNext(); ) {
+                    objectMapper.writeValue(generator, it.next());
+                }
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete a study plan")
     public ResponseEntity<Void> deleteStudyPlan(
@@ -0,0 +1,32 @@
+package com.studywala.backend.controller;
+
+import com.studywala.backend.dto.StudySessionBatchRequest;
+import com.studywala.backend.service.StudySessionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+
+@RestController
+@RequestMapping("/api/study-sessions")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+@Tag(name = "Study Sessions", description = "APIs for recording completed study sessions")
+public class StudySessionController {
+
+    private final StudySessionService studySessionService;
+
+    @PostMapping
+    @Operation(summary = "Record a batch of completed study sessions; progress is updated within seconds")
+    public ResponseEntity<Void> recordSessions(
+            @Valid @RequestBody StudySessionBatchRequest request,
+            Principal principal) {
+        studySessionService.accept(request.getSessions(), principal.getName());
+        return ResponseEntity.accepted().build();
+    }
+}
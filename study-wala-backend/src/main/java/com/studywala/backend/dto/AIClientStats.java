@@ -0,0 +1,17 @@
+package com.studywala.backend.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class AIClientStats {
+    private int maxConcurrentCalls;
+    private int inFlightCalls;
+    private int waitingCalls;
+    private long rejectedCalls;
+    private int dispatcherRunningCalls;
+    private int dispatcherQueuedCalls;
+    private int pooledConnections;
+    private int idleConnections;
+}
@@ -0,0 +1,15 @@
+package com.studywala.backend.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class AIResponseCacheStats {
+    private long size;
+    private long memoryHits;
+    private long memoryMisses;
+    private long evictions;
+    private long persistentHits;
+    private long persistentMisses;
+}
@@ -0,0 +1,15 @@
+package com.studywala.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    /** Pass as {@code after} to fetch the next page; {@code null} on the last page. */
+    private String nextCursor;
+}
@@ -0,0 +1,40 @@
+package com.studywala.backend.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class DashboardResponse {
+    private double totalHours;
+    private long sessionCount;
+    private int currentStreakDays;
+    private int longestStreakDays;
+    private List<SubjectHours> subjects;
+    private List<PlanProgress> plans;
+    // Newest first: days, then weeks, then months.
+    private List<HistoryBucket> history;
+
+    @Data
+    public static class SubjectHours {
+        private String subjectId;
+        private double hours;
+    }
+
+    @Data
+    public static class PlanProgress {
+        private String planId;
+        private String title;
+        private int totalHours;
+        private double completedHours;
+        private double completionPercent;
+    }
+
+    @Data
+    public static class HistoryBucket {
+        private String period; // DAY, WEEK or MONTH
+        private LocalDate start;
+        private double hours;
+    }
+}
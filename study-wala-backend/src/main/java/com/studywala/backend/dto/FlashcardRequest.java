@@ -0,0 +1,17 @@
+package com.studywala.backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class FlashcardRequest {
+    @NotBlank
+    private String topicId;
+    @NotBlank
+    @Size(max = 2000)
+    private String front;
+    @NotBlank
+    @Size(max = 2000)
+    private String back;
+}
@@ -0,0 +1,19 @@
+package com.studywala.backend.dto;
+
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+public class FlashcardResponse {
+    private String id;
+    private String topicId;
+    private String front;
+    private String back;
+    private double easeFactor;
+    private int intervalDays;
+    private int repetitions;
+    private int lapses;
+    private Instant dueAt;
+    private Instant lastReviewedAt;
+}
@@ -0,0 +1,34 @@
+package com.studywala.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+@Data
+public class FlashcardReview {
+    public static final int MAX_CLOCK_SKEW_MINUTES = 5;
+
+    @NotBlank
+    private String flashcardId;
+    @Min(0)
+    @Max(5)
+    private int grade;
+    // When the review happened on the client. Required: it is what makes a resent review recognisable.
+    @NotNull
+    private Instant reviewedAt;
+
+    // A review from the future would move the card's schedule ahead and shadow every real review until then.
+    // Public because Spring reads nested constraint properties back through a getter to report the field error.
+    @JsonIgnore
+    @AssertTrue(message = "reviewedAt must not be more than " + MAX_CLOCK_SKEW_MINUTES + " minutes in the future")
+    public boolean isReviewedAtPlausible() {
+        return reviewedAt == null || !reviewedAt.isAfter(Instant.now().plus(MAX_CLOCK_SKEW_MINUTES, ChronoUnit.MINUTES));
+    }
+}
@@ -0,0 +1,17 @@
+package com.studywala.backend.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class QuizQuestionResponse {
+    private String questionId;
+    private String prompt;
+    private List<String> choices;
+    // Only filled in once the quiz has been submitted.
+    private Integer correctIndex;
+    private String explanation;
+    private Integer answerIndex;
+    private Boolean correct;
+}
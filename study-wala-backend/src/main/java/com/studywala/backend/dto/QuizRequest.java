@@ -0,0 +1,15 @@
+package com.studywala.backend.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class QuizRequest {
+    @NotBlank
+    private String topicId;
+    @Min(1)
+    @Max(50)
+    private int questionCount = 10;
+}
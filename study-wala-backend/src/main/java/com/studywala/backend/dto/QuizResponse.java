@@ -0,0 +1,17 @@
+package com.studywala.backend.dto;
+
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+public class QuizResponse {
+    private String id;
+    private String topicId;
+    private List<QuizQuestionResponse> questions;
+    private Integer score;
+    private int total;
+    private Instant createdAt;
+    private Instant submittedAt;
+}
@@ -0,0 +1,15 @@
+package com.studywala.backend.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class QuizSubmission {
+    // Chosen choice index per question, in quiz order; null leaves a question unanswered.
+    @NotNull
+    @Size(max = 50)
+    private List<Integer> answers;
+}
@@ -0,0 +1,14 @@
+package com.studywala.backend.dto;
+
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+public class ReviewLogResponse {
+    private int grade;
+    private int previousIntervalDays;
+    private int intervalDays;
+    private double easeFactor;
+    private Instant reviewedAt;
+}
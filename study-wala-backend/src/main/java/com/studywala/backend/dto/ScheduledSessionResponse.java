@@ -0,0 +1,13 @@
+package com.studywala.backend.dto;
+
+import lombok.Data;
+import java.time.LocalDate;
+
+@Data
+public class ScheduledSessionResponse {
+    private LocalDate date;
+    private String subjectId;
+    private String topicId;
+    private int minutes;
+    private String type;
+}
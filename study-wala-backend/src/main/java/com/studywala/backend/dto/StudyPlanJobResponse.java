@@ -0,0 +1,14 @@
+package com.studywala.backend.dto;
+
+import lombok.Data;
+import java.time.Instant;
+
+@Data
+public class StudyPlanJobResponse {
+    private String id;
+    private String status;
+    private String error;
+    private Instant createdAt;
+    private Instant updatedAt;
+    private StudyPlanResponse plan;
+}
@@ -1,15 +1,38 @@
 package com.studywala.backend.dto;
 
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
 import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
 import java.time.LocalDate;
 import java.util.List;
 
 @Data
 public class StudyPlanRequest {
+    public static final int MAX_SPAN_DAYS = 730;
+
+    @NotBlank
     private String title;
     private String description;
+    @NotEmpty
     private List<String> subjectIds;
+    @NotNull
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
     private LocalDate startDate;
+    @NotNull
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
     private LocalDate endDate;
+    @Min(1)
+    @Max(24)
     private int hoursPerDay;
+
+    @AssertTrue(message = "endDate must not be before startDate and the plan must span at most " + MAX_SPAN_DAYS + " days")
+    private boolean isDateRangeValid() {
+        return startDate == null || endDate == null
+                || !endDate.isBefore(startDate) && !endDate.isAfter(startDate.plusDays(MAX_SPAN_DAYS - 1));
+    }
 }
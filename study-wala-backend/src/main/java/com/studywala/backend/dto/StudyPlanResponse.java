@@ -1,7 +1,5 @@
 package com.studywala.backend.dto;
 
-import com.studywala.backend.model.Subject;
-import com.studywala.backend.model.Topic;
 import lombok.Data;
 import java.time.LocalDate;
 import java.util.List;
@@ -13,9 +11,11 @@ public class StudyPlanResponse {
     private String description;
     private LocalDate startDate;
     private LocalDate endDate;
-    private List<Subject> subjects;
-    private List<Topic> topics;
+    private List<SubjectResponse> subjects;
+    private List<TopicResponse> topics;
+    private List<ScheduledSessionResponse> sessions;
+    private List<String> unscheduledTopicIds;
     private int totalHours;
-    private int completedHours;
+    private double completedHours;
     private String status;
 }
@@ -0,0 +1,19 @@
+package com.studywala.backend.dto;
+
+import lombok.Data;
+import java.time.LocalDate;
+
+/**
+ * List view of a study plan. Used as a Mongo projection, so subjects and topics are never read.
+ */
+@Data
+public class StudyPlanSummary {
+    private String id;
+    private String title;
+    private String description;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private int totalHours;
+    private double completedHours;
+    private String status;
+}
@@ -0,0 +1,15 @@
+package com.studywala.backend.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class StudySessionBatchRequest {
+    @NotEmpty
+    @Size(max = 500)
+    private List<@Valid StudySessionEvent> sessions;
+}
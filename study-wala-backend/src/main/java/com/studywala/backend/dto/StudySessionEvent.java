@@ -0,0 +1,29 @@
+package com.studywala.backend.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+public class StudySessionEvent {
+    // Client-generated and stable across retries of the same session.
+    @NotBlank
+    @Size(max = 64)
+    private String eventId;
+    // Both ids become field names in the dashboard rollup, so dots and '$' are refused.
+    @NotBlank
+    @Pattern(regexp = "[A-Za-z0-9_-]+")
+    private String planId;
+    @Pattern(regexp = "[A-Za-z0-9_-]+")
+    private String topicId;
+    @Min(1)
+    @Max(600)
+    private int minutes;
+    private boolean topicCompleted;
+    private Instant endedAt;
+}
@@ -0,0 +1,11 @@
+package com.studywala.backend.dto;
+
+import lombok.Data;
+
+@Data
+public class SubjectResponse {
+    private String id;
+    private String name;
+    private String color;
+    private int priority;
+}
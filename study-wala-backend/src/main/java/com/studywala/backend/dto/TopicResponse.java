@@ -0,0 +1,14 @@
+package com.studywala.backend.dto;
+
+import lombok.Data;
+
+@Data
+public class TopicResponse {
+    private String id;
+    private String name;
+    private String subjectId;
+    private int estimatedHours;
+    private int priority;
+    private boolean completed;
+    private int completedMinutes;
+}
@@ -0,0 +1,139 @@
+package com.studywala.backend.mapper;
+
+import com.studywala.backend.dto.CursorPage;
+import com.studywala.backend.dto.ScheduledSessionResponse;
+import com.studywala.backend.dto.StudyPlanResponse;
+import com.studywala.backend.dto.SubjectResponse;
+import com.studywala.backend.dto.TopicResponse;
+import com.studywala.backend.model.ScheduledSession;
+import com.studywala.backend.model.StudyPlan;
+import com.studywala.backend.model.Subject;
+import com.studywala.backend.model.Topic;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Plain field-by-field mapping from study plan documents to API responses. Fields added to the
+ * documents or DTOs have to be added here as well. Each call is observed once as
+ * {@code study-plan.mapping}, however many plans it maps.
+ */
+@Component
+public class StudyPlanMapper {
+
+    private final ObservationRegistry observationRegistry;
+
+    public StudyPlanMapper() {
+        this(ObservationRegistry.NOOP);
+    }
+
+    @Autowired
+    public StudyPlanMapper(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    public StudyPlanResponse toResponse(StudyPlan plan) {
+        return observation(1).observe(() -> map(plan));
+    }
+
+    public List<StudyPlanResponse> toResponses(List<StudyPlan> plans) {
+        return observation(plans.size()).observe(() -> mapAll(plans, this::map));
+    }
+
+    public CursorPage<StudyPlanResponse> toResponses(CursorPage<StudyPlan> page) {
+        return new CursorPage<>(toResponses(page.getItems()), page.getNextCursor());
+    }
+
+    /**
+     * Maps the plans as the caller pulls them; the observation ends when the stream is closed.
+     */
+    public Stream<StudyPlanResponse> toResponses(Stream<StudyPlan> plans) {
+        Observation observation = observation(null).start();
+        return plans.map(this::map).onClose(observation::stop);
+    }
+
+    /**
+     * Maps the plans as they are emitted; the observation ends when the flux terminates or is cancelled.
+     */
+    public Flux<StudyPlanResponse> toResponses(Flux<StudyPlan> plans) {
+        return Flux.defer(() -> {
+            Observation observation = observation(null).start();
+            return plans.map(this::map)
+                    .doOnError(observation::error)
+                    .doFinally(signal -> observation.stop());
+        });
+    }
+
+    // The plan count is left out for streams, whose size is only known at the end.
+    private Observation observation(Integer plans) {
+        Observation observation = Observation.createNotStarted("study-plan.mapping", observationRegistry);
+        return plans == null ? observation : observation.highCardinalityKeyValue("plans", String.valueOf(plans));
+    }
+
+    private StudyPlanResponse map(StudyPlan plan) {
+        StudyPlanResponse response = new StudyPlanResponse();
+        response.setId(plan.getId());
+        response.setTitle(plan.getTitle());
+        response.setDescription(plan.getDescription());
+        response.setStartDate(plan.getStartDate());
+        response.setEndDate(plan.getEndDate());
+        response.setSubjects(mapAll(plan.getSubjects(), this::toResponse));
+        response.setTopics(mapAll(plan.getTopics(), this::toResponse));
+        response.setSessions(mapAll(plan.getSessions(), this::toResponse));
+        response.setUnscheduledTopicIds(plan.getUnscheduledTopicIds() == null
+                ? null : List.copyOf(plan.getUnscheduledTopicIds()));
+        response.setTotalHours(plan.getTotalHours());
+        response.setCompletedHours(plan.getCompletedHours());
+        response.setStatus(plan.getStatus());
+        return response;
+    }
+
+    public SubjectResponse toResponse(Subject subject) {
+        SubjectResponse response = new SubjectResponse();
+        response.setId(subject.getId());
+        response.setName(subject.getName());
+        response.setColor(subject.getColor());
+        response.setPriority(subject.getPriority());
+        return response;
+    }
+
+    public TopicResponse toResponse(Topic topic) {
+        TopicResponse response = new TopicResponse();
+        response.setId(topic.getId());
+        response.setName(topic.getName());
+        response.setSubjectId(topic.getSubjectId());
+        response.setEstimatedHours(topic.getEstimatedHours());
+        response.setPriority(topic.getPriority());
+        response.setCompleted(topic.isCompleted());
+        response.setCompletedMinutes(topic.getCompletedMinutes());
+        return response;
+    }
+
+    public ScheduledSessionResponse toResponse(ScheduledSession session) {
+        ScheduledSessionResponse response = new ScheduledSessionResponse();
+        response.setDate(session.getDate());
+        response.setSubjectId(session.getSubjectId());
+        response.setTopicId(session.getTopicId());
+        response.setMinutes(session.getMinutes());
+        response.setType(session.getType() == null ? null : session.getType().name());
+        return response;
+    }
+
+    private static <S, T> List<T> mapAll(List<S> sources, Function<S, T> mapper) {
+        if (sources == null) {
+            return null;
+        }
+        List<T> targets = new ArrayList<>(sources.size());
+        for (S source : sources) {
+            targets.add(mapper.apply(source));
+        }
+        return targets;
+    }
+}
@@ -0,0 +1,98 @@
+package com.studywala.backend.migration;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Seeds the plan entries of {@code user_study_stats} from plans created before the rollup existed.
+ * Progress is raised with {@code $max}, never lowered, so the migration is idempotent and safe to
+ * run while sessions are being applied. Study time per day, subject and streak is not recoverable
+ * and starts with the first session recorded after the upgrade. A finished run is recorded in
+ * {@code migrations}, so later startups skip the scan: plans saved since then are tracked as they
+ * are saved.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BackfillUserStudyStatsMigration {
+
+    static final String MIGRATION_ID = "backfill-user-stats";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.migrations.backfill-user-stats.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.migrations.backfill-user-stats.batch-size:500}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        if (!enabled) {
+            return;
+        }
+        MongoCollection<Document> migrations = mongoTemplate.getCollection("migrations");
+        if (migrations.find(Filters.eq("_id", MIGRATION_ID)).first() != null) {
+            return;
+        }
+        MongoCollection<Document> stats = mongoTemplate.getCollection("user_study_stats");
+        int seeded = 0;
+        List<WriteModel<Document>> batch = new ArrayList<>(batchSize);
+        try (MongoCursor<Document> cursor = mongoTemplate.getCollection("study_plans")
+                .find(Filters.exists("userId"))
+                .projection(new Document("userId", 1).append("title", 1)
+                        .append("totalHours", 1).append("completedHours", 1))
+                .batchSize(batchSize)
+                .iterator()) {
+            while (cursor.hasNext()) {
+                batch.add(seed(cursor.next()));
+                if (batch.size() == batchSize) {
+                    seeded += stats.bulkWrite(batch).getUpserts().size();
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            seeded += stats.bulkWrite(batch).getUpserts().size();
+        }
+        if (seeded > 0) {
+            log.info("Created study stats for {} users from their existing plans", seeded);
+        }
+        migrations.replaceOne(Filters.eq("_id", MIGRATION_ID),
+                new Document("_id", MIGRATION_ID).append("completedAt", new Date()),
+                new ReplaceOptions().upsert(true));
+    }
+
+    private static UpdateOneModel<Document> seed(Document plan) {
+        String planId = plan.get("_id").toString();
+        String prefix = "plans." + planId + ".";
+        Number completedHours = plan.get("completedHours", Number.class);
+        long completedMinutes = completedHours == null ? 0 : Math.round(completedHours.doubleValue() * 60);
+        return new UpdateOneModel<>(
+                Filters.eq("_id", plan.get("userId").toString()),
+                Updates.combine(
+                        Updates.set(prefix + "title", plan.getString("title")),
+                        Updates.set(prefix + "totalHours", plan.get("totalHours", 0)),
+                        Updates.max(prefix + "completedMinutes", completedMinutes),
+                        Updates.addToSet("planIds", planId)),
+                new UpdateOptions().upsert(true));
+    }
+}
@@ -0,0 +1,131 @@
+package com.studywala.backend.migration;
+
+import com.mongodb.DBRef;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One-off migration that replaces {@code $ref} entries in {@code study_plans.subjects} and
+ * {@code study_plans.topics} with embedded copies of the referenced documents. Plans are processed
+ * in batches and each batch resolves its references with one {@code $in} query per collection.
+ * The migration is idempotent: already embedded plans no longer match the selector.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmbedStudyPlanRefsMigration {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.migrations.embed-plan-refs.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.migrations.embed-plan-refs.batch-size:500}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        if (!enabled) {
+            return;
+        }
+        MongoCollection<Document> plans = mongoTemplate.getCollection("study_plans");
+        Document selector = new Document("$or", List.of(
+                new Document("subjects.$ref", new Document("$exists", true)),
+                new Document("topics.$ref", new Document("$exists", true))));
+
+        int migrated = 0;
+        List<Document> batch = new ArrayList<>(batchSize);
+        try (MongoCursor<Document> cursor = plans.find(selector)
+                .projection(new Document("subjects", 1).append("topics", 1))
+                .batchSize(batchSize)
+                .iterator()) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() == batchSize) {
+                    migrated += migrateBatch(plans, batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            migrated += migrateBatch(plans, batch);
+        }
+        if (migrated > 0) {
+            log.info("Embedded subject/topic references for {} study plans", migrated);
+        }
+    }
+
+    private int migrateBatch(MongoCollection<Document> plans, List<Document> batch) {
+        Map<Object, Document> subjects = resolve("subjects", collectIds(batch, "subjects"));
+        Map<Object, Document> topics = resolve("topics", collectIds(batch, "topics"));
+
+        List<WriteModel<Document>> updates = new ArrayList<>(batch.size());
+        for (Document plan : batch) {
+            updates.add(new UpdateOneModel<>(
+                    Filters.eq("_id", plan.get("_id")),
+                    Updates.combine(
+                            Updates.set("subjects", embed(plan, "subjects", subjects)),
+                            Updates.set("topics", embed(plan, "topics", topics)))));
+        }
+        return plans.bulkWrite(updates).getModifiedCount();
+    }
+
+    private static Set<Object> collectIds(List<Document> batch, String field) {
+        Set<Object> ids = new HashSet<>();
+        for (Document plan : batch) {
+            for (Object entry : plan.getList(field, Object.class, List.of())) {
+                if (entry instanceof DBRef ref) {
+                    ids.add(ref.getId());
+                }
+            }
+        }
+        return ids;
+    }
+
+    private Map<Object, Document> resolve(String collection, Set<Object> ids) {
+        Map<Object, Document> resolved = new HashMap<>();
+        if (ids.isEmpty()) {
+            return resolved;
+        }
+        for (Document document : mongoTemplate.getCollection(collection).find(Filters.in("_id", ids))) {
+            resolved.put(document.get("_id"), document);
+        }
+        return resolved;
+    }
+
+    private static List<Document> embed(Document plan, String field, Map<Object, Document> resolved) {
+        List<Document> embedded = new ArrayList<>();
+        for (Object entry : plan.getList(field, Object.class, List.of())) {
+            if (entry instanceof DBRef ref) {
+                Document target = resolved.get(ref.getId());
+                if (target == null) {
+                    log.warn("Dropping dangling {} reference {} from study plan {}", field, ref.getId(), plan.get("_id"));
+                } else {
+                    embedded.add(target);
+                }
+            } else if (entry instanceof Document document) {
+                embedded.add(document);
+            }
+        }
+        return embedded;
+    }
+}
@@ -0,0 +1,19 @@
+package com.studywala.backend.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Data
+@Document(collection = "ai_response_cache")
+public class AIResponseCacheEntry {
+    @Id
+    private String id; // SHA-256 of the normalized prompt
+    private String response;
+    private Instant createdAt;
+    @Indexed(expireAfterSeconds = 0)
+    private Instant expiresAt;
+}
@@ -0,0 +1,21 @@
+package com.studywala.backend.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+@Data
+@Document(collection = "ai_usage_quotas")
+public class AiUsageQuota {
+    @Id
+    private String id; // userId:yyyy-MM-dd
+    private String userId;
+    private LocalDate day;
+    private long count;
+    @Indexed(expireAfterSeconds = 0)
+    private Instant expiresAt;
+}
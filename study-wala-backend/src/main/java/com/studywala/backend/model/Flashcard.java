@@ -0,0 +1,29 @@
+package com.studywala.backend.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Data
+@Document(collection = "flashcards")
+@CompoundIndex(name = "userId_dueAt", def = "{'userId': 1, 'dueAt': 1}")
+public class Flashcard {
+    @Id
+    private String id;
+    private String userId;
+    @Indexed
+    private String topicId;
+    private String front;
+    private String back;
+    private double easeFactor;
+    private int intervalDays;
+    private int repetitions;
+    private int lapses;
+    private Instant dueAt;
+    private Instant lastReviewedAt;
+    private Instant createdAt;
+}
@@ -0,0 +1,33 @@
+package com.studywala.backend.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Document(collection = "quizzes")
+public class Quiz {
+    @Id
+    private String id;
+    private String userId;
+    private String topicId;
+    // Snapshots of the sampled questions, so grading needs no further reads.
+    private List<Item> items;
+    private Integer score;
+    private Instant createdAt;
+    private Instant submittedAt;
+
+    @Data
+    public static class Item {
+        private String questionId;
+        private String prompt;
+        private List<String> choices;
+        private int correctIndex;
+        private String explanation;
+        private Integer answerIndex;
+        private boolean correct;
+    }
+}
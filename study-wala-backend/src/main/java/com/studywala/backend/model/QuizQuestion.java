@@ -0,0 +1,34 @@
+package com.studywala.backend.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Document(collection = "quiz_questions")
+@CompoundIndex(name = "topicId_userId_fingerprint", def = "{'topicId': 1, 'userId': 1, 'fingerprint': 1}", unique = true)
+public class QuizQuestion {
+    @Id
+    private String id;
+    private String topicId;
+    // Owner of the flashcards a template question was built from; null for AI questions, which are shared.
+    private String userId;
+    private String prompt;
+    private List<String> choices;
+    private int correctIndex;
+    private String explanation;
+    private Source source;
+    // Hash of the normalized prompt, so rebuilding a pool never stores the same question twice.
+    private String fingerprint;
+    private long timesAsked;
+    private long timesCorrect;
+    private Instant createdAt;
+
+    public enum Source {
+        TEMPLATE, AI
+    }
+}
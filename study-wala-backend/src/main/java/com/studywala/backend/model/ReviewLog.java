@@ -0,0 +1,23 @@
+package com.studywala.backend.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Data
+@Document(collection = "review_logs")
+@CompoundIndex(name = "flashcardId_reviewedAt", def = "{'flashcardId': 1, 'reviewedAt': 1}")
+public class ReviewLog {
+    @Id
+    private String id;
+    private String flashcardId;
+    private String userId;
+    private int grade;
+    private int previousIntervalDays;
+    private int intervalDays;
+    private double easeFactor;
+    private Instant reviewedAt;
+}
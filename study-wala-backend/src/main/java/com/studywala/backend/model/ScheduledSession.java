@@ -0,0 +1,24 @@
+package com.studywala.backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+
+/**
+ * One block of study or revision time on a given day, embedded in {@link StudyPlan}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduledSession {
+    private LocalDate date;
+    private String subjectId;
+    private String topicId;
+    private int minutes;
+    private Type type;
+
+    public enum Type {
+        STUDY, REVISION
+    }
+}
@@ -2,13 +2,14 @@ package com.studywala.backend.model;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.mapping.DBRef;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.time.LocalDate;
 import java.util.List;
 
 @Data
 @Document(collection = "study_plans")
+@CompoundIndex(name = "userId_id", def = "{'userId': 1, '_id': 1}")
 public class StudyPlan {
     @Id
     private String id;
@@ -17,12 +18,16 @@ public class StudyPlan {
     private String userId;
     private LocalDate startDate;
     private LocalDate endDate;
-    @DBRef
+    // Embedded snapshots rather than @DBRef so a plan loads in a single read;
+    // StudyPlanSnapshotListener keeps their catalog fields in sync.
     private List<Subject> subjects;
-    @DBRef
     private List<Topic> topics;
+    private List<ScheduledSession> sessions;
+    private List<String> unscheduledTopicIds;
     private int totalHours;
-    private int completedHours;
+    private double completedHours;
+    // Recent study session flushes already counted into this plan; see StudySessionService.
+    private List<String> appliedFlushIds;
     private String status; // ACTIVE, COMPLETED, ARCHIVED
     
     public void setUserId(String userId) {
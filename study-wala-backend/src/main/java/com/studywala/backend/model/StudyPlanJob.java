@@ -0,0 +1,29 @@
+package com.studywala.backend.model;
+
+import com.studywala.backend.dto.StudyPlanRequest;
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Data
+@Document(collection = "study_plan_jobs")
+@CompoundIndex(name = "status_createdAt", def = "{'status': 1, 'createdAt': 1}")
+@CompoundIndex(name = "status_updatedAt", def = "{'status': 1, 'updatedAt': 1}")
+public class StudyPlanJob {
+    @Id
+    private String id;
+    private String userId;
+    private StudyPlanRequest request;
+    private Status status;
+    private String planId;
+    private String error;
+    private Instant createdAt;
+    private Instant updatedAt;
+
+    public enum Status {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+}
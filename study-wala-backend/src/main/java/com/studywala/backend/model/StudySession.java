@@ -0,0 +1,25 @@
+package com.studywala.backend.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Data
+@Document(collection = "study_sessions")
+@CompoundIndex(name = "applied_flushId", def = "{'applied': 1, 'flushId': 1}")
+public class StudySession {
+    @Id
+    private String id; // userId:eventId, so a resent event collides instead of counting twice
+    private String userId;
+    private String planId;
+    private String topicId;
+    private int minutes;
+    private boolean topicCompleted;
+    private Instant endedAt;
+    private Instant receivedAt;
+    private String flushId;
+    private boolean applied;
+}
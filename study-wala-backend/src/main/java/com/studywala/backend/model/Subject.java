@@ -2,6 +2,7 @@ package com.studywala.backend.model;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Data
@@ -9,6 +10,8 @@ import org.springframework.data.mongodb.core.mapping.Document;
 public class Subject {
     @Id
     private String id;
+    @Indexed
+    private String userId;
     private String name;
     private String color;
     private int priority;
@@ -2,10 +2,12 @@ package com.studywala.backend.model;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Data
 @Document(collection = "topics")
+@CompoundIndex(name = "subjectId_completed", def = "{'subjectId': 1, 'completed': 1}")
 public class Topic {
     @Id
     private String id;
@@ -14,4 +16,5 @@ public class Topic {
     private int estimatedHours;
     private int priority;
     private boolean completed;
+    private int completedMinutes;
 }
@@ -0,0 +1,49 @@
+package com.studywala.backend.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dashboard rollup of one user, maintained incrementally by UserStudyStatsService. Study time is
+ * bucketed by UTC day; old days are compacted into weeks (keyed by their Monday) and old weeks into
+ * months ({@code yyyy-MM}).
+ */
+@Data
+@Document(collection = "user_study_stats")
+public class UserStudyStats {
+    @Id
+    private String id; // userId
+    private long totalMinutes;
+    private long sessionCount;
+    private Map<String, Long> subjectMinutes;
+    private Map<String, PlanProgress> plans;
+    @Indexed
+    private List<String> planIds;
+    private Map<String, Long> dailyMinutes;
+    private Map<String, Long> weeklyMinutes;
+    private Map<String, Long> monthlyMinutes;
+    // Oldest day/week bucket present, so compaction finds due documents through an index.
+    @Indexed(sparse = true)
+    private String oldestDay;
+    @Indexed(sparse = true)
+    private String oldestWeek;
+    private int longestStreakDays;
+    // Streak that ran up to the last compacted day, continued by the daily buckets that follow it.
+    private int carriedStreakDays;
+    private String carriedStreakEnd;
+    private List<String> appliedFlushIds;
+    private Instant updatedAt;
+
+    @Data
+    public static class PlanProgress {
+        private String title;
+        private int totalHours;
+        private long completedMinutes;
+    }
+}
@@ -0,0 +1,68 @@
+package com.studywala.backend.ratelimit;
+
+import com.studywala.backend.exception.TooManyRequestsException;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.security.Principal;
+
+/**
+ * Charges {@link AiRateLimited} endpoints against the per-user and global token buckets, then the
+ * daily quota, and reports the tightest of them in the {@code RateLimit-Limit},
+ * {@code RateLimit-Remaining} and {@code RateLimit-Reset} headers. Refused requests get a 429 with
+ * {@code Retry-After} before the controller runs. Only the initial dispatch is charged; the async
+ * dispatch that finishes a streamed response runs through the interceptor again.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+public class AiRateLimitInterceptor implements HandlerInterceptor {
+
+    private final AiRateLimiter rateLimiter;
+    private final DailyQuotaService dailyQuotaService;
+
+    @Value("${app.study-plans.ai-enrichment.enabled:false}")
+    private boolean aiEnrichmentEnabled;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.REQUEST || !(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        AiRateLimited limited = method.getMethodAnnotation(AiRateLimited.class);
+        Principal principal = request.getUserPrincipal();
+        if (limited == null || principal == null || (limited.onlyWithEnrichment() && !aiEnrichmentEnabled)) {
+            return true;
+        }
+
+        RateLimitDecision decision = rateLimiter.tryAcquire(principal.getName());
+        if (decision.isAllowed()) {
+            RateLimitDecision quota = dailyQuotaService.consume(principal.getName());
+            if (!quota.isAllowed() || !decision.isLimited()
+                    || (quota.isLimited() && quota.getRemaining() < decision.getRemaining())) {
+                decision = quota;
+            }
+        }
+
+        if (decision.isLimited()) {
+            response.setHeader("RateLimit-Limit", String.valueOf(decision.getLimit()));
+            response.setHeader("RateLimit-Remaining", String.valueOf(decision.getRemaining()));
+            response.setHeader("RateLimit-Reset", String.valueOf(decision.getResetSeconds()));
+        }
+        if (!decision.isAllowed()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(decision.getRetryAfterSeconds()));
+            throw new TooManyRequestsException("daily".equals(decision.getPolicy())
+                    ? "Daily AI request quota reached"
+                    : "AI request rate limit reached, retry in " + decision.getRetryAfterSeconds() + "s");
+        }
+        return true;
+    }
+}
@@ -0,0 +1,21 @@
+package com.studywala.backend.ratelimit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a controller method that can trigger an OpenAI call, so {@link AiRateLimitInterceptor}
+ * charges it against the caller's rate limits and daily quota.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AiRateLimited {
+
+    /**
+     * Only limit the call while AI enrichment of locally scheduled plans is switched on; otherwise
+     * the endpoint never reaches the model.
+     */
+    boolean onlyWithEnrichment() default false;
+}
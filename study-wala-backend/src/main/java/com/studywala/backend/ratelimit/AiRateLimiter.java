@@ -0,0 +1,56 @@
+package com.studywala.backend.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * In-memory token buckets for AI-backed requests: one per user and one shared by everybody. A
+ * user's bucket is dropped once it has been idle for a whole refill period, by which time it
+ * would be full anyway.
+ */
+@Component
+public class AiRateLimiter {
+
+    private final boolean enabled;
+    private final long userCapacity;
+    private final Duration userRefillPeriod;
+    private final TokenBucket globalBucket;
+    private final Cache<String, TokenBucket> userBuckets;
+
+    public AiRateLimiter(@Value("${app.ai-rate-limit.enabled:true}") boolean enabled,
+                         @Value("${app.ai-rate-limit.user.capacity:5}") long userCapacity,
+                         @Value("${app.ai-rate-limit.user.refill-period:PT1M}") Duration userRefillPeriod,
+                         @Value("${app.ai-rate-limit.global.capacity:60}") long globalCapacity,
+                         @Value("${app.ai-rate-limit.global.refill-period:PT1M}") Duration globalRefillPeriod,
+                         @Value("${app.ai-rate-limit.max-users:100000}") long maxUsers) {
+        this.enabled = enabled;
+        this.userCapacity = userCapacity;
+        this.userRefillPeriod = userRefillPeriod;
+        this.globalBucket = new TokenBucket("global", globalCapacity, globalRefillPeriod);
+        this.userBuckets = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(userRefillPeriod)
+                .build();
+    }
+
+    /**
+     * Takes a token from the user's bucket and then from the global one. A request turned away by
+     * the global bucket has still used its user token.
+     */
+    public RateLimitDecision tryAcquire(String userId) {
+        if (!enabled) {
+            return RateLimitDecision.unlimited();
+        }
+        RateLimitDecision user = userBuckets.get(userId, id -> new TokenBucket("user", userCapacity, userRefillPeriod))
+                .tryConsume();
+        if (!user.isAllowed()) {
+            return user;
+        }
+        RateLimitDecision global = globalBucket.tryConsume();
+        return global.isAllowed() ? user : global;
+    }
+}
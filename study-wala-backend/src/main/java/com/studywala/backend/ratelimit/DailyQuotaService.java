@@ -0,0 +1,78 @@
+package com.studywala.backend.ratelimit;
+
+import com.studywala.backend.model.AiUsageQuota;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**
+ * Per-user daily quota of AI-backed requests, counted in Mongo so it holds across restarts and
+ * instances. Days are UTC; each day's counter document expires through a TTL index a day later.
+ */
+@Slf4j
+@Component
+public class DailyQuotaService {
+
+    private final MongoTemplate mongoTemplate;
+    private final long dailyLimit;
+    private final Clock clock;
+
+    @Autowired
+    public DailyQuotaService(MongoTemplate mongoTemplate,
+                             @Value("${app.ai-rate-limit.daily-quota:50}") long dailyLimit) {
+        this(mongoTemplate, dailyLimit, Clock.systemUTC());
+    }
+
+    DailyQuotaService(MongoTemplate mongoTemplate, long dailyLimit, Clock clock) {
+        this.mongoTemplate = mongoTemplate;
+        this.dailyLimit = dailyLimit;
+        this.clock = clock;
+    }
+
+    /**
+     * Counts one request in a single round trip. The increment only matches while the counter is
+     * below the limit; once it is not, the upsert collides with the existing document and the
+     * request is refused. A quota store that cannot be reached does not block AI requests.
+     */
+    public RateLimitDecision consume(String userId) {
+        if (dailyLimit <= 0) {
+            return RateLimitDecision.unlimited();
+        }
+        Instant now = clock.instant();
+        LocalDate day = LocalDate.ofInstant(now, ZoneOffset.UTC);
+        Instant nextDay = day.plusDays(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+        long resetSeconds = Duration.between(now, nextDay).toSeconds() + 1;
+
+        Query query = new Query(Criteria.where("_id").is(userId + ":" + day).and("count").lt(dailyLimit));
+        Update update = new Update()
+                .inc("count", 1)
+                .setOnInsert("userId", userId)
+                .setOnInsert("day", day)
+                .setOnInsert("expiresAt", nextDay.plus(Duration.ofDays(1)));
+        try {
+            AiUsageQuota quota = mongoTemplate.findAndModify(query, update,
+                    FindAndModifyOptions.options().returnNew(true).upsert(true), AiUsageQuota.class);
+            long used = quota == null ? 1 : quota.getCount();
+            return RateLimitDecision.allowed("daily", dailyLimit, Math.max(0, dailyLimit - used), resetSeconds);
+        } catch (DuplicateKeyException ex) {
+            return RateLimitDecision.rejected("daily", dailyLimit, resetSeconds, resetSeconds);
+        } catch (DataAccessException ex) {
+            log.warn("Could not count AI usage of {}, allowing the request: {}", userId, ex.getMessage());
+            return RateLimitDecision.unlimited();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.studywala.backend.ratelimit;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Outcome of charging one request against a limit, with what the rate-limit headers report.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class RateLimitDecision {
+
+    private static final RateLimitDecision UNLIMITED = new RateLimitDecision(true, null, -1, -1, 0, 0);
+
+    private final boolean allowed;
+    private final String policy;
+    private final long limit;
+    private final long remaining;
+    private final long resetSeconds;
+    private final long retryAfterSeconds;
+
+    public static RateLimitDecision allowed(String policy, long limit, long remaining, long resetSeconds) {
+        return new RateLimitDecision(true, policy, limit, remaining, resetSeconds, 0);
+    }
+
+    public static RateLimitDecision rejected(String policy, long limit, long resetSeconds, long retryAfterSeconds) {
+        return new RateLimitDecision(false, policy, limit, 0, resetSeconds, retryAfterSeconds);
+    }
+
+    /**
+     * No limit applied (limits switched off, or the quota store was unreachable); no headers.
+     */
+    public static RateLimitDecision unlimited() {
+        return UNLIMITED;
+    }
+
+    public boolean isLimited() {
+        return limit >= 0;
+    }
+}
@@ -0,0 +1,55 @@
+package com.studywala.backend.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket holding up to {@code capacity} tokens and refilling all of them over
+ * {@code refillPeriod}. Instead of a token count plus a refill timestamp it keeps a single value,
+ * the time at which the bucket will be full again (the GCRA formulation), so taking a token is one
+ * compare-and-set and there is no background refill.
+ */
+public class TokenBucket {
+
+    private final String policy;
+    private final long capacity;
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong fullAt;
+
+    public TokenBucket(String policy, long capacity, Duration refillPeriod) {
+        this(policy, capacity, refillPeriod, System::nanoTime);
+    }
+
+    TokenBucket(String policy, long capacity, Duration refillPeriod, LongSupplier nanoClock) {
+        this.policy = policy;
+        this.capacity = capacity;
+        this.nanosPerToken = Math.max(1, refillPeriod.toNanos() / capacity);
+        this.burstNanos = nanosPerToken * capacity;
+        this.nanoClock = nanoClock;
+        this.fullAt = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    public RateLimitDecision tryConsume() {
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long current = fullAt.get();
+            long base = current - now > 0 ? current : now;
+            long next = base + nanosPerToken;
+            long debt = next - now;
+            if (debt > burstNanos) {
+                return RateLimitDecision.rejected(policy, capacity, seconds(base - now), seconds(debt - burstNanos));
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return RateLimitDecision.allowed(policy, capacity, (burstNanos - debt) / nanosPerToken, seconds(debt));
+            }
+        }
+    }
+
+    private static long seconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+}
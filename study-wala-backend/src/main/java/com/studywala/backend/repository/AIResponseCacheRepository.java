@@ -0,0 +1,7 @@
+package com.studywala.backend.repository;
+
+import com.studywala.backend.model.AIResponseCacheEntry;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface AIResponseCacheRepository extends MongoRepository<AIResponseCacheEntry, String> {
+}
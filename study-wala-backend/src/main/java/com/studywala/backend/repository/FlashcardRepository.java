@@ -0,0 +1,15 @@
+package com.studywala.backend.repository;
+
+import com.studywala.backend.model.Flashcard;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface FlashcardRepository extends MongoRepository<Flashcard, String> {
+    List<Flashcard> findByUserIdAndDueAtLessThanEqualOrderByDueAtAsc(String userId, Instant dueAt, Pageable pageable);
+    List<Flashcard> findByTopicIdAndUserId(String topicId, String userId, Pageable pageable);
+    List<Flashcard> findByUserIdAndIdIn(String userId, Collection<String> ids);
+}
@@ -0,0 +1,12 @@
+package com.studywala.backend.repository;
+
+import com.studywala.backend.model.QuizQuestion;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+
+public interface QuizQuestionRepository extends MongoRepository<QuizQuestion, String> {
+    List<QuizQuestion> findByTopicIdAndSource(String topicId, QuizQuestion.Source source);
+    List<QuizQuestion> findByTopicIdAndUserId(String topicId, String userId);
+    long countByTopicIdAndSource(String topicId, QuizQuestion.Source source);
+}
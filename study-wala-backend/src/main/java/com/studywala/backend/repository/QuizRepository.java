@@ -0,0 +1,10 @@
+package com.studywala.backend.repository;
+
+import com.studywala.backend.model.Quiz;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.Optional;
+
+public interface QuizRepository extends MongoRepository<Quiz, String> {
+    Optional<Quiz> findByIdAndUserId(String id, String userId);
+}
@@ -0,0 +1,23 @@
+package com.studywala.backend.repository;
+
+import com.studywala.backend.dto.StudyPlanSummary;
+import com.studywala.backend.model.StudyPlan;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveStudyPlanRepository extends ReactiveMongoRepository<StudyPlan, String> {
+    Flux<StudyPlan> findByUserId(String userId);
+    Mono<StudyPlan> findByIdAndUserId(String id, String userId);
+    Mono<Boolean> existsByIdAndUserId(String id, String userId);
+
+    // Keyset pagination on _id: the first page, then everything after the last id seen.
+    Flux<StudyPlan> findByUserIdOrderByIdAsc(String userId, Pageable pageable);
+    Flux<StudyPlan> findByUserIdAndIdGreaterThanOrderByIdAsc(String userId, String id, Pageable pageable);
+
+    Flux<StudyPlanSummary> findSummariesByUserIdOrderByIdAsc(String userId, Pageable pageable);
+    Flux<StudyPlanSummary> findSummariesByUserIdAndIdGreaterThanOrderByIdAsc(String userId, String id, Pageable pageable);
+
+    Flux<StudyPlan> streamByUserIdOrderByIdAsc(String userId);
+}
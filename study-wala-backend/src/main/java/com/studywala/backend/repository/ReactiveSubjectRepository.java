@@ -0,0 +1,12 @@
+package com.studywala.backend.repository;
+
+import com.studywala.backend.model.Subject;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveSubjectRepository extends ReactiveMongoRepository<Subject, String> {
+    Flux<Subject> findByUserId(String userId);
+    Mono<Subject> findByIdAndUserId(String id, String userId);
+    Mono<Boolean> existsByIdAndUserId(String id, String userId);
+}
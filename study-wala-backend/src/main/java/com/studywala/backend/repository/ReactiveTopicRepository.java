@@ -0,0 +1,13 @@
+package com.studywala.backend.repository;
+
+import com.studywala.backend.model.Topic;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+public interface ReactiveTopicRepository extends ReactiveMongoRepository<Topic, String> {
+    Flux<Topic> findBySubjectId(String subjectId);
+    Flux<Topic> findBySubjectIdIn(List<String> subjectIds);
+    Flux<Topic> findBySubjectIdAndCompleted(String subjectId, boolean completed);
+}
@@ -0,0 +1,13 @@
+package com.studywala.backend.repository;
+
+import com.studywala.backend.model.User;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveUserRepository extends ReactiveMongoRepository<User, String> {
+    Mono<User> findByUsername(String username);
+    Mono<User> findByEmail(String email);
+    Mono<User> findByUsernameOrEmail(String username, String email);
+    Mono<Boolean> existsByUsername(String username);
+    Mono<Boolean> existsByEmail(String email);
+}
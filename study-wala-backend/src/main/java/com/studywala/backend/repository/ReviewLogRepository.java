@@ -0,0 +1,10 @@
+package com.studywala.backend.repository;
+
+import com.studywala.backend.model.ReviewLog;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+
+public interface ReviewLogRepository extends MongoRepository<ReviewLog, String> {
+    List<ReviewLog> findByFlashcardIdOrderByReviewedAtAsc(String flashcardId);
+}
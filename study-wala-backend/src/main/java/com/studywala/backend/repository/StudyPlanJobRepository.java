@@ -0,0 +1,14 @@
+package com.studywala.backend.repository;
+
+import com.studywala.backend.model.StudyPlanJob;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface StudyPlanJobRepository extends MongoRepository<StudyPlanJob, String> {
+    Optional<StudyPlanJob> findByIdAndUserId(String id, String userId);
+    List<StudyPlanJob> findByStatusOrderByCreatedAtAsc(StudyPlanJob.Status status);
+    List<StudyPlanJob> findByStatusAndUpdatedAtBefore(StudyPlanJob.Status status, Instant updatedAt);
+}
@@ -1,13 +1,25 @@
 package com.studywala.backend.repository;
 
+import com.studywala.backend.dto.StudyPlanSummary;
 import com.studywala.backend.model.StudyPlan;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface StudyPlanRepository extends MongoRepository<StudyPlan, String> {
     List<StudyPlan> findByUserId(String userId);
     Optional<StudyPlan> findByIdAndUserId(String id, String userId);
     boolean existsByIdAndUserId(String id, String userId);
+
+    // Keyset pagination on _id: the first page, then everything after the last id seen.
+    List<StudyPlan> findByUserIdOrderByIdAsc(String userId, Pageable pageable);
+    List<StudyPlan> findByUserIdAndIdGreaterThanOrderByIdAsc(String userId, String id, Pageable pageable);
+
+    List<StudyPlanSummary> findSummariesByUserIdOrderByIdAsc(String userId, Pageable pageable);
+    List<StudyPlanSummary> findSummariesByUserIdAndIdGreaterThanOrderByIdAsc(String userId, String id, Pageable pageable);
+
+    Stream<StudyPlan> streamByUserIdOrderByIdAsc(String userId);
 }
@@ -0,0 +1,7 @@
+package com.studywala.backend.repository;
+
+import com.studywala.backend.model.UserStudyStats;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface UserStudyStatsRepository extends MongoRepository<UserStudyStats, String> {
+}
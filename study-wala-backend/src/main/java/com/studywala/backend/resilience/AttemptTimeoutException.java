@@ -0,0 +1,10 @@
+package com.studywala.backend.resilience;
+
+/**
+ * An attempt (or the whole call) ran out of its time budget. Treated as retryable.
+ */
+public class AttemptTimeoutException extends RuntimeException {
+    public AttemptTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.studywala.backend.resilience;
+
+import com.studywala.backend.exception.ServiceUnavailableException;
+
+/**
+ * Thrown without calling the upstream while its circuit breaker is open.
+ */
+public class CallNotPermittedException extends ServiceUnavailableException {
+    public CallNotPermittedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,120 @@
+package com.studywala.backend.resilience;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free latency histogram over fixed buckets from 10 ms to 2 minutes. Cumulative counts grow
+ * forever for export; percentiles are read from the current and the previous window only, so the
+ * timeouts and hedge delays derived from them follow how the upstream behaves now.
+ */
+public class LatencyHistogram {
+
+    static final long[] BOUNDS_MILLIS = {10, 25, 50, 100, 250, 500, 1_000, 2_500, 5_000, 10_000, 20_000, 30_000, 60_000, 120_000};
+
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLongArray cumulative = new AtomicLongArray(BOUNDS_MILLIS.length + 1);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sumMillis = new AtomicLong();
+    private final AtomicReference<Windows> windows;
+
+    public LatencyHistogram(Duration window) {
+        this(window, System::nanoTime);
+    }
+
+    LatencyHistogram(Duration window, LongSupplier nanoClock) {
+        this.windowNanos = window.toNanos();
+        this.nanoClock = nanoClock;
+        this.windows = new AtomicReference<>(new Windows(nanoClock.getAsLong(), new AtomicLongArray(BOUNDS_MILLIS.length + 1),
+                new AtomicLongArray(BOUNDS_MILLIS.length + 1)));
+    }
+
+    public void record(Duration latency) {
+        long millis = latency.toMillis();
+        int bucket = bucketOf(millis);
+        cumulative.incrementAndGet(bucket);
+        count.incrementAndGet();
+        sumMillis.addAndGet(millis);
+        currentWindows().current.incrementAndGet(bucket);
+    }
+
+    /**
+     * The upper bound of the bucket holding the {@code quantile}, or {@code null} while the recent
+     * windows hold fewer than {@code minSamples} samples.
+     */
+    public Duration percentile(double quantile, long minSamples) {
+        Windows recent = currentWindows();
+        long[] counts = new long[BOUNDS_MILLIS.length + 1];
+        long total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = recent.current.get(i) + recent.previous.get(i);
+            total += counts[i];
+        }
+        if (total == 0 || total < minSamples) {
+            return null;
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < BOUNDS_MILLIS.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Duration.ofMillis(BOUNDS_MILLIS[i]);
+            }
+        }
+        return Duration.ofMillis(BOUNDS_MILLIS[BOUNDS_MILLIS.length - 1] * 2);
+    }
+
+    /** Cumulative count per bucket, keyed by its upper bound in milliseconds ("+Inf" for the last). */
+    public Map<String, Long> buckets() {
+        Map<String, Long> buckets = new LinkedHashMap<>();
+        for (int i = 0; i < BOUNDS_MILLIS.length; i++) {
+            buckets.put(String.valueOf(BOUNDS_MILLIS[i]), cumulative.get(i));
+        }
+        buckets.put("+Inf", cumulative.get(BOUNDS_MILLIS.length));
+        return buckets;
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getSumMillis() {
+        return sumMillis.get();
+    }
+
+    private static int bucketOf(long millis) {
+        for (int i = 0; i < BOUNDS_MILLIS.length; i++) {
+            if (millis <= BOUNDS_MILLIS[i]) {
+                return i;
+            }
+        }
+        return BOUNDS_MILLIS.length;
+    }
+
+    private Windows currentWindows() {
+        while (true) {
+            Windows current = windows.get();
+            long now = nanoClock.getAsLong();
+            if (now - current.startedAt < windowNanos) {
+                return current;
+            }
+            // A window with no traffic at all means the previous one is stale as well.
+            AtomicLongArray previous = now - current.startedAt < 2 * windowNanos
+                    ? current.current
+                    : new AtomicLongArray(BOUNDS_MILLIS.length + 1);
+            Windows rotated = new Windows(now, new AtomicLongArray(BOUNDS_MILLIS.length + 1), previous);
+            if (windows.compareAndSet(current, rotated)) {
+                return rotated;
+            }
+        }
+    }
+
+    private record Windows(long startedAt, AtomicLongArray current, AtomicLongArray previous) {
+    }
+}
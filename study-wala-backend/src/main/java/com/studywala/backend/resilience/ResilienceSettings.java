@@ -0,0 +1,45 @@
+package com.studywala.backend.resilience;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+
+@Value
+@Builder
+public class ResilienceSettings {
+    @Builder.Default
+    int maxAttempts = 3;
+    @Builder.Default
+    Duration backoffInitial = Duration.ofMillis(500);
+    @Builder.Default
+    Duration backoffMax = Duration.ofSeconds(5);
+    // Whole logical call, retries and backoff included
+    @Builder.Default
+    Duration totalBudget = Duration.ofSeconds(90);
+    // Per attempt: p99 of recent latencies times the multiplier, kept within min and max
+    @Builder.Default
+    Duration attemptTimeoutMin = Duration.ofSeconds(10);
+    @Builder.Default
+    Duration attemptTimeoutMax = Duration.ofSeconds(60);
+    @Builder.Default
+    double attemptTimeoutMultiplier = 2.0;
+    @Builder.Default
+    long minLatencySamples = 20;
+    @Builder.Default
+    Duration latencyWindow = Duration.ofMinutes(5);
+    @Builder.Default
+    boolean hedgeEnabled = false;
+    @Builder.Default
+    Duration hedgeMinDelay = Duration.ofSeconds(2);
+    @Builder.Default
+    int breakerWindowSize = 20;
+    @Builder.Default
+    int breakerMinimumCalls = 10;
+    @Builder.Default
+    double breakerFailureRateThreshold = 50;
+    @Builder.Default
+    Duration breakerOpenDuration = Duration.ofSeconds(30);
+    @Builder.Default
+    int breakerHalfOpenCalls = 2;
+}
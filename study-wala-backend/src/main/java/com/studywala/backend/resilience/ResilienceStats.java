@@ -0,0 +1,26 @@
+package com.studywala.backend.resilience;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@Builder
+public class ResilienceStats {
+    private String circuitState;
+    private double failureRate;
+    private long notPermittedCalls;
+    private long retries;
+    private long hedgedCalls;
+    private long hedgeWins;
+    private long attemptTimeouts;
+    private long attemptTimeoutMs;
+    private Long latencyP50Ms;
+    private Long latencyP95Ms;
+    private Long latencyP99Ms;
+    private long latencyCount;
+    private long latencySumMs;
+    // Cumulative count per upper bound in milliseconds
+    private Map<String, Long> latencyBuckets;
+}
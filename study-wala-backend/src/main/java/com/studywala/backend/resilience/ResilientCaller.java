@@ -0,0 +1,263 @@
+package com.studywala.backend.resilience;
+
+import com.studywala.backend.exception.ServiceUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Runs calls to one upstream behind a circuit breaker, with a per-attempt timeout derived from
+ * recent latencies, bounded retries with full-jitter backoff inside a total time budget, and an
+ * optional hedged second attempt once the first has taken longer than the recent p95. Attempts run
+ * on {@code executor} so they can be timed out and cancelled (interrupted).
+ */
+@Slf4j
+public class ResilientCaller {
+
+    private final String name;
+    private final ResilienceSettings settings;
+    private final ExecutorService executor;
+    private final Predicate<Throwable> retryable;
+    private final CircuitBreaker circuitBreaker;
+    private final LatencyHistogram latency;
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong hedgedCalls = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
+    private final AtomicLong attemptTimeouts = new AtomicLong();
+
+    public ResilientCaller(String name, ResilienceSettings settings, ExecutorService executor,
+                           Predicate<Throwable> retryable) {
+        this.name = name;
+        this.settings = settings;
+        this.executor = executor;
+        this.retryable = retryable.or(AttemptTimeoutException.class::isInstance);
+        this.circuitBreaker = new CircuitBreaker(settings.getBreakerWindowSize(), settings.getBreakerMinimumCalls(),
+                settings.getBreakerFailureRateThreshold(), settings.getBreakerOpenDuration(),
+                settings.getBreakerHalfOpenCalls());
+        this.latency = new LatencyHistogram(settings.getLatencyWindow());
+    }
+
+    public <T> T call(Callable<T> attempt) {
+        acquirePermission();
+        long deadline = System.nanoTime() + settings.getTotalBudget().toNanos();
+        RuntimeException failure = null;
+        for (int attemptNumber = 1; attemptNumber <= settings.getMaxAttempts(); attemptNumber++) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            try {
+                T result = attemptWithHedge(attempt, Math.min(attemptTimeout().toNanos(), remaining));
+                circuitBreaker.onSuccess();
+                return result;
+            } catch (RuntimeException ex) {
+                failure = ex;
+                if (!retryable.test(ex)) {
+                    settle(ex);
+                    throw ex;
+                }
+                if (attemptNumber < settings.getMaxAttempts() && !backOff(attemptNumber, deadline)) {
+                    break;
+                }
+                if (attemptNumber < settings.getMaxAttempts()) {
+                    retries.incrementAndGet();
+                    log.debug("Retrying {} call after: {}", name, ex.getMessage());
+                }
+            }
+        }
+        circuitBreaker.onFailure();
+        throw failure != null ? failure : new AttemptTimeoutException(name + " call exceeded its time budget");
+    }
+
+    /**
+     * Runs {@code call} on the calling thread behind the circuit breaker only, for calls that
+     * cannot be repeated or raced, such as a stream whose output has already been consumed.
+     */
+    public <T> T guard(Callable<T> call) {
+        acquirePermission();
+        try {
+            T result = call.call();
+            circuitBreaker.onSuccess();
+            return result;
+        } catch (RuntimeException ex) {
+            if (retryable.test(ex)) {
+                circuitBreaker.onFailure();
+            } else {
+                settle(ex);
+            }
+            throw ex;
+        } catch (Exception ex) {
+            circuitBreaker.onFailure();
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    public Duration attemptTimeout() {
+        Duration p99 = latency.percentile(0.99, settings.getMinLatencySamples());
+        if (p99 == null) {
+            return settings.getAttemptTimeoutMax();
+        }
+        Duration adaptive = Duration.ofMillis((long) (p99.toMillis() * settings.getAttemptTimeoutMultiplier()));
+        return clamp(adaptive, settings.getAttemptTimeoutMin(), settings.getAttemptTimeoutMax());
+    }
+
+    public ResilienceStats getStats() {
+        return ResilienceStats.builder()
+                .circuitState(circuitBreaker.getState().name())
+                .failureRate(circuitBreaker.getFailureRate())
+                .notPermittedCalls(circuitBreaker.getNotPermittedCalls())
+                .retries(retries.get())
+                .hedgedCalls(hedgedCalls.get())
+                .hedgeWins(hedgeWins.get())
+                .attemptTimeouts(attemptTimeouts.get())
+                .attemptTimeoutMs(attemptTimeout().toMillis())
+                .latencyP50Ms(millisOrNull(latency.percentile(0.5, 1)))
+                .latencyP95Ms(millisOrNull(latency.percentile(0.95, 1)))
+                .latencyP99Ms(millisOrNull(latency.percentile(0.99, 1)))
+                .latencyCount(latency.getCount())
+                .latencySumMs(latency.getSumMillis())
+                .latencyBuckets(latency.buckets())
+                .build();
+    }
+
+    CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void acquirePermission() {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            throw new CallNotPermittedException(name + " is temporarily unavailable");
+        }
+    }
+
+    // Local saturation says nothing about the upstream; any other non-retryable error means it answered.
+    private void settle(RuntimeException ex) {
+        if (ex instanceof ServiceUnavailableException) {
+            circuitBreaker.onIgnored();
+        } else {
+            circuitBreaker.onSuccess();
+        }
+    }
+
+    private <T> T attemptWithHedge(Callable<T> attempt, long timeoutNanos) {
+        CompletionService<Timed<T>> attempts = new ExecutorCompletionService<>(executor);
+        List<Future<Timed<T>>> started = new ArrayList<>(2);
+        long deadline = System.nanoTime() + timeoutNanos;
+        try {
+            started.add(submit(attempts, attempt));
+            Duration hedgeDelay = hedgeDelay();
+            if (hedgeDelay != null && hedgeDelay.toNanos() < timeoutNanos) {
+                Future<Timed<T>> first = attempts.poll(hedgeDelay.toNanos(), TimeUnit.NANOSECONDS);
+                if (first != null) {
+                    return completed(first);
+                }
+                hedgedCalls.incrementAndGet();
+                started.add(submit(attempts, attempt));
+            }
+            ExecutionException lastFailure = null;
+            for (int pending = started.size(); pending > 0; pending--) {
+                Future<Timed<T>> done = attempts.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    attemptTimeouts.incrementAndGet();
+                    throw new AttemptTimeoutException(name + " attempt timed out");
+                }
+                try {
+                    Timed<T> result = done.get();
+                    if (started.size() > 1 && done == started.get(1)) {
+                        hedgeWins.incrementAndGet();
+                    }
+                    latency.record(result.latency());
+                    return result.value();
+                } catch (ExecutionException ex) {
+                    lastFailure = ex;
+                }
+            }
+            throw unwrap(lastFailure);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException(name + " call was interrupted");
+        } finally {
+            started.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private <T> Future<Timed<T>> submit(CompletionService<Timed<T>> attempts, Callable<T> attempt) {
+        try {
+            return attempts.submit(() -> {
+                long start = System.nanoTime();
+                T value = attempt.call();
+                return new Timed<>(value, Duration.ofNanos(System.nanoTime() - start));
+            });
+        } catch (RejectedExecutionException ex) {
+            throw new ServiceUnavailableException(name + " is busy, please retry shortly");
+        }
+    }
+
+    private <T> T completed(Future<Timed<T>> future) throws InterruptedException {
+        try {
+            Timed<T> result = future.get();
+            latency.record(result.latency());
+            return result.value();
+        } catch (ExecutionException ex) {
+            throw unwrap(ex);
+        }
+    }
+
+    private Duration hedgeDelay() {
+        if (!settings.isHedgeEnabled()) {
+            return null;
+        }
+        Duration p95 = latency.percentile(0.95, settings.getMinLatencySamples());
+        return p95 == null ? null : clamp(p95, settings.getHedgeMinDelay(), settings.getAttemptTimeoutMax());
+    }
+
+    // Full jitter: a random pause between zero and the exponential backoff, cut short by the budget.
+    private boolean backOff(int attemptNumber, long deadline) {
+        long ceiling = Math.min(settings.getBackoffMax().toNanos(),
+                settings.getBackoffInitial().toNanos() << Math.min(attemptNumber - 1, 20));
+        long pause = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        if (System.nanoTime() + pause >= deadline) {
+            return false;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(pause);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static RuntimeException unwrap(ExecutionException ex) {
+        Throwable cause = ex.getCause();
+        return cause instanceof RuntimeException runtime ? runtime : new IllegalStateException(cause);
+    }
+
+    private static Duration clamp(Duration value, Duration min, Duration max) {
+        return value.compareTo(min) < 0 ? min : value.compareTo(max) > 0 ? max : value;
+    }
+
+    private static Long millisOrNull(Duration duration) {
+        return duration == null ? null : duration.toMillis();
+    }
+
+    private record Timed<T>(T value, Duration latency) {
+    }
+}
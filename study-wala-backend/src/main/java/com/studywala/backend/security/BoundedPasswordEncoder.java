@@ -0,0 +1,118 @@
+package com.studywala.backend.security;
+
+import com.studywala.backend.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt on a dedicated, bounded pool. Hashing is CPU bound and slow on purpose, so a burst of
+ * logins or sign-ups gets a fixed number of threads and a short queue, and anything beyond that is
+ * rejected at once with a 503 instead of occupying request threads and starving other endpoints.
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    static final String HASHING_METRIC = "auth.password.hashing";
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$");
+
+    private final BCryptPasswordEncoder delegate;
+    private final int strength;
+    private final ExecutorService executor;
+    private final AtomicLong rejectedHashes = new AtomicLong();
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+
+    // The executor metrics add the pool size, the queue length and the time hashes wait in the queue.
+    public BoundedPasswordEncoder(int strength, int threads, int queueCapacity, MeterRegistry meterRegistry) {
+        this(strength, ExecutorServiceMetrics.monitor(meterRegistry,
+                new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                        // A hand-off queue would also reject a hash submitted while a worker is between tasks.
+                        new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                        new CustomizableThreadFactory("password-hash-"),
+                        new ThreadPoolExecutor.AbortPolicy()),
+                "password.hash"), meterRegistry);
+    }
+
+    BoundedPasswordEncoder(int strength, ExecutorService executor, MeterRegistry meterRegistry) {
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.strength = strength;
+        this.executor = executor;
+        this.encodeTimer = meterRegistry.timer(HASHING_METRIC, "operation", "encode");
+        this.matchesTimer = meterRegistry.timer(HASHING_METRIC, "operation", "matches");
+        FunctionCounter.builder(HASHING_METRIC + ".rejected", rejectedHashes, AtomicLong::get)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> encodeTimer.recordCallable(() -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> matchesTimer.recordCallable(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * True when the stored hash was made with another cost factor, in either direction, so that a
+     * strength change reaches every account on its next successful login.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    public long getRejectedHashes() {
+        return rejectedHashes.get();
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Callable<T> hashing) {
+        Future<T> future;
+        try {
+            future = executor.submit(hashing);
+        } catch (RejectedExecutionException ex) {
+            long rejected = rejectedHashes.incrementAndGet();
+            log.warn("Password hashing saturated, {} hashes rejected so far", rejected);
+            throw new ServiceUnavailableException("Authentication service is busy, please retry shortly");
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Authentication service is busy, please retry shortly");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+    }
+}
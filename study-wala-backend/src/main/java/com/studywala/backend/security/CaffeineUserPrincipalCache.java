@@ -0,0 +1,70 @@
+package com.studywala.backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Size-bounded, TTL-evicted in-process {@link UserPrincipalCache}. Each principal is stored once per
+ * lookup key (username, email and id) so every query path is a single map read.
+ */
+public class CaffeineUserPrincipalCache implements UserPrincipalCache {
+
+    private static final String USERNAME = "username:";
+    private static final String EMAIL = "email:";
+    private static final String ID = "id:";
+
+    private final Cache<String, UserPrincipal> cache;
+
+    public CaffeineUserPrincipalCache(long maxSize, Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Override
+    public Optional<UserPrincipal> getByUsernameOrEmail(String usernameOrEmail) {
+        UserPrincipal principal = cache.getIfPresent(USERNAME + usernameOrEmail);
+        if (principal == null) {
+            principal = cache.getIfPresent(EMAIL + usernameOrEmail);
+        }
+        return Optional.ofNullable(principal);
+    }
+
+    @Override
+    public Optional<UserPrincipal> getById(String id) {
+        return Optional.ofNullable(cache.getIfPresent(ID + id));
+    }
+
+    @Override
+    public void put(UserPrincipal principal) {
+        cache.put(USERNAME + principal.getUsername(), principal);
+        if (principal.getEmail() != null) {
+            cache.put(EMAIL + principal.getEmail(), principal);
+        }
+        if (principal.getId() != null) {
+            cache.put(ID + principal.getId(), principal);
+        }
+    }
+
+    @Override
+    public void evict(String id, String username, String email) {
+        if (id != null) {
+            UserPrincipal cached = cache.getIfPresent(ID + id);
+            if (cached != null) {
+                cache.invalidate(USERNAME + cached.getUsername());
+                cache.invalidate(EMAIL + cached.getEmail());
+            }
+            cache.invalidate(ID + id);
+        }
+        if (username != null) {
+            cache.invalidate(USERNAME + username);
+        }
+        if (email != null) {
+            cache.invalidate(EMAIL + email);
+        }
+    }
+}
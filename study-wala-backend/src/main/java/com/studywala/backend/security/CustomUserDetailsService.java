@@ -3,36 +3,62 @@ package com.studywala.backend.security;
 import com.studywala.backend.exception.ResourceNotFoundException;
 import com.studywala.backend.model.User;
 import com.studywala.backend.repository.UserRepository;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final UserPrincipalCache userPrincipalCache;
+    private final ObservationRegistry observationRegistry;
 
     @Override
-    @Transactional
     public UserDetails loadUserByUsername(String usernameOrEmail) throws UsernameNotFoundException {
-        User user = userRepository.findByUsernameOrEmail(usernameOrEmail, usernameOrEmail)
-                .orElseThrow(() ->
-                        new UsernameNotFoundException("User not found with username or email: " + usernameOrEmail)
-                );
-
-        return UserPrincipal.create(user);
+        return userPrincipalCache.getByUsernameOrEmail(usernameOrEmail).orElseGet(() ->
+                Observation.createNotStarted("auth.user.lookup", observationRegistry).observe(() -> {
+                    User user = userRepository.findByUsernameOrEmail(usernameOrEmail, usernameOrEmail)
+                            .orElseThrow(() ->
+                                    new UsernameNotFoundException("User not found with username or email: " + usernameOrEmail)
+                            );
+                    return cache(user);
+                }));
     }
 
-    @Transactional
     public UserDetails loadUserById(String id) {
-        User user = userRepository.findById(id).orElseThrow(
-            () -> new ResourceNotFoundException("User", "id", id)
-        );
+        return userPrincipalCache.getById(id).orElseGet(() -> {
+            User user = userRepository.findById(id).orElseThrow(
+                () -> new ResourceNotFoundException("User", "id", id)
+            );
+            return cache(user);
+        });
+    }
+
+    /**
+     * Called after a successful login when the stored hash uses another BCrypt cost factor. Saving
+     * the user evicts its cached principal.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        UserPrincipal principal = (UserPrincipal) user;
+        userRepository.findById(principal.getId()).ifPresent(stored -> {
+            stored.setPassword(newPassword);
+            userRepository.save(stored);
+        });
+        return new UserPrincipal(principal.getId(), principal.getUsername(), principal.getEmail(), newPassword,
+                principal.getAuthorities());
+    }
 
-        return UserPrincipal.create(user);
+    private UserPrincipal cache(User user) {
+        UserPrincipal principal = UserPrincipal.create(user);
+        userPrincipalCache.put(principal);
+        return principal;
     }
 }
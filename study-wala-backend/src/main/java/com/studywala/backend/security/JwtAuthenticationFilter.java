@@ -1,10 +1,14 @@
 package com.studywala.backend.security;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -18,11 +22,16 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 
 @Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    static final String VALIDATION_METRIC = "auth.jwt.validation";
+
     private final JwtTokenProvider tokenProvider;
     private final UserDetailsService userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
+    private final ObservationRegistry observationRegistry;
 
     @Override
     protected void doFilterInternal(
@@ -32,14 +41,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     ) throws ServletException, IOException {
         try {
             String jwt = getJwtFromRequest(request);
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromJWT(jwt);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+            JwtValidationResult result = StringUtils.hasText(jwt) ? validate(jwt) : null;
+            if (result != null && result.isValid()) {
+                Claims claims = result.getClaims();
+                UserPrincipal principal = tokenProvider.getUserPrincipal(claims);
+                // Tokens minted before identity claims existed still need the user lookup.
+                UserDetails userDetails = principal != null
+                        ? principal
+                        : userDetailsService.loadUserByUsername(claims.getSubject());
+                String userId = userDetails instanceof UserPrincipal p ? p.getId() : null;
+
+                if (!tokenRevocationService.isRevoked(claims, userId)) {
+                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                            userDetails, null, userDetails.getAuthorities());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
@@ -48,7 +65,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
-    private String getJwtFromRequest(HttpServletRequest request) {
+    // Recorded as the auth.jwt.validation timer and, when tracing, as a span under the request.
+    private JwtValidationResult validate(String jwt) {
+        Observation observation = Observation.start(VALIDATION_METRIC, observationRegistry);
+        try (Observation.Scope ignored = observation.openScope()) {
+            JwtValidationResult result = tokenProvider.parseAndValidate(jwt);
+            observation.lowCardinalityKeyValue("outcome", result.isValid() ? "valid" : "invalid");
+            return result;
+        } catch (RuntimeException ex) {
+            observation.error(ex);
+            throw ex;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
             return bearerToken.substring(7);
@@ -1,71 +1,197 @@
 package com.studywala.backend.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
 import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
 
+@Slf4j
 @Component
 public class JwtTokenProvider {
 
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_EMAIL = "email";
+    static final String CLAIM_ROLES = "roles";
+
     @Value("${app.jwt.secret}")
     private String jwtSecret;
 
     @Value("${app.jwt.expiration-ms}")
     private int jwtExpirationInMs;
 
+    @Value("${app.jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheMaxSize = 10_000;
+
+    @Value("${app.jwt.verified-cache.ttl:PT5M}")
+    private Duration verifiedCacheTtl = Duration.ofMinutes(5);
+
     private Key key;
 
+    private JwtParser parser;
+
+    private Cache<String, Claims> verifiedTokens;
+
     @PostConstruct
     public void init() {
         this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        // JwtParser is immutable and thread-safe once built, so one instance serves every request.
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaxSize)
+                .expireAfter(new VerifiedTokenExpiry(verifiedCacheTtl))
+                .build();
     }
 
     public String generateToken(Authentication authentication) {
-        UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
+        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationInMs);
 
-        return Jwts.builder()
-                .setSubject(userPrincipal.getUsername())
+        JwtBuilder builder = Jwts.builder()
+                .setId(UUID.randomUUID().toString())
+                .setSubject(userDetails.getUsername())
+                .claim(CLAIM_ROLES, userDetails.getAuthorities().stream()
+                        .map(GrantedAuthority::getAuthority)
+                        .toList())
                 .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(key, SignatureAlgorithm.HS512)
-                .compact();
+                .setExpiration(expiryDate);
+
+        // Identity claims let the filter build the principal without a database round trip.
+        if (userDetails instanceof UserPrincipal principal) {
+            builder.claim(CLAIM_USER_ID, principal.getId())
+                    .claim(CLAIM_EMAIL, principal.getEmail());
+        }
+
+        return builder.signWith(key, SignatureAlgorithm.HS512).compact();
+    }
+
+    /**
+     * Verifies the token signature and expiry once and returns the claims. Recently verified
+     * tokens are served from a cache keyed by the token hash until the cache TTL or the token
+     * expiry, whichever comes first.
+     */
+    public JwtValidationResult parseAndValidate(String token) {
+        if (!StringUtils.hasText(token)) {
+            return JwtValidationResult.invalid(JwtValidationResult.Failure.MISSING);
+        }
+        String cacheKey = hash(token);
+        Claims cached = verifiedTokens.getIfPresent(cacheKey);
+        if (cached != null && cached.getExpiration().after(new Date())) {
+            return JwtValidationResult.valid(cached);
+        }
+
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            if (claims.getExpiration() != null) {
+                verifiedTokens.put(cacheKey, claims);
+            }
+            return JwtValidationResult.valid(claims);
+        } catch (ExpiredJwtException ex) {
+            return reject(JwtValidationResult.Failure.EXPIRED, ex);
+        } catch (UnsupportedJwtException ex) {
+            return reject(JwtValidationResult.Failure.UNSUPPORTED, ex);
+        } catch (SecurityException ex) {
+            return reject(JwtValidationResult.Failure.INVALID_SIGNATURE, ex);
+        } catch (MalformedJwtException | IllegalArgumentException ex) {
+            return reject(JwtValidationResult.Failure.MALFORMED, ex);
+        }
     }
 
     public String getUsernameFromJWT(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return getClaims(token).getSubject();
+    }
 
-        return claims.getSubject();
+    public Claims getClaims(String token) {
+        JwtValidationResult result = parseAndValidate(token);
+        if (!result.isValid()) {
+            throw new JwtException("Invalid JWT: " + result.getFailure());
+        }
+        return result.getClaims();
+    }
+
+    /**
+     * Rebuilds the authenticated principal from verified claims, or returns {@code null} for
+     * tokens issued before identity claims were added.
+     */
+    public UserPrincipal getUserPrincipal(Claims claims) {
+        String userId = claims.get(CLAIM_USER_ID, String.class);
+        if (userId == null) {
+            return null;
+        }
+        List<?> roles = claims.get(CLAIM_ROLES, List.class);
+        Collection<? extends GrantedAuthority> authorities = roles == null
+                ? List.of()
+                : roles.stream().map(role -> new SimpleGrantedAuthority(role.toString())).toList();
+        return new UserPrincipal(
+                userId,
+                claims.getSubject(),
+                claims.get(CLAIM_EMAIL, String.class),
+                null,
+                authorities
+        );
     }
 
     public boolean validateToken(String authToken) {
+        return parseAndValidate(authToken).isValid();
+    }
+
+    private JwtValidationResult reject(JwtValidationResult.Failure failure, Exception ex) {
+        log.debug("Rejected JWT ({}): {}", failure, ex.getMessage());
+        return JwtValidationResult.invalid(failure);
+    }
+
+    private static String hash(String token) {
         try {
-            Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(authToken);
-            return true;
-        } catch (MalformedJwtException ex) {
-            // Log exception
-        } catch (ExpiredJwtException ex) {
-            // Log exception
-        } catch (UnsupportedJwtException ex) {
-            // Log exception
-        } catch (IllegalArgumentException ex) {
-            // Log exception
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    /**
+     * Keeps a verified token no longer than the configured TTL and never past its own expiry.
+     */
+    private record VerifiedTokenExpiry(Duration maxTtl) implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            long untilExpiry = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return Math.max(0, Math.min(maxTtl.toNanos(), Duration.ofMillis(untilExpiry).toNanos()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
         }
-        return false;
     }
 }
@@ -0,0 +1,34 @@
+package com.studywala.backend.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Outcome of {@link JwtTokenProvider#parseAndValidate(String)}: either the verified claims or the
+ * reason the token was rejected.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class JwtValidationResult {
+
+    public enum Failure {
+        MISSING, MALFORMED, EXPIRED, UNSUPPORTED, INVALID_SIGNATURE
+    }
+
+    private final Claims claims;
+    private final Failure failure;
+
+    public static JwtValidationResult valid(Claims claims) {
+        return new JwtValidationResult(claims, null);
+    }
+
+    public static JwtValidationResult invalid(Failure failure) {
+        return new JwtValidationResult(null, failure);
+    }
+
+    public boolean isValid() {
+        return failure == null;
+    }
+}
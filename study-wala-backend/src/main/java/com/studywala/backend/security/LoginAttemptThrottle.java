@@ -0,0 +1,68 @@
+package com.studywala.backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.studywala.backend.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts failed logins per account and per client address. Once either reaches its limit, further
+ * attempts are refused before the password is hashed, until the window that started with the
+ * first failure has passed.
+ */
+@Component
+public class LoginAttemptThrottle {
+
+    private final boolean enabled;
+    private final int maxFailuresPerAccount;
+    private final int maxFailuresPerIp;
+    private final Cache<String, AtomicInteger> accountFailures;
+    private final Cache<String, AtomicInteger> ipFailures;
+
+    public LoginAttemptThrottle(@Value("${app.security.login-throttle.enabled:true}") boolean enabled,
+                                @Value("${app.security.login-throttle.max-failures-per-account:5}") int maxFailuresPerAccount,
+                                @Value("${app.security.login-throttle.max-failures-per-ip:20}") int maxFailuresPerIp,
+                                @Value("${app.security.login-throttle.window:PT15M}") Duration window,
+                                @Value("${app.security.login-throttle.max-size:100000}") long maxSize) {
+        this.enabled = enabled;
+        this.maxFailuresPerAccount = maxFailuresPerAccount;
+        this.maxFailuresPerIp = maxFailuresPerIp;
+        // Counters are updated in place, which is not a write, so each window runs from the first failure.
+        this.accountFailures = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(window).build();
+        this.ipFailures = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(window).build();
+    }
+
+    public void checkAllowed(String account, String clientIp) {
+        if (enabled && (reached(accountFailures, accountKey(account), maxFailuresPerAccount)
+                || reached(ipFailures, clientIp, maxFailuresPerIp))) {
+            throw new TooManyRequestsException("Too many failed login attempts, please retry later");
+        }
+    }
+
+    public void recordFailure(String account, String clientIp) {
+        if (enabled) {
+            accountFailures.get(accountKey(account), key -> new AtomicInteger()).incrementAndGet();
+            if (clientIp != null) {
+                ipFailures.get(clientIp, key -> new AtomicInteger()).incrementAndGet();
+            }
+        }
+    }
+
+    public void recordSuccess(String account) {
+        accountFailures.invalidate(accountKey(account));
+    }
+
+    private static boolean reached(Cache<String, AtomicInteger> failures, String key, int limit) {
+        AtomicInteger count = key == null ? null : failures.getIfPresent(key);
+        return count != null && count.get() >= limit;
+    }
+
+    private static String accountKey(String account) {
+        return account == null ? "" : account.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,32 @@
+package com.studywala.backend.security;
+
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * The one account allowed to read {@code /actuator/prometheus}, over HTTP Basic. It lives outside
+ * the user store, so a signed-up user's token never grants access to metrics. Without a configured
+ * password the endpoint is closed.
+ */
+final class MetricsScrapeUser {
+
+    static final String PATH = "/actuator/prometheus";
+
+    static final PasswordEncoder ENCODER = PasswordEncoderFactories.createDelegatingPasswordEncoder();
+
+    private MetricsScrapeUser() {
+    }
+
+    static boolean isEnabled(String password) {
+        return password != null && !password.isBlank();
+    }
+
+    static UserDetails of(String username, String password) {
+        return User.withUsername(username)
+                .password(ENCODER.encode(password))
+                .roles("METRICS")
+                .build();
+    }
+}
@@ -0,0 +1,29 @@
+package com.studywala.backend.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The password encoder shared by the servlet and reactive security configurations.
+ */
+@Configuration
+public class PasswordEncoderConfig {
+
+    @Value("${app.security.password.bcrypt-strength:10}")
+    private int strength;
+
+    @Value("${app.security.password.hashing-threads:0}")
+    private int hashingThreads;
+
+    @Value("${app.security.password.queue-capacity:32}")
+    private int queueCapacity;
+
+    // Platform threads on purpose: hashing is CPU bound, so virtual threads would not add capacity.
+    @Bean(destroyMethod = "shutdown")
+    public BoundedPasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        int threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(strength, threads, queueCapacity, meterRegistry);
+    }
+}
@@ -0,0 +1,49 @@
+package com.studywala.backend.security;
+
+import com.studywala.backend.repository.ReactiveUserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsPasswordService;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link CustomUserDetailsService}, sharing its principal cache.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveCustomUserDetailsService implements ReactiveUserDetailsService, ReactiveUserDetailsPasswordService {
+
+    private final ReactiveUserRepository userRepository;
+    private final UserPrincipalCache userPrincipalCache;
+
+    @Override
+    public Mono<UserDetails> findByUsername(String usernameOrEmail) {
+        return Mono.justOrEmpty(userPrincipalCache.getByUsernameOrEmail(usernameOrEmail))
+                .switchIfEmpty(userRepository.findByUsernameOrEmail(usernameOrEmail, usernameOrEmail)
+                        .map(user -> {
+                            UserPrincipal principal = UserPrincipal.create(user);
+                            userPrincipalCache.put(principal);
+                            return principal;
+                        }))
+                .switchIfEmpty(Mono.error(() ->
+                        new UsernameNotFoundException("User not found with username or email: " + usernameOrEmail)))
+                .cast(UserDetails.class);
+    }
+
+    @Override
+    public Mono<UserDetails> updatePassword(UserDetails user, String newPassword) {
+        UserPrincipal principal = (UserPrincipal) user;
+        return userRepository.findById(principal.getId())
+                .flatMap(stored -> {
+                    stored.setPassword(newPassword);
+                    return userRepository.save(stored);
+                })
+                .thenReturn(new UserPrincipal(principal.getId(), principal.getUsername(), principal.getEmail(),
+                        newPassword, principal.getAuthorities()));
+    }
+}
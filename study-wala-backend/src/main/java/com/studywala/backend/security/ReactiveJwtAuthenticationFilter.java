@@ -0,0 +1,90 @@
+package com.studywala.backend.security;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+/**
+ * Reactive counterpart of {@link JwtAuthenticationFilter}. Not a bean of its own: it is added to
+ * the security filter chain only, so WebFlux does not also run it as a global filter.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ReactiveJwtAuthenticationFilter implements WebFilter {
+
+    private final JwtTokenProvider tokenProvider;
+    private final ReactiveUserDetailsService userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
+    private final ObservationRegistry observationRegistry;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String jwt = getJwtFromRequest(exchange.getRequest());
+        JwtValidationResult result = StringUtils.hasText(jwt) ? validate(jwt) : null;
+        if (result == null || !result.isValid()) {
+            return chain.filter(exchange);
+        }
+        return authenticate(result.getClaims())
+                .map(Optional::of)
+                .onErrorResume(ex -> {
+                    log.error("Could not set user authentication in security context", ex);
+                    return Mono.empty();
+                })
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(authentication -> authentication
+                        .map(auth -> chain.filter(exchange)
+                                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(auth)))
+                        .orElseGet(() -> chain.filter(exchange)));
+    }
+
+    private Mono<Authentication> authenticate(Claims claims) {
+        UserPrincipal principal = tokenProvider.getUserPrincipal(claims);
+        // Tokens minted before identity claims existed still need the user lookup.
+        Mono<UserDetails> userDetails = principal != null
+                ? Mono.just(principal)
+                : userDetailsService.findByUsername(claims.getSubject());
+        return userDetails
+                .filter(user -> !tokenRevocationService.isRevoked(claims,
+                        user instanceof UserPrincipal p ? p.getId() : null))
+                .map(user -> new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    // Recorded as the auth.jwt.validation timer and, when tracing, as a span under the request.
+    private JwtValidationResult validate(String jwt) {
+        Observation observation = Observation.start(JwtAuthenticationFilter.VALIDATION_METRIC, observationRegistry);
+        try (Observation.Scope ignored = observation.openScope()) {
+            JwtValidationResult result = tokenProvider.parseAndValidate(jwt);
+            observation.lowCardinalityKeyValue("outcome", result.isValid() ? "valid" : "invalid");
+            return result;
+        } catch (RuntimeException ex) {
+            observation.error(ex);
+            throw ex;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    String getJwtFromRequest(ServerHttpRequest request) {
+        String bearerToken = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
+            return bearerToken.substring(7);
+        }
+        return null;
+    }
+}
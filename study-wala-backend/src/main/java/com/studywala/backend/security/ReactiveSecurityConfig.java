@@ -0,0 +1,98 @@
+package com.studywala.backend.security;
+
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.MapReactiveUserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers;
+
+/**
+ * Security for the reactive stack, mirroring {@link SecurityConfig}: stateless JWT authentication
+ * with the same public paths, and HTTP Basic for the metrics scraper.
+ */
+@Configuration
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveSecurityConfig {
+
+    private final JwtTokenProvider tokenProvider;
+    private final ReactiveCustomUserDetailsService userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
+    private final ReactiveJwtAuthenticationEntryPoint unauthorizedHandler;
+    private final ObservationRegistry observationRegistry;
+
+    @Bean
+    @Order(1)
+    public SecurityWebFilterChain metricsSecurityWebFilterChain(
+            ServerHttpSecurity http,
+            @Value("${app.metrics.scrape.username:prometheus}") String username,
+            @Value("${app.metrics.scrape.password:}") String password) {
+        http
+            .securityMatcher(ServerWebExchangeMatchers.pathMatchers(MetricsScrapeUser.PATH))
+            .csrf(ServerHttpSecurity.CsrfSpec::disable)
+            .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+            .securityContextRepository(NoOpServerSecurityContextRepository.getInstance());
+        if (!MetricsScrapeUser.isEnabled(password)) {
+            return http
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .authorizeExchange(auth -> auth.anyExchange().denyAll())
+                .build();
+        }
+        UserDetailsRepositoryReactiveAuthenticationManager manager = new UserDetailsRepositoryReactiveAuthenticationManager(
+                new MapReactiveUserDetailsService(MetricsScrapeUser.of(username, password)));
+        manager.setPasswordEncoder(MetricsScrapeUser.ENCODER);
+        return http
+            .httpBasic(basic -> basic.authenticationManager(manager))
+            .authorizeExchange(auth -> auth.anyExchange().hasRole("METRICS"))
+            .build();
+    }
+
+    @Bean
+    @Order(2)
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        return http
+            .csrf(ServerHttpSecurity.CsrfSpec::disable)
+            .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+            .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+            .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+            .exceptionHandling(exception -> exception.authenticationEntryPoint(unauthorizedHandler))
+            .authorizeExchange(auth -> auth
+                .pathMatchers(
+                    "/api/auth/**",
+                    "/api-docs/**",
+                    "/swagger-ui/**",
+                    "/swagger-ui.html",
+                    "/actuator/health"
+                ).permitAll()
+                .anyExchange().authenticated()
+            )
+            .addFilterAt(new ReactiveJwtAuthenticationFilter(tokenProvider, userDetailsService, tokenRevocationService,
+                            observationRegistry),
+                    SecurityWebFiltersOrder.AUTHENTICATION)
+            .build();
+    }
+
+    // Password checks run on the bounded elastic scheduler so BCrypt never blocks an event loop, and
+    // hashes made with another cost factor are replaced after a successful check.
+    @Bean
+    public ReactiveAuthenticationManager reactiveAuthenticationManager(PasswordEncoder passwordEncoder) {
+        UserDetailsRepositoryReactiveAuthenticationManager manager =
+                new UserDetailsRepositoryReactiveAuthenticationManager(userDetailsService);
+        manager.setPasswordEncoder(passwordEncoder);
+        manager.setUserDetailsPasswordService(userDetailsService);
+        return manager;
+    }
+}
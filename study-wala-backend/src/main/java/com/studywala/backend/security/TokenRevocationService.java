@@ -0,0 +1,67 @@
+package com.studywala.backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+
+/**
+ * In-process deny list for access tokens. Entries only need to live as long as a token can,
+ * so both caches expire after the configured JWT lifetime and stay small.
+ */
+@Component
+public class TokenRevocationService {
+
+    private final boolean enabled;
+    private final Cache<String, Boolean> revokedTokenIds;
+    private final Cache<String, Instant> revokedBefore;
+
+    public TokenRevocationService(@Value("${app.jwt.revocation.enabled:true}") boolean enabled,
+                                  @Value("${app.jwt.revocation.max-size:100000}") long maxSize,
+                                  @Value("${app.jwt.expiration-ms}") long jwtExpirationInMs) {
+        this.enabled = enabled;
+        Duration tokenLifetime = Duration.ofMillis(jwtExpirationInMs);
+        this.revokedTokenIds = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(tokenLifetime)
+                .build();
+        this.revokedBefore = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(tokenLifetime)
+                .build();
+    }
+
+    public void revoke(Claims claims) {
+        if (enabled && claims.getId() != null) {
+            revokedTokenIds.put(claims.getId(), Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Invalidates every token issued to the user up to now, e.g. when they sign out everywhere.
+     * {@code iat} has second precision, so tokens issued within the current second are revoked too.
+     */
+    public void revokeAllForUser(String userId) {
+        if (enabled) {
+            revokedBefore.put(userId, Instant.now().truncatedTo(ChronoUnit.SECONDS));
+        }
+    }
+
+    public boolean isRevoked(Claims claims, String userId) {
+        if (!enabled) {
+            return false;
+        }
+        if (claims.getId() != null && revokedTokenIds.getIfPresent(claims.getId()) != null) {
+            return true;
+        }
+        Instant cutoff = userId == null ? null : revokedBefore.getIfPresent(userId);
+        Date issuedAt = claims.getIssuedAt();
+        return cutoff != null && issuedAt != null && !issuedAt.toInstant().isAfter(cutoff);
+    }
+}
@@ -0,0 +1,24 @@
+package com.studywala.backend.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class UserCacheConfig {
+
+    @Value("${app.security.user-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${app.security.user-cache.ttl:PT10M}")
+    private Duration ttl;
+
+    @Bean
+    @ConditionalOnMissingBean(UserPrincipalCache.class)
+    public UserPrincipalCache userPrincipalCache() {
+        return new CaffeineUserPrincipalCache(maxSize, ttl);
+    }
+}
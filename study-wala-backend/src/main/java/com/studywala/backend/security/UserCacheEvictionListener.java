@@ -0,0 +1,36 @@
+package com.studywala.backend.security;
+
+import com.studywala.backend.model.User;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts cached principals whenever a {@link User} is saved or deleted through the repository, so
+ * registration, profile and password changes are visible on the next lookup. Writes issued with
+ * raw {@code MongoTemplate} updates bypass these events and must evict explicitly.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserCacheEvictionListener extends AbstractMongoEventListener<User> {
+
+    private final UserPrincipalCache userPrincipalCache;
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<User> event) {
+        User user = event.getSource();
+        userPrincipalCache.evict(user.getId(), user.getUsername(), user.getEmail());
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<User> event) {
+        Document query = event.getSource();
+        Object id = query.get("_id");
+        if (id != null) {
+            userPrincipalCache.evict(id.toString(), null, null);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.studywala.backend.security;
+
+import java.util.Optional;
+
+/**
+ * Lookup cache for {@link UserPrincipal}s used by {@link CustomUserDetailsService}. The default
+ * implementation is in-process; multi-node deployments can register their own bean (for example
+ * backed by Redis) to share entries and evictions across instances.
+ */
+public interface UserPrincipalCache {
+
+    Optional<UserPrincipal> getByUsernameOrEmail(String usernameOrEmail);
+
+    Optional<UserPrincipal> getById(String id);
+
+    void put(UserPrincipal principal);
+
+    /**
+     * Drops every entry for the user, including those keyed by a previous username or email.
+     */
+    void evict(String id, String username, String email);
+}
@@ -0,0 +1,143 @@
+package com.studywala.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.studywala.backend.dto.AIResponseCacheStats;
+import com.studywala.backend.model.AIResponseCacheEntry;
+import com.studywala.backend.repository.AIResponseCacheRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Two-tier cache of AI completions keyed by the normalized prompt: a bounded in-memory tier
+ * in front of an optional Mongo collection that survives restarts.
+ */
+@Slf4j
+@Component
+public class AIResponseCache {
+
+    private final AIResponseCacheRepository repository;
+    private final boolean enabled;
+    private final boolean persistentEnabled;
+    private final Duration ttl;
+    private final Cache<String, String> memory;
+    private final AtomicLong persistentHits = new AtomicLong();
+    private final AtomicLong persistentMisses = new AtomicLong();
+
+    public AIResponseCache(AIResponseCacheRepository repository,
+                           @Value("${openai.cache.enabled:true}") boolean enabled,
+                           @Value("${openai.cache.max-size:1000}") long maxSize,
+                           @Value("${openai.cache.ttl:PT24H}") Duration ttl,
+                           @Value("${openai.cache.persistent.enabled:false}") boolean persistentEnabled) {
+        this.repository = repository;
+        this.enabled = enabled;
+        this.persistentEnabled = persistentEnabled;
+        this.ttl = ttl;
+        this.memory = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public String getOrGenerate(String prompt, Function<String, String> generator) {
+        if (!enabled) {
+            return generator.apply(prompt);
+        }
+        String key = keyFor(prompt);
+
+        String cached = memory.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        if (persistentEnabled) {
+            Optional<String> stored = readPersistent(key);
+            if (stored.isPresent()) {
+                memory.put(key, stored.get());
+                return stored.get();
+            }
+        }
+
+        String response = generator.apply(prompt);
+        if (response != null) {
+            memory.put(key, response);
+            if (persistentEnabled) {
+                writePersistent(key, response);
+            }
+        }
+        return response;
+    }
+
+    public AIResponseCacheStats getStats() {
+        CacheStats stats = memory.stats();
+        return AIResponseCacheStats.builder()
+                .size(memory.estimatedSize())
+                .memoryHits(stats.hitCount())
+                .memoryMisses(stats.missCount())
+                .evictions(stats.evictionCount())
+                .persistentHits(persistentHits.get())
+                .persistentMisses(persistentMisses.get())
+                .build();
+    }
+
+    /**
+     * Case and whitespace differences do not change what the model is asked, so they must not
+     * produce distinct cache entries.
+     */
+    static String normalize(String prompt) {
+        return prompt.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    static String keyFor(String prompt) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(normalize(prompt).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    private Optional<String> readPersistent(String key) {
+        try {
+            Optional<String> stored = repository.findById(key)
+                    .filter(entry -> entry.getExpiresAt() == null || entry.getExpiresAt().isAfter(Instant.now()))
+                    .map(AIResponseCacheEntry::getResponse);
+            (stored.isPresent() ? persistentHits : persistentMisses).incrementAndGet();
+            return stored;
+        } catch (RuntimeException ex) {
+            // The persistent tier is an optimisation; never fail a plan request because of it.
+            log.warn("AI response cache lookup failed", ex);
+            persistentMisses.incrementAndGet();
+            return Optional.empty();
+        }
+    }
+
+    private void writePersistent(String key, String response) {
+        try {
+            Instant now = Instant.now();
+            AIResponseCacheEntry entry = new AIResponseCacheEntry();
+            entry.setId(key);
+            entry.setResponse(response);
+            entry.setCreatedAt(now);
+            entry.setExpiresAt(now.plus(ttl));
+            repository.save(entry);
+        } catch (RuntimeException ex) {
+            log.warn("AI response cache write failed", ex);
+        }
+    }
+}
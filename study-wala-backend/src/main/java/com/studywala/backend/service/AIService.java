@@ -1,48 +1,301 @@
 package com.studywala.backend.service;
 
+import com.studywala.backend.dto.AIClientStats;
+import com.studywala.backend.exception.ServiceUnavailableException;
+import com.studywala.backend.resilience.ResilienceStats;
+import com.studywala.backend.resilience.ResilientCaller;
+import com.theokanning.openai.OpenAiHttpException;
+import com.theokanning.openai.completion.chat.ChatCompletionChoice;
 import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatCompletionResult;
+import com.theokanning.openai.Usage;
 import com.theokanning.openai.completion.chat.ChatMessage;
 import com.theokanning.openai.completion.chat.ChatMessageRole;
 import com.theokanning.openai.service.OpenAiService;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.reactivex.Flowable;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.OkHttpClient;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import retrofit2.HttpException;
 
+import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.function.Consumer;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class AIService {
 
-    @Value("${openai.api.key}")
-    private String openAiApiKey;
+    static final String SYSTEM_PROMPT =
+            "You are an AI study planner. Generate a personalized study plan based on the user's input. " +
+            "Return the response in a structured JSON format with title, description, subjects, and weekly schedule.";
+
+    // Field order matters: the streaming parser forwards each array element as soon as it is closed.
+    static final String STREAMING_SYSTEM_PROMPT =
+            "You are an AI study planner. Reply with a single JSON object and nothing else, with the fields in this order: " +
+            "title, description, " +
+            "subjects (array of {id, name, color, priority}), " +
+            "topics (array of {id, name, subjectId, estimatedHours, priority}), " +
+            "sessions (array of {date as yyyy-MM-dd, subjectId, topicId, minutes, type as STUDY or REVISION}).";
+
+    static final String QUIZ_SYSTEM_PROMPT =
+            "You write multiple-choice quiz questions for students. Reply with a single JSON array and nothing else; " +
+            "each element is {question, choices (array of 4 strings), answerIndex (0-based), explanation}.";
+
+    private final OpenAiService openAiService;
+    private final OkHttpClient httpClient;
+    private final ResilientCaller caller;
+    private final String model;
+    private final int maxConcurrentCalls;
+    private final long acquireTimeoutMs;
+    private final Semaphore callPermits;
+    private final AtomicLong rejectedCalls = new AtomicLong();
+    private final ObservationRegistry observationRegistry;
+    private final Counter promptTokens;
+    private final Counter completionTokens;
+
+    @Value("${openai.stream.max-tokens:8000}")
+    private int streamMaxTokens = 8000;
+
+    @Value("${openai.stream.deadline:PT3M}")
+    private Duration streamDeadline = Duration.ofMinutes(3);
+
+    public AIService(OpenAiService openAiService,
+                     OkHttpClient openAiHttpClient,
+                     ResilientCaller openAiCaller,
+                     MeterRegistry meterRegistry,
+                     ObservationRegistry observationRegistry,
+                     @Value("${openai.model:gpt-4o}") String model,
+                     @Value("${openai.client.max-concurrent-calls:20}") int maxConcurrentCalls,
+                     @Value("${openai.client.acquire-timeout-ms:2000}") long acquireTimeoutMs) {
+        this.openAiService = openAiService;
+        this.httpClient = openAiHttpClient;
+        this.caller = openAiCaller;
+        this.model = model;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.callPermits = new Semaphore(maxConcurrentCalls, true);
+        this.observationRegistry = observationRegistry;
+        this.promptTokens = meterRegistry.counter("ai.tokens", "model", model, "type", "prompt");
+        this.completionTokens = meterRegistry.counter("ai.tokens", "model", model, "type", "completion");
+    }
 
     public String generateStudyPlan(String prompt) {
-        OpenAiService service = new OpenAiService(openAiApiKey, Duration.ofSeconds(60));
+        return complete("generate", SYSTEM_PROMPT, prompt);
+    }
+
+    public String generateQuizQuestions(String prompt) {
+        return complete("quiz", QUIZ_SYSTEM_PROMPT, prompt);
+    }
 
+    private String complete(String operation, String systemPrompt, String prompt) {
         List<ChatMessage> messages = new ArrayList<>();
-        ChatMessage systemMessage = new ChatMessage(
-                ChatMessageRole.SYSTEM.value(),
-                "You are an AI study planner. Generate a personalized study plan based on the user's input. " +
-                "Return the response in a structured JSON format with title, description, subjects, and weekly schedule."
-        );
-        messages.add(systemMessage);
+        messages.add(new ChatMessage(ChatMessageRole.SYSTEM.value(), systemPrompt));
         messages.add(new ChatMessage(ChatMessageRole.USER.value(), prompt));
 
         ChatCompletionRequest completionRequest = ChatCompletionRequest.builder()
-                .model("gpt-4o")
+                .model(model)
                 .messages(messages)
                 .temperature(0.7)
                 .maxTokens(2000)
                 .build();
 
-        return service.createChatCompletion(completionRequest)
-                .getChoices()
-                .get(0)
-                .getMessage()
-                .getContent();
+        // Every attempt, hedges included, holds its own permit while it talks to the upstream.
+        Observation observation = startObservation(operation);
+        String outcome = "error";
+        try (Observation.Scope ignored = observation.openScope()) {
+            ChatCompletionResult result = caller.call(() -> {
+                acquirePermit();
+                try {
+                    return openAiService.createChatCompletion(completionRequest);
+                } finally {
+                    callPermits.release();
+                }
+            });
+            recordUsage(observation, result.getUsage());
+            outcome = "success";
+            return result.getChoices().get(0).getMessage().getContent();
+        } catch (ServiceUnavailableException ex) {
+            outcome = "unavailable";
+            throw ex;
+        } catch (RuntimeException ex) {
+            observation.error(ex);
+            throw ex;
+        } finally {
+            stopObservation(observation, outcome);
+        }
+    }
+
+    /**
+     * Streams the completion and hands every content delta to {@code onDelta} as it arrives, so
+     * the caller can parse incrementally instead of buffering the whole answer. Blocks until the
+     * stream ends; an exception thrown by {@code onDelta} cancels the upstream call. Deltas are
+     * consumed as they arrive, so a stream is never retried or hedged, only guarded by the breaker.
+     * The answer is capped at {@code openai.stream.max-tokens}, and a stream still open at
+     * {@code openai.stream.deadline} is cancelled and fails with an I/O timeout.
+     */
+    public void streamStudyPlan(String prompt, Consumer<String> onDelta) {
+        List<ChatMessage> messages = new ArrayList<>();
+        messages.add(new ChatMessage(ChatMessageRole.SYSTEM.value(), STREAMING_SYSTEM_PROMPT));
+        messages.add(new ChatMessage(ChatMessageRole.USER.value(), prompt));
+
+        ChatCompletionRequest completionRequest = ChatCompletionRequest.builder()
+                .model(model)
+                .messages(messages)
+                .temperature(0.7)
+                .maxTokens(streamMaxTokens)
+                .stream(true)
+                .build();
+
+        Observation observation = startObservation("stream");
+        String outcome = "error";
+        try (Observation.Scope ignored = observation.openScope()) {
+            caller.guard(() -> {
+                acquirePermit();
+                try {
+                    openAiService.streamChatCompletion(completionRequest).takeUntil(deadline()).blockingForEach(chunk -> {
+                        for (ChatCompletionChoice choice : chunk.getChoices()) {
+                            String content = choice.getMessage() == null ? null : choice.getMessage().getContent();
+                            if (content != null && !content.isEmpty()) {
+                                forward(onDelta, content);
+                            }
+                        }
+                    });
+                    return null;
+                } finally {
+                    callPermits.release();
+                }
+            });
+            outcome = "success";
+        } catch (ConsumerFailure ex) {
+            outcome = "cancelled";
+            throw ex.getCause();
+        } catch (ServiceUnavailableException ex) {
+            outcome = "unavailable";
+            throw ex;
+        } catch (RuntimeException ex) {
+            observation.error(ex);
+            throw ex;
+        } finally {
+            stopObservation(observation, outcome);
+        }
+    }
+
+    // The read timeout only bounds the gap between chunks; this bounds the whole stream.
+    private Flowable<Object> deadline() {
+        return Flowable.timer(streamDeadline.toMillis(), TimeUnit.MILLISECONDS)
+                .flatMap(tick -> Flowable.error(new InterruptedIOException("AI stream exceeded " + streamDeadline)));
+    }
+
+    // A failing consumer (e.g. a client that went away) says nothing about the health of the upstream.
+    private static void forward(Consumer<String> onDelta, String content) {
+        try {
+            onDelta.accept(content);
+        } catch (RuntimeException ex) {
+            throw new ConsumerFailure(ex);
+        }
+    }
+
+    public OpenAiService getOpenAiService() {
+        return openAiService;
+    }
+
+    public AIClientStats getClientStats() {
+        return AIClientStats.builder()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .inFlightCalls(maxConcurrentCalls - callPermits.availablePermits())
+                .waitingCalls(callPermits.getQueueLength())
+                .rejectedCalls(rejectedCalls.get())
+                .dispatcherRunningCalls(httpClient.dispatcher().runningCallsCount())
+                .dispatcherQueuedCalls(httpClient.dispatcher().queuedCallsCount())
+                .pooledConnections(httpClient.connectionPool().connectionCount())
+                .idleConnections(httpClient.connectionPool().idleConnectionCount())
+                .build();
+    }
+
+    // Recorded as the ai.requests timer and, when tracing, as a span that retries and hedges run under.
+    private Observation startObservation(String operation) {
+        return Observation.createNotStarted("ai.requests", observationRegistry)
+                .lowCardinalityKeyValue("model", model)
+                .lowCardinalityKeyValue("operation", operation)
+                .start();
+    }
+
+    private static void stopObservation(Observation observation, String outcome) {
+        observation.lowCardinalityKeyValue("outcome", outcome).stop();
+    }
+
+    // Streamed completions carry no usage block, so only blocking calls are counted.
+    private void recordUsage(Observation observation, Usage usage) {
+        if (usage != null) {
+            promptTokens.increment(usage.getPromptTokens());
+            completionTokens.increment(usage.getCompletionTokens());
+            observation.highCardinalityKeyValue("ai.tokens.prompt", String.valueOf(usage.getPromptTokens()))
+                    .highCardinalityKeyValue("ai.tokens.completion", String.valueOf(usage.getCompletionTokens()));
+        }
+    }
+
+    public ResilienceStats getResilienceStats() {
+        return caller.getStats();
+    }
+
+    /**
+     * Failures worth another attempt: throttling, request timeouts, server errors and I/O problems.
+     */
+    public static boolean isTransientFailure(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConsumerFailure) {
+                return false;
+            }
+            if (cause instanceof OpenAiHttpException http) {
+                return isTransientStatus(http.statusCode);
+            }
+            if (cause instanceof HttpException http) {
+                return isTransientStatus(http.code());
+            }
+            if (cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isTransientStatus(int status) {
+        return status == 408 || status == 429 || status >= 500;
+    }
+
+    private void acquirePermit() {
+        try {
+            if (callPermits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        long rejected = rejectedCalls.incrementAndGet();
+        log.warn("OpenAI client saturated: {} calls in flight, {} rejected so far", maxConcurrentCalls, rejected);
+        throw new ServiceUnavailableException("AI service is busy, please retry shortly");
+    }
+
+    private static class ConsumerFailure extends RuntimeException {
+        ConsumerFailure(RuntimeException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized RuntimeException getCause() {
+            return (RuntimeException) super.getCause();
+        }
     }
 }
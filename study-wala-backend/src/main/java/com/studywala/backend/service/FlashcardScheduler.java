@@ -0,0 +1,68 @@
+package com.studywala.backend.service;
+
+import com.studywala.backend.model.Flashcard;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * SM-2 spaced-repetition scheduling. A review is graded 0 (blackout) to 5 (perfect recall);
+ * grades below 3 are lapses that restart the card at a one day interval. Successful reviews grow
+ * the interval from 1 to 6 days and then by the card's ease factor, which itself moves with every
+ * grade and never drops below {@value #MIN_EASE_FACTOR}.
+ */
+@Component
+public class FlashcardScheduler {
+
+    public static final double INITIAL_EASE_FACTOR = 2.5;
+    public static final double MIN_EASE_FACTOR = 1.3;
+    public static final int MIN_GRADE = 0;
+    public static final int MAX_GRADE = 5;
+
+    private final int maxIntervalDays;
+
+    public FlashcardScheduler(@Value("${app.flashcards.max-interval-days:3650}") int maxIntervalDays) {
+        this.maxIntervalDays = maxIntervalDays;
+    }
+
+    /**
+     * Puts a new card in its initial state, due right away.
+     */
+    public void initialize(Flashcard card, Instant now) {
+        card.setEaseFactor(INITIAL_EASE_FACTOR);
+        card.setIntervalDays(0);
+        card.setRepetitions(0);
+        card.setLapses(0);
+        card.setDueAt(now);
+    }
+
+    /**
+     * Applies one graded review to the card and moves its due date.
+     */
+    public void review(Flashcard card, int grade, Instant reviewedAt) {
+        if (grade < MIN_GRADE || grade > MAX_GRADE) {
+            throw new IllegalArgumentException("grade must be between " + MIN_GRADE + " and " + MAX_GRADE);
+        }
+        if (grade < 3) {
+            card.setRepetitions(0);
+            card.setIntervalDays(1);
+            card.setLapses(card.getLapses() + 1);
+        } else {
+            int repetitions = card.getRepetitions() + 1;
+            int interval = switch (repetitions) {
+                case 1 -> 1;
+                case 2 -> 6;
+                default -> (int) Math.round(card.getIntervalDays() * card.getEaseFactor());
+            };
+            card.setRepetitions(repetitions);
+            card.setIntervalDays(Math.min(Math.max(interval, 1), maxIntervalDays));
+        }
+        int miss = MAX_GRADE - grade;
+        double easeFactor = card.getEaseFactor() + (0.1 - miss * (0.08 + miss * 0.02));
+        card.setEaseFactor(Math.max(MIN_EASE_FACTOR, easeFactor));
+        card.setLastReviewedAt(reviewedAt);
+        card.setDueAt(reviewedAt.plus(Duration.ofDays(card.getIntervalDays())));
+    }
+}
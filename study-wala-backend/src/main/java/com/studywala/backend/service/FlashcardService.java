@@ -0,0 +1,190 @@
+package com.studywala.backend.service;
+
+import com.studywala.backend.dto.FlashcardRequest;
+import com.studywala.backend.dto.FlashcardResponse;
+import com.studywala.backend.dto.FlashcardReview;
+import com.studywala.backend.dto.ReviewLogResponse;
+import com.studywala.backend.exception.ResourceNotFoundException;
+import com.studywala.backend.model.Flashcard;
+import com.studywala.backend.model.ReviewLog;
+import com.studywala.backend.model.Topic;
+import com.studywala.backend.repository.FlashcardRepository;
+import com.studywala.backend.repository.ReviewLogRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class FlashcardService {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final FlashcardRepository flashcardRepository;
+    private final ReviewLogRepository reviewLogRepository;
+    private final TopicAccess topicAccess;
+    private final MongoTemplate mongoTemplate;
+    private final FlashcardScheduler scheduler;
+
+    @Value("${app.flashcards.max-due-limit:100}")
+    private int maxDueLimit = 100;
+
+    public FlashcardResponse createFlashcard(FlashcardRequest request, String userId) {
+        Topic topic = topicAccess.requireOwned(request.getTopicId(), userId);
+
+        Instant now = Instant.now();
+        Flashcard card = new Flashcard();
+        card.setUserId(userId);
+        card.setTopicId(topic.getId());
+        card.setFront(request.getFront());
+        card.setBack(request.getBack());
+        card.setCreatedAt(now);
+        scheduler.initialize(card, now);
+        return convertToDto(flashcardRepository.save(card));
+    }
+
+    /**
+     * The cards that are due, most overdue first. The query is a range scan on the
+     * {@code (userId, dueAt)} index that stops after {@code limit} entries, so its cost does not
+     * grow with the size of the user's deck.
+     */
+    public List<FlashcardResponse> getDueFlashcards(String userId, int limit) {
+        int size = Math.max(1, Math.min(limit, maxDueLimit));
+        return flashcardRepository
+                .findByUserIdAndDueAtLessThanEqualOrderByDueAtAsc(userId, Instant.now(), PageRequest.of(0, size))
+                .stream()
+                .map(this::convertToDto)
+                .toList();
+    }
+
+    /**
+     * Applies a batch of reviews in the order they happened and writes the new card states and
+     * the review logs with one bulk write per collection. Reviews that are not newer than the
+     * card's last review (e.g. a client resending a batch) are skipped, so a retry is harmless.
+     * A card update only matches while the stored last review is older than the one being written,
+     * so of two concurrent batches the later review wins, and log ids derived from the card and
+     * review time keep a raced log from being stored twice. Returns the reviewed cards in their
+     * new state.
+     */
+    public List<FlashcardResponse> submitReviews(List<FlashcardReview> reviews, String userId) {
+        Set<String> ids = reviews.stream().map(FlashcardReview::getFlashcardId).collect(Collectors.toSet());
+        Map<String, Flashcard> cards = flashcardRepository.findByUserIdAndIdIn(userId, ids).stream()
+                .collect(Collectors.toMap(Flashcard::getId, Function.identity()));
+        for (String id : ids) {
+            if (!cards.containsKey(id)) {
+                throw new ResourceNotFoundException("Flashcard", "id", id);
+            }
+        }
+
+        List<FlashcardReview> ordered = reviews.stream()
+                .sorted(Comparator.comparing(FlashcardReview::getReviewedAt))
+                .toList();
+        Map<String, Flashcard> reviewed = new LinkedHashMap<>();
+        List<ReviewLog> logs = new ArrayList<>();
+        for (FlashcardReview review : ordered) {
+            Flashcard card = cards.get(review.getFlashcardId());
+            Instant reviewedAt = review.getReviewedAt();
+            if (card.getLastReviewedAt() != null && !reviewedAt.isAfter(card.getLastReviewedAt())) {
+                continue;
+            }
+            int previousInterval = card.getIntervalDays();
+            scheduler.review(card, review.getGrade(), reviewedAt);
+            reviewed.put(card.getId(), card);
+            logs.add(reviewLog(card, review.getGrade(), previousInterval));
+        }
+        if (reviewed.isEmpty()) {
+            return List.of();
+        }
+
+        BulkOperations cardUpdates = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Flashcard.class);
+        for (Flashcard card : reviewed.values()) {
+            Criteria olderReview = new Criteria().orOperator(
+                    Criteria.where("lastReviewedAt").is(null),
+                    Criteria.where("lastReviewedAt").lt(card.getLastReviewedAt()));
+            cardUpdates.updateOne(
+                    new Query(new Criteria().andOperator(
+                            Criteria.where("_id").is(card.getId()).and("userId").is(userId), olderReview)),
+                    new Update()
+                            .set("easeFactor", card.getEaseFactor())
+                            .set("intervalDays", card.getIntervalDays())
+                            .set("repetitions", card.getRepetitions())
+                            .set("lapses", card.getLapses())
+                            .set("dueAt", card.getDueAt())
+                            .set("lastReviewedAt", card.getLastReviewedAt()));
+        }
+        cardUpdates.execute();
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ReviewLog.class).insert(logs).execute();
+        } catch (BulkOperationException ex) {
+            if (ex.getErrors().stream().anyMatch(error -> error.getCode() != DUPLICATE_KEY)) {
+                throw ex;
+            }
+        }
+
+        return reviewed.values().stream().map(this::convertToDto).toList();
+    }
+
+    public List<ReviewLogResponse> getReviewHistory(String flashcardId, String userId) {
+        flashcardRepository.findById(flashcardId)
+                .filter(card -> userId.equals(card.getUserId()))
+                .orElseThrow(() -> new ResourceNotFoundException("Flashcard", "id", flashcardId));
+        return reviewLogRepository.findByFlashcardIdOrderByReviewedAtAsc(flashcardId).stream()
+                .map(this::convertToDto)
+                .toList();
+    }
+
+    private static ReviewLog reviewLog(Flashcard card, int grade, int previousInterval) {
+        ReviewLog log = new ReviewLog();
+        log.setId(card.getId() + ":" + card.getLastReviewedAt().toEpochMilli());
+        log.setFlashcardId(card.getId());
+        log.setUserId(card.getUserId());
+        log.setGrade(grade);
+        log.setPreviousIntervalDays(previousInterval);
+        log.setIntervalDays(card.getIntervalDays());
+        log.setEaseFactor(card.getEaseFactor());
+        log.setReviewedAt(card.getLastReviewedAt());
+        return log;
+    }
+
+    private FlashcardResponse convertToDto(Flashcard card) {
+        FlashcardResponse dto = new FlashcardResponse();
+        dto.setId(card.getId());
+        dto.setTopicId(card.getTopicId());
+        dto.setFront(card.getFront());
+        dto.setBack(card.getBack());
+        dto.setEaseFactor(card.getEaseFactor());
+        dto.setIntervalDays(card.getIntervalDays());
+        dto.setRepetitions(card.getRepetitions());
+        dto.setLapses(card.getLapses());
+        dto.setDueAt(card.getDueAt());
+        dto.setLastReviewedAt(card.getLastReviewedAt());
+        return dto;
+    }
+
+    private ReviewLogResponse convertToDto(ReviewLog log) {
+        ReviewLogResponse dto = new ReviewLogResponse();
+        dto.setGrade(log.getGrade());
+        dto.setPreviousIntervalDays(log.getPreviousIntervalDays());
+        dto.setIntervalDays(log.getIntervalDays());
+        dto.setEaseFactor(log.getEaseFactor());
+        dto.setReviewedAt(log.getReviewedAt());
+        return dto;
+    }
+}
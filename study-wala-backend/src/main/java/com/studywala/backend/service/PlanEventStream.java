@@ -0,0 +1,168 @@
+package com.studywala.backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded buffer between the thread generating a plan and the thread writing it to one SSE
+ * connection. When the client reads slower than the model writes, partial events are dropped
+ * first (the final plan event carries everything); stage, plan and error events wait for room.
+ * Once the client is gone, {@link #publish} throws {@link CancellationException} so the
+ * generator stops and the upstream AI call is cancelled.
+ */
+@Slf4j
+class PlanEventStream {
+
+    private final SseEmitter emitter;
+    private final int capacity;
+    private final Duration publishTimeout;
+    private final Deque<Event> events = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    private boolean finished;
+    private volatile boolean closed;
+    private long dropped;
+
+    PlanEventStream(SseEmitter emitter, int capacity, Duration publishTimeout) {
+        this.emitter = emitter;
+        this.capacity = capacity;
+        this.publishTimeout = publishTimeout;
+        emitter.onCompletion(this::close);
+        emitter.onTimeout(this::close);
+        emitter.onError(ex -> close());
+    }
+
+    /** Queues a partial event, dropping it if the buffer is full. */
+    void publishPartial(String name, Object data) {
+        publish(new Event(name, data, true));
+    }
+
+    /** Queues an event the client must see, evicting a partial one or waiting for room if needed. */
+    void publish(String name, Object data) {
+        publish(new Event(name, data, false));
+    }
+
+    private void publish(Event event) {
+        lock.lock();
+        try {
+            ensureOpen();
+            if (events.size() >= capacity && (event.droppable() || !evictPartial())) {
+                if (event.droppable()) {
+                    dropped++;
+                    return;
+                }
+                long nanos = publishTimeout.toNanos();
+                while (events.size() >= capacity && !closed && nanos > 0) {
+                    nanos = notFull.awaitNanos(nanos);
+                }
+                ensureOpen();
+                if (events.size() >= capacity) {
+                    close();
+                    throw new CancellationException("Client is not reading plan events");
+                }
+            }
+            events.addLast(event);
+            notEmpty.signal();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while publishing plan events");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Marks the end of the stream; the writer completes the response once the buffer is drained. */
+    void finish() {
+        lock.lock();
+        try {
+            finished = true;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    /** Writer loop: sends buffered events until the generator finishes or the client goes away. */
+    void drain() {
+        while (true) {
+            Event event;
+            long droppedSoFar;
+            lock.lock();
+            try {
+                while (events.isEmpty() && !finished && !closed) {
+                    notEmpty.awaitUninterruptibly();
+                }
+                if (closed) {
+                    return;
+                }
+                event = events.pollFirst();
+                droppedSoFar = dropped;
+                notFull.signal();
+            } finally {
+                lock.unlock();
+            }
+            if (event == null) {
+                break;
+            }
+            try {
+                if ("plan".equals(event.name()) && droppedSoFar > 0) {
+                    emitter.send(SseEmitter.event().name("dropped").data(droppedSoFar));
+                }
+                emitter.send(SseEmitter.event().name(event.name()).data(event.data(), MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException ex) {
+                log.debug("Plan stream client went away: {}", ex.getMessage());
+                close();
+                return;
+            }
+        }
+        emitter.complete();
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new CancellationException("Plan stream client disconnected");
+        }
+    }
+
+    private boolean evictPartial() {
+        for (Iterator<Event> it = events.iterator(); it.hasNext(); ) {
+            if (it.next().droppable()) {
+                it.remove();
+                dropped++;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record Event(String name, Object data, boolean droppable) {
+    }
+}
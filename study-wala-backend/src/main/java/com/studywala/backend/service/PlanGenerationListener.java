@@ -0,0 +1,25 @@
+package com.studywala.backend.service;
+
+import com.studywala.backend.model.ScheduledSession;
+import com.studywala.backend.model.Subject;
+import com.studywala.backend.model.Topic;
+
+/**
+ * Receives parts of a study plan while it is still being generated. Each callback fires as soon
+ * as the corresponding JSON value is complete in the model's output.
+ */
+public interface PlanGenerationListener {
+
+    /** Top-level scalar fields such as {@code title} and {@code description}; fields set to {@code null} are skipped. */
+    default void onField(String name, String value) {
+    }
+
+    default void onSubject(Subject subject) {
+    }
+
+    default void onTopic(Topic topic) {
+    }
+
+    default void onSession(ScheduledSession session) {
+    }
+}
@@ -0,0 +1,253 @@
+package com.studywala.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.studywala.backend.model.Flashcard;
+import com.studywala.backend.model.QuizQuestion;
+import com.studywala.backend.model.Topic;
+import com.studywala.backend.repository.FlashcardRepository;
+import com.studywala.backend.repository.QuizQuestionRepository;
+import com.studywala.backend.repository.TopicRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Pools of quiz questions. A user's pool for a topic is built from their own flashcards of that
+ * topic and, when enabled, from AI-written questions shared by everyone on the topic. Pools are
+ * filled in the background, so starting a quiz never waits on the model. Reads go through a
+ * short-lived in-memory copy of each part; concurrent quiz starts share one Mongo read. A user's
+ * part and a topic's AI part are each refilled by one task at a time and at most once per refill
+ * interval, however many quizzes are started on them.
+ */
+@Slf4j
+@Service
+public class QuizPoolService {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final QuizQuestionRepository questionRepository;
+    private final FlashcardRepository flashcardRepository;
+    private final TopicRepository topicRepository;
+    private final QuizTemplateGenerator templateGenerator;
+    private final AIService aiService;
+    private final MongoTemplate mongoTemplate;
+    private final ThreadPoolTaskExecutor quizPoolExecutor;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, List<QuizQuestion>> pools;
+    private final Cache<String, Boolean> recentRefills;
+    private final Set<String> refilling = ConcurrentHashMap.newKeySet();
+
+    @Value("${app.quizzes.pool.target-size:100}")
+    private int targetSize = 100;
+
+    @Value("${app.quizzes.pool.max-template-cards:500}")
+    private int maxTemplateCards = 500;
+
+    @Value("${app.quizzes.ai-generation.enabled:false}")
+    private boolean aiGenerationEnabled;
+
+    @Value("${app.quizzes.ai-generation.batch-size:20}")
+    private int aiBatchSize = 20;
+
+    public QuizPoolService(QuizQuestionRepository questionRepository,
+                           FlashcardRepository flashcardRepository,
+                           TopicRepository topicRepository,
+                           QuizTemplateGenerator templateGenerator,
+                           AIService aiService,
+                           MongoTemplate mongoTemplate,
+                           ThreadPoolTaskExecutor quizPoolExecutor,
+                           ObjectMapper objectMapper,
+                           @Value("${app.quizzes.pool.cache-ttl:PT1M}") Duration cacheTtl,
+                           @Value("${app.quizzes.pool.cache-max-topics:10000}") long cacheMaxTopics,
+                           @Value("${app.quizzes.pool.refill-interval:PT10M}") Duration refillInterval) {
+        this.questionRepository = questionRepository;
+        this.flashcardRepository = flashcardRepository;
+        this.topicRepository = topicRepository;
+        this.templateGenerator = templateGenerator;
+        this.aiService = aiService;
+        this.mongoTemplate = mongoTemplate;
+        this.quizPoolExecutor = quizPoolExecutor;
+        this.objectMapper = objectMapper;
+        this.pools = Caffeine.newBuilder()
+                .maximumSize(cacheMaxTopics)
+                .expireAfterWrite(cacheTtl)
+                .build();
+        this.recentRefills = Caffeine.newBuilder()
+                .maximumSize(cacheMaxTopics)
+                .expireAfterWrite(refillInterval)
+                .build();
+    }
+
+    /**
+     * The questions a user can be quizzed on for a topic: the shared AI questions plus the ones
+     * built from the user's own flashcards. Flashcards are private, so their questions never reach
+     * other users of a shared topic.
+     */
+    public List<QuizQuestion> getPool(String topicId, String userId) {
+        List<QuizQuestion> shared = pools.get(topicId,
+                key -> List.copyOf(questionRepository.findByTopicIdAndSource(topicId, QuizQuestion.Source.AI)));
+        List<QuizQuestion> own = pools.get(poolKey(topicId, userId),
+                key -> List.copyOf(questionRepository.findByTopicIdAndUserId(topicId, userId)));
+        List<QuizQuestion> pool = new ArrayList<>(shared.size() + own.size());
+        pool.addAll(shared);
+        pool.addAll(own);
+        return pool;
+    }
+
+    public boolean isBelowTarget(List<QuizQuestion> pool) {
+        return pool.size() < targetSize;
+    }
+
+    /**
+     * Queues a background refill of the user's pool for the topic and, when enabled, an AI top-up of
+     * the topic's shared questions. Each is skipped while one is running or after one ran within the
+     * refill interval, and a full queue drops it: the next quiz start on the topic asks again.
+     */
+    public void requestRefill(String topicId, String userId) {
+        submit(poolKey(topicId, userId), topicId, () -> refillTemplates(topicId, userId));
+        if (aiGenerationEnabled) {
+            submit(topicId, topicId, () -> topUpAI(topicId));
+        }
+    }
+
+    private void submit(String key, String topicId, Runnable task) {
+        if (recentRefills.getIfPresent(key) != null || !refilling.add(key)) {
+            return;
+        }
+        try {
+            quizPoolExecutor.execute(() -> {
+                try {
+                    task.run();
+                } catch (RuntimeException ex) {
+                    log.warn("Quiz pool refill failed for topic {}: {}", topicId, ex.getMessage());
+                } finally {
+                    // A failed refill waits out the interval too, so a model outage is not retried per quiz.
+                    recentRefills.put(key, Boolean.TRUE);
+                    refilling.remove(key);
+                }
+            });
+        } catch (TaskRejectedException ex) {
+            refilling.remove(key);
+            log.warn("Quiz pool refill queue is full, skipping topic {}", topicId);
+        }
+    }
+
+    int refillTemplates(String topicId, String userId) {
+        List<Flashcard> cards = flashcardRepository.findByTopicIdAndUserId(topicId, userId,
+                PageRequest.of(0, maxTemplateCards));
+        int added = store(templateGenerator.generate(topicId, userId, cards, ThreadLocalRandom.current()));
+        pools.invalidate(poolKey(topicId, userId));
+        log.info("Added {} flashcard questions to the quiz pool of topic {}", added, topicId);
+        return added;
+    }
+
+    int topUpAI(String topicId) {
+        if (questionRepository.countByTopicIdAndSource(topicId, QuizQuestion.Source.AI) >= targetSize) {
+            return 0;
+        }
+        Topic topic = topicRepository.findById(topicId).orElse(null);
+        if (topic == null) {
+            return 0;
+        }
+        String response = aiService.generateQuizQuestions(createAIPrompt(topic, aiBatchSize));
+        int added = store(parseAIQuestions(topicId, response));
+        pools.invalidate(topicId);
+        log.info("Added {} AI questions to the quiz pool of topic {}", added, topicId);
+        return added;
+    }
+
+    // Shared AI questions are cached under the topic id, a user's own questions under topic and user.
+    private static String poolKey(String topicId, String userId) {
+        return topicId + ":" + userId;
+    }
+
+    /**
+     * Inserts the questions in one unordered bulk write. Questions already in the pool collide on
+     * the (topicId, userId, fingerprint) index and are skipped; the rest are still written.
+     */
+    private int store(List<QuizQuestion> questions) {
+        if (questions.isEmpty()) {
+            return 0;
+        }
+        Instant now = Instant.now();
+        for (QuizQuestion question : questions) {
+            question.setFingerprint(AIResponseCache.keyFor(question.getPrompt()));
+            question.setCreatedAt(now);
+        }
+        try {
+            return mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, QuizQuestion.class)
+                    .insert(questions)
+                    .execute()
+                    .getInsertedCount();
+        } catch (BulkOperationException ex) {
+            if (ex.getErrors().stream().anyMatch(error -> error.getCode() != DUPLICATE_KEY)) {
+                throw ex;
+            }
+            return ex.getResult().getInsertedCount();
+        }
+    }
+
+    String createAIPrompt(Topic topic, int count) {
+        return String.format("Write %d multiple-choice questions that test understanding of the topic \"%s\". " +
+                "Vary the difficulty and avoid trick questions.", count, topic.getName());
+    }
+
+    List<QuizQuestion> parseAIQuestions(String topicId, String aiResponse) {
+        // Models often wrap the JSON in prose or a code fence
+        int start = aiResponse == null ? -1 : aiResponse.indexOf('[');
+        int end = aiResponse == null ? -1 : aiResponse.lastIndexOf(']');
+        if (start < 0 || end < start) {
+            throw new IllegalArgumentException("AI response does not contain a JSON array");
+        }
+        List<GeneratedQuestion> generated;
+        try {
+            generated = objectMapper.readerForListOf(GeneratedQuestion.class)
+                    .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .readValue(aiResponse.substring(start, end + 1));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("AI response is not a valid question list", ex);
+        }
+
+        List<QuizQuestion> questions = new ArrayList<>();
+        for (GeneratedQuestion candidate : generated) {
+            if (!candidate.isValid()) {
+                continue;
+            }
+            QuizQuestion question = new QuizQuestion();
+            question.setTopicId(topicId);
+            question.setPrompt(candidate.question().trim());
+            question.setChoices(List.copyOf(candidate.choices()));
+            question.setCorrectIndex(candidate.answerIndex());
+            question.setExplanation(candidate.explanation());
+            question.setSource(QuizQuestion.Source.AI);
+            questions.add(question);
+        }
+        return questions;
+    }
+
+    private record GeneratedQuestion(String question, List<String> choices, Integer answerIndex, String explanation) {
+        boolean isValid() {
+            return question != null && !question.isBlank()
+                    && choices != null && choices.size() >= 2 && choices.stream().noneMatch(choice -> choice == null)
+                    && answerIndex != null && answerIndex >= 0 && answerIndex < choices.size();
+        }
+    }
+}
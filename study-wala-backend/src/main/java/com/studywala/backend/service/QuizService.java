@@ -0,0 +1,165 @@
+package com.studywala.backend.service;
+
+import com.mongodb.client.result.UpdateResult;
+import com.studywala.backend.dto.QuizQuestionResponse;
+import com.studywala.backend.dto.QuizRequest;
+import com.studywala.backend.dto.QuizResponse;
+import com.studywala.backend.dto.QuizSubmission;
+import com.studywala.backend.exception.ResourceNotFoundException;
+import com.studywala.backend.exception.ServiceUnavailableException;
+import com.studywala.backend.model.Quiz;
+import com.studywala.backend.model.QuizQuestion;
+import com.studywala.backend.model.Topic;
+import com.studywala.backend.repository.QuizRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class QuizService {
+
+    private final QuizRepository quizRepository;
+    private final QuizPoolService quizPoolService;
+    private final TopicAccess topicAccess;
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Assembles a quiz from the topic's question pool without calling the model. A pool below its
+     * target size is refilled in the background; an empty one is refused until the refill lands.
+     */
+    public QuizResponse startQuiz(QuizRequest request, String userId) {
+        Topic topic = topicAccess.requireOwned(request.getTopicId(), userId);
+        List<QuizQuestion> pool = quizPoolService.getPool(topic.getId(), userId);
+        if (quizPoolService.isBelowTarget(pool)) {
+            quizPoolService.requestRefill(topic.getId(), userId);
+        }
+        if (pool.isEmpty()) {
+            throw new ServiceUnavailableException("Questions for this topic are being prepared, please retry shortly");
+        }
+
+        List<QuizQuestion> picked = WeightedSampler.sample(pool, QuizService::weight,
+                request.getQuestionCount(), ThreadLocalRandom.current());
+        Quiz quiz = new Quiz();
+        quiz.setUserId(userId);
+        quiz.setTopicId(topic.getId());
+        quiz.setItems(picked.stream().map(QuizService::item).toList());
+        quiz.setCreatedAt(Instant.now());
+        return convertToDto(quizRepository.save(quiz));
+    }
+
+    public void requestPool(String topicId, String userId) {
+        quizPoolService.requestRefill(topicAccess.requireOwned(topicId, userId).getId(), userId);
+    }
+
+    public QuizResponse getQuiz(String id, String userId) {
+        return convertToDto(findQuiz(id, userId));
+    }
+
+    /**
+     * Grades the quiz and stores the result with a single update that only matches an unsubmitted
+     * quiz, so a repeated or concurrent submission returns the first result instead of grading
+     * twice. The per-question answer stats that drive sampling are then bumped in one bulk write.
+     */
+    public QuizResponse submitQuiz(String id, QuizSubmission submission, String userId) {
+        Quiz quiz = findQuiz(id, userId);
+        if (quiz.getSubmittedAt() != null) {
+            return convertToDto(quiz);
+        }
+
+        List<Integer> answers = submission.getAnswers();
+        int score = 0;
+        for (int i = 0; i < quiz.getItems().size(); i++) {
+            Quiz.Item item = quiz.getItems().get(i);
+            Integer answer = i < answers.size() ? answers.get(i) : null;
+            item.setAnswerIndex(answer);
+            item.setCorrect(answer != null && answer == item.getCorrectIndex());
+            score += item.isCorrect() ? 1 : 0;
+        }
+        quiz.setScore(score);
+        quiz.setSubmittedAt(Instant.now());
+
+        UpdateResult result = mongoTemplate.updateFirst(
+                new Query(Criteria.where("_id").is(id).and("userId").is(userId).and("submittedAt").is(null)),
+                new Update()
+                        .set("items", quiz.getItems())
+                        .set("score", quiz.getScore())
+                        .set("submittedAt", quiz.getSubmittedAt()),
+                Quiz.class);
+        if (result.getModifiedCount() == 0) {
+            return getQuiz(id, userId);
+        }
+        recordAnswers(quiz);
+        return convertToDto(quiz);
+    }
+
+    // Laplace-smoothed miss rate: questions people get wrong come up more often, new ones sit at one half.
+    static double weight(QuizQuestion question) {
+        return (question.getTimesAsked() - question.getTimesCorrect() + 1.0) / (question.getTimesAsked() + 2.0);
+    }
+
+    private void recordAnswers(Quiz quiz) {
+        try {
+            BulkOperations stats = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, QuizQuestion.class);
+            for (Quiz.Item item : quiz.getItems()) {
+                stats.updateOne(new Query(Criteria.where("_id").is(item.getQuestionId())),
+                        new Update().inc("timesAsked", 1).inc("timesCorrect", item.isCorrect() ? 1 : 0));
+            }
+            stats.execute();
+        } catch (DataAccessException ex) {
+            // The stats only steer sampling; the graded quiz is already stored.
+            log.warn("Could not record answer stats of quiz {}: {}", quiz.getId(), ex.getMessage());
+        }
+    }
+
+    private Quiz findQuiz(String id, String userId) {
+        return quizRepository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Quiz", "id", id));
+    }
+
+    private static Quiz.Item item(QuizQuestion question) {
+        Quiz.Item item = new Quiz.Item();
+        item.setQuestionId(question.getId());
+        item.setPrompt(question.getPrompt());
+        item.setChoices(question.getChoices());
+        item.setCorrectIndex(question.getCorrectIndex());
+        item.setExplanation(question.getExplanation());
+        return item;
+    }
+
+    private QuizResponse convertToDto(Quiz quiz) {
+        boolean submitted = quiz.getSubmittedAt() != null;
+        QuizResponse dto = new QuizResponse();
+        dto.setId(quiz.getId());
+        dto.setTopicId(quiz.getTopicId());
+        dto.setQuestions(quiz.getItems().stream().map(item -> {
+            QuizQuestionResponse question = new QuizQuestionResponse();
+            question.setQuestionId(item.getQuestionId());
+            question.setPrompt(item.getPrompt());
+            question.setChoices(item.getChoices());
+            if (submitted) {
+                question.setCorrectIndex(item.getCorrectIndex());
+                question.setExplanation(item.getExplanation());
+                question.setAnswerIndex(item.getAnswerIndex());
+                question.setCorrect(item.isCorrect());
+            }
+            return question;
+        }).toList());
+        dto.setScore(quiz.getScore());
+        dto.setTotal(quiz.getItems().size());
+        dto.setCreatedAt(quiz.getCreatedAt());
+        dto.setSubmittedAt(quiz.getSubmittedAt());
+        return dto;
+    }
+}
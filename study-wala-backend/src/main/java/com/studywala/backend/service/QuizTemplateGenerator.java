@@ -0,0 +1,53 @@
+package com.studywala.backend.service;
+
+import com.studywala.backend.model.Flashcard;
+import com.studywala.backend.model.QuizQuestion;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Builds multiple-choice questions locally from one user's flashcards of a topic: the front of a
+ * card is the question, its back the right answer, and the backs of the user's other cards of the
+ * same topic are the distractors. Needs at least two cards with different answers.
+ */
+@Component
+public class QuizTemplateGenerator {
+
+    static final int CHOICES = 4;
+
+    public List<QuizQuestion> generate(String topicId, String userId, List<Flashcard> cards, Random random) {
+        Set<String> answers = new LinkedHashSet<>();
+        cards.forEach(card -> answers.add(card.getBack().trim()));
+        if (answers.size() < 2) {
+            return List.of();
+        }
+
+        List<QuizQuestion> questions = new ArrayList<>();
+        for (Flashcard card : cards) {
+            String answer = card.getBack().trim();
+            List<String> distractors = new ArrayList<>(answers);
+            distractors.remove(answer);
+            Collections.shuffle(distractors, random);
+
+            List<String> choices = new ArrayList<>(distractors.subList(0, Math.min(CHOICES - 1, distractors.size())));
+            choices.add(answer);
+            Collections.shuffle(choices, random);
+
+            QuizQuestion question = new QuizQuestion();
+            question.setTopicId(topicId);
+            question.setUserId(userId);
+            question.setPrompt(card.getFront().trim());
+            question.setChoices(choices);
+            question.setCorrectIndex(choices.indexOf(answer));
+            question.setSource(QuizQuestion.Source.TEMPLATE);
+            questions.add(question);
+        }
+        return questions;
+    }
+}
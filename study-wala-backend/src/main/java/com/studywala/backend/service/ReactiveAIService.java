@@ -0,0 +1,134 @@
+package com.studywala.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studywala.backend.exception.ServiceUnavailableException;
+import com.theokanning.openai.completion.chat.ChatCompletionChoice;
+import com.theokanning.openai.completion.chat.ChatCompletionChunk;
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatCompletionResult;
+import com.theokanning.openai.completion.chat.ChatMessage;
+import com.theokanning.openai.completion.chat.ChatMessageRole;
+import com.theokanning.openai.service.OpenAiService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reactive counterpart of {@link AIService}: the same prompts and models over a non-blocking
+ * {@link WebClient}, so a pending completion holds no thread.
+ */
+@Slf4j
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAIService {
+
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> EVENTS =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private final WebClient openAiWebClient;
+    private final String model;
+    private final ObjectMapper openAiMapper = OpenAiService.defaultObjectMapper();
+    private final AtomicLong rejectedCalls = new AtomicLong();
+
+    @Value("${openai.stream.max-tokens:8000}")
+    private int streamMaxTokens = 8000;
+
+    @Value("${openai.stream.deadline:PT3M}")
+    private Duration streamDeadline = Duration.ofMinutes(3);
+
+    public ReactiveAIService(WebClient openAiWebClient,
+                             @Value("${openai.model:gpt-4o}") String model) {
+        this.openAiWebClient = openAiWebClient;
+        this.model = model;
+    }
+
+    public Mono<String> generateStudyPlan(String prompt) {
+        ChatCompletionRequest completionRequest = ChatCompletionRequest.builder()
+                .model(model)
+                .messages(messages(AIService.SYSTEM_PROMPT, prompt))
+                .temperature(0.7)
+                .maxTokens(2000)
+                .build();
+
+        return openAiWebClient.post()
+                .uri("chat/completions")
+                .bodyValue(completionRequest)
+                .retrieve()
+                .bodyToMono(ChatCompletionResult.class)
+                .map(result -> result.getChoices().get(0).getMessage().getContent())
+                .onErrorMap(TimeoutException.class, this::busy);
+    }
+
+    /**
+     * Streams the completion as content deltas. Cancelling the returned flux (e.g. because the
+     * client of a plan stream went away) closes the upstream connection. The answer is capped at
+     * {@code openai.stream.max-tokens}, and a stream still open at {@code openai.stream.deadline}
+     * is cancelled and fails as busy.
+     */
+    public Flux<String> streamStudyPlan(String prompt) {
+        ChatCompletionRequest completionRequest = ChatCompletionRequest.builder()
+                .model(model)
+                .messages(messages(AIService.STREAMING_SYSTEM_PROMPT, prompt))
+                .temperature(0.7)
+                .maxTokens(streamMaxTokens)
+                .stream(true)
+                .build();
+
+        return openAiWebClient.post()
+                .uri("chat/completions")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .bodyValue(completionRequest)
+                .retrieve()
+                .bodyToFlux(EVENTS)
+                .mapNotNull(ServerSentEvent::data)
+                .takeWhile(data -> !"[DONE]".equals(data.trim()))
+                .concatMapIterable(this::contentOf)
+                .takeUntilOther(Mono.delay(streamDeadline)
+                        .then(Mono.error(() -> new TimeoutException("AI stream exceeded " + streamDeadline))))
+                .onErrorMap(TimeoutException.class, this::busy);
+    }
+
+    private List<String> contentOf(String chunkJson) {
+        try {
+            ChatCompletionChunk chunk = openAiMapper.readValue(chunkJson, ChatCompletionChunk.class);
+            List<String> contents = new ArrayList<>();
+            for (ChatCompletionChoice choice : chunk.getChoices()) {
+                String content = choice.getMessage() == null ? null : choice.getMessage().getContent();
+                if (content != null && !content.isEmpty()) {
+                    contents.add(content);
+                }
+            }
+            return contents;
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unreadable completion chunk", ex);
+        }
+    }
+
+    private static List<ChatMessage> messages(String systemPrompt, String prompt) {
+        List<ChatMessage> messages = new ArrayList<>();
+        messages.add(new ChatMessage(ChatMessageRole.SYSTEM.value(), systemPrompt));
+        messages.add(new ChatMessage(ChatMessageRole.USER.value(), prompt));
+        return messages;
+    }
+
+    private ServiceUnavailableException busy(TimeoutException ex) {
+        long rejected = rejectedCalls.incrementAndGet();
+        log.warn("OpenAI client saturated or slow ({}), {} calls rejected so far", ex.getMessage(), rejected);
+        return new ServiceUnavailableException("AI service is busy, please retry shortly");
+    }
+}
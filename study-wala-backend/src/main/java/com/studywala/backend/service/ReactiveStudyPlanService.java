@@ -0,0 +1,195 @@
+package com.studywala.backend.service;
+
+import com.studywala.backend.dto.CursorPage;
+import com.studywala.backend.dto.StudyPlanRequest;
+import com.studywala.backend.dto.StudyPlanResponse;
+import com.studywala.backend.dto.StudyPlanSummary;
+import com.studywala.backend.exception.ResourceNotFoundException;
+import com.studywala.backend.mapper.StudyPlanMapper;
+import com.studywala.backend.model.ScheduledSession;
+import com.studywala.backend.model.StudyPlan;
+import com.studywala.backend.model.Subject;
+import com.studywala.backend.model.Topic;
+import com.studywala.backend.repository.ReactiveStudyPlanRepository;
+import com.studywala.backend.repository.ReactiveSubjectRepository;
+import com.studywala.backend.repository.ReactiveTopicRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Study plan operations for the reactive stack. Scheduling, prompt building, response parsing and
+ * paging rules are shared with {@link StudyPlanService}; only the I/O differs.
+ */
+@Slf4j
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveStudyPlanService {
+
+    private final ReactiveStudyPlanRepository studyPlanRepository;
+    private final ReactiveSubjectRepository subjectRepository;
+    private final ReactiveTopicRepository topicRepository;
+    private final ReactiveAIService aiService;
+    private final StudyPlanService studyPlanService;
+    private final StudyPlanMapper studyPlanMapper;
+
+    @Value("${app.study-plans.ai-enrichment.enabled:false}")
+    private boolean aiEnrichmentEnabled;
+
+    public Mono<StudyPlanResponse> createStudyPlan(StudyPlanRequest request, String userId) {
+        return ownedSubjectsAndTopics(request, userId)
+                .map(scope -> studyPlanService.assemble(request, userId, scope.getT1(), scope.getT2()))
+                .flatMap(studyPlan -> aiEnrichmentEnabled ? enrich(studyPlan, request) : Mono.just(studyPlan))
+                .flatMap(studyPlanRepository::save)
+                .map(this::convertToDto);
+    }
+
+    /**
+     * Generates the plan with the model and emits the same events as the servlet stream:
+     * {@code stage}, the partial {@code field}/{@code subject}/{@code topic}/{@code session} content,
+     * then the saved {@code plan} or an {@code error}. Back-pressure reaches the model stream
+     * directly, and cancelling the flux cancels the upstream call.
+     */
+    public Flux<ServerSentEvent<Object>> streamStudyPlan(StudyPlanRequest request, String userId) {
+        return ownedSubjectsAndTopics(request, userId).flatMapMany(scope -> {
+            List<Subject> subjects = scope.getT1();
+            List<Topic> topics = scope.getT2();
+            StudyPlan studyPlan = studyPlanService.newGeneratedPlan(request, userId);
+            List<ServerSentEvent<Object>> parsed = new ArrayList<>();
+            StreamingPlanParser parser = studyPlanService.generatedPlanParser(studyPlan, subjects, topics,
+                    new PlanGenerationListener() {
+                        @Override
+                        public void onField(String name, String value) {
+                            parsed.add(event("field", Map.of(name, value)));
+                        }
+
+                        @Override
+                        public void onSubject(Subject subject) {
+                            parsed.add(event("subject", subject));
+                        }
+
+                        @Override
+                        public void onTopic(Topic topic) {
+                            parsed.add(event("topic", topic));
+                        }
+
+                        @Override
+                        public void onSession(ScheduledSession session) {
+                            parsed.add(event("session", session));
+                        }
+                    });
+
+            Flux<ServerSentEvent<Object>> partial = aiService
+                    .streamStudyPlan(studyPlanService.createStreamingPrompt(request, subjects, topics))
+                    .concatMapIterable(delta -> {
+                        parsed.clear();
+                        parser.feed(delta);
+                        return List.copyOf(parsed);
+                    });
+            Mono<StudyPlanResponse> saved = Mono.defer(() -> {
+                parser.finish();
+                studyPlanService.completeGeneratedPlan(studyPlan);
+                return studyPlanRepository.save(studyPlan);
+            }).map(this::convertToDto);
+
+            return Flux.concat(
+                    Flux.just(event("stage", "GENERATING")),
+                    partial,
+                    saved.flatMapMany(plan -> Flux.just(event("stage", "COMPLETED"), event("plan", plan))));
+        }).onErrorResume(ex -> {
+            log.warn("Streaming plan generation failed for {}: {}", userId, ex.getMessage());
+            return Flux.just(event("error", Map.of("message", "Study plan generation failed")));
+        });
+    }
+
+    // Subjects owned by the user or shared, and all their topics, as for a locally scheduled plan.
+    private Mono<Tuple2<List<Subject>, List<Topic>>> ownedSubjectsAndTopics(StudyPlanRequest request, String userId) {
+        return subjectRepository.findAllById(request.getSubjectIds())
+                .collectList()
+                .map(found -> studyPlanService.ownedSubjects(found, userId))
+                .flatMap(subjects -> topicRepository
+                        .findBySubjectIdIn(subjects.stream().map(Subject::getId).toList())
+                        .collectList()
+                        .map(topics -> Tuples.of(subjects, topics)));
+    }
+
+    // The schedule is always local; the model only contributes an overview when none was given.
+    private Mono<StudyPlan> enrich(StudyPlan studyPlan, StudyPlanRequest request) {
+        if (StringUtils.hasText(request.getDescription())) {
+            return Mono.just(studyPlan);
+        }
+        return aiService.generateStudyPlan(studyPlanService.createAIPrompt(request))
+                .doOnNext(aiResponse -> studyPlanService.applySuggestion(studyPlan, aiResponse))
+                .thenReturn(studyPlan)
+                .onErrorResume(ex -> {
+                    log.warn("Skipping AI enrichment of study plan '{}': {}", request.getTitle(), ex.getMessage());
+                    return Mono.just(studyPlan);
+                });
+    }
+
+    public Mono<StudyPlanResponse> getStudyPlan(String id, String userId) {
+        return studyPlanRepository.findByIdAndUserId(id, userId)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Study plan not found")))
+                .map(this::convertToDto);
+    }
+
+    public Flux<StudyPlanResponse> getUserStudyPlans(String userId) {
+        return studyPlanMapper.toResponses(studyPlanRepository.findByUserId(userId));
+    }
+
+    public Mono<CursorPage<StudyPlanResponse>> getUserStudyPlansPage(String userId, String after, int limit) {
+        Pageable pageable = studyPlanService.pageOf(limit);
+        Flux<StudyPlan> plans = after == null
+                ? studyPlanRepository.findByUserIdOrderByIdAsc(userId, pageable)
+                : studyPlanRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(userId, after, pageable);
+        return plans.collectList().map(rows ->
+                studyPlanMapper.toResponses(StudyPlanService.toCursorPage(rows, pageable.getPageSize() - 1,
+                        StudyPlan::getId, Function.identity())));
+    }
+
+    public Mono<CursorPage<StudyPlanSummary>> getUserStudyPlanSummaries(String userId, String after, int limit) {
+        Pageable pageable = studyPlanService.pageOf(limit);
+        Flux<StudyPlanSummary> summaries = after == null
+                ? studyPlanRepository.findSummariesByUserIdOrderByIdAsc(userId, pageable)
+                : studyPlanRepository.findSummariesByUserIdAndIdGreaterThanOrderByIdAsc(userId, after, pageable);
+        return summaries.collectList().map(rows ->
+                StudyPlanService.toCursorPage(rows, pageable.getPageSize() - 1, StudyPlanSummary::getId, Function.identity()));
+    }
+
+    /**
+     * Streams every plan of the user straight from a Mongo cursor, at the pace the client reads.
+     */
+    public Flux<StudyPlanResponse> streamUserStudyPlans(String userId) {
+        return studyPlanMapper.toResponses(studyPlanRepository.streamByUserIdOrderByIdAsc(userId));
+    }
+
+    public Mono<Void> deleteStudyPlan(String id, String userId) {
+        return studyPlanRepository.existsByIdAndUserId(id, userId)
+                .flatMap(exists -> exists
+                        ? studyPlanRepository.deleteById(id)
+                        : Mono.error(new ResourceNotFoundException("Study plan not found")));
+    }
+
+    private static ServerSentEvent<Object> event(String name, Object data) {
+        return ServerSentEvent.builder(data).event(name).build();
+    }
+
+    private StudyPlanResponse convertToDto(StudyPlan studyPlan) {
+        return studyPlanMapper.toResponse(studyPlan);
+    }
+}
@@ -0,0 +1,49 @@
+package com.studywala.backend.service;
+
+import com.studywala.backend.model.StudyPlan;
+import com.studywala.backend.model.UserStudyStats;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reactive counterpart of {@link StudyPlanStatsListener}. Mapping events of the reactive template
+ * are published on the driver's callback thread, so the rollup update is issued through the
+ * reactive template and not awaited; a failed update is logged and the plan write still succeeds.
+ */
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveStudyPlanStatsListener {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final UserStudyStatsService userStudyStatsService;
+
+    @EventListener
+    public void onAfterSave(AfterSaveEvent<?> event) {
+        if (UserStudyStatsService.isTracked(event.getSource())) {
+            StudyPlan plan = (StudyPlan) event.getSource();
+            reactiveMongoTemplate.upsert(UserStudyStatsService.planOwner(plan),
+                            userStudyStatsService.planSaved(plan), UserStudyStats.class)
+                    .subscribe(result -> { }, ex -> log.warn("Could not add plan {} to the study stats: {}",
+                            plan.getId(), ex.getMessage()));
+        }
+    }
+
+    @EventListener
+    public void onAfterDelete(AfterDeleteEvent<?> event) {
+        String planId = UserStudyStatsService.deletedPlanId(event);
+        if (planId != null) {
+            reactiveMongoTemplate.updateFirst(UserStudyStatsService.planHolder(planId),
+                            userStudyStatsService.planDeleted(planId), UserStudyStats.class)
+                    .subscribe(result -> { }, ex -> log.warn("Could not remove plan {} from the study stats: {}",
+                            planId, ex.getMessage()));
+        }
+    }
+}
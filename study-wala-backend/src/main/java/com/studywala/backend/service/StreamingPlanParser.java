@@ -0,0 +1,151 @@
+package com.studywala.backend.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.studywala.backend.model.ScheduledSession;
+import com.studywala.backend.model.Subject;
+import com.studywala.backend.model.Topic;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Incremental parser for a study plan JSON object arriving in arbitrary chunks. It runs on
+ * Jackson's non-blocking parser, so only the element currently being read is held in memory, and
+ * each element of {@code subjects}, {@code topics} and {@code sessions} is passed to the listener
+ * as soon as its closing brace arrives. Anything before the first {@code '{'} (prose, a code fence)
+ * and after the closing brace is ignored. Not thread-safe; use one instance per stream.
+ */
+public class StreamingPlanParser {
+
+    private final ObjectMapper objectMapper;
+    private final PlanGenerationListener listener;
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+
+    private boolean started;
+    private boolean complete;
+    private int depth;
+    private String field;
+    private boolean inArray;
+    private TokenBuffer element;
+    private int elementDepth;
+
+    public StreamingPlanParser(ObjectMapper objectMapper, PlanGenerationListener listener) {
+        this.objectMapper = objectMapper;
+        this.listener = listener;
+        try {
+            this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+        } catch (IOException ex) {
+            throw new IllegalStateException("Could not create non-blocking JSON parser", ex);
+        }
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    public void feed(String chunk) {
+        if (complete) {
+            return;
+        }
+        if (!started) {
+            int start = chunk.indexOf('{');
+            if (start < 0) {
+                return;
+            }
+            started = true;
+            chunk = chunk.substring(start);
+        }
+        byte[] bytes = chunk.getBytes(StandardCharsets.UTF_8);
+        try {
+            feeder.feedInput(bytes, 0, bytes.length);
+            JsonToken token;
+            while (!complete && (token = parser.nextToken()) != JsonToken.NOT_AVAILABLE && token != null) {
+                handle(token);
+            }
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("AI response is not a valid study plan", ex);
+        }
+    }
+
+    /**
+     * Signals the end of the stream and fails if the plan object was never closed.
+     */
+    public void finish() {
+        feeder.endOfInput();
+        if (!complete) {
+            throw new IllegalArgumentException("AI response ended before the study plan was complete");
+        }
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    private void handle(JsonToken token) throws IOException {
+        if (element != null) {
+            element.copyCurrentEvent(parser);
+            if (token.isStructStart()) {
+                elementDepth++;
+            } else if (token.isStructEnd() && --elementDepth == 0) {
+                emit(field, element);
+                element = null;
+            }
+            return;
+        }
+
+        switch (token) {
+            case START_OBJECT, START_ARRAY -> {
+                if (depth == 2 && inArray && token == JsonToken.START_OBJECT) {
+                    element = new TokenBuffer(parser);
+                    element.copyCurrentEvent(parser);
+                    elementDepth = 1;
+                    return;
+                }
+                if (depth == 1) {
+                    inArray = token == JsonToken.START_ARRAY;
+                }
+                depth++;
+            }
+            case END_OBJECT, END_ARRAY -> {
+                depth--;
+                complete = depth == 0;
+            }
+            case FIELD_NAME -> {
+                if (depth == 1) {
+                    field = parser.currentName();
+                }
+            }
+            default -> {
+                // A JSON null carries nothing to report, so listeners never see a null value
+                if (depth == 1 && token.isScalarValue() && token != JsonToken.VALUE_NULL) {
+                    listener.onField(field, parser.getValueAsString());
+                }
+            }
+        }
+    }
+
+    // Model output routinely carries extra fields; they are dropped rather than failing the plan
+    private <T> T read(JsonParser elementParser, Class<T> type) throws IOException {
+        return objectMapper.readerFor(type)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .readValue(elementParser);
+    }
+
+    private void emit(String arrayField, TokenBuffer buffer) throws IOException {
+        if (arrayField == null) {
+            return;
+        }
+        try (JsonParser elementParser = buffer.asParser(objectMapper)) {
+            switch (arrayField) {
+                case "subjects" -> listener.onSubject(read(elementParser, Subject.class));
+                case "topics" -> listener.onTopic(read(elementParser, Topic.class));
+                case "sessions" -> listener.onSession(read(elementParser, ScheduledSession.class));
+                default -> {
+                }
+            }
+        }
+    }
+}
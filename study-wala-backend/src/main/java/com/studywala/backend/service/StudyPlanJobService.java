@@ -0,0 +1,144 @@
+package com.studywala.backend.service;
+
+import com.studywala.backend.dto.StudyPlanJobResponse;
+import com.studywala.backend.dto.StudyPlanRequest;
+import com.studywala.backend.dto.StudyPlanResponse;
+import com.studywala.backend.exception.ResourceNotFoundException;
+import com.studywala.backend.exception.TooManyRequestsException;
+import com.studywala.backend.model.StudyPlanJob;
+import com.studywala.backend.repository.StudyPlanJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StudyPlanJobService {
+
+    private final StudyPlanJobRepository jobRepository;
+    private final StudyPlanService studyPlanService;
+    private final MongoTemplate mongoTemplate;
+    private final ThreadPoolTaskExecutor studyPlanJobExecutor;
+
+    @Value("${app.study-plan-jobs.resume-on-startup:true}")
+    private boolean resumeOnStartup;
+
+    @Value("${app.study-plan-jobs.stale-after:PT10M}")
+    private Duration staleAfter;
+
+    public StudyPlanJobResponse submit(StudyPlanRequest request, String userId) {
+        Instant now = Instant.now();
+        StudyPlanJob job = new StudyPlanJob();
+        job.setUserId(userId);
+        job.setRequest(request);
+        job.setStatus(StudyPlanJob.Status.PENDING);
+        job.setCreatedAt(now);
+        job.setUpdatedAt(now);
+        StudyPlanJob saved = jobRepository.save(job);
+
+        try {
+            studyPlanJobExecutor.execute(() -> run(saved.getId()));
+        } catch (TaskRejectedException ex) {
+            jobRepository.deleteById(saved.getId());
+            throw new TooManyRequestsException("Study plan generation queue is full, please retry later");
+        }
+        return convertToDto(saved, null);
+    }
+
+    public StudyPlanJobResponse getJob(String id, String userId) {
+        StudyPlanJob job = jobRepository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Study plan job", "id", id));
+        StudyPlanResponse plan = job.getStatus() == StudyPlanJob.Status.COMPLETED
+                ? studyPlanService.getStudyPlan(job.getPlanId(), userId)
+                : null;
+        return convertToDto(job, plan);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePendingJobs() {
+        if (!resumeOnStartup) {
+            return;
+        }
+        // A RUNNING job that has not been touched for a while was cut off by a restart; run it again.
+        List<StudyPlanJob> stale = jobRepository.findByStatusAndUpdatedAtBefore(
+                StudyPlanJob.Status.RUNNING, Instant.now().minus(staleAfter));
+        stale.forEach(job -> updateStatus(job.getId(), StudyPlanJob.Status.PENDING, null, null));
+
+        List<StudyPlanJob> pending = jobRepository.findByStatusOrderByCreatedAtAsc(StudyPlanJob.Status.PENDING);
+        int resumed = 0;
+        for (StudyPlanJob job : pending) {
+            try {
+                studyPlanJobExecutor.execute(() -> run(job.getId()));
+                resumed++;
+            } catch (TaskRejectedException ex) {
+                log.warn("Study plan job queue full, {} pending jobs left for the next restart", pending.size() - resumed);
+                break;
+            }
+        }
+        if (resumed > 0) {
+            log.info("Resumed {} pending study plan jobs", resumed);
+        }
+    }
+
+    void run(String jobId) {
+        StudyPlanJob job = claim(jobId);
+        if (job == null) {
+            return;
+        }
+        try {
+            StudyPlanResponse plan = studyPlanService.createStudyPlan(job.getRequest(), job.getUserId());
+            updateStatus(jobId, StudyPlanJob.Status.COMPLETED, plan.getId(), null);
+        } catch (Exception ex) {
+            log.error("Study plan job {} failed", jobId, ex);
+            updateStatus(jobId, StudyPlanJob.Status.FAILED, null, ex.getMessage());
+        }
+    }
+
+    /**
+     * Atomically moves a job from PENDING to RUNNING so a job resubmitted after a restart
+     * is never generated twice.
+     */
+    private StudyPlanJob claim(String jobId) {
+        Query query = new Query(Criteria.where("_id").is(jobId).and("status").is(StudyPlanJob.Status.PENDING));
+        Update update = new Update()
+                .set("status", StudyPlanJob.Status.RUNNING)
+                .set("updatedAt", Instant.now());
+        return mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), StudyPlanJob.class);
+    }
+
+    private void updateStatus(String jobId, StudyPlanJob.Status status, String planId, String error) {
+        Update update = new Update()
+                .set("status", status)
+                .set("planId", planId)
+                .set("error", error)
+                .set("updatedAt", Instant.now());
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(jobId)), update, StudyPlanJob.class);
+    }
+
+    private StudyPlanJobResponse convertToDto(StudyPlanJob job, StudyPlanResponse plan) {
+        StudyPlanJobResponse response = new StudyPlanJobResponse();
+        response.setId(job.getId());
+        response.setStatus(job.getStatus().name());
+        response.setError(job.getError());
+        response.setCreatedAt(job.getCreatedAt());
+        response.setUpdatedAt(job.getUpdatedAt());
+        response.setPlan(plan);
+        return response;
+    }
+}
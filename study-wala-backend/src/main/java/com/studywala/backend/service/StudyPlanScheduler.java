@@ -0,0 +1,145 @@
+package com.studywala.backend.service;
+
+import com.studywala.backend.dto.StudyPlanRequest;
+import com.studywala.backend.model.ScheduledSession;
+import com.studywala.backend.model.Subject;
+import com.studywala.backend.model.Topic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds a day-by-day schedule for a study plan without any network calls.
+ *
+ * <p>Topics are ordered by subject priority, then topic priority, then size (largest first), and
+ * packed first-fit into per-day minute budgets in blocks of at most {@code max-block-minutes}, so
+ * important topics land early and big topics are spread over several days. When the last block of
+ * a topic is placed, revision sessions are reserved at the configured day offsets after it; they
+ * claim capacity before any later topic does. Topics that no longer fit are reported as
+ * unscheduled, as are topics that would fall past the first {@code max-days} days of the plan.
+ */
+@Component
+public class StudyPlanScheduler {
+
+    private final int maxBlockMinutes;
+    private final int minBlockMinutes;
+    private final int[] revisionOffsets;
+    private final int maxDays;
+
+    public StudyPlanScheduler(@Value("${app.study-plans.scheduler.max-block-minutes:120}") int maxBlockMinutes,
+                              @Value("${app.study-plans.scheduler.min-block-minutes:30}") int minBlockMinutes,
+                              @Value("${app.study-plans.scheduler.revision-offsets:1,3,7,14}") int[] revisionOffsets,
+                              @Value("${app.study-plans.scheduler.max-days:" + StudyPlanRequest.MAX_SPAN_DAYS + "}") int maxDays) {
+        this.maxBlockMinutes = maxBlockMinutes;
+        this.minBlockMinutes = minBlockMinutes;
+        this.revisionOffsets = revisionOffsets.clone();
+        this.maxDays = maxDays;
+    }
+
+    public Schedule schedule(List<Subject> subjects, List<Topic> topics,
+                             LocalDate startDate, LocalDate endDate, int hoursPerDay) {
+        // The day array is sized by the span, so it is capped whatever the caller validated.
+        long days = Math.min(ChronoUnit.DAYS.between(startDate, endDate) + 1, maxDays);
+        int[] remaining = new int[(int) Math.max(days, 0)];
+        Arrays.fill(remaining, hoursPerDay * 60);
+
+        Map<String, Integer> subjectPriority = new HashMap<>();
+        for (Subject subject : subjects) {
+            subjectPriority.put(subject.getId(), subject.getPriority());
+        }
+        List<Topic> ordered = new ArrayList<>(topics);
+        ordered.sort(Comparator
+                .comparingInt((Topic topic) -> subjectPriority.getOrDefault(topic.getSubjectId(), 0)).reversed()
+                .thenComparing(Comparator.comparingInt(Topic::getPriority).reversed())
+                .thenComparing(Comparator.comparingInt(Topic::getEstimatedHours).reversed())
+                .thenComparing(Topic::getId, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        List<ScheduledSession> sessions = new ArrayList<>();
+        List<String> unscheduled = new ArrayList<>();
+        long freeMinutes = Math.multiplyExact((long) remaining.length, Math.multiplyExact(hoursPerDay, 60));
+        int firstFree = 0;
+        int totalMinutes = 0;
+
+        for (Topic topic : ordered) {
+            int left = topic.getEstimatedHours() * 60;
+            if (left <= 0) {
+                continue;
+            }
+            if (left > freeMinutes) {
+                unscheduled.add(topic.getId());
+                continue;
+            }
+            while (firstFree < remaining.length && remaining[firstFree] < minBlockMinutes) {
+                firstFree++;
+            }
+
+            int placedFrom = sessions.size();
+            int lastDay = -1;
+            for (int day = firstFree; left > 0 && day < remaining.length; day++) {
+                int block = Math.min(Math.min(left, maxBlockMinutes), remaining[day]);
+                if (block < Math.min(left, minBlockMinutes)) {
+                    continue;
+                }
+                sessions.add(new ScheduledSession(startDate.plusDays(day), topic.getSubjectId(), topic.getId(),
+                        block, ScheduledSession.Type.STUDY));
+                remaining[day] -= block;
+                left -= block;
+                lastDay = day;
+            }
+            if (left > 0) {
+                // Only scraps below the minimum block size were left: give the placed blocks back
+                while (sessions.size() > placedFrom) {
+                    ScheduledSession session = sessions.remove(sessions.size() - 1);
+                    remaining[(int) ChronoUnit.DAYS.between(startDate, session.getDate())] += session.getMinutes();
+                }
+                unscheduled.add(topic.getId());
+                continue;
+            }
+            int studied = topic.getEstimatedHours() * 60;
+            int revised = scheduleRevisions(topic, lastDay, remaining, startDate, sessions);
+            freeMinutes -= studied + revised;
+            totalMinutes += studied + revised;
+        }
+
+        sessions.sort(Comparator.comparing(ScheduledSession::getDate));
+        return new Schedule(sessions, totalMinutes, unscheduled);
+    }
+
+    private int scheduleRevisions(Topic topic, int studyEnd, int[] remaining, LocalDate startDate,
+                                  List<ScheduledSession> sessions) {
+        int minutes = revisionMinutes(topic.getEstimatedHours() * 60);
+        int scheduled = 0;
+        for (int i = 0; i < revisionOffsets.length; i++) {
+            // A revision may slip forward, but never into the next revision's day
+            int target = studyEnd + revisionOffsets[i];
+            int limit = i + 1 < revisionOffsets.length ? studyEnd + revisionOffsets[i + 1] : remaining.length;
+            for (int day = target; day < Math.min(limit, remaining.length); day++) {
+                if (remaining[day] >= minutes) {
+                    sessions.add(new ScheduledSession(startDate.plusDays(day), topic.getSubjectId(), topic.getId(),
+                            minutes, ScheduledSession.Type.REVISION));
+                    remaining[day] -= minutes;
+                    scheduled += minutes;
+                    break;
+                }
+            }
+        }
+        return scheduled;
+    }
+
+    // A tenth of the study time, between 15 and 60 minutes, in 5 minute steps
+    private static int revisionMinutes(int studyMinutes) {
+        int minutes = Math.max(15, Math.min(60, studyMinutes / 10));
+        return minutes - minutes % 5;
+    }
+
+    public record Schedule(List<ScheduledSession> sessions, int totalMinutes, List<String> unscheduledTopicIds) {
+    }
+}
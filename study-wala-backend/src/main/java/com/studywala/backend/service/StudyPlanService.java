@@ -1,37 +1,269 @@
 package com.studywala.backend.service;
 
+import com.studywala.backend.dto.CursorPage;
 import com.studywala.backend.dto.StudyPlanRequest;
 import com.studywala.backend.dto.StudyPlanResponse;
+import com.studywala.backend.dto.StudyPlanSummary;
 import com.studywala.backend.exception.ResourceNotFoundException;
+import com.studywala.backend.mapper.StudyPlanMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studywala.backend.model.ScheduledSession;
 import com.studywala.backend.model.StudyPlan;
+import com.studywala.backend.model.Subject;
+import com.studywala.backend.model.Topic;
 import com.studywala.backend.repository.StudyPlanRepository;
+import com.studywala.backend.repository.SubjectRepository;
+import com.studywala.backend.repository.TopicRepository;
+import com.studywala.backend.resilience.CallNotPermittedException;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class StudyPlanService {
 
     private final StudyPlanRepository studyPlanRepository;
     private final AIService aiService;
-    private final ModelMapper modelMapper;
+    private final StudyPlanMapper studyPlanMapper;
+    private final AIResponseCache aiResponseCache;
+    private final SubjectRepository subjectRepository;
+    private final TopicRepository topicRepository;
+    private final StudyPlanScheduler studyPlanScheduler;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.study-plans.page.max-limit:100}")
+    private int maxPageLimit = 100;
+
+    @Value("${app.study-plans.ai-enrichment.enabled:false}")
+    private boolean aiEnrichmentEnabled;
 
     public StudyPlanResponse createStudyPlan(StudyPlanRequest request, String userId) {
-        // Generate study plan using AI
-        String aiResponse = aiService.generateStudyPlan(createAIPrompt(request));
-        
-        // Parse AI response and create study plan
-        StudyPlan studyPlan = parseAIResponse(aiResponse);
-        studyPlan.setUserId(userId);
-        
+        StudyPlan studyPlan = buildStudyPlan(request, userId);
+        if (aiEnrichmentEnabled) {
+            enrich(studyPlan, request);
+        }
         StudyPlan savedPlan = studyPlanRepository.save(studyPlan);
         return convertToDto(savedPlan);
     }
 
+    /**
+     * Generates the plan with the model in streaming mode. The model is given the user's subjects
+     * and topics; subjects, topics and sessions are passed to {@code listener} as soon as each one
+     * is parsed and accepted, and the assembled plan is saved once the stream completes. While the
+     * AI circuit is open the plan is scheduled locally instead, and announced with a
+     * {@code fallback} field before its parts.
+     */
+    public StudyPlanResponse generateStudyPlanStreaming(StudyPlanRequest request, String userId,
+                                                        PlanGenerationListener listener) {
+        List<Subject> subjects = ownedSubjects(subjectRepository.findAllById(request.getSubjectIds()), userId);
+        List<Topic> topics = topicRepository.findBySubjectIdIn(subjects.stream().map(Subject::getId).toList());
+        StudyPlan studyPlan = newGeneratedPlan(request, userId);
+        StreamingPlanParser parser = generatedPlanParser(studyPlan, subjects, topics, listener);
+        try {
+            aiService.streamStudyPlan(createStreamingPrompt(request, subjects, topics), parser::feed);
+        } catch (CallNotPermittedException ex) {
+            log.info("AI circuit open, scheduling study plan '{}' locally", request.getTitle());
+            return convertToDto(studyPlanRepository.save(
+                    replayLocalPlan(assemble(request, userId, subjects, topics), listener)));
+        }
+        parser.finish();
+        completeGeneratedPlan(studyPlan);
+        return convertToDto(studyPlanRepository.save(studyPlan));
+    }
+
+    private StudyPlan replayLocalPlan(StudyPlan studyPlan, PlanGenerationListener listener) {
+        listener.onField("fallback", "local");
+        studyPlan.getSubjects().forEach(listener::onSubject);
+        studyPlan.getTopics().forEach(listener::onTopic);
+        studyPlan.getSessions().forEach(listener::onSession);
+        return studyPlan;
+    }
+
+    StudyPlan newGeneratedPlan(StudyPlanRequest request, String userId) {
+        StudyPlan studyPlan = new StudyPlan();
+        studyPlan.setTitle(request.getTitle());
+        studyPlan.setDescription(request.getDescription());
+        studyPlan.setUserId(userId);
+        studyPlan.setStartDate(request.getStartDate());
+        studyPlan.setEndDate(request.getEndDate());
+        studyPlan.setSubjects(new ArrayList<>());
+        studyPlan.setTopics(new ArrayList<>());
+        studyPlan.setSessions(new ArrayList<>());
+        studyPlan.setStatus("ACTIVE");
+        return studyPlan;
+    }
+
+    /**
+     * A parser that adds every accepted part to {@code studyPlan} before passing it on to
+     * {@code listener}. The model only knows the ids it was given, so anything else it writes is
+     * dropped: subjects and topics are replaced by the stored ones from {@code subjects} and
+     * {@code topics}, and sessions must name one of them and are moved into the plan's dates.
+     */
+    StreamingPlanParser generatedPlanParser(StudyPlan studyPlan, List<Subject> subjects, List<Topic> topics,
+                                            PlanGenerationListener listener) {
+        Map<String, Subject> knownSubjects = byId(subjects, Subject::getId);
+        Map<String, Topic> knownTopics = byId(topics, Topic::getId);
+        Set<String> addedSubjects = new HashSet<>();
+        Set<String> addedTopics = new HashSet<>();
+        return new StreamingPlanParser(objectMapper, new PlanGenerationListener() {
+            @Override
+            public void onField(String name, String value) {
+                if ("description".equals(name) && !StringUtils.hasText(studyPlan.getDescription())) {
+                    studyPlan.setDescription(value);
+                }
+                listener.onField(name, value);
+            }
+
+            @Override
+            public void onSubject(Subject parsed) {
+                Subject subject = parsed.getId() == null ? null : knownSubjects.get(parsed.getId());
+                if (subject != null && addedSubjects.add(subject.getId())) {
+                    studyPlan.getSubjects().add(subject);
+                    listener.onSubject(subject);
+                }
+            }
+
+            @Override
+            public void onTopic(Topic parsed) {
+                Topic topic = parsed.getId() == null ? null : knownTopics.get(parsed.getId());
+                if (topic != null && addedTopics.add(topic.getId())) {
+                    studyPlan.getTopics().add(topic);
+                    listener.onTopic(topic);
+                }
+            }
+
+            @Override
+            public void onSession(ScheduledSession session) {
+                if (acceptSession(session, studyPlan, knownSubjects, knownTopics)) {
+                    studyPlan.getSessions().add(session);
+                    listener.onSession(session);
+                }
+            }
+        });
+    }
+
+    /**
+     * Whether a generated session can go into the plan. A session needs a date, some minutes and a
+     * known subject or topic; a known topic decides the subject. The date is clamped to the plan.
+     */
+    static boolean acceptSession(ScheduledSession session, StudyPlan studyPlan,
+                                 Map<String, Subject> subjects, Map<String, Topic> topics) {
+        if (session.getDate() == null || session.getMinutes() <= 0) {
+            return false;
+        }
+        if (session.getTopicId() != null) {
+            Topic topic = topics.get(session.getTopicId());
+            if (topic == null) {
+                return false;
+            }
+            session.setSubjectId(topic.getSubjectId());
+        }
+        if (session.getSubjectId() == null || !subjects.containsKey(session.getSubjectId())) {
+            return false;
+        }
+        if (session.getDate().isBefore(studyPlan.getStartDate())) {
+            session.setDate(studyPlan.getStartDate());
+        } else if (session.getDate().isAfter(studyPlan.getEndDate())) {
+            session.setDate(studyPlan.getEndDate());
+        }
+        return true;
+    }
+
+    private static <T> Map<String, T> byId(List<T> items, Function<T, String> idOf) {
+        Map<String, T> byId = new HashMap<>();
+        items.forEach(item -> byId.putIfAbsent(idOf.apply(item), item));
+        return byId;
+    }
+
+    void completeGeneratedPlan(StudyPlan studyPlan) {
+        int totalMinutes = studyPlan.getSessions().stream().mapToInt(ScheduledSession::getMinutes).sum();
+        studyPlan.setTotalHours((totalMinutes + 59) / 60);
+    }
+
+    /**
+     * Schedules the plan locally from the selected subjects and their open topics. Subjects owned
+     * by other users are ignored; subjects without an owner are shared catalog entries.
+     */
+    StudyPlan buildStudyPlan(StudyPlanRequest request, String userId) {
+        List<Subject> subjects = ownedSubjects(subjectRepository.findAllById(request.getSubjectIds()), userId);
+        List<Topic> topics = topicRepository.findBySubjectIdIn(subjects.stream().map(Subject::getId).toList());
+        return assemble(request, userId, subjects, topics);
+    }
+
+    List<Subject> ownedSubjects(Iterable<Subject> candidates, String userId) {
+        List<Subject> subjects = new ArrayList<>();
+        for (Subject subject : candidates) {
+            if (subject.getUserId() == null || subject.getUserId().equals(userId)) {
+                subjects.add(subject);
+            }
+        }
+        if (subjects.isEmpty()) {
+            throw new ResourceNotFoundException("Subjects not found");
+        }
+        return subjects;
+    }
+
+    StudyPlan assemble(StudyPlanRequest request, String userId, List<Subject> subjects, List<Topic> topics) {
+        List<Topic> openTopics = topics.stream().filter(topic -> !topic.isCompleted()).toList();
+
+        StudyPlanScheduler.Schedule schedule = studyPlanScheduler.schedule(subjects, openTopics,
+                request.getStartDate(), request.getEndDate(), request.getHoursPerDay());
+
+        StudyPlan studyPlan = new StudyPlan();
+        studyPlan.setTitle(request.getTitle());
+        studyPlan.setDescription(request.getDescription());
+        studyPlan.setUserId(userId);
+        studyPlan.setStartDate(request.getStartDate());
+        studyPlan.setEndDate(request.getEndDate());
+        studyPlan.setSubjects(subjects);
+        studyPlan.setTopics(topics);
+        studyPlan.setSessions(schedule.sessions());
+        studyPlan.setUnscheduledTopicIds(schedule.unscheduledTopicIds());
+        studyPlan.setTotalHours((schedule.totalMinutes() + 59) / 60);
+        studyPlan.setCompletedHours(0);
+        studyPlan.setStatus("ACTIVE");
+        return studyPlan;
+    }
+
+    // The schedule is always local; the model only contributes an overview when none was given.
+    private void enrich(StudyPlan studyPlan, StudyPlanRequest request) {
+        if (StringUtils.hasText(request.getDescription())) {
+            return;
+        }
+        try {
+            String aiResponse = aiResponseCache.getOrGenerate(createAIPrompt(request), aiService::generateStudyPlan);
+            applySuggestion(studyPlan, aiResponse);
+        } catch (RuntimeException ex) {
+            log.warn("Skipping AI enrichment of study plan '{}': {}", request.getTitle(), ex.getMessage());
+        }
+    }
+
+    void applySuggestion(StudyPlan studyPlan, String aiResponse) {
+        StudyPlan suggestion = parseAIResponse(aiResponse);
+        if (StringUtils.hasText(suggestion.getDescription())) {
+            studyPlan.setDescription(suggestion.getDescription());
+        }
+    }
+
     public StudyPlanResponse getStudyPlan(String id, String userId) {
         StudyPlan studyPlan = studyPlanRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Study plan not found"));
@@ -39,9 +271,31 @@ public class StudyPlanService {
     }
 
     public List<StudyPlanResponse> getUserStudyPlans(String userId) {
-        return studyPlanRepository.findByUserId(userId).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return studyPlanMapper.toResponses(studyPlanRepository.findByUserId(userId));
+    }
+
+    public CursorPage<StudyPlanResponse> getUserStudyPlansPage(String userId, String after, int limit) {
+        Pageable pageable = pageOf(limit);
+        List<StudyPlan> plans = after == null
+                ? studyPlanRepository.findByUserIdOrderByIdAsc(userId, pageable)
+                : studyPlanRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(userId, after, pageable);
+        return studyPlanMapper.toResponses(
+                toCursorPage(plans, pageable.getPageSize() - 1, StudyPlan::getId, Function.identity()));
+    }
+
+    public CursorPage<StudyPlanSummary> getUserStudyPlanSummaries(String userId, String after, int limit) {
+        Pageable pageable = pageOf(limit);
+        List<StudyPlanSummary> summaries = after == null
+                ? studyPlanRepository.findSummariesByUserIdOrderByIdAsc(userId, pageable)
+                : studyPlanRepository.findSummariesByUserIdAndIdGreaterThanOrderByIdAsc(userId, after, pageable);
+        return toCursorPage(summaries, pageable.getPageSize() - 1, StudyPlanSummary::getId, Function.identity());
+    }
+
+    /**
+     * Streams every plan of the user straight from a Mongo cursor. The caller must close the stream.
+     */
+    public Stream<StudyPlanResponse> streamUserStudyPlans(String userId) {
+        return studyPlanMapper.toResponses(studyPlanRepository.streamByUserIdOrderByIdAsc(userId));
     }
 
     public void deleteStudyPlan(String id, String userId) {
@@ -51,29 +305,82 @@ public class StudyPlanService {
         studyPlanRepository.deleteById(id);
     }
 
-    private String createAIPrompt(StudyPlanRequest request) {
+    // One extra row is fetched to tell whether another page follows.
+    Pageable pageOf(int limit) {
+        int size = Math.max(1, Math.min(limit, maxPageLimit));
+        return PageRequest.of(0, size + 1);
+    }
+
+    static <T, R> CursorPage<R> toCursorPage(List<T> rows, int limit, Function<T, String> idOf,
+                                             Function<T, R> mapper) {
+        boolean hasMore = rows.size() > limit;
+        List<T> page = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = hasMore ? idOf.apply(page.get(page.size() - 1)) : null;
+        return new CursorPage<>(page.stream().map(mapper).collect(Collectors.toList()), nextCursor);
+    }
+
+    String createAIPrompt(StudyPlanRequest request) {
+        // Subjects are sorted so the same selection always yields the same prompt (and cache key)
         return String.format(
             "Create a study plan with title: %s, description: %s, subjects: %s, " +
-            "start date: %s, end date: %s, hours per day: %d",
+            "start date: %s, end date: %s, hours per day: %d. " +
+            "Respond with a JSON object with the fields title and description.",
             request.getTitle(),
             request.getDescription(),
-            String.join(", ", request.getSubjectIds()),
+            request.getSubjectIds().stream().sorted().collect(Collectors.joining(", ")),
             request.getStartDate(),
             request.getEndDate(),
             request.getHoursPerDay()
         );
     }
 
-    private StudyPlan parseAIResponse(String aiResponse) {
-        // Parse the AI response and convert it to StudyPlan entity
-        // This is a simplified version - you'll need to implement proper parsing
-        // based on your AI response format
-        StudyPlan studyPlan = new StudyPlan();
-        // Parse and set fields from aiResponse
-        return studyPlan;
+    /**
+     * User message for streamed generation. Lists the subjects and their open topics with the ids
+     * the model has to reuse, ordered by id so the same selection always yields the same prompt.
+     */
+    String createStreamingPrompt(StudyPlanRequest request, List<Subject> subjects, List<Topic> topics) {
+        StringBuilder prompt = new StringBuilder()
+                .append("Create a study plan titled \"").append(request.getTitle()).append('"');
+        if (StringUtils.hasText(request.getDescription())) {
+            prompt.append(" (").append(request.getDescription()).append(')');
+        }
+        prompt.append(" from ").append(request.getStartDate())
+                .append(" to ").append(request.getEndDate())
+                .append(" with at most ").append(request.getHoursPerDay()).append(" hours of study per day. ")
+                .append("Only plan the subjects and topics below, reuse their ids exactly, ")
+                .append("and date every session between the start and end date.\nSubjects:\n");
+        subjects.stream()
+                .sorted(Comparator.comparing(Subject::getId))
+                .forEach(subject -> prompt.append("- ").append(subject.getId()).append(": ").append(subject.getName())
+                        .append(" (priority ").append(subject.getPriority()).append(")\n"));
+        prompt.append("Topics:\n");
+        topics.stream()
+                .filter(topic -> !topic.isCompleted())
+                .sorted(Comparator.comparing(Topic::getId))
+                .forEach(topic -> prompt.append("- ").append(topic.getId()).append(": ").append(topic.getName())
+                        .append(" (subject ").append(topic.getSubjectId())
+                        .append(", about ").append(topic.getEstimatedHours()).append(" hours")
+                        .append(", priority ").append(topic.getPriority()).append(")\n"));
+        return prompt.toString();
+    }
+
+    StudyPlan parseAIResponse(String aiResponse) {
+        // Models often wrap the JSON in prose or a code fence
+        int start = aiResponse == null ? -1 : aiResponse.indexOf('{');
+        int end = aiResponse == null ? -1 : aiResponse.lastIndexOf('}');
+        if (start < 0 || end < start) {
+            throw new IllegalArgumentException("AI response does not contain a JSON object");
+        }
+        try {
+            return objectMapper.readerFor(StudyPlan.class)
+                    .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .readValue(aiResponse.substring(start, end + 1));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("AI response is not a valid study plan", ex);
+        }
     }
 
     private StudyPlanResponse convertToDto(StudyPlan studyPlan) {
-        return modelMapper.map(studyPlan, StudyPlanResponse.class);
+        return studyPlanMapper.toResponse(studyPlan);
     }
 }
@@ -0,0 +1,60 @@
+package com.studywala.backend.service;
+
+import com.studywala.backend.model.StudyPlan;
+import com.studywala.backend.model.Subject;
+import com.studywala.backend.model.Topic;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * Propagates catalog changes of {@link Subject}s and {@link Topic}s into the snapshots embedded in
+ * study plans. Only descriptive fields are copied; per-plan progress on embedded topics is left alone.
+ */
+@Component
+@RequiredArgsConstructor
+public class StudyPlanSnapshotListener {
+
+    private final MongoTemplate mongoTemplate;
+
+    @EventListener
+    public void onAfterSave(AfterSaveEvent<?> event) {
+        if (event.getSource() instanceof Subject subject) {
+            syncSubject(subject);
+        } else if (event.getSource() instanceof Topic topic) {
+            syncTopic(topic);
+        }
+    }
+
+    private void syncSubject(Subject subject) {
+        Object id = toMongoId(subject.getId());
+        Update update = new Update()
+                .set("subjects.$[s].name", subject.getName())
+                .set("subjects.$[s].color", subject.getColor())
+                .set("subjects.$[s].priority", subject.getPriority())
+                .filterArray(Criteria.where("s._id").is(id));
+        mongoTemplate.updateMulti(new Query(Criteria.where("subjects._id").is(id)), update, StudyPlan.class);
+    }
+
+    private void syncTopic(Topic topic) {
+        Object id = toMongoId(topic.getId());
+        Update update = new Update()
+                .set("topics.$[t].name", topic.getName())
+                .set("topics.$[t].subjectId", topic.getSubjectId())
+                .set("topics.$[t].estimatedHours", topic.getEstimatedHours())
+                .set("topics.$[t].priority", topic.getPriority())
+                .filterArray(Criteria.where("t._id").is(id));
+        mongoTemplate.updateMulti(new Query(Criteria.where("topics._id").is(id)), update, StudyPlan.class);
+    }
+
+    // Embedded ids are stored the way Spring Data writes them: as ObjectIds when the value is one.
+    static Object toMongoId(String id) {
+        return ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+}
@@ -0,0 +1,37 @@
+package com.studywala.backend.service;
+
+import com.studywala.backend.model.StudyPlan;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the plan list of each user's {@link com.studywala.backend.model.UserStudyStats} in step with
+ * saved and deleted study plans. The update runs on the thread that saved the plan, which on the
+ * servlet stack is a request thread.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+public class StudyPlanStatsListener {
+
+    private final UserStudyStatsService userStudyStatsService;
+
+    @EventListener
+    public void onAfterSave(AfterSaveEvent<?> event) {
+        if (UserStudyStatsService.isTracked(event.getSource())) {
+            userStudyStatsService.recordPlanSaved((StudyPlan) event.getSource());
+        }
+    }
+
+    @EventListener
+    public void onAfterDelete(AfterDeleteEvent<?> event) {
+        String planId = UserStudyStatsService.deletedPlanId(event);
+        if (planId != null) {
+            userStudyStatsService.recordPlanDeleted(planId);
+        }
+    }
+}
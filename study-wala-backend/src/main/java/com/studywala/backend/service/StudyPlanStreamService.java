@@ -0,0 +1,95 @@
+package com.studywala.backend.service;
+
+import com.studywala.backend.dto.StudyPlanRequest;
+import com.studywala.backend.dto.StudyPlanResponse;
+import com.studywala.backend.exception.TooManyRequestsException;
+import com.studywala.backend.model.ScheduledSession;
+import com.studywala.backend.model.Subject;
+import com.studywala.backend.model.Topic;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Generates a plan with the model and streams its progress as server-sent events: {@code stage}
+ * markers, the partial {@code field}/{@code subject}/{@code topic}/{@code session} content as it
+ * is parsed, and finally the saved {@code plan} (or an {@code error}). The request thread returns
+ * immediately; generation and writing run on {@code studyPlanStreamExecutor}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StudyPlanStreamService {
+
+    private final StudyPlanService studyPlanService;
+    private final ThreadPoolTaskExecutor studyPlanStreamExecutor;
+
+    @Value("${app.study-plans.stream.timeout:PT3M}")
+    private Duration timeout = Duration.ofMinutes(3);
+
+    @Value("${app.study-plans.stream.buffer-size:256}")
+    private int bufferSize = 256;
+
+    @Value("${app.study-plans.stream.publish-timeout:PT10S}")
+    private Duration publishTimeout = Duration.ofSeconds(10);
+
+    public SseEmitter stream(StudyPlanRequest request, String userId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        PlanEventStream events = new PlanEventStream(emitter, bufferSize, publishTimeout);
+        try {
+            studyPlanStreamExecutor.execute(events::drain);
+            studyPlanStreamExecutor.execute(() -> generate(request, userId, events));
+        } catch (TaskRejectedException ex) {
+            events.close();
+            throw new TooManyRequestsException("Too many plan streams in progress, please retry later");
+        }
+        return emitter;
+    }
+
+    void generate(StudyPlanRequest request, String userId, PlanEventStream events) {
+        try {
+            events.publish("stage", "GENERATING");
+            StudyPlanResponse plan = studyPlanService.generateStudyPlanStreaming(request, userId,
+                    new PlanGenerationListener() {
+                        @Override
+                        public void onField(String name, String value) {
+                            events.publishPartial("field", Map.of(name, value));
+                        }
+
+                        @Override
+                        public void onSubject(Subject subject) {
+                            events.publishPartial("subject", subject);
+                        }
+
+                        @Override
+                        public void onTopic(Topic topic) {
+                            events.publishPartial("topic", topic);
+                        }
+
+                        @Override
+                        public void onSession(ScheduledSession session) {
+                            events.publishPartial("session", session);
+                        }
+                    });
+            events.publish("stage", "COMPLETED");
+            events.publish("plan", plan);
+        } catch (CancellationException ex) {
+            log.debug("Stopped plan generation for {}: {}", userId, ex.getMessage());
+        } catch (RuntimeException ex) {
+            log.warn("Streaming plan generation failed for {}: {}", userId, ex.getMessage());
+            if (!events.isClosed()) {
+                events.publish("error", Map.of("message", "Study plan generation failed"));
+            }
+        } finally {
+            events.finish();
+        }
+    }
+}
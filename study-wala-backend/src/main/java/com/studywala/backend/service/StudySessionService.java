@@ -0,0 +1,300 @@
+package com.studywala.backend.service;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.studywala.backend.dto.StudySessionEvent;
+import com.studywala.backend.exception.TooManyRequestsException;
+import com.studywala.backend.model.StudyPlan;
+import com.studywala.backend.model.StudySession;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.stream.Collectors;
+
+/**
+ * Ingests study session events (e.g. finished Pomodoros) in batches. Accepted events wait in a
+ * bounded in-memory buffer and are flushed periodically: the raw sessions are bulk-inserted under
+ * {@code userId:eventId}, so a resent event is dropped by the unique id, and only the newly stored
+ * ones are rolled up into their plans with one {@code $inc} per plan. Each plan update carries the
+ * flush id and only matches a plan that has not seen it yet, so a flush that failed half way can be
+ * replayed from the stored sessions without counting anything twice. The same flush also feeds the
+ * users' dashboard rollups through {@link UserStudyStatsService}, under the same guard. Only
+ * sessions logged against a plan of the same user are rolled up.
+ */
+@Slf4j
+@Service
+public class StudySessionService {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+    private final UserStudyStatsService userStudyStatsService;
+    private final BlockingQueue<StudySession> buffer;
+    private final int maxFlushSize;
+    private final Duration recoverAfter;
+
+    @Value("${app.study-sessions.applied-flush-history:100}")
+    private int appliedFlushHistory = 100;
+
+    public StudySessionService(MongoTemplate mongoTemplate,
+                               UserStudyStatsService userStudyStatsService,
+                               @Value("${app.study-sessions.buffer-capacity:10000}") int bufferCapacity,
+                               @Value("${app.study-sessions.max-flush-size:1000}") int maxFlushSize,
+                               @Value("${app.study-sessions.recover-after:PT2M}") Duration recoverAfter) {
+        this.mongoTemplate = mongoTemplate;
+        this.userStudyStatsService = userStudyStatsService;
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        this.maxFlushSize = maxFlushSize;
+        this.recoverAfter = recoverAfter;
+    }
+
+    /**
+     * Buffers the events for the next flush. A full buffer refuses the batch with {@code 429}; as
+     * events are idempotent, the client simply resends the whole batch later.
+     */
+    public void accept(List<StudySessionEvent> events, String userId) {
+        if (buffer.remainingCapacity() < events.size()) {
+            throw new TooManyRequestsException("Study session buffer is full, please retry shortly");
+        }
+        Instant now = Instant.now();
+        for (StudySessionEvent event : events) {
+            if (!buffer.offer(toSession(event, userId, now))) {
+                throw new TooManyRequestsException("Study session buffer is full, please retry shortly");
+            }
+        }
+    }
+
+    public int getBufferedCount() {
+        return buffer.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.study-sessions.flush-interval:PT5S}")
+    public void flush() {
+        List<StudySession> batch = new ArrayList<>();
+        while (buffer.drainTo(batch, maxFlushSize) > 0) {
+            try {
+                write(batch);
+            } catch (DataAccessException ex) {
+                requeue(batch);
+                log.warn("Study session flush failed, {} sessions kept for the next one: {}", batch.size(), ex.getMessage());
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Rolls up sessions that were stored but never applied, e.g. because the instance died between
+     * the two writes of a flush. Only whole flushes are replayed, page by page in flush id order. A
+     * flush that fails again is logged and skipped until the next run, so it cannot hold up the
+     * flushes behind it.
+     */
+    @Scheduled(initialDelayString = "${app.study-sessions.recovery-interval:PT1M}",
+            fixedDelayString = "${app.study-sessions.recovery-interval:PT1M}")
+    public void recoverUnapplied() {
+        Instant cutoff = Instant.now().minus(recoverAfter);
+        String after = null;
+        int recovered = 0;
+        int failed = 0;
+        try {
+            while (true) {
+                Criteria criteria = Criteria.where("applied").is(false).and("receivedAt").lt(cutoff);
+                if (after != null) {
+                    criteria.and("flushId").gt(after);
+                }
+                List<StudySession> pending = mongoTemplate.find(
+                        new Query(criteria).with(Sort.by("flushId")).limit(maxFlushSize), StudySession.class);
+                Map<String, List<StudySession>> byFlush = pending.stream()
+                        .collect(Collectors.groupingBy(StudySession::getFlushId, LinkedHashMap::new, Collectors.toList()));
+                boolean full = pending.size() == maxFlushSize;
+                // A flush never exceeds maxFlushSize, so only the last group of a full page can be cut off;
+                // the next page starts with it.
+                if (full && byFlush.size() > 1) {
+                    byFlush.remove(pending.get(pending.size() - 1).getFlushId());
+                }
+                for (Map.Entry<String, List<StudySession>> flush : byFlush.entrySet()) {
+                    try {
+                        apply(flush.getKey(), flush.getValue());
+                        recovered++;
+                    } catch (DataAccessException ex) {
+                        failed++;
+                        log.warn("Study session recovery of flush {} failed: {}", flush.getKey(), ex.getMessage());
+                    }
+                    after = flush.getKey();
+                }
+                if (!full) {
+                    break;
+                }
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Study session recovery failed: {}", ex.getMessage());
+        }
+        if (recovered > 0 || failed > 0) {
+            log.info("Recovered {} unapplied study session flushes, {} failed", recovered, failed);
+        }
+    }
+
+    void write(List<StudySession> sessions) {
+        String flushId = new ObjectId().toHexString();
+        sessions.forEach(session -> {
+            session.setFlushId(flushId);
+            session.setApplied(false);
+        });
+        apply(flushId, insertNew(sessions));
+    }
+
+    // Sessions whose id already exists were ingested before (a client retry) and are left out.
+    private List<StudySession> insertNew(List<StudySession> sessions) {
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, StudySession.class)
+                    .insert(sessions)
+                    .execute();
+            return sessions;
+        } catch (BulkOperationException ex) {
+            Set<Integer> duplicates = new HashSet<>();
+            for (BulkWriteError error : ex.getErrors()) {
+                if (error.getCode() != DUPLICATE_KEY) {
+                    throw ex;
+                }
+                duplicates.add(error.getIndex());
+            }
+            List<StudySession> inserted = new ArrayList<>();
+            for (int i = 0; i < sessions.size(); i++) {
+                if (!duplicates.contains(i)) {
+                    inserted.add(sessions.get(i));
+                }
+            }
+            return inserted;
+        }
+    }
+
+    private void apply(String flushId, List<StudySession> sessions) {
+        if (sessions.isEmpty()) {
+            return;
+        }
+        Map<PlanKey, List<StudySession>> byPlan = sessions.stream()
+                .collect(Collectors.groupingBy(session -> new PlanKey(session.getUserId(), session.getPlanId()),
+                        LinkedHashMap::new, Collectors.toList()));
+        byPlan.keySet().retainAll(ownedPlans(byPlan.keySet()));
+        if (!byPlan.isEmpty()) {
+            BulkOperations updates = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, StudyPlan.class);
+            byPlan.forEach((plan, planSessions) -> updates.updateOne(
+                    new Query(Criteria.where("_id").is(plan.planId())
+                            .and("userId").is(plan.userId())
+                            .and("appliedFlushIds").ne(flushId)),
+                    planUpdate(flushId, planSessions)));
+            updates.execute();
+            userStudyStatsService.recordSessions(flushId,
+                    byPlan.values().stream().flatMap(List::stream).toList());
+        }
+
+        // Sessions of plans the user does not own are marked too, so recovery does not pick them up again.
+        mongoTemplate.updateMulti(
+                new Query(Criteria.where("_id").in(sessions.stream().map(StudySession::getId).toList())),
+                new Update().set("applied", true),
+                StudySession.class);
+    }
+
+    /**
+     * The plans among {@code candidates} that exist and belong to the user who logged against them,
+     * read with one query per flush. Sessions of any other plan are stored but never rolled up, so a
+     * client cannot inflate its totals or grow its dashboard document with made-up plan ids.
+     */
+    private Set<PlanKey> ownedPlans(Set<PlanKey> candidates) {
+        Set<String> planIds = candidates.stream()
+                .map(PlanKey::planId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (planIds.isEmpty()) {
+            return Set.of();
+        }
+        Query query = new Query(Criteria.where("_id").in(planIds));
+        query.fields().include("userId");
+        return mongoTemplate.find(query, StudyPlan.class).stream()
+                .map(plan -> new PlanKey(plan.getUserId(), plan.getId()))
+                .collect(Collectors.toSet());
+    }
+
+    Update planUpdate(String flushId, List<StudySession> sessions) {
+        Map<String, Integer> topicMinutes = new LinkedHashMap<>();
+        Set<String> completedTopics = new HashSet<>();
+        int minutes = 0;
+        for (StudySession session : sessions) {
+            minutes += session.getMinutes();
+            if (session.getTopicId() != null) {
+                topicMinutes.merge(session.getTopicId(), session.getMinutes(), Integer::sum);
+                if (session.isTopicCompleted()) {
+                    completedTopics.add(session.getTopicId());
+                }
+            }
+        }
+
+        Update update = new Update().inc("completedHours", minutes / 60.0);
+        update.push("appliedFlushIds").slice(-appliedFlushHistory).each(flushId);
+        int index = 0;
+        for (Map.Entry<String, Integer> topic : topicMinutes.entrySet()) {
+            String filter = "t" + index++;
+            update.inc("topics.$[" + filter + "].completedMinutes", topic.getValue());
+            if (completedTopics.contains(topic.getKey())) {
+                update.set("topics.$[" + filter + "].completed", true);
+            }
+            update.filterArray(Criteria.where(filter + "._id").is(StudyPlanSnapshotListener.toMongoId(topic.getKey())));
+        }
+        return update;
+    }
+
+    private void requeue(List<StudySession> sessions) {
+        int dropped = 0;
+        for (StudySession session : sessions) {
+            if (!buffer.offer(session)) {
+                dropped++;
+            }
+        }
+        if (dropped > 0) {
+            log.error("Study session buffer is full, dropped {} sessions", dropped);
+        }
+    }
+
+    private static StudySession toSession(StudySessionEvent event, String userId, Instant receivedAt) {
+        StudySession session = new StudySession();
+        session.setId(userId + ":" + event.getEventId());
+        session.setUserId(userId);
+        session.setPlanId(event.getPlanId());
+        session.setTopicId(event.getTopicId());
+        session.setMinutes(event.getMinutes());
+        session.setTopicCompleted(event.isTopicCompleted());
+        session.setEndedAt(event.getEndedAt());
+        session.setReceivedAt(receivedAt);
+        return session;
+    }
+
+    private record PlanKey(String userId, String planId) {
+    }
+}
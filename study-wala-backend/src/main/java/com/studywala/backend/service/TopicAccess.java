@@ -0,0 +1,32 @@
+package com.studywala.backend.service;
+
+import com.studywala.backend.exception.ResourceNotFoundException;
+import com.studywala.backend.model.Topic;
+import com.studywala.backend.repository.SubjectRepository;
+import com.studywala.backend.repository.TopicRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves a topic on behalf of a user. Same rule as study plans: a topic is visible when its
+ * subject belongs to the user or to nobody (shared subjects).
+ */
+@Component
+@RequiredArgsConstructor
+public class TopicAccess {
+
+    private final TopicRepository topicRepository;
+    private final SubjectRepository subjectRepository;
+
+    public Topic requireOwned(String topicId, String userId) {
+        return topicRepository.findById(topicId)
+                .filter(topic -> isOwned(topic, userId))
+                .orElseThrow(() -> new ResourceNotFoundException("Topic", "id", topicId));
+    }
+
+    private boolean isOwned(Topic topic, String userId) {
+        return topic.getSubjectId() != null && subjectRepository.findById(topic.getSubjectId())
+                .map(subject -> subject.getUserId() == null || subject.getUserId().equals(userId))
+                .orElse(false);
+    }
+}
@@ -0,0 +1,466 @@
+package com.studywala.backend.service;
+
+import com.studywala.backend.dto.DashboardResponse;
+import com.studywala.backend.model.StudyPlan;
+import com.studywala.backend.model.StudySession;
+import com.studywala.backend.model.Topic;
+import com.studywala.backend.model.UserStudyStats;
+import com.studywala.backend.repository.TopicRepository;
+import com.studywala.backend.repository.UserStudyStatsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains one {@link UserStudyStats} document per user so the dashboard is a single read.
+ * Study session flushes {@code $inc} it (guarded by the flush id, like the plan updates), plan
+ * saves and deletes keep its plan list current, and a nightly job compacts day buckets older than
+ * the daily retention into weeks and weeks older than the weekly retention into months. Writes for
+ * a date that is already past a retention go straight to the coarser bucket, so compaction never
+ * races a late increment on a bucket it is removing.
+ */
+@Slf4j
+@Service
+public class UserStudyStatsService {
+
+    private static final int DUPLICATE_KEY = 11000;
+    private static final int COMPACTION_BATCH = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final UserStudyStatsRepository statsRepository;
+    private final TopicRepository topicRepository;
+    private final int dailyRetentionDays;
+    private final int weeklyRetentionWeeks;
+    private final Clock clock;
+
+    @Value("${app.study-sessions.applied-flush-history:100}")
+    private int appliedFlushHistory = 100;
+
+    @Autowired
+    public UserStudyStatsService(MongoTemplate mongoTemplate,
+                                 UserStudyStatsRepository statsRepository,
+                                 TopicRepository topicRepository,
+                                 @Value("${app.user-stats.daily-retention-days:90}") int dailyRetentionDays,
+                                 @Value("${app.user-stats.weekly-retention-weeks:52}") int weeklyRetentionWeeks) {
+        this(mongoTemplate, statsRepository, topicRepository, dailyRetentionDays, weeklyRetentionWeeks, Clock.systemUTC());
+    }
+
+    UserStudyStatsService(MongoTemplate mongoTemplate, UserStudyStatsRepository statsRepository,
+                          TopicRepository topicRepository, int dailyRetentionDays, int weeklyRetentionWeeks,
+                          Clock clock) {
+        this.mongoTemplate = mongoTemplate;
+        this.statsRepository = statsRepository;
+        this.topicRepository = topicRepository;
+        this.dailyRetentionDays = dailyRetentionDays;
+        this.weeklyRetentionWeeks = weeklyRetentionWeeks;
+        this.clock = clock;
+    }
+
+    /**
+     * Adds a flush of newly stored sessions to their users' rollups in one bulk upsert. A user whose
+     * rollup already counted the flush does not match the guard, and the upsert then collides on
+     * the user's id and is skipped.
+     */
+    public void recordSessions(String flushId, List<StudySession> sessions) {
+        if (sessions.isEmpty()) {
+            return;
+        }
+        Map<String, String> subjectOfTopic = subjectsOf(sessions);
+        LocalDate today = LocalDate.now(clock);
+        Map<String, List<StudySession>> byUser = sessions.stream()
+                .collect(Collectors.groupingBy(StudySession::getUserId, LinkedHashMap::new, Collectors.toList()));
+
+        BulkOperations upserts = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UserStudyStats.class);
+        byUser.forEach((userId, userSessions) -> upserts.upsert(
+                new Query(Criteria.where("_id").is(userId).and("appliedFlushIds").ne(flushId)),
+                sessionUpdate(flushId, userSessions, subjectOfTopic, today)));
+        try {
+            upserts.execute();
+        } catch (BulkOperationException ex) {
+            if (ex.getErrors().stream().anyMatch(error -> error.getCode() != DUPLICATE_KEY)) {
+                throw ex;
+            }
+        }
+    }
+
+    /**
+     * Adds the plan to its owner's plan list, or refreshes its title and total hours. Called by
+     * {@link StudyPlanStatsListener}; the reactive stack issues the same update without blocking.
+     */
+    public void recordPlanSaved(StudyPlan plan) {
+        mongoTemplate.upsert(planOwner(plan), planSaved(plan), UserStudyStats.class);
+    }
+
+    public void recordPlanDeleted(String planId) {
+        mongoTemplate.updateFirst(planHolder(planId), planDeleted(planId), UserStudyStats.class);
+    }
+
+    static Query planOwner(StudyPlan plan) {
+        return new Query(Criteria.where("_id").is(plan.getUserId()));
+    }
+
+    Update planSaved(StudyPlan plan) {
+        return new Update()
+                .set("plans." + plan.getId() + ".title", plan.getTitle())
+                .set("plans." + plan.getId() + ".totalHours", plan.getTotalHours())
+                .addToSet("planIds", plan.getId())
+                .set("updatedAt", clock.instant());
+    }
+
+    static Query planHolder(String planId) {
+        return new Query(Criteria.where("planIds").is(planId));
+    }
+
+    Update planDeleted(String planId) {
+        return new Update()
+                .pull("planIds", planId)
+                .unset("plans." + planId)
+                .set("updatedAt", clock.instant());
+    }
+
+    // Plans saved without an owner or id never reach a dashboard.
+    static boolean isTracked(Object source) {
+        return source instanceof StudyPlan plan && plan.getUserId() != null && plan.getId() != null;
+    }
+
+    // A delete event only carries the query; plans deleted by anything but their id are not tracked.
+    static String deletedPlanId(AfterDeleteEvent<?> event) {
+        Object id = event.getSource().get("_id");
+        return StudyPlan.class.equals(event.getType()) && (id instanceof String || id instanceof ObjectId)
+                ? id.toString()
+                : null;
+    }
+
+    public DashboardResponse getDashboard(String userId) {
+        UserStudyStats stats = statsRepository.findById(userId).orElseGet(UserStudyStats::new);
+        return toDashboard(stats, LocalDate.now(clock));
+    }
+
+    @Scheduled(cron = "${app.user-stats.compaction-cron:0 30 3 * * *}", zone = "UTC")
+    public void compactHistory() {
+        LocalDate today = LocalDate.now(clock);
+        Criteria due = new Criteria().orOperator(
+                Criteria.where("oldestDay").lt(dailyCutoff(today).toString()),
+                Criteria.where("oldestWeek").lt(weeklyCutoff(today).toString()));
+        int compacted = 0;
+        try {
+            String lastId = null;
+            while (true) {
+                Criteria page = lastId == null ? due : new Criteria().andOperator(due, Criteria.where("_id").gt(lastId));
+                List<UserStudyStats> batch = mongoTemplate.find(
+                        new Query(page).with(Sort.by("_id")).limit(COMPACTION_BATCH), UserStudyStats.class);
+                for (UserStudyStats stats : batch) {
+                    compacted += compact(stats, today) ? 1 : 0;
+                }
+                if (batch.size() < COMPACTION_BATCH) {
+                    break;
+                }
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Study history compaction stopped early: {}", ex.getMessage());
+        }
+        log.info("Compacted the study history of {} users", compacted);
+    }
+
+    // Only applied if the document has not changed since it was read; otherwise it waits for the next run.
+    boolean compact(UserStudyStats stats, LocalDate today) {
+        Update update = compaction(stats, today);
+        if (update == null) {
+            return false;
+        }
+        Query unchanged = new Query(Criteria.where("_id").is(stats.getId()).and("updatedAt").is(stats.getUpdatedAt()));
+        return mongoTemplate.updateFirst(unchanged, update, UserStudyStats.class).getModifiedCount() > 0;
+    }
+
+    Update compaction(UserStudyStats stats, LocalDate today) {
+        Map<String, Long> moved = new TreeMap<>();
+        TreeSet<LocalDate> compactedDays = new TreeSet<>();
+        TreeSet<String> remainingDays = new TreeSet<>();
+        TreeSet<String> remainingWeeks = new TreeSet<>();
+        Update update = new Update();
+
+        for (Map.Entry<String, Long> entry : orEmpty(stats.getDailyMinutes()).entrySet()) {
+            LocalDate day = LocalDate.parse(entry.getKey());
+            if (day.isBefore(dailyCutoff(today))) {
+                update.unset("dailyMinutes." + entry.getKey());
+                Bucket target = bucketOf(day, today);
+                moved.merge(target.field(), entry.getValue(), Long::sum);
+                if (target.path().equals("weeklyMinutes")) {
+                    remainingWeeks.add(target.key());
+                }
+                if (entry.getValue() > 0) {
+                    compactedDays.add(day);
+                }
+            } else {
+                remainingDays.add(entry.getKey());
+            }
+        }
+        for (Map.Entry<String, Long> entry : orEmpty(stats.getWeeklyMinutes()).entrySet()) {
+            LocalDate week = LocalDate.parse(entry.getKey());
+            if (week.isBefore(weeklyCutoff(today))) {
+                // A week counts toward the month it starts in.
+                update.unset("weeklyMinutes." + entry.getKey());
+                moved.merge("monthlyMinutes." + YearMonth.from(week), entry.getValue(), Long::sum);
+            } else {
+                remainingWeeks.add(entry.getKey());
+            }
+        }
+        if (update.getUpdateObject().isEmpty()) {
+            return null;
+        }
+
+        moved.forEach(update::inc);
+        setOrUnset(update, "oldestDay", remainingDays.isEmpty() ? null : remainingDays.first());
+        setOrUnset(update, "oldestWeek", remainingWeeks.isEmpty() ? null : remainingWeeks.first());
+        if (!compactedDays.isEmpty()) {
+            StreakRuns runs = streakRuns(compactedDays, stats.getCarriedStreakDays(), parse(stats.getCarriedStreakEnd()));
+            update.max("longestStreakDays", runs.longest())
+                    .set("carriedStreakDays", runs.last())
+                    .set("carriedStreakEnd", compactedDays.last().toString());
+        }
+        return update.set("updatedAt", clock.instant());
+    }
+
+    private Update sessionUpdate(String flushId, List<StudySession> sessions, Map<String, String> subjectOfTopic,
+                                 LocalDate today) {
+        Map<String, Long> subjects = new LinkedHashMap<>();
+        Map<String, Long> plans = new LinkedHashMap<>();
+        Map<String, Long> buckets = new TreeMap<>();
+        String oldestDay = null;
+        String oldestWeek = null;
+        long minutes = 0;
+        for (StudySession session : sessions) {
+            long sessionMinutes = session.getMinutes();
+            minutes += sessionMinutes;
+            String subjectId = session.getTopicId() == null ? null : subjectOfTopic.get(session.getTopicId());
+            if (subjectId != null) {
+                subjects.merge(subjectId, sessionMinutes, Long::sum);
+            }
+            plans.merge(session.getPlanId(), sessionMinutes, Long::sum);
+
+            Bucket bucket = bucketOf(dayOf(session, today), today);
+            buckets.merge(bucket.field(), sessionMinutes, Long::sum);
+            if (bucket.path().equals("dailyMinutes")) {
+                oldestDay = min(oldestDay, bucket.key());
+            } else if (bucket.path().equals("weeklyMinutes")) {
+                oldestWeek = min(oldestWeek, bucket.key());
+            }
+        }
+
+        Update update = new Update()
+                .inc("totalMinutes", minutes)
+                .inc("sessionCount", sessions.size())
+                .set("updatedAt", clock.instant());
+        subjects.forEach((subjectId, value) -> update.inc("subjectMinutes." + subjectId, value));
+        plans.forEach((planId, value) -> update.inc("plans." + planId + ".completedMinutes", value));
+        buckets.forEach(update::inc);
+        if (oldestDay != null) {
+            update.min("oldestDay", oldestDay);
+        }
+        if (oldestWeek != null) {
+            update.min("oldestWeek", oldestWeek);
+        }
+        update.push("appliedFlushIds").slice(-appliedFlushHistory).each(flushId);
+        return update;
+    }
+
+    private Map<String, String> subjectsOf(List<StudySession> sessions) {
+        Set<String> topicIds = sessions.stream()
+                .map(StudySession::getTopicId)
+                .filter(id -> id != null)
+                .collect(Collectors.toSet());
+        Map<String, String> subjects = new LinkedHashMap<>();
+        if (!topicIds.isEmpty()) {
+            for (Topic topic : topicRepository.findAllById(topicIds)) {
+                if (topic.getSubjectId() != null) {
+                    subjects.put(topic.getId(), topic.getSubjectId());
+                }
+            }
+        }
+        return subjects;
+    }
+
+    DashboardResponse toDashboard(UserStudyStats stats, LocalDate today) {
+        DashboardResponse dashboard = new DashboardResponse();
+        dashboard.setTotalHours(hours(stats.getTotalMinutes()));
+        dashboard.setSessionCount(stats.getSessionCount());
+
+        dashboard.setSubjects(orEmpty(stats.getSubjectMinutes()).entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .map(entry -> {
+                    DashboardResponse.SubjectHours subject = new DashboardResponse.SubjectHours();
+                    subject.setSubjectId(entry.getKey());
+                    subject.setHours(hours(entry.getValue()));
+                    return subject;
+                })
+                .toList());
+
+        List<DashboardResponse.PlanProgress> plans = new ArrayList<>();
+        orEmpty(stats.getPlans()).forEach((planId, progress) -> {
+            if (progress.getTitle() == null) {
+                return; // sessions logged against a plan that was never saved for this user
+            }
+            DashboardResponse.PlanProgress plan = new DashboardResponse.PlanProgress();
+            plan.setPlanId(planId);
+            plan.setTitle(progress.getTitle());
+            plan.setTotalHours(progress.getTotalHours());
+            plan.setCompletedHours(hours(progress.getCompletedMinutes()));
+            plan.setCompletionPercent(progress.getTotalHours() <= 0 ? 0
+                    : round(Math.min(100.0, 100.0 * plan.getCompletedHours() / progress.getTotalHours())));
+            plans.add(plan);
+        });
+        dashboard.setPlans(plans);
+
+        List<DashboardResponse.HistoryBucket> history = new ArrayList<>();
+        addHistory(history, "DAY", stats.getDailyMinutes(), LocalDate::parse);
+        addHistory(history, "WEEK", stats.getWeeklyMinutes(), LocalDate::parse);
+        addHistory(history, "MONTH", stats.getMonthlyMinutes(), key -> YearMonth.parse(key).atDay(1));
+        dashboard.setHistory(history);
+
+        TreeSet<LocalDate> activeDays = new TreeSet<>();
+        orEmpty(stats.getDailyMinutes()).forEach((day, value) -> {
+            if (value > 0) {
+                activeDays.add(LocalDate.parse(day));
+            }
+        });
+        LocalDate carriedEnd = parse(stats.getCarriedStreakEnd());
+        dashboard.setCurrentStreakDays(currentStreak(activeDays, today, stats.getCarriedStreakDays(), carriedEnd));
+        dashboard.setLongestStreakDays(Math.max(stats.getLongestStreakDays(),
+                streakRuns(activeDays, stats.getCarriedStreakDays(), carriedEnd).longest()));
+        return dashboard;
+    }
+
+    static int currentStreak(Set<LocalDate> activeDays, LocalDate today, int carriedDays, LocalDate carriedEnd) {
+        LocalDate day = activeDays.contains(today) ? today : today.minusDays(1);
+        int streak = 0;
+        while (activeDays.contains(day)) {
+            streak++;
+            day = day.minusDays(1);
+        }
+        return streak > 0 && day.equals(carriedEnd) ? streak + carriedDays : streak;
+    }
+
+    // Longest run of consecutive days and the length of the run ending at the last day.
+    static StreakRuns streakRuns(TreeSet<LocalDate> days, int carriedDays, LocalDate carriedEnd) {
+        int longest = 0;
+        int run = 0;
+        LocalDate previous = null;
+        for (LocalDate day : days) {
+            if (previous != null && previous.plusDays(1).equals(day)) {
+                run++;
+            } else {
+                run = carriedEnd != null && carriedEnd.plusDays(1).equals(day) ? carriedDays + 1 : 1;
+            }
+            longest = Math.max(longest, run);
+            previous = day;
+        }
+        return new StreakRuns(longest, run);
+    }
+
+    Bucket bucketOf(LocalDate day, LocalDate today) {
+        if (!day.isBefore(dailyCutoff(today))) {
+            return new Bucket("dailyMinutes", day.toString());
+        }
+        LocalDate week = day.with(DayOfWeek.MONDAY);
+        if (!week.isBefore(weeklyCutoff(today))) {
+            return new Bucket("weeklyMinutes", week.toString());
+        }
+        return new Bucket("monthlyMinutes", YearMonth.from(day).toString());
+    }
+
+    private LocalDate dailyCutoff(LocalDate today) {
+        return today.minusDays(dailyRetentionDays);
+    }
+
+    private LocalDate weeklyCutoff(LocalDate today) {
+        return today.minusWeeks(weeklyRetentionWeeks).with(DayOfWeek.MONDAY);
+    }
+
+    // Sessions are bucketed by the UTC day they ended; a clock running ahead on the client counts as today.
+    private static LocalDate dayOf(StudySession session, LocalDate today) {
+        LocalDate day = LocalDate.ofInstant(
+                session.getEndedAt() != null ? session.getEndedAt() : session.getReceivedAt(), ZoneOffset.UTC);
+        return day.isAfter(today) ? today : day;
+    }
+
+    private static void addHistory(List<DashboardResponse.HistoryBucket> history, String period,
+                                   Map<String, Long> buckets, java.util.function.Function<String, LocalDate> startOf) {
+        orEmpty(buckets).entrySet().stream()
+                .filter(entry -> entry.getValue() > 0)
+                .map(entry -> {
+                    DashboardResponse.HistoryBucket bucket = new DashboardResponse.HistoryBucket();
+                    bucket.setPeriod(period);
+                    bucket.setStart(startOf.apply(entry.getKey()));
+                    bucket.setHours(hours(entry.getValue()));
+                    return bucket;
+                })
+                .sorted(Comparator.comparing(DashboardResponse.HistoryBucket::getStart).reversed())
+                .forEach(history::add);
+    }
+
+    private static void setOrUnset(Update update, String field, String value) {
+        if (value == null) {
+            update.unset(field);
+        } else {
+            update.set(field, value);
+        }
+    }
+
+    private static String min(String current, String candidate) {
+        return current == null || candidate.compareTo(current) < 0 ? candidate : current;
+    }
+
+    private static LocalDate parse(String day) {
+        return day == null ? null : LocalDate.parse(day);
+    }
+
+    private static double hours(long minutes) {
+        return round(minutes / 60.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+
+    private static <K, V> Map<K, V> orEmpty(Map<K, V> map) {
+        return map == null ? Map.of() : map;
+    }
+
+    record Bucket(String path, String key) {
+        String field() {
+            return path + "." + key;
+        }
+    }
+
+    record StreakRuns(int longest, int last) {
+    }
+}
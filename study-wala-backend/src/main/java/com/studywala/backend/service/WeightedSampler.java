@@ -0,0 +1,47 @@
+package com.studywala.backend.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Weighted sampling without replacement (Efraimidis-Spirakis A-Res): every item draws the key
+ * {@code u^(1/w)} and the {@code k} largest keys win, kept in a bounded heap, so a sample costs
+ * one pass over the candidates and {@code O(k)} memory. Keys are compared as {@code ln(u)/w} to
+ * stay precise for small weights. Items with a non-positive weight are never picked.
+ */
+final class WeightedSampler {
+
+    private WeightedSampler() {
+    }
+
+    static <T> List<T> sample(Collection<T> items, ToDoubleFunction<T> weight, int k, Random random) {
+        if (k <= 0) {
+            return List.of();
+        }
+        PriorityQueue<Keyed<T>> heap = new PriorityQueue<>(k, Comparator.comparingDouble(Keyed::key));
+        for (T item : items) {
+            double w = weight.applyAsDouble(item);
+            if (!(w > 0)) {
+                continue;
+            }
+            double key = Math.log(1.0 - random.nextDouble()) / w;
+            if (heap.size() < k) {
+                heap.add(new Keyed<>(item, key));
+            } else if (key > heap.peek().key()) {
+                heap.poll();
+                heap.add(new Keyed<>(item, key));
+            }
+        }
+        List<Keyed<T>> picked = new ArrayList<>(heap);
+        picked.sort(Comparator.comparingDouble(Keyed<T>::key).reversed());
+        return picked.stream().map(Keyed::item).toList();
+    }
+
+    private record Keyed<T>(T item, double key) {
+    }
+}
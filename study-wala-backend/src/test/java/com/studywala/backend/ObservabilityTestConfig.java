@@ -0,0 +1,27 @@
+package com.studywala.backend;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Meter and observation registries for slice tests, which do not load the actuator auto-configuration.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class ObservabilityTestConfig {
+
+    @Bean
+    public SimpleMeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+
+    @Bean
+    public ObservationRegistry observationRegistry(MeterRegistry meterRegistry) {
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+        return observationRegistry;
+    }
+}
@@ -1,13 +1,22 @@
 package com.studywala.backend;
 
+import com.studywala.backend.resilience.ResilienceSettings;
+import com.studywala.backend.resilience.ResilientCaller;
 import com.studywala.backend.security.JwtTokenProvider;
 import com.studywala.backend.service.AIService;
 import com.studywala.backend.service.StudyPlanService;
+import com.theokanning.openai.service.OpenAiService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import okhttp3.OkHttpClient;
+import org.mockito.Mockito;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.concurrent.Executors;
+
 @TestConfiguration
 public class TestConfig {
 
@@ -23,11 +32,15 @@ public class TestConfig {
 
     @Bean
     public AIService aiService() {
-        return new AIService();
+        return new AIService(Mockito.mock(OpenAiService.class), new OkHttpClient(),
+                new ResilientCaller("AI service", ResilienceSettings.builder().build(),
+                        Executors.newCachedThreadPool(), AIService::isTransientFailure),
+                new SimpleMeterRegistry(), ObservationRegistry.NOOP,
+                "gpt-4o", 4, 1000);
     }
 
     @Bean
     public StudyPlanService studyPlanService() {
-        return new StudyPlanService(null, aiService(), null);
+        return new StudyPlanService(null, aiService(), null, null, null, null, null, null);
     }
 }
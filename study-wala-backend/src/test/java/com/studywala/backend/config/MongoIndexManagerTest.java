@@ -0,0 +1,65 @@
+package com.studywala.backend.config;
+
+import com.studywala.backend.model.StudyPlan;
+import com.studywala.backend.model.Subject;
+import com.studywala.backend.model.Topic;
+import com.studywala.backend.model.User;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MongoIndexManagerTest {
+
+    private MongoIndexManager indexManager;
+
+    @BeforeEach
+    void setUp() {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+        mappingContext.setInitialEntitySet(Set.of(User.class, StudyPlan.class, Subject.class, Topic.class));
+        mappingContext.initialize();
+
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.getConverter()).thenReturn(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext));
+        indexManager = new MongoIndexManager(mongoTemplate);
+    }
+
+    @Test
+    void declaredIndexes_ShouldCoverQueryPathsAndSkipEmbeddedSnapshots() {
+        // Act
+        Map<String, List<IndexDefinition>> indexes = indexManager.declaredIndexes();
+
+        // Assert
+        assertEquals(List.of(new Document("username", 1), new Document("email", 1)), keys(indexes, "users"));
+        assertTrue(indexes.get("users").stream().allMatch(index -> index.getIndexOptions().getBoolean("unique")));
+        assertEquals(List.of(new Document("userId", 1).append("_id", 1)), keys(indexes, "study_plans"));
+        assertEquals(List.of(new Document("subjectId", 1).append("completed", 1)), keys(indexes, "topics"));
+        assertEquals(List.of(new Document("userId", 1)), keys(indexes, "subjects"));
+    }
+
+    @Test
+    void sameKeys_ShouldRespectFieldOrderAndIgnoreNumericType() {
+        Document declared = new Document("userId", 1).append("_id", 1);
+
+        assertTrue(MongoIndexManager.sameKeys(new Document("userId", 1.0).append("_id", 1), declared));
+        assertFalse(MongoIndexManager.sameKeys(new Document("_id", 1).append("userId", 1), declared));
+        assertFalse(MongoIndexManager.sameKeys(new Document("userId", -1).append("_id", 1), declared));
+    }
+
+    private static List<Document> keys(Map<String, List<IndexDefinition>> indexes, String collection) {
+        return indexes.get(collection).stream().map(IndexDefinition::getIndexKeys).toList();
+    }
+}
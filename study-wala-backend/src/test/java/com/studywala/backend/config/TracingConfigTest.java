@@ -0,0 +1,136 @@
+package com.studywala.backend.config;
+
+import com.studywala.backend.model.StudyPlan;
+import com.studywala.backend.repository.StudyPlanRepository;
+import com.studywala.backend.security.JwtTokenProvider;
+import com.studywala.backend.security.UserPrincipal;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@TestPropertySource(properties = {
+    "openai.api.key=test-api-key",
+    "app.jwt.secret=test-secret-test-secret-test-secret-test-secret-test-secret-test-secret",
+    "app.study-plan-jobs.resume-on-startup=false",
+    "app.migrations.embed-plan-refs.enabled=false",
+    "app.migrations.backfill-user-stats.enabled=false",
+    "app.mongo.indexes.enabled=false",
+    "management.tracing.sampling.probability=1.0"
+})
+class TracingConfigTest {
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class InMemoryExporterConfig {
+
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private ThreadPoolTaskExecutor studyPlanJobExecutor;
+
+    @MockBean
+    private StudyPlanRepository studyPlanRepository;
+
+    @BeforeEach
+    void setUp() {
+        spanExporter.reset();
+    }
+
+    @Test
+    void authenticatedRequest_ShouldTraceJwtValidationAndMappingInRequestTrace() throws Exception {
+        StudyPlan plan = new StudyPlan();
+        plan.setId("plan1");
+        plan.setUserId("testuser");
+        when(studyPlanRepository.findByIdAndUserId("plan1", "testuser")).thenReturn(Optional.of(plan));
+
+        mockMvc.perform(get("/api/study-plans/plan1").header("Authorization", "Bearer " + token()))
+                .andExpect(status().isOk());
+
+        Map<String, SpanData> spans = exportedSpans();
+        SpanData request = spans.get("http get /api/study-plans/{id}");
+        assertNotNull(request, "spans: " + spans.keySet());
+        assertEquals(request.getTraceId(), spans.get("auth.jwt.validation").getTraceId());
+        assertEquals("valid", spans.get("auth.jwt.validation").getAttributes().asMap().entrySet().stream()
+                .filter(entry -> entry.getKey().getKey().equals("outcome"))
+                .map(entry -> String.valueOf(entry.getValue()))
+                .findFirst().orElse(null));
+        assertEquals(request.getTraceId(), spans.get("study-plan.mapping").getTraceId());
+    }
+
+    @Test
+    void jobExecutor_ShouldRunTasksUnderSubmittingSpan() throws Exception {
+        Observation parent = Observation.start("test.parent", observationRegistry);
+        try (Observation.Scope ignored = parent.openScope()) {
+            studyPlanJobExecutor.submit(() -> Observation.createNotStarted("test.child", observationRegistry)
+                    .observe(() -> { }))
+                    .get(5, TimeUnit.SECONDS);
+        } finally {
+            parent.stop();
+        }
+
+        Map<String, SpanData> spans = exportedSpans();
+        assertEquals(spans.get("test.parent").getSpanId(), spans.get("test.child").getParentSpanId());
+    }
+
+    private Map<String, SpanData> exportedSpans() {
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+        return spanExporter.getFinishedSpanItems().stream()
+                .collect(Collectors.toMap(SpanData::getName, Function.identity(), (first, second) -> first));
+    }
+
+    private String token() {
+        UserPrincipal principal = new UserPrincipal("user1", "testuser", "test@example.com", null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        return tokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
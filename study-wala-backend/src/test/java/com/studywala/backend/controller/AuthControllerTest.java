@@ -7,30 +7,53 @@ import com.studywala.backend.dto.SignUpRequest;
 import com.studywala.backend.model.User;
 import com.studywala.backend.repository.UserRepository;
 import com.studywala.backend.security.JwtTokenProvider;
+import com.studywala.backend.security.JwtValidationResult;
+import com.studywala.backend.security.TokenRevocationService;
+import com.studywala.backend.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
 @AutoConfigureMockMvc
+@TestPropertySource(properties = {
+    "openai.api.key=test-api-key",
+    "app.jwt.secret=test-secret-test-secret-test-secret-test-secret-test-secret-test-secret",
+    "app.study-plan-jobs.resume-on-startup=false",
+    "app.migrations.embed-plan-refs.enabled=false",
+    "app.migrations.backfill-user-stats.enabled=false",
+    "app.mongo.indexes.enabled=false"
+})
 class AuthControllerTest {
 
     @Autowired
@@ -48,6 +71,9 @@ class AuthControllerTest {
     @MockBean
     private JwtTokenProvider tokenProvider;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -68,8 +94,10 @@ class AuthControllerTest {
         loginRequest.setUsernameOrEmail("testuser");
         loginRequest.setPassword("password123");
 
+        UserPrincipal principal = new UserPrincipal("user1", "testuser", "test@example.com", null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
         Authentication authentication = new UsernamePasswordAuthenticationToken(
-                "testuser", "password123");
+                principal, null, principal.getAuthorities());
 
         when(authenticationManager.authenticate(any()))
                 .thenReturn(authentication);
@@ -82,7 +110,91 @@ class AuthControllerTest {
                 .content(objectMapper.writeValueAsString(loginRequest)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.accessToken").value("test.jwt.token"))
-                .andExpect(jsonPath("$.tokenType").value("Bearer"));
+                .andExpect(jsonPath("$.tokenType").value("Bearer"))
+                .andExpect(jsonPath("$.username").value("testuser"));
+    }
+
+    @Test
+    void login_WithBadCredentials_ShouldReturnUnauthorized() throws Exception {
+        // Arrange
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsernameOrEmail("wrongpassword");
+        loginRequest.setPassword("password123");
+        when(authenticationManager.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.errorCode").value("UNAUTHORIZED"));
+    }
+
+    @Test
+    void login_AfterRepeatedFailures_ShouldBeThrottledBeforeAuthenticating() throws Exception {
+        // Arrange
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsernameOrEmail("stuffed");
+        loginRequest.setPassword("password123");
+        when(authenticationManager.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"));
+        String body = objectMapper.writeValueAsString(loginRequest);
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andExpect(status().isUnauthorized());
+        }
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.errorCode").value("TOO_MANY_REQUESTS"));
+        verify(authenticationManager, times(5)).authenticate(any());
+    }
+
+    @Test
+    void logoutAll_ShouldRevokeEveryTokenOfTheUser() throws Exception {
+        // Arrange
+        Claims claims = Jwts.claims().setSubject("signed-out");
+        claims.setIssuedAt(new Date());
+        UserPrincipal principal = new UserPrincipal("signed-out-id", "signed-out", "out@example.com", null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        when(tokenProvider.parseAndValidate("old.jwt.token")).thenReturn(JwtValidationResult.valid(claims));
+        when(tokenProvider.getUserPrincipal(claims)).thenReturn(principal);
+
+        // Act
+        mockMvc.perform(post("/api/auth/logout-all").header("Authorization", "Bearer old.jwt.token"))
+                .andExpect(status().isNoContent());
+
+        // Assert
+        assertTrue(tokenRevocationService.isRevoked(claims, "signed-out-id"));
+    }
+
+    @Test
+    void logoutAll_WithTokenWithoutIdentityClaims_ShouldLookUpTheUser() throws Exception {
+        // Arrange
+        Claims claims = Jwts.claims().setSubject("legacy");
+        claims.setIssuedAt(new Date());
+        User user = new User();
+        user.setId("legacy-id");
+        when(tokenProvider.parseAndValidate("legacy.jwt.token")).thenReturn(JwtValidationResult.valid(claims));
+        when(userRepository.findByUsername("legacy")).thenReturn(Optional.of(user));
+
+        // Act
+        mockMvc.perform(post("/api/auth/logout-all").header("Authorization", "Bearer legacy.jwt.token"))
+                .andExpect(status().isNoContent());
+
+        // Assert
+        assertTrue(tokenRevocationService.isRevoked(claims, "legacy-id"));
+    }
+
+    @Test
+    void logoutAll_WithoutValidToken_ShouldReturnUnauthorized() throws Exception {
+        when(tokenProvider.parseAndValidate("expired.jwt.token"))
+                .thenReturn(JwtValidationResult.invalid(JwtValidationResult.Failure.EXPIRED));
+
+        mockMvc.perform(post("/api/auth/logout-all"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/auth/logout-all").header("Authorization", "Bearer expired.jwt.token"))
+                .andExpect(status().isUnauthorized());
     }
 
     @Test
@@ -152,4 +264,26 @@ class AuthControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(content().string("Error: Email is already in use!"));
     }
+
+    @Test
+    void signup_WhenAConcurrentSignUpTakesTheEmail_ShouldReportTheEmail() throws Exception {
+        // Arrange
+        SignUpRequest signUpRequest = new SignUpRequest();
+        signUpRequest.setName("Test User");
+        signUpRequest.setUsername("testuser");
+        signUpRequest.setEmail("raced@example.com");
+        signUpRequest.setPassword("password123");
+
+        when(userRepository.existsByUsername(anyString())).thenReturn(false);
+        when(userRepository.existsByEmail(anyString())).thenReturn(false, true);
+        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+        when(userRepository.save(any(User.class))).thenThrow(new DuplicateKeyException("E11000 duplicate key"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(signUpRequest)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Error: Email is already in use!"));
+    }
 }
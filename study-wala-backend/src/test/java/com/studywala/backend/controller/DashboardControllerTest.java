@@ -0,0 +1,99 @@
+package com.studywala.backend.controller;
+
+import com.studywala.backend.ObservabilityTestConfig;
+import com.studywala.backend.dto.DashboardResponse;
+import com.studywala.backend.ratelimit.AiRateLimiter;
+import com.studywala.backend.ratelimit.DailyQuotaService;
+import com.studywala.backend.security.JwtAuthenticationEntryPoint;
+import com.studywala.backend.security.JwtTokenProvider;
+import com.studywala.backend.security.JwtValidationResult;
+import com.studywala.backend.security.SecurityConfig;
+import com.studywala.backend.security.TokenRevocationService;
+import com.studywala.backend.security.UserPrincipal;
+import com.studywala.backend.service.UserStudyStatsService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(DashboardController.class)
+@Import({SecurityConfig.class, JwtAuthenticationEntryPoint.class, ObservabilityTestConfig.class})
+class DashboardControllerTest {
+
+    private static final String JWT = "Bearer test.jwt.token";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private UserStudyStatsService userStudyStatsService;
+
+    @MockBean
+    private JwtTokenProvider tokenProvider;
+
+    @MockBean
+    private UserDetailsService userDetailsService;
+
+    @MockBean
+    private TokenRevocationService tokenRevocationService;
+
+    @MockBean
+    private AiRateLimiter aiRateLimiter;
+
+    @MockBean
+    private DailyQuotaService dailyQuotaService;
+
+    @BeforeEach
+    void setUp() {
+        UserPrincipal userPrincipal = new UserPrincipal("id1", "user1", "test@example.com", "password",
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+        Claims claims = Jwts.claims().setSubject("user1");
+        when(tokenProvider.parseAndValidate(anyString())).thenReturn(JwtValidationResult.valid(claims));
+        when(tokenProvider.getUserPrincipal(claims)).thenReturn(userPrincipal);
+    }
+
+    @Test
+    void getDashboard_ShouldReturnTheCurrentUsersStats() throws Exception {
+        // Arrange
+        DashboardResponse.PlanProgress plan = new DashboardResponse.PlanProgress();
+        plan.setPlanId("plan1");
+        plan.setCompletionPercent(25.0);
+        DashboardResponse dashboard = new DashboardResponse();
+        dashboard.setTotalHours(12.5);
+        dashboard.setCurrentStreakDays(3);
+        dashboard.setPlans(List.of(plan));
+        when(userStudyStatsService.getDashboard("user1")).thenReturn(dashboard);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/dashboard").header("Authorization", JWT))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalHours").value(12.5))
+                .andExpect(jsonPath("$.currentStreakDays").value(3))
+                .andExpect(jsonPath("$.plans[0].planId").value("plan1"))
+                .andExpect(jsonPath("$.plans[0].completionPercent").value(25.0));
+    }
+
+    @Test
+    void getDashboard_WithoutToken_ShouldReturnUnauthorized() throws Exception {
+        mockMvc.perform(get("/api/dashboard"))
+                .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(userStudyStatsService);
+    }
+}
@@ -0,0 +1,143 @@
+package com.studywala.backend.controller;
+
+import com.studywala.backend.ObservabilityTestConfig;
+import com.studywala.backend.dto.FlashcardResponse;
+import com.studywala.backend.ratelimit.AiRateLimiter;
+import com.studywala.backend.ratelimit.DailyQuotaService;
+import com.studywala.backend.security.JwtAuthenticationEntryPoint;
+import com.studywala.backend.security.JwtTokenProvider;
+import com.studywala.backend.security.JwtValidationResult;
+import com.studywala.backend.security.SecurityConfig;
+import com.studywala.backend.security.TokenRevocationService;
+import com.studywala.backend.security.UserPrincipal;
+import com.studywala.backend.service.FlashcardService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(FlashcardController.class)
+@Import({SecurityConfig.class, JwtAuthenticationEntryPoint.class, ObservabilityTestConfig.class})
+class FlashcardControllerTest {
+
+    private static final String JWT = "Bearer test.jwt.token";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private FlashcardService flashcardService;
+
+    @MockBean
+    private JwtTokenProvider tokenProvider;
+
+    @MockBean
+    private UserDetailsService userDetailsService;
+
+    @MockBean
+    private TokenRevocationService tokenRevocationService;
+
+    @MockBean
+    private AiRateLimiter aiRateLimiter;
+
+    @MockBean
+    private DailyQuotaService dailyQuotaService;
+
+    @BeforeEach
+    void setUp() {
+        UserPrincipal userPrincipal = new UserPrincipal("id1", "user1", "test@example.com", "password",
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+        Claims claims = Jwts.claims().setSubject("user1");
+        when(tokenProvider.parseAndValidate(anyString())).thenReturn(JwtValidationResult.valid(claims));
+        when(tokenProvider.getUserPrincipal(claims)).thenReturn(userPrincipal);
+    }
+
+    @Test
+    void getDueFlashcards_ShouldDefaultToFiftyCards() throws Exception {
+        FlashcardResponse card = new FlashcardResponse();
+        card.setId("card1");
+        when(flashcardService.getDueFlashcards("user1", 50)).thenReturn(List.of(card));
+
+        mockMvc.perform(get("/api/flashcards/due").header("Authorization", JWT))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value("card1"));
+    }
+
+    @Test
+    void submitReviews_ShouldPassTheBatchToTheService() throws Exception {
+        when(flashcardService.submitReviews(anyList(), eq("user1"))).thenReturn(List.of());
+
+        mockMvc.perform(post("/api/flashcards/reviews")
+                        .header("Authorization", JWT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"reviews\":[{\"flashcardId\":\"card1\",\"grade\":4,\"reviewedAt\":\"2024-05-01T10:00:00Z\"}]}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void submitReviews_WithoutReviewTime_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/flashcards/reviews")
+                        .header("Authorization", JWT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"reviews\":[{\"flashcardId\":\"card1\",\"grade\":4}]}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(flashcardService);
+    }
+
+    @Test
+    void submitReviews_WhenReviewTimeIsInTheFuture_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/flashcards/reviews")
+                        .header("Authorization", JWT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"reviews\":[{\"flashcardId\":\"card1\",\"grade\":4,\"reviewedAt\":\""
+                                + Instant.now().plus(1, ChronoUnit.DAYS) + "\"}]}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(flashcardService);
+    }
+
+    @Test
+    void submitReviews_WhenClientClockIsSlightlyAhead_ShouldAcceptTheReview() throws Exception {
+        when(flashcardService.submitReviews(anyList(), eq("user1"))).thenReturn(List.of());
+
+        mockMvc.perform(post("/api/flashcards/reviews")
+                        .header("Authorization", JWT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"reviews\":[{\"flashcardId\":\"card1\",\"grade\":4,\"reviewedAt\":\""
+                                + Instant.now().plus(1, ChronoUnit.MINUTES) + "\"}]}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void submitReviews_WhenGradeOutOfRange_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/flashcards/reviews")
+                        .header("Authorization", JWT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"reviews\":[{\"flashcardId\":\"card1\",\"grade\":7,\"reviewedAt\":\"2024-05-01T10:00:00Z\"}]}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(flashcardService);
+    }
+}
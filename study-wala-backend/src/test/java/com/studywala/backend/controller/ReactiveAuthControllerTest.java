@@ -0,0 +1,150 @@
+package com.studywala.backend.controller;
+
+import com.studywala.backend.dto.SignUpRequest;
+import com.studywala.backend.model.User;
+import com.studywala.backend.repository.ReactiveUserRepository;
+import com.studywala.backend.security.JwtTokenProvider;
+import com.studywala.backend.security.TokenRevocationService;
+import com.studywala.backend.security.UserPrincipal;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Boots the whole application with the {@code reactive} profile on Netty, so the profile wiring
+ * (security chain, codecs, conditional beans) is covered end to end.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("reactive")
+@TestPropertySource(properties = {
+    "openai.api.key=test-api-key",
+    "app.jwt.secret=test-secret-test-secret-test-secret-test-secret-test-secret-test-secret",
+    "app.study-plan-jobs.resume-on-startup=false",
+    "app.migrations.embed-plan-refs.enabled=false",
+    "app.migrations.backfill-user-stats.enabled=false",
+    "app.mongo.indexes.enabled=false"
+})
+class ReactiveAuthControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @MockBean
+    private ReactiveUserRepository userRepository;
+
+    @Test
+    void signup_WithNewUser_ShouldReturnSuccess() {
+        when(userRepository.existsByUsername(anyString())).thenReturn(Mono.just(false));
+        when(userRepository.existsByEmail(anyString())).thenReturn(Mono.just(false));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> Mono.just(invocation.<User>getArgument(0)));
+
+        webTestClient.post().uri("/api/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(signUpRequest())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("User registered successfully!");
+    }
+
+    @Test
+    void signup_WithExistingUsername_ShouldReturnBadRequest() {
+        when(userRepository.existsByUsername(anyString())).thenReturn(Mono.just(true));
+
+        webTestClient.post().uri("/api/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(signUpRequest())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("Error: Username is already taken!");
+    }
+
+    @Test
+    void signup_WhenAConcurrentSignUpTakesTheEmail_ShouldReportTheEmail() {
+        when(userRepository.existsByUsername(anyString())).thenReturn(Mono.just(false));
+        when(userRepository.existsByEmail(anyString())).thenReturn(Mono.just(false), Mono.just(true));
+        when(userRepository.save(any(User.class))).thenReturn(Mono.error(new DuplicateKeyException("E11000 duplicate key")));
+
+        webTestClient.post().uri("/api/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(signUpRequest())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("Error: Email is already in use!");
+    }
+
+    @Test
+    void logoutAll_ShouldRevokeTokensIssuedSoFar() {
+        // Arrange
+        UserPrincipal principal = new UserPrincipal("user1", "testuser", "test@example.com", null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        String token = tokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        // Act
+        webTestClient.post().uri("/api/auth/logout-all")
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isNoContent();
+
+        // Assert
+        assertTrue(tokenRevocationService.isRevoked(tokenProvider.getClaims(token), "user1"));
+        webTestClient.get().uri("/api/study-plans")
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void logoutAll_WithoutToken_ShouldReturnUnauthorized() {
+        webTestClient.post().uri("/api/auth/logout-all")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void studyPlans_WithoutToken_ShouldReturnUnauthorized() {
+        webTestClient.get().uri("/api/study-plans")
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("UNAUTHORIZED");
+    }
+
+    @Test
+    void prometheus_WithoutScrapePassword_ShouldBeClosed() {
+        webTestClient.get().uri("/actuator/prometheus")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    private static SignUpRequest signUpRequest() {
+        SignUpRequest signUpRequest = new SignUpRequest();
+        signUpRequest.setName("Test User");
+        signUpRequest.setUsername("testuser");
+        signUpRequest.setEmail("test@example.com");
+        signUpRequest.setPassword("password123");
+        return signUpRequest;
+    }
+}
@@ -0,0 +1,137 @@
+package com.studywala.backend.controller;
+
+import com.studywala.backend.ObservabilityTestConfig;
+import com.studywala.backend.dto.CursorPage;
+import com.studywala.backend.dto.StudyPlanResponse;
+import com.studywala.backend.dto.StudyPlanSummary;
+import com.studywala.backend.exception.ResourceNotFoundException;
+import com.studywala.backend.security.JwtTokenProvider;
+import com.studywala.backend.security.JwtValidationResult;
+import com.studywala.backend.security.PasswordEncoderConfig;
+import com.studywala.backend.security.ReactiveCustomUserDetailsService;
+import com.studywala.backend.security.ReactiveJwtAuthenticationEntryPoint;
+import com.studywala.backend.security.ReactiveSecurityConfig;
+import com.studywala.backend.security.TokenRevocationService;
+import com.studywala.backend.service.ReactiveStudyPlanService;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs {@link StudyPlanApiContract} against the reactive stack, plus its SSE stream.
+ */
+@WebFluxTest(ReactiveStudyPlanController.class)
+@Import({ReactiveSecurityConfig.class, ReactiveJwtAuthenticationEntryPoint.class, PasswordEncoderConfig.class,
+        ObservabilityTestConfig.class})
+class ReactiveStudyPlanControllerTest extends StudyPlanApiContract {
+
+    @MockBean
+    private ReactiveStudyPlanService studyPlanService;
+
+    @MockBean
+    private JwtTokenProvider tokenProvider;
+
+    @MockBean
+    private ReactiveCustomUserDetailsService userDetailsService;
+
+    @MockBean
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        Claims claims = claims();
+        when(tokenProvider.parseAndValidate(anyString())).thenReturn(JwtValidationResult.valid(claims));
+        when(tokenProvider.getUserPrincipal(claims)).thenReturn(principal());
+    }
+
+    @Override
+    WebTestClient client() {
+        return client;
+    }
+
+    @Override
+    void givenCreated(StudyPlanResponse plan) {
+        when(studyPlanService.createStudyPlan(any(), anyString())).thenReturn(Mono.just(plan));
+    }
+
+    @Override
+    void givenPlan(String id, StudyPlanResponse plan) {
+        when(studyPlanService.getStudyPlan(id, USER)).thenReturn(Mono.just(plan));
+    }
+
+    @Override
+    void givenNoPlan(String id) {
+        when(studyPlanService.getStudyPlan(id, USER))
+                .thenReturn(Mono.error(new ResourceNotFoundException("Study plan not found")));
+    }
+
+    @Override
+    void givenPlans(List<StudyPlanResponse> plans) {
+        when(studyPlanService.getUserStudyPlans(USER)).thenReturn(Flux.fromIterable(plans));
+    }
+
+    @Override
+    void givenPage(String after, int limit, CursorPage<StudyPlanResponse> page) {
+        when(studyPlanService.getUserStudyPlansPage(USER, after, limit)).thenReturn(Mono.just(page));
+    }
+
+    @Override
+    void givenSummaries(String after, int limit, CursorPage<StudyPlanSummary> page) {
+        when(studyPlanService.getUserStudyPlanSummaries(USER, after, limit)).thenReturn(Mono.just(page));
+    }
+
+    @Override
+    void givenExport(List<StudyPlanResponse> plans) {
+        when(studyPlanService.streamUserStudyPlans(USER)).thenReturn(Flux.fromIterable(plans));
+    }
+
+    @Override
+    void givenDeletable(String id) {
+        when(studyPlanService.deleteStudyPlan(id, USER)).thenReturn(Mono.empty());
+    }
+
+    @Override
+    void verifyDeleted(String id) {
+        verify(studyPlanService).deleteStudyPlan(id, USER);
+    }
+
+    @Test
+    void streamStudyPlan_ShouldWriteServerSentEvents() {
+        when(studyPlanService.streamStudyPlan(any(), anyString())).thenReturn(Flux.just(
+                ServerSentEvent.<Object>builder("GENERATING").event("stage").build(),
+                ServerSentEvent.<Object>builder(plan("plan1", "Finals")).event("plan").build()));
+
+        String body = client.get()
+                .uri("/api/study-plans/stream?title=Finals&subjectIds=math&startDate=2024-05-01&endDate=2024-05-28&hoursPerDay=3")
+                .header("Authorization", TOKEN)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertTrue(body.indexOf("event:stage") < body.indexOf("event:plan"));
+        assertTrue(body.contains("\"id\":\"plan1\""));
+    }
+}
@@ -0,0 +1,198 @@
+package com.studywala.backend.controller;
+
+import com.studywala.backend.dto.CursorPage;
+import com.studywala.backend.dto.StudyPlanRequest;
+import com.studywala.backend.dto.StudyPlanResponse;
+import com.studywala.backend.dto.StudyPlanSummary;
+import com.studywala.backend.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Behaviour of the study plan API that both the servlet and the reactive stack must share. Each
+ * subclass wires one stack and stubs its service; the requests and expectations are identical.
+ */
+abstract class StudyPlanApiContract {
+
+    static final String TOKEN = "Bearer test.jwt.token";
+    static final String USER = "user1";
+
+    /** A client bound to the stack under test, with a token provider accepting {@link #TOKEN}. */
+    abstract WebTestClient client();
+
+    abstract void givenCreated(StudyPlanResponse plan);
+
+    abstract void givenPlan(String id, StudyPlanResponse plan);
+
+    abstract void givenNoPlan(String id);
+
+    abstract void givenPlans(List<StudyPlanResponse> plans);
+
+    abstract void givenPage(String after, int limit, CursorPage<StudyPlanResponse> page);
+
+    abstract void givenSummaries(String after, int limit, CursorPage<StudyPlanSummary> page);
+
+    abstract void givenExport(List<StudyPlanResponse> plans);
+
+    abstract void givenDeletable(String id);
+
+    abstract void verifyDeleted(String id);
+
+    static Claims claims() {
+        return Jwts.claims().setSubject(USER);
+    }
+
+    static UserPrincipal principal() {
+        return new UserPrincipal("id1", USER, "test@example.com", "password",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+    static StudyPlanResponse plan(String id, String title) {
+        StudyPlanResponse plan = new StudyPlanResponse();
+        plan.setId(id);
+        plan.setTitle(title);
+        return plan;
+    }
+
+    @Test
+    void createStudyPlan_ShouldReturnPlan() {
+        StudyPlanRequest request = new StudyPlanRequest();
+        request.setTitle("Finals");
+        request.setSubjectIds(List.of("math"));
+        request.setStartDate(LocalDate.of(2024, 5, 1));
+        request.setEndDate(LocalDate.of(2024, 5, 28));
+        request.setHoursPerDay(3);
+        givenCreated(plan("plan1", "Finals"));
+
+        client().post().uri("/api/study-plans")
+                .header("Authorization", TOKEN)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo("plan1")
+                .jsonPath("$.title").isEqualTo("Finals");
+    }
+
+    @Test
+    void createStudyPlan_WithInvalidRequest_ShouldReturnFieldErrors() {
+        client().post().uri("/api/study-plans")
+                .header("Authorization", TOKEN)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"subjectIds\":[\"math\"],\"startDate\":\"2024-05-01\",\"endDate\":\"2024-05-28\",\"hoursPerDay\":3}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.title").exists();
+    }
+
+    @Test
+    void getStudyPlan_WhenPlanExists_ShouldReturnPlan() {
+        givenPlan("plan1", plan("plan1", "Finals"));
+
+        client().get().uri("/api/study-plans/plan1")
+                .header("Authorization", TOKEN)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Finals");
+    }
+
+    @Test
+    void getStudyPlan_WhenMissing_ShouldReturnNotFound() {
+        givenNoPlan("ghost");
+
+        client().get().uri("/api/study-plans/ghost")
+                .header("Authorization", TOKEN)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("RESOURCE_NOT_FOUND");
+    }
+
+    @Test
+    void getUserStudyPlans_ShouldReturnArray() {
+        givenPlans(List.of(plan("plan1", "Finals"), plan("plan2", "Midterms")));
+
+        client().get().uri("/api/study-plans")
+                .header("Authorization", TOKEN)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[1].id").isEqualTo("plan2");
+    }
+
+    @Test
+    void getUserStudyPlansPage_ShouldReturnItemsAndCursor() {
+        givenPage("plan1", 1, new CursorPage<>(List.of(plan("plan2", "Midterms")), "plan2"));
+
+        client().get().uri("/api/study-plans/page?after=plan1&limit=1")
+                .header("Authorization", TOKEN)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items[0].id").isEqualTo("plan2")
+                .jsonPath("$.nextCursor").isEqualTo("plan2");
+    }
+
+    @Test
+    void getUserStudyPlanSummaries_ShouldReturnItemsAndCursor() {
+        StudyPlanSummary summary = new StudyPlanSummary();
+        summary.setId("plan2");
+        summary.setTitle("Midterms");
+        summary.setTotalHours(40);
+        givenSummaries("plan1", 1, new CursorPage<>(List.of(summary), "plan2"));
+
+        client().get().uri("/api/study-plans/summaries?after=plan1&limit=1")
+                .header("Authorization", TOKEN)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items[0].id").isEqualTo("plan2")
+                .jsonPath("$.items[0].totalHours").isEqualTo(40)
+                .jsonPath("$.items[0].subjects").doesNotExist()
+                .jsonPath("$.nextCursor").isEqualTo("plan2");
+    }
+
+    @Test
+    void exportStudyPlans_ShouldReturnAJsonArrayOfAllPlans() {
+        givenExport(List.of(plan("plan1", "Finals"), plan("plan2", "Midterms")));
+
+        client().get().uri("/api/study-plans/export")
+                .header("Authorization", TOKEN)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].title").isEqualTo("Finals")
+                .jsonPath("$[1].id").isEqualTo("plan2");
+    }
+
+    @Test
+    void deleteStudyPlan_ShouldReturnNoContent() {
+        givenDeletable("plan1");
+
+        client().delete().uri("/api/study-plans/plan1")
+                .header("Authorization", TOKEN)
+                .exchange()
+                .expectStatus().isNoContent();
+
+        verifyDeleted("plan1");
+    }
+
+    @Test
+    void anyRequest_WithoutToken_ShouldReturnUnauthorized() {
+        client().get().uri("/api/study-plans")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+}
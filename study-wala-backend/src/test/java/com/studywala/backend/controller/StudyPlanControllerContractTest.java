@@ -0,0 +1,135 @@
+package com.studywala.backend.controller;
+
+import com.studywala.backend.ObservabilityTestConfig;
+import com.studywala.backend.dto.CursorPage;
+import com.studywala.backend.dto.StudyPlanResponse;
+import com.studywala.backend.dto.StudyPlanSummary;
+import com.studywala.backend.exception.ResourceNotFoundException;
+import com.studywala.backend.ratelimit.AiRateLimiter;
+import com.studywala.backend.ratelimit.DailyQuotaService;
+import com.studywala.backend.ratelimit.RateLimitDecision;
+import com.studywala.backend.security.JwtAuthenticationEntryPoint;
+import com.studywala.backend.security.JwtTokenProvider;
+import com.studywala.backend.security.JwtValidationResult;
+import com.studywala.backend.security.SecurityConfig;
+import com.studywala.backend.security.TokenRevocationService;
+import com.studywala.backend.service.StudyPlanJobService;
+import com.studywala.backend.service.StudyPlanService;
+import com.studywala.backend.service.StudyPlanStreamService;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.test.web.servlet.client.MockMvcWebTestClient;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+
+/**
+ * Runs {@link StudyPlanApiContract} against the servlet stack.
+ */
+@WebMvcTest(StudyPlanController.class)
+@Import({SecurityConfig.class, JwtAuthenticationEntryPoint.class, ObservabilityTestConfig.class})
+class StudyPlanControllerContractTest extends StudyPlanApiContract {
+
+    @MockBean
+    private StudyPlanService studyPlanService;
+
+    @MockBean
+    private StudyPlanJobService studyPlanJobService;
+
+    @MockBean
+    private StudyPlanStreamService studyPlanStreamService;
+
+    @MockBean
+    private JwtTokenProvider tokenProvider;
+
+    @MockBean
+    private UserDetailsService userDetailsService;
+
+    @MockBean
+    private TokenRevocationService tokenRevocationService;
+
+    @MockBean
+    private AiRateLimiter aiRateLimiter;
+
+    @MockBean
+    private DailyQuotaService dailyQuotaService;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = MockMvcWebTestClient.bindTo(MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build())
+                .build();
+        Claims claims = claims();
+        when(tokenProvider.parseAndValidate(anyString())).thenReturn(JwtValidationResult.valid(claims));
+        when(tokenProvider.getUserPrincipal(claims)).thenReturn(principal());
+        when(aiRateLimiter.tryAcquire(anyString())).thenReturn(RateLimitDecision.allowed("user", 5, 4, 12));
+        when(dailyQuotaService.consume(anyString())).thenReturn(RateLimitDecision.allowed("daily", 50, 49, 3600));
+    }
+
+    @Override
+    WebTestClient client() {
+        return client;
+    }
+
+    @Override
+    void givenCreated(StudyPlanResponse plan) {
+        when(studyPlanService.createStudyPlan(any(), anyString())).thenReturn(plan);
+    }
+
+    @Override
+    void givenPlan(String id, StudyPlanResponse plan) {
+        when(studyPlanService.getStudyPlan(id, USER)).thenReturn(plan);
+    }
+
+    @Override
+    void givenNoPlan(String id) {
+        when(studyPlanService.getStudyPlan(id, USER)).thenThrow(new ResourceNotFoundException("Study plan not found"));
+    }
+
+    @Override
+    void givenPlans(List<StudyPlanResponse> plans) {
+        when(studyPlanService.getUserStudyPlans(USER)).thenReturn(plans);
+    }
+
+    @Override
+    void givenPage(String after, int limit, CursorPage<StudyPlanResponse> page) {
+        when(studyPlanService.getUserStudyPlansPage(USER, after, limit)).thenReturn(page);
+    }
+
+    @Override
+    void givenSummaries(String after, int limit, CursorPage<StudyPlanSummary> page) {
+        when(studyPlanService.getUserStudyPlanSummaries(USER, after, limit)).thenReturn(page);
+    }
+
+    @Override
+    void givenExport(List<StudyPlanResponse> plans) {
+        when(studyPlanService.streamUserStudyPlans(USER)).thenReturn(plans.stream());
+    }
+
+    @Override
+    void givenDeletable(String id) {
+        // deleteStudyPlan returns nothing, so the default mock answer is enough
+    }
+
+    @Override
+    void verifyDeleted(String id) {
+        verify(studyPlanService).deleteStudyPlan(id, USER);
+    }
+}
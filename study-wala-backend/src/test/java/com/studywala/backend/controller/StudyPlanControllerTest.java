@@ -1,36 +1,60 @@
 package com.studywala.backend.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studywala.backend.ObservabilityTestConfig;
+import com.studywala.backend.dto.StudyPlanJobResponse;
 import com.studywala.backend.dto.StudyPlanRequest;
-import com.studywala.backend.model.StudyPlan;
+import com.studywala.backend.dto.StudyPlanResponse;
+import com.studywala.backend.ratelimit.AiRateLimiter;
+import com.studywala.backend.ratelimit.DailyQuotaService;
+import com.studywala.backend.ratelimit.RateLimitDecision;
+import com.studywala.backend.security.JwtAuthenticationEntryPoint;
 import com.studywala.backend.security.JwtTokenProvider;
+import com.studywala.backend.security.JwtValidationResult;
+import com.studywala.backend.security.SecurityConfig;
+import com.studywala.backend.security.TokenRevocationService;
 import com.studywala.backend.security.UserPrincipal;
+import com.studywala.backend.service.StudyPlanJobService;
 import com.studywala.backend.service.StudyPlanService;
+import com.studywala.backend.service.StudyPlanStreamService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Stream;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(StudyPlanController.class)
+@Import({SecurityConfig.class, JwtAuthenticationEntryPoint.class, ObservabilityTestConfig.class})
 class StudyPlanControllerTest {
 
     @Autowired
@@ -39,9 +63,27 @@ class StudyPlanControllerTest {
     @MockBean
     private StudyPlanService studyPlanService;
 
+    @MockBean
+    private StudyPlanJobService studyPlanJobService;
+
+    @MockBean
+    private StudyPlanStreamService studyPlanStreamService;
+
     @MockBean
     private JwtTokenProvider tokenProvider;
 
+    @MockBean
+    private UserDetailsService userDetailsService;
+
+    @MockBean
+    private TokenRevocationService tokenRevocationService;
+
+    @MockBean
+    private AiRateLimiter aiRateLimiter;
+
+    @MockBean
+    private DailyQuotaService dailyQuotaService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -57,20 +99,22 @@ class StudyPlanControllerTest {
                 .apply(springSecurity())
                 .build();
 
-        UserPrincipal userPrincipal = UserPrincipal.create(
+        UserPrincipal userPrincipal = new UserPrincipal(
+                "id1",
                 "user1",
                 "test@example.com",
                 "password",
                 Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"))
         );
-        
-        Authentication authentication = new UsernamePasswordAuthenticationToken(
-                userPrincipal, null, userPrincipal.getAuthorities());
-        
-        when(tokenProvider.validateToken(anyString())).thenReturn(true);
-        when(tokenProvider.getUsernameFromJWT(anyString())).thenReturn("testuser");
+
+        Claims claims = Jwts.claims().setSubject("user1");
+
+        when(tokenProvider.parseAndValidate(anyString())).thenReturn(JwtValidationResult.valid(claims));
+        when(tokenProvider.getUserPrincipal(claims)).thenReturn(userPrincipal);
         
         jwtToken = "Bearer test.jwt.token";
+        when(aiRateLimiter.tryAcquire(anyString())).thenReturn(RateLimitDecision.allowed("user", 5, 4, 12));
+        when(dailyQuotaService.consume(anyString())).thenReturn(RateLimitDecision.allowed("daily", 50, 49, 3600));
     }
 
     @Test
@@ -83,11 +127,10 @@ class StudyPlanControllerTest {
         request.setEndDate(LocalDate.now().plusDays(7));
         request.setHoursPerDay(2);
 
-        StudyPlan createdPlan = new StudyPlan();
+        StudyPlanResponse createdPlan = new StudyPlanResponse();
         createdPlan.setId("plan1");
         createdPlan.setTitle(request.getTitle());
         createdPlan.setDescription(request.getDescription());
-        createdPlan.setUserId("user1");
 
         when(studyPlanService.createStudyPlan(any(StudyPlanRequest.class), anyString()))
                 .thenReturn(createdPlan);
@@ -103,10 +146,9 @@ class StudyPlanControllerTest {
 
     @Test
     void getStudyPlan_WhenPlanExists_ShouldReturnPlan() throws Exception {
-        StudyPlan plan = new StudyPlan();
+        StudyPlanResponse plan = new StudyPlanResponse();
         plan.setId("plan1");
         plan.setTitle("Test Plan");
-        plan.setUserId("user1");
 
         when(studyPlanService.getStudyPlan("plan1", "user1")).thenReturn(plan);
 
@@ -119,15 +161,13 @@ class StudyPlanControllerTest {
 
     @Test
     void getUserStudyPlans_ShouldReturnUserPlans() throws Exception {
-        StudyPlan plan1 = new StudyPlan();
+        StudyPlanResponse plan1 = new StudyPlanResponse();
         plan1.setId("plan1");
         plan1.setTitle("Plan 1");
-        plan1.setUserId("user1");
 
-        StudyPlan plan2 = new StudyPlan();
+        StudyPlanResponse plan2 = new StudyPlanResponse();
         plan2.setId("plan2");
         plan2.setTitle("Plan 2");
-        plan2.setUserId("user1");
 
         when(studyPlanService.getUserStudyPlans("user1"))
                 .thenReturn(List.of(plan1, plan2));
@@ -141,11 +181,188 @@ class StudyPlanControllerTest {
     }
 
     @Test
-    void deleteStudyPlan_WhenPlanExists_ShouldReturnNoContent() throws Exception {
-        when(studyPlanService.existsByIdAndUserId("plan1", "user1")).thenReturn(true);
+    void exportStudyPlans_ShouldWriteTheArrayOnAsyncDispatch() throws Exception {
+        // Arrange
+        StudyPlanResponse plan = new StudyPlanResponse();
+        plan.setId("plan1");
+        plan.setTitle("Finals");
+        when(studyPlanService.streamUserStudyPlans("user1")).thenReturn(Stream.of(plan));
+        MvcResult started = mockMvc.perform(get("/api/study-plans/export")
+                        .header("Authorization", jwtToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Act & Assert
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value("plan1"))
+                .andExpect(jsonPath("$[0].title").value("Finals"));
+    }
 
+    @Test
+    void deleteStudyPlan_WhenPlanExists_ShouldReturnNoContent() throws Exception {
         mockMvc.perform(delete("/api/study-plans/plan1")
                 .header("Authorization", jwtToken))
                 .andExpect(status().isNoContent());
+
+        verify(studyPlanService).deleteStudyPlan("plan1", "user1");
+    }
+
+    @Test
+    void createStudyPlanAsync_ShouldReturnAcceptedWithJobLocation() throws Exception {
+        StudyPlanRequest request = new StudyPlanRequest();
+        request.setTitle("Test Plan");
+        request.setSubjectIds(List.of("subj1"));
+        request.setStartDate(LocalDate.now());
+        request.setEndDate(LocalDate.now().plusDays(7));
+        request.setHoursPerDay(2);
+
+        StudyPlanJobResponse job = new StudyPlanJobResponse();
+        job.setId("job1");
+        job.setStatus("PENDING");
+
+        when(studyPlanJobService.submit(any(StudyPlanRequest.class), anyString())).thenReturn(job);
+
+        mockMvc.perform(post("/api/study-plans")
+                .param("async", "true")
+                .header("Authorization", jwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", endsWith("/api/study-plans/jobs/job1")))
+                .andExpect(jsonPath("$.id").value("job1"))
+                .andExpect(jsonPath("$.status").value("PENDING"));
+    }
+
+    @Test
+    void streamStudyPlan_ShouldBindQueryParametersAndStartAsync() throws Exception {
+        when(studyPlanStreamService.stream(any(StudyPlanRequest.class), anyString())).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/study-plans/stream")
+                .header("Authorization", jwtToken)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .param("title", "Finals")
+                .param("subjectIds", "math", "phys")
+                .param("startDate", "2024-05-01")
+                .param("endDate", "2024-05-28")
+                .param("hoursPerDay", "3"))
+                .andExpect(request().asyncStarted());
+
+        ArgumentCaptor<StudyPlanRequest> captor = ArgumentCaptor.forClass(StudyPlanRequest.class);
+        verify(studyPlanStreamService).stream(captor.capture(), eq("user1"));
+        assertEquals(List.of("math", "phys"), captor.getValue().getSubjectIds());
+        assertEquals(LocalDate.of(2024, 5, 28), captor.getValue().getEndDate());
+    }
+
+    @Test
+    void streamStudyPlan_ShouldWriteEventsOnAsyncDispatch() throws Exception {
+        // Arrange
+        SseEmitter emitter = new SseEmitter();
+        when(studyPlanStreamService.stream(any(StudyPlanRequest.class), anyString())).thenReturn(emitter);
+        MvcResult started = mockMvc.perform(get("/api/study-plans/stream")
+                        .header("Authorization", jwtToken)
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .param("title", "Finals")
+                        .param("subjectIds", "math")
+                        .param("startDate", "2024-05-01")
+                        .param("endDate", "2024-05-28")
+                        .param("hoursPerDay", "3"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Act
+        emitter.send(SseEmitter.event().name("stage").data("GENERATING"));
+        emitter.complete();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("event:stage\ndata:GENERATING\n\n")));
+    }
+
+    @Test
+    void streamStudyPlan_WithInvalidRange_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/study-plans/stream")
+                .header("Authorization", jwtToken)
+                .param("title", "Finals")
+                .param("subjectIds", "math")
+                .param("startDate", "2024-05-28")
+                .param("endDate", "2024-05-01")
+                .param("hoursPerDay", "3"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(studyPlanStreamService);
+    }
+
+    @Test
+    void streamStudyPlan_WithTooLongRange_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/study-plans/stream")
+                .header("Authorization", jwtToken)
+                .param("title", "Finals")
+                .param("subjectIds", "math")
+                .param("startDate", "0001-01-01")
+                .param("endDate", "9999-12-31")
+                .param("hoursPerDay", "3"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(studyPlanStreamService);
+    }
+
+    @Test
+    void streamStudyPlan_ShouldReportTightestRateLimit() throws Exception {
+        when(studyPlanStreamService.stream(any(StudyPlanRequest.class), anyString())).thenReturn(new SseEmitter());
+        when(dailyQuotaService.consume("user1")).thenReturn(RateLimitDecision.allowed("daily", 50, 2, 3600));
+
+        mockMvc.perform(get("/api/study-plans/stream")
+                .header("Authorization", jwtToken)
+                .param("title", "Finals")
+                .param("subjectIds", "math")
+                .param("startDate", "2024-05-01")
+                .param("endDate", "2024-05-28")
+                .param("hoursPerDay", "3"))
+                .andExpect(header().string("RateLimit-Limit", "50"))
+                .andExpect(header().string("RateLimit-Remaining", "2"))
+                .andExpect(header().string("RateLimit-Reset", "3600"));
+    }
+
+    @Test
+    void streamStudyPlan_WhenRateLimited_ShouldReturnTooManyRequests() throws Exception {
+        when(aiRateLimiter.tryAcquire("user1")).thenReturn(RateLimitDecision.rejected("user", 5, 60, 12));
+
+        mockMvc.perform(get("/api/study-plans/stream")
+                .header("Authorization", jwtToken)
+                .param("title", "Finals")
+                .param("subjectIds", "math")
+                .param("startDate", "2024-05-01")
+                .param("endDate", "2024-05-28")
+                .param("hoursPerDay", "3"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "12"))
+                .andExpect(header().string("RateLimit-Remaining", "0"))
+                .andExpect(jsonPath("$.errorCode").value("TOO_MANY_REQUESTS"));
+
+        verifyNoInteractions(studyPlanStreamService, dailyQuotaService);
+    }
+
+    @Test
+    void createStudyPlan_WithoutAIEnrichment_ShouldNotBeRateLimited() throws Exception {
+        StudyPlanRequest request = new StudyPlanRequest();
+        request.setTitle("Test Plan");
+        request.setSubjectIds(List.of("subj1"));
+        request.setStartDate(LocalDate.of(2024, 5, 1));
+        request.setEndDate(LocalDate.of(2024, 5, 28));
+        request.setHoursPerDay(2);
+        when(studyPlanService.createStudyPlan(any(StudyPlanRequest.class), anyString())).thenReturn(new StudyPlanResponse());
+
+        mockMvc.perform(post("/api/study-plans")
+                .header("Authorization", jwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("RateLimit-Limit"));
+
+        verifyNoInteractions(aiRateLimiter);
     }
 }
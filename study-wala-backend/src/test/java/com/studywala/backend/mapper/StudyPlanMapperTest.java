@@ -0,0 +1,190 @@
+package com.studywala.backend.mapper;
+
+import com.studywala.backend.dto.CursorPage;
+import com.studywala.backend.dto.ScheduledSessionResponse;
+import com.studywala.backend.dto.StudyPlanResponse;
+import com.studywala.backend.dto.SubjectResponse;
+import com.studywala.backend.dto.TopicResponse;
+import com.studywala.backend.model.ScheduledSession;
+import com.studywala.backend.model.StudyPlan;
+import com.studywala.backend.model.Subject;
+import com.studywala.backend.model.Topic;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudyPlanMapperTest {
+
+    private MeterRegistry meterRegistry;
+    private StudyPlanMapper studyPlanMapper;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+        studyPlanMapper = new StudyPlanMapper(observationRegistry);
+    }
+
+    @Test
+    void toResponse_ShouldCopyThePlanAndItsSnapshots() {
+        // Arrange
+        Subject subject = new Subject();
+        subject.setId("math");
+        subject.setUserId("user1");
+        subject.setName("Math");
+        subject.setColor("#ff0000");
+        subject.setPriority(2);
+        Topic topic = new Topic();
+        topic.setId("limits");
+        topic.setName("Limits");
+        topic.setSubjectId("math");
+        topic.setEstimatedHours(6);
+        topic.setPriority(1);
+        topic.setCompleted(true);
+        topic.setCompletedMinutes(90);
+        ScheduledSession session = new ScheduledSession();
+        session.setDate(LocalDate.of(2024, 5, 2));
+        session.setSubjectId("math");
+        session.setTopicId("limits");
+        session.setMinutes(60);
+        session.setType(ScheduledSession.Type.REVISION);
+        StudyPlan plan = plan("plan1");
+        plan.setTitle("Finals");
+        plan.setDescription("Spring term");
+        plan.setUserId("user1");
+        plan.setStartDate(LocalDate.of(2024, 5, 1));
+        plan.setEndDate(LocalDate.of(2024, 5, 28));
+        plan.setSubjects(List.of(subject));
+        plan.setTopics(List.of(topic));
+        plan.setSessions(List.of(session));
+        plan.setUnscheduledTopicIds(List.of("series"));
+        plan.setTotalHours(40);
+        plan.setCompletedHours(1.5);
+        plan.setStatus("ACTIVE");
+
+        // Act
+        StudyPlanResponse response = studyPlanMapper.toResponse(plan);
+
+        // Assert
+        assertEquals("plan1", response.getId());
+        assertEquals("Finals", response.getTitle());
+        assertEquals("Spring term", response.getDescription());
+        assertEquals(LocalDate.of(2024, 5, 1), response.getStartDate());
+        assertEquals(LocalDate.of(2024, 5, 28), response.getEndDate());
+        assertEquals(40, response.getTotalHours());
+        assertEquals(1.5, response.getCompletedHours());
+        assertEquals("ACTIVE", response.getStatus());
+        assertEquals(List.of("series"), response.getUnscheduledTopicIds());
+
+        SubjectResponse mappedSubject = response.getSubjects().get(0);
+        assertEquals("math", mappedSubject.getId());
+        assertEquals("Math", mappedSubject.getName());
+        assertEquals("#ff0000", mappedSubject.getColor());
+        assertEquals(2, mappedSubject.getPriority());
+
+        TopicResponse mappedTopic = response.getTopics().get(0);
+        assertEquals("limits", mappedTopic.getId());
+        assertEquals("Limits", mappedTopic.getName());
+        assertEquals("math", mappedTopic.getSubjectId());
+        assertEquals(6, mappedTopic.getEstimatedHours());
+        assertEquals(1, mappedTopic.getPriority());
+        assertTrue(mappedTopic.isCompleted());
+        assertEquals(90, mappedTopic.getCompletedMinutes());
+
+        ScheduledSessionResponse mappedSession = response.getSessions().get(0);
+        assertEquals(LocalDate.of(2024, 5, 2), mappedSession.getDate());
+        assertEquals("math", mappedSession.getSubjectId());
+        assertEquals("limits", mappedSession.getTopicId());
+        assertEquals(60, mappedSession.getMinutes());
+        assertEquals("REVISION", mappedSession.getType());
+        assertEquals(1, mappings());
+    }
+
+    @Test
+    void toResponse_WhenListsAreMissing_ShouldLeaveThemNull() {
+        StudyPlanResponse response = studyPlanMapper.toResponse(plan("plan1"));
+
+        assertNull(response.getSubjects());
+        assertNull(response.getTopics());
+        assertNull(response.getSessions());
+        assertNull(response.getUnscheduledTopicIds());
+    }
+
+    @Test
+    void toResponse_ShouldCopyTheUnscheduledTopicIds() {
+        List<String> unscheduled = new ArrayList<>(List.of("series"));
+        StudyPlan plan = plan("plan1");
+        plan.setUnscheduledTopicIds(unscheduled);
+
+        StudyPlanResponse response = studyPlanMapper.toResponse(plan);
+        unscheduled.add("limits");
+
+        assertEquals(List.of("series"), response.getUnscheduledTopicIds());
+    }
+
+    @Test
+    void toResponses_ShouldObserveAListOnce() {
+        List<StudyPlanResponse> responses = studyPlanMapper.toResponses(List.of(plan("plan1"), plan("plan2"), plan("plan3")));
+
+        assertEquals(List.of("plan1", "plan2", "plan3"), responses.stream().map(StudyPlanResponse::getId).toList());
+        assertEquals(1, mappings());
+    }
+
+    @Test
+    void toResponses_ShouldObserveAPageOnceAndKeepItsCursor() {
+        CursorPage<StudyPlanResponse> page = studyPlanMapper.toResponses(
+                new CursorPage<>(List.of(plan("plan1"), plan("plan2")), "plan2"));
+
+        assertEquals(2, page.getItems().size());
+        assertEquals("plan2", page.getNextCursor());
+        assertEquals(1, mappings());
+    }
+
+    @Test
+    void toResponses_ShouldObserveAStreamOnceUntilItIsClosed() {
+        // Arrange
+        Stream<StudyPlanResponse> responses = studyPlanMapper.toResponses(Stream.of(plan("plan1"), plan("plan2")));
+
+        // Act
+        List<StudyPlanResponse> mapped = responses.toList();
+
+        // Assert
+        assertEquals(2, mapped.size());
+        assertEquals(0, mappings());
+        responses.close();
+        assertEquals(1, mappings());
+    }
+
+    @Test
+    void toResponses_ShouldObserveAFluxOnce() {
+        StepVerifier.create(studyPlanMapper.toResponses(Flux.just(plan("plan1"), plan("plan2"))))
+                .expectNextCount(2)
+                .verifyComplete();
+
+        assertEquals(1, mappings());
+    }
+
+    private long mappings() {
+        var timer = meterRegistry.find("study-plan.mapping").timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private static StudyPlan plan(String id) {
+        StudyPlan plan = new StudyPlan();
+        plan.setId(id);
+        return plan;
+    }
+}
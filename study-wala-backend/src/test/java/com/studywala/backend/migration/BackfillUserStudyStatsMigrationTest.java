@@ -0,0 +1,114 @@
+package com.studywala.backend.migration;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class BackfillUserStudyStatsMigrationTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+
+    @SuppressWarnings("unchecked")
+    private final MongoCollection<Document> migrations = mock(MongoCollection.class);
+
+    @SuppressWarnings("unchecked")
+    private final MongoCollection<Document> plans = mock(MongoCollection.class);
+
+    @SuppressWarnings("unchecked")
+    private final MongoCollection<Document> stats = mock(MongoCollection.class);
+
+    private final BackfillUserStudyStatsMigration migration = new BackfillUserStudyStatsMigration(mongoTemplate);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(migration, "enabled", true);
+        ReflectionTestUtils.setField(migration, "batchSize", 500);
+        when(mongoTemplate.getCollection("migrations")).thenReturn(migrations);
+        when(mongoTemplate.getCollection("study_plans")).thenReturn(plans);
+        when(mongoTemplate.getCollection("user_study_stats")).thenReturn(stats);
+        when(stats.bulkWrite(anyList())).thenReturn(BulkWriteResult.acknowledged(0, 0, 0, 0,
+                List.of(new BulkWriteUpsert(0, new BsonString("user1"))), List.of()));
+    }
+
+    @Test
+    void migrate_ShouldSeedPlanEntriesAndRecordCompletion() {
+        // Arrange
+        FindIterable<Document> completed = findResult(List.of());
+        when(migrations.find(any(Bson.class))).thenReturn(completed);
+        FindIterable<Document> existing = findResult(List.of(
+                new Document("_id", "plan1").append("userId", "user1").append("title", "Finals")
+                        .append("totalHours", 40).append("completedHours", 1.5),
+                new Document("_id", "plan2").append("userId", "user1").append("title", "Retakes")));
+        when(plans.find(any(Bson.class))).thenReturn(existing);
+
+        // Act
+        migration.migrate();
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<WriteModel<Document>>> writes = ArgumentCaptor.forClass(List.class);
+        verify(stats).bulkWrite(writes.capture());
+        assertEquals(2, writes.getValue().size());
+        UpdateOneModel<Document> first = (UpdateOneModel<Document>) writes.getValue().get(0);
+        assertEquals(new BsonString("user1"), first.getFilter().toBsonDocument().get("_id"));
+        BsonDocument update = first.getUpdate().toBsonDocument();
+        assertEquals(90, update.getDocument("$max").getInt64("plans.plan1.completedMinutes").getValue());
+        assertEquals("plan1", update.getDocument("$addToSet").getString("planIds").getValue());
+        assertTrue(first.getOptions().isUpsert());
+        verify(migrations).replaceOne(any(Bson.class), any(Document.class), any(ReplaceOptions.class));
+    }
+
+    @Test
+    void migrate_WhenAlreadyCompleted_ShouldNotScanThePlansAgain() {
+        FindIterable<Document> completed = findResult(List.of(new Document("_id", BackfillUserStudyStatsMigration.MIGRATION_ID)));
+        when(migrations.find(any(Bson.class))).thenReturn(completed);
+
+        migration.migrate();
+
+        verifyNoInteractions(plans, stats);
+        verify(migrations, never()).replaceOne(any(Bson.class), any(Document.class), any(ReplaceOptions.class));
+    }
+
+    @Test
+    void migrate_WhenDisabled_ShouldDoNothing() {
+        ReflectionTestUtils.setField(migration, "enabled", false);
+
+        migration.migrate();
+
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static FindIterable<Document> findResult(List<Document> documents) {
+        FindIterable<Document> iterable = mock(FindIterable.class, RETURNS_SELF);
+        when(iterable.first()).thenReturn(documents.isEmpty() ? null : documents.get(0));
+        Iterator<Document> source = documents.iterator();
+        MongoCursor<Document> cursor = mock(MongoCursor.class);
+        when(cursor.hasNext()).thenAnswer(invocation -> source.hasNext());
+        when(cursor.next()).thenAnswer(invocation -> source.next());
+        when(iterable.iterator()).thenReturn(cursor);
+        return iterable;
+    }
+}
@@ -0,0 +1,158 @@
+package com.studywala.backend.migration;
+
+import com.mongodb.DBRef;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class EmbedStudyPlanRefsMigrationTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+
+    @SuppressWarnings("unchecked")
+    private final MongoCollection<Document> plans = mock(MongoCollection.class);
+
+    @SuppressWarnings("unchecked")
+    private final MongoCollection<Document> subjects = mock(MongoCollection.class);
+
+    @SuppressWarnings("unchecked")
+    private final MongoCollection<Document> topics = mock(MongoCollection.class);
+
+    private final EmbedStudyPlanRefsMigration migration = new EmbedStudyPlanRefsMigration(mongoTemplate);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(migration, "enabled", true);
+        ReflectionTestUtils.setField(migration, "batchSize", 500);
+        when(mongoTemplate.getCollection("study_plans")).thenReturn(plans);
+        when(mongoTemplate.getCollection("subjects")).thenReturn(subjects);
+        when(mongoTemplate.getCollection("topics")).thenReturn(topics);
+        when(plans.bulkWrite(anyList())).thenAnswer(invocation -> BulkWriteResult.acknowledged(0,
+                invocation.<List<?>>getArgument(0).size(), 0, invocation.<List<?>>getArgument(0).size(), List.of(), List.of()));
+    }
+
+    @Test
+    void migrate_ShouldReplaceRefsWithEmbeddedCopies() {
+        // Arrange
+        Document math = new Document("_id", "math").append("name", "Math");
+        Document limits = new Document("_id", "limits").append("name", "Limits");
+        Document series = new Document("_id", "series").append("name", "Series");
+        FindIterable<Document> pending = findResult(List.of(new Document("_id", "plan1")
+                .append("subjects", List.of(new DBRef("subjects", "math")))
+                .append("topics", List.of(new DBRef("topics", "limits"), series))));
+        when(plans.find(any(Bson.class))).thenReturn(pending);
+        FindIterable<Document> subjectDocs = findResult(List.of(math));
+        when(subjects.find(any(Bson.class))).thenReturn(subjectDocs);
+        FindIterable<Document> topicDocs = findResult(List.of(limits));
+        when(topics.find(any(Bson.class))).thenReturn(topicDocs);
+
+        // Act
+        migration.migrate();
+
+        // Assert
+        BsonDocument set = updates().get(0).getDocument("$set");
+        assertEquals(List.of("math"), names(set.getArray("subjects"), "_id"));
+        assertEquals(List.of("Limits", "Series"), names(set.getArray("topics"), "name"));
+        verify(subjects).find(any(Bson.class));
+        verify(topics).find(any(Bson.class));
+    }
+
+    @Test
+    void migrate_WhenRefIsMissing_ShouldDropIt() {
+        // Arrange
+        FindIterable<Document> pending = findResult(List.of(new Document("_id", "plan1")
+                .append("subjects", List.of(new DBRef("subjects", "deleted")))
+                .append("topics", List.of())));
+        when(plans.find(any(Bson.class))).thenReturn(pending);
+        FindIterable<Document> none = findResult(List.of());
+        when(subjects.find(any(Bson.class))).thenReturn(none);
+
+        // Act
+        migration.migrate();
+
+        // Assert
+        BsonDocument set = updates().get(0).getDocument("$set");
+        assertTrue(set.getArray("subjects").isEmpty());
+        assertTrue(set.getArray("topics").isEmpty());
+        verifyNoInteractions(topics);
+    }
+
+    @Test
+    void migrate_ShouldWriteEachBatchAndOnlySelectPlansThatStillHoldRefs() {
+        // Arrange
+        ReflectionTestUtils.setField(migration, "batchSize", 1);
+        FindIterable<Document> pending = findResult(List.of(
+                new Document("_id", "plan1").append("subjects", List.of(new DBRef("subjects", "math"))),
+                new Document("_id", "plan2").append("subjects", List.of(new DBRef("subjects", "physics")))));
+        when(plans.find(any(Bson.class))).thenReturn(pending);
+        FindIterable<Document> first = findResult(List.of(new Document("_id", "math")));
+        FindIterable<Document> second = findResult(List.of(new Document("_id", "physics")));
+        when(subjects.find(any(Bson.class))).thenReturn(first, second);
+
+        // Act
+        migration.migrate();
+
+        // Assert: a restarted run picks up where the last written batch left off
+        ArgumentCaptor<Bson> selector = ArgumentCaptor.forClass(Bson.class);
+        verify(plans).find(selector.capture());
+        assertTrue(selector.getValue().toBsonDocument().toJson().contains("subjects.$ref"));
+        List<BsonDocument> written = updates();
+        assertEquals(2, written.size());
+        assertEquals(List.of("math"), names(written.get(0).getDocument("$set").getArray("subjects"), "_id"));
+        assertEquals(List.of("physics"), names(written.get(1).getDocument("$set").getArray("subjects"), "_id"));
+    }
+
+    @Test
+    void migrate_WhenDisabled_ShouldDoNothing() {
+        ReflectionTestUtils.setField(migration, "enabled", false);
+
+        migration.migrate();
+
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    private List<BsonDocument> updates() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<WriteModel<Document>>> writes = ArgumentCaptor.forClass(List.class);
+        verify(plans, atLeastOnce()).bulkWrite(writes.capture());
+        return writes.getAllValues().stream()
+                .flatMap(List::stream)
+                .map(write -> ((UpdateOneModel<Document>) write).getUpdate().toBsonDocument())
+                .toList();
+    }
+
+    private static List<String> names(BsonArray documents, String field) {
+        return documents.stream().map(value -> value.asDocument().getString(field).getValue()).toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static FindIterable<Document> findResult(List<Document> documents) {
+        FindIterable<Document> iterable = mock(FindIterable.class, RETURNS_SELF);
+        Iterator<Document> source = documents.iterator();
+        MongoCursor<Document> cursor = mock(MongoCursor.class);
+        when(cursor.hasNext()).thenAnswer(invocation -> source.hasNext());
+        when(cursor.next()).thenAnswer(invocation -> source.next());
+        when(iterable.iterator()).thenReturn(cursor);
+        return iterable;
+    }
+}
@@ -0,0 +1,75 @@
+package com.studywala.backend.ratelimit;
+
+import com.studywala.backend.exception.TooManyRequestsException;
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.web.method.HandlerMethod;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AiRateLimitInterceptorTest {
+
+    private final AiRateLimiter rateLimiter = mock(AiRateLimiter.class);
+    private final DailyQuotaService dailyQuotaService = mock(DailyQuotaService.class);
+    private final AiRateLimitInterceptor interceptor = new AiRateLimitInterceptor(rateLimiter, dailyQuotaService);
+
+    @Test
+    void preHandle_OnInitialDispatch_ShouldChargeTheLimits() throws Exception {
+        // Arrange
+        when(rateLimiter.tryAcquire("user1")).thenReturn(RateLimitDecision.allowed("user", 5, 4, 12));
+        when(dailyQuotaService.consume("user1")).thenReturn(RateLimitDecision.allowed("daily", 50, 49, 3600));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        boolean proceed = interceptor.preHandle(request(DispatcherType.REQUEST), response, handler());
+
+        // Assert
+        assertTrue(proceed);
+        assertEquals("4", response.getHeader("RateLimit-Remaining"));
+        verify(rateLimiter).tryAcquire("user1");
+        verify(dailyQuotaService).consume("user1");
+    }
+
+    @Test
+    void preHandle_OnAsyncDispatch_ShouldNotChargeTheLimitsAgain() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        boolean proceed = interceptor.preHandle(request(DispatcherType.ASYNC), response, handler());
+
+        assertTrue(proceed);
+        assertNull(response.getHeader("RateLimit-Limit"));
+        verifyNoInteractions(rateLimiter, dailyQuotaService);
+    }
+
+    @Test
+    void preHandle_WhenRejected_ShouldRefuseWithRetryAfter() throws Exception {
+        when(rateLimiter.tryAcquire("user1")).thenReturn(RateLimitDecision.rejected("user", 5, 60, 12));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThrows(TooManyRequestsException.class,
+                () -> interceptor.preHandle(request(DispatcherType.REQUEST), response, handler()));
+        assertEquals("12", response.getHeader("Retry-After"));
+        verifyNoInteractions(dailyQuotaService);
+    }
+
+    private static MockHttpServletRequest request(DispatcherType dispatcherType) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/study-plans/stream");
+        request.setDispatcherType(dispatcherType);
+        request.setUserPrincipal(new UsernamePasswordAuthenticationToken("user1", null));
+        return request;
+    }
+
+    private static HandlerMethod handler() throws NoSuchMethodException {
+        return new HandlerMethod(new LimitedController(), LimitedController.class.getMethod("generate"));
+    }
+
+    static class LimitedController {
+        @AiRateLimited
+        public void generate() {
+        }
+    }
+}
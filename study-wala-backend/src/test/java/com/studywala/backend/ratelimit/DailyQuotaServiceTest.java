@@ -0,0 +1,69 @@
+package com.studywala.backend.ratelimit;
+
+import com.studywala.backend.model.AiUsageQuota;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class DailyQuotaServiceTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+
+    private final DailyQuotaService quotaService = new DailyQuotaService(mongoTemplate, 10,
+            Clock.fixed(Instant.parse("2024-05-01T23:00:00Z"), ZoneOffset.UTC));
+
+    @Test
+    void consume_BelowLimit_ShouldIncrementTodaysCounter() {
+        AiUsageQuota quota = new AiUsageQuota();
+        quota.setCount(4);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(AiUsageQuota.class))).thenReturn(quota);
+
+        RateLimitDecision decision = quotaService.consume("user1");
+
+        assertTrue(decision.isAllowed());
+        assertEquals(6, decision.getRemaining());
+        assertEquals(3601, decision.getResetSeconds());
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).findAndModify(query.capture(), any(Update.class), any(FindAndModifyOptions.class),
+                eq(AiUsageQuota.class));
+        assertEquals("user1:2024-05-01", query.getValue().getQueryObject().get("_id"));
+    }
+
+    @Test
+    void consume_WhenLimitReached_ShouldRejectUntilNextDay() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(AiUsageQuota.class))).thenThrow(new DuplicateKeyException("E11000 duplicate key"));
+
+        RateLimitDecision decision = quotaService.consume("user1");
+
+        assertFalse(decision.isAllowed());
+        assertEquals("daily", decision.getPolicy());
+        assertEquals(3601, decision.getRetryAfterSeconds());
+    }
+
+    @Test
+    void consume_WhenStoreIsDown_ShouldAllowWithoutHeaders() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(AiUsageQuota.class))).thenThrow(new DataAccessResourceFailureException("down"));
+
+        RateLimitDecision decision = quotaService.consume("user1");
+
+        assertTrue(decision.isAllowed());
+        assertFalse(decision.isLimited());
+    }
+}
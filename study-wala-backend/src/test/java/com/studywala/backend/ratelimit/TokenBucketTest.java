@@ -0,0 +1,75 @@
+package com.studywala.backend.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private final TokenBucket bucket = new TokenBucket("user", 3, Duration.ofSeconds(30), now::get);
+
+    @Test
+    void tryConsume_ShouldAllowBurstUpToCapacityThenReject() {
+        assertEquals(2, bucket.tryConsume().getRemaining());
+        assertEquals(1, bucket.tryConsume().getRemaining());
+        RateLimitDecision last = bucket.tryConsume();
+        assertTrue(last.isAllowed());
+        assertEquals(0, last.getRemaining());
+        assertEquals(30, last.getResetSeconds());
+
+        RateLimitDecision rejected = bucket.tryConsume();
+        assertFalse(rejected.isAllowed());
+        assertEquals(10, rejected.getRetryAfterSeconds());
+    }
+
+    @Test
+    void tryConsume_ShouldRefillOneTokenPerInterval() {
+        for (int i = 0; i < 3; i++) {
+            bucket.tryConsume();
+        }
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertTrue(bucket.tryConsume().isAllowed());
+        assertFalse(bucket.tryConsume().isAllowed());
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(300));
+        assertEquals(2, bucket.tryConsume().getRemaining());
+    }
+
+    @Test
+    void tryConsume_UnderContention_ShouldNeverHandOutMoreThanCapacity() throws InterruptedException {
+        TokenBucket shared = new TokenBucket("global", 100, Duration.ofDays(1));
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < 100; i++) {
+                    if (shared.tryConsume().isAllowed()) {
+                        granted.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(100, granted.get());
+    }
+}
@@ -0,0 +1,61 @@
+package com.studywala.backend.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private final LatencyHistogram histogram = new LatencyHistogram(Duration.ofMinutes(1), now::get);
+
+    @Test
+    void percentile_ShouldReturnUpperBoundOfBucketHoldingQuantile() {
+        for (int i = 0; i < 98; i++) {
+            histogram.record(Duration.ofMillis(80));
+        }
+        histogram.record(Duration.ofMillis(900));
+        histogram.record(Duration.ofSeconds(7));
+
+        assertEquals(Duration.ofMillis(100), histogram.percentile(0.5, 1));
+        assertEquals(Duration.ofMillis(1_000), histogram.percentile(0.99, 1));
+        assertEquals(Duration.ofMillis(10_000), histogram.percentile(1.0, 1));
+    }
+
+    @Test
+    void percentile_WithTooFewSamples_ShouldReturnNull() {
+        histogram.record(Duration.ofMillis(80));
+
+        assertNull(histogram.percentile(0.99, 2));
+    }
+
+    @Test
+    void percentile_ShouldForgetSamplesOlderThanTwoWindows() {
+        histogram.record(Duration.ofSeconds(30));
+        now.addAndGet(TimeUnit.MINUTES.toNanos(1));
+        histogram.record(Duration.ofMillis(40));
+        assertEquals(Duration.ofMillis(30_000), histogram.percentile(1.0, 1));
+
+        now.addAndGet(TimeUnit.MINUTES.toNanos(1));
+        histogram.record(Duration.ofMillis(40));
+
+        assertEquals(Duration.ofMillis(50), histogram.percentile(1.0, 1));
+        assertEquals(3, histogram.getCount());
+        assertEquals(30_080, histogram.getSumMillis());
+    }
+
+    @Test
+    void buckets_ShouldBeCumulativeAcrossWindows() {
+        histogram.record(Duration.ofMillis(5));
+        now.addAndGet(TimeUnit.MINUTES.toNanos(5));
+        histogram.record(Duration.ofMinutes(5));
+
+        assertEquals(1, histogram.buckets().get("10"));
+        assertEquals(1, histogram.buckets().get("+Inf"));
+        assertEquals(15, histogram.buckets().size());
+    }
+}
@@ -0,0 +1,73 @@
+package com.studywala.backend.security;
+
+import com.studywala.backend.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final ThreadPoolExecutor executor =
+            new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(4, executor, meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        encoder.shutdown();
+    }
+
+    @Test
+    void encodeAndMatches_ShouldRunBCryptWithConfiguredStrength() {
+        String hash = encoder.encode("password123");
+
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(encoder.matches("password123", hash));
+        assertFalse(encoder.matches("wrong", hash));
+        assertEquals(1, meterRegistry.get(BoundedPasswordEncoder.HASHING_METRIC).tag("operation", "encode").timer().count());
+        assertEquals(2, meterRegistry.get(BoundedPasswordEncoder.HASHING_METRIC).tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void matches_WhenPoolIsSaturated_ShouldRejectWithoutWaiting() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        started.await();
+        executor.execute(() -> {
+        });
+
+        try {
+            assertThrows(ServiceUnavailableException.class, () -> encoder.matches("password123", "$2a$04$x"));
+            assertEquals(1, encoder.getRejectedHashes());
+            assertEquals(1, meterRegistry.get(BoundedPasswordEncoder.HASHING_METRIC + ".rejected").functionCounter().count());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void upgradeEncoding_ShouldFlagAnyOtherCostFactor() {
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(5).encode("password123")));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("password123")));
+        assertTrue(new BoundedPasswordEncoder(5, executor, new SimpleMeterRegistry()).upgradeEncoding(encoder.encode("password123")));
+        assertFalse(encoder.upgradeEncoding("not-a-bcrypt-hash"));
+    }
+}
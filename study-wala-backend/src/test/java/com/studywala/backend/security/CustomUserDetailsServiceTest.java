@@ -0,0 +1,102 @@
+package com.studywala.backend.security;
+
+import com.studywala.backend.model.User;
+import com.studywala.backend.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CustomUserDetailsServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserPrincipalCache cache;
+
+    private CustomUserDetailsService userDetailsService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        cache = new CaffeineUserPrincipalCache(100, Duration.ofMinutes(5));
+        userDetailsService = new CustomUserDetailsService(userRepository, cache, ObservationRegistry.NOOP);
+
+        user = new User("testuser", "test@example.com", "hash");
+        user.setId("user1");
+        when(userRepository.findByUsernameOrEmail(anyString(), anyString())).thenReturn(Optional.of(user));
+        when(userRepository.findById("user1")).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    void loadUser_ByUsernameEmailAndId_ShouldHitRepositoryOnce() {
+        // Act
+        userDetailsService.loadUserByUsername("testuser");
+        userDetailsService.loadUserByUsername("test@example.com");
+        userDetailsService.loadUserById("user1");
+
+        // Assert
+        verify(userRepository, times(1)).findByUsernameOrEmail("testuser", "testuser");
+        verifyNoMoreInteractions(userRepository);
+    }
+
+    @Test
+    void loadUser_AfterUserIsSaved_ShouldReloadFromRepository() {
+        // Arrange
+        userDetailsService.loadUserByUsername("testuser");
+        User renamed = new User("renamed", "test@example.com", "hash");
+        renamed.setId("user1");
+
+        // Act
+        new UserCacheEvictionListener(cache).onAfterSave(new AfterSaveEvent<>(renamed, null, "users"));
+        userDetailsService.loadUserByUsername("testuser");
+
+        // Assert
+        verify(userRepository, times(2)).findByUsernameOrEmail("testuser", "testuser");
+    }
+
+    @Test
+    void loadUser_WhenMissing_ShouldThrow() {
+        when(userRepository.findByUsernameOrEmail("ghost", "ghost")).thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("ghost"));
+    }
+
+    @Test
+    void login_WhenStoredHashUsesAnotherCost_ShouldSaveRehashedPassword() {
+        // Arrange
+        user.setPassword(new BCryptPasswordEncoder(4).encode("password123"));
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(5, 1, 1, new SimpleMeterRegistry());
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(userDetailsService);
+        provider.setUserDetailsPasswordService(userDetailsService);
+        provider.setPasswordEncoder(encoder);
+
+        // Act
+        try {
+            provider.authenticate(new UsernamePasswordAuthenticationToken("testuser", "password123"));
+        } finally {
+            encoder.shutdown();
+        }
+
+        // Assert
+        verify(userRepository).save(any(User.class));
+        assertTrue(user.getPassword().startsWith("$2a$05$"));
+    }
+}
@@ -0,0 +1,132 @@
+package com.studywala.backend.security;
+
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenProviderTest {
+
+    static final String SECRET = "test-secret-test-secret-test-secret-test-secret-test-secret-test-secret";
+
+    private JwtTokenProvider tokenProvider;
+
+    private UserPrincipal principal;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationInMs", 60_000);
+        tokenProvider.init();
+
+        principal = new UserPrincipal("user1", "testuser", "test@example.com", "hash",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+    @Test
+    void generateToken_ShouldCarryIdentityClaims() {
+        // Act
+        String token = tokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        UserPrincipal restored = tokenProvider.getUserPrincipal(tokenProvider.getClaims(token));
+
+        // Assert
+        assertEquals("user1", restored.getId());
+        assertEquals("testuser", restored.getUsername());
+        assertEquals("test@example.com", restored.getEmail());
+        assertNull(restored.getPassword());
+        assertEquals(List.of(new SimpleGrantedAuthority("ROLE_USER")), List.copyOf(restored.getAuthorities()));
+    }
+
+    @Test
+    void revokedToken_ShouldBeReportedAsRevoked() {
+        // Arrange
+        TokenRevocationService revocationService = new TokenRevocationService(true, 100, 60_000);
+        String token = tokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        Claims claims = tokenProvider.getClaims(token);
+        assertFalse(revocationService.isRevoked(claims, "user1"));
+
+        // Act
+        revocationService.revoke(claims);
+
+        // Assert
+        assertTrue(revocationService.isRevoked(claims, "user1"));
+    }
+
+    @Test
+    void revokeAllForUser_ShouldRevokeEveryTokenTheUserHoldsSoFar() {
+        // Arrange
+        TokenRevocationService revocationService = new TokenRevocationService(true, 100, 60_000);
+        Claims claims = tokenProvider.getClaims(tokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities())));
+
+        // Act
+        revocationService.revokeAllForUser("user1");
+
+        // Assert
+        assertTrue(revocationService.isRevoked(claims, "user1"));
+        assertFalse(revocationService.isRevoked(claims, "user2"));
+        Claims issuedLater = tokenProvider.getClaims(tokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities())));
+        issuedLater.setIssuedAt(new Date(System.currentTimeMillis() + 1_000));
+        assertFalse(revocationService.isRevoked(issuedLater, "user1"));
+    }
+
+    @Test
+    void parseAndValidate_WithTamperedToken_ShouldReportInvalidSignature() {
+        // Arrange
+        String token = tokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        // Act
+        JwtValidationResult valid = tokenProvider.parseAndValidate(token);
+        JwtValidationResult invalid = tokenProvider.parseAndValidate(tampered);
+
+        // Assert
+        assertTrue(valid.isValid());
+        assertEquals("testuser", valid.getClaims().getSubject());
+        assertFalse(invalid.isValid());
+        assertEquals(JwtValidationResult.Failure.INVALID_SIGNATURE, invalid.getFailure());
+    }
+
+    @Test
+    void parseAndValidate_WithGarbageOrMissingToken_ShouldReportFailure() {
+        assertEquals(JwtValidationResult.Failure.MALFORMED, tokenProvider.parseAndValidate("not-a-jwt").getFailure());
+        assertEquals(JwtValidationResult.Failure.MISSING, tokenProvider.parseAndValidate(" ").getFailure());
+    }
+
+    @Test
+    void parseAndValidate_WithExpiredToken_ShouldReportExpired() {
+        // Arrange
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationInMs", -1_000);
+        String token = tokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        // Act & Assert
+        assertEquals(JwtValidationResult.Failure.EXPIRED, tokenProvider.parseAndValidate(token).getFailure());
+    }
+
+    @Test
+    void parseAndValidate_RepeatedCalls_ShouldReuseVerifiedClaims() {
+        // Arrange
+        String token = tokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        // Act
+        JwtValidationResult first = tokenProvider.parseAndValidate(token);
+        JwtValidationResult second = tokenProvider.parseAndValidate(token);
+
+        // Assert
+        assertSame(first.getClaims(), second.getClaims());
+    }
+}
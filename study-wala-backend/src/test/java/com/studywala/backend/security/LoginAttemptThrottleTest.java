@@ -0,0 +1,52 @@
+package com.studywala.backend.security;
+
+import com.studywala.backend.exception.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginAttemptThrottleTest {
+
+    private final LoginAttemptThrottle throttle =
+            new LoginAttemptThrottle(true, 3, 5, Duration.ofMinutes(15), 1000);
+
+    @Test
+    void checkAllowed_AfterAccountFailures_ShouldRefuseThatAccountOnly() {
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure("TestUser", "10.0.0." + i);
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> throttle.checkAllowed(" testuser ", "10.0.0.9"));
+        assertDoesNotThrow(() -> throttle.checkAllowed("otheruser", "10.0.0.9"));
+    }
+
+    @Test
+    void checkAllowed_AfterFailuresFromOneAddress_ShouldRefuseEveryAccountFromIt() {
+        for (int i = 0; i < 5; i++) {
+            throttle.recordFailure("user" + i, "10.0.0.1");
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> throttle.checkAllowed("fresh", "10.0.0.1"));
+        assertDoesNotThrow(() -> throttle.checkAllowed("fresh", "10.0.0.2"));
+    }
+
+    @Test
+    void recordSuccess_ShouldResetAccountFailures() {
+        throttle.recordFailure("testuser", "10.0.0.1");
+        throttle.recordFailure("testuser", "10.0.0.1");
+        throttle.recordSuccess("testuser");
+        throttle.recordFailure("testuser", "10.0.0.1");
+
+        assertDoesNotThrow(() -> throttle.checkAllowed("testuser", "10.0.0.1"));
+    }
+
+    @Test
+    void checkAllowed_WhenDisabled_ShouldNeverRefuse() {
+        LoginAttemptThrottle disabled = new LoginAttemptThrottle(false, 1, 1, Duration.ofMinutes(15), 1000);
+        disabled.recordFailure("testuser", "10.0.0.1");
+
+        assertDoesNotThrow(() -> disabled.checkAllowed("testuser", "10.0.0.1"));
+    }
+}
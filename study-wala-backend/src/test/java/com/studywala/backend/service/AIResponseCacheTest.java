@@ -0,0 +1,94 @@
+package com.studywala.backend.service;
+
+import com.studywala.backend.model.AIResponseCacheEntry;
+import com.studywala.backend.repository.AIResponseCacheRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AIResponseCacheTest {
+
+    @Mock
+    private AIResponseCacheRepository repository;
+
+    private final AtomicInteger generated = new AtomicInteger();
+    private final Function<String, String> generator = prompt -> "plan-" + generated.incrementAndGet();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(repository.findById(any())).thenReturn(Optional.empty());
+    }
+
+    @Test
+    void getOrGenerate_WithEquivalentPrompts_ShouldCallGeneratorOnce() {
+        // Arrange
+        AIResponseCache cache = new AIResponseCache(repository, true, 10, Duration.ofMinutes(5), false);
+
+        // Act
+        String first = cache.getOrGenerate("Create a plan  for Maths", generator);
+        String second = cache.getOrGenerate("create a plan for maths ", generator);
+
+        // Assert
+        assertEquals(first, second);
+        assertEquals(1, generated.get());
+        assertEquals(1, cache.getStats().getMemoryHits());
+        assertEquals(1, cache.getStats().getMemoryMisses());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void getOrGenerate_WhenDisabled_ShouldAlwaysGenerate() {
+        // Arrange
+        AIResponseCache cache = new AIResponseCache(repository, false, 10, Duration.ofMinutes(5), false);
+
+        // Act
+        cache.getOrGenerate("prompt", generator);
+        cache.getOrGenerate("prompt", generator);
+
+        // Assert
+        assertEquals(2, generated.get());
+    }
+
+    @Test
+    void getOrGenerate_WithPersistentHit_ShouldSkipGenerator() {
+        // Arrange
+        AIResponseCacheEntry entry = new AIResponseCacheEntry();
+        entry.setResponse("stored-plan");
+        entry.setExpiresAt(Instant.now().plusSeconds(60));
+        when(repository.findById(AIResponseCache.keyFor("prompt"))).thenReturn(Optional.of(entry));
+        AIResponseCache cache = new AIResponseCache(repository, true, 10, Duration.ofMinutes(5), true);
+
+        // Act
+        String result = cache.getOrGenerate("prompt", generator);
+
+        // Assert
+        assertEquals("stored-plan", result);
+        assertEquals(0, generated.get());
+        assertEquals(1, cache.getStats().getPersistentHits());
+    }
+
+    @Test
+    void getOrGenerate_WithPersistentMiss_ShouldStoreGeneratedResponse() {
+        // Arrange
+        AIResponseCache cache = new AIResponseCache(repository, true, 10, Duration.ofMinutes(5), true);
+
+        // Act
+        cache.getOrGenerate("prompt", generator);
+
+        // Assert
+        verify(repository).save(any(AIResponseCacheEntry.class));
+        assertEquals(1, cache.getStats().getPersistentMisses());
+    }
+}
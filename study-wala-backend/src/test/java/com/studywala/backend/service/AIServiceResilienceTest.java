@@ -0,0 +1,185 @@
+package com.studywala.backend.service;
+
+import com.studywala.backend.resilience.CallNotPermittedException;
+import com.studywala.backend.resilience.ResilienceSettings;
+import com.studywala.backend.resilience.ResilientCaller;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.theokanning.openai.OpenAiHttpException;
+import com.theokanning.openai.client.OpenAiApi;
+import com.theokanning.openai.service.OpenAiService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs {@link AIService} against a stub chat completions endpoint to check retries, hedging and
+ * the circuit breaker over real HTTP.
+ */
+class AIServiceResilienceTest {
+
+    private final AtomicInteger requests = new AtomicInteger();
+    // Scripted replies by request number: an HTTP status to fail with, or a delay in ms before answering
+    private final Map<Integer, Integer> failWithStatus = new ConcurrentHashMap<>();
+    private final Map<Integer, Long> delayMillis = new ConcurrentHashMap<>();
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private OkHttpClient httpClient;
+    private ResilientCaller caller;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        serverExecutor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/v1/chat/completions", this::reply);
+        server.setExecutor(serverExecutor);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        caller.shutdown();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+        httpClient.dispatcher().executorService().shutdown();
+    }
+
+    @Test
+    void generateStudyPlan_AfterServerError_ShouldRetry() {
+        failWithStatus.put(1, 500);
+        AIService aiService = aiService(settings().build());
+
+        assertEquals("plan", aiService.generateStudyPlan("prompt"));
+
+        assertEquals(2, requests.get());
+        assertEquals(1, aiService.getResilienceStats().getRetries());
+        assertEquals("CLOSED", aiService.getResilienceStats().getCircuitState());
+    }
+
+    @Test
+    void generateStudyPlan_OnClientError_ShouldNotRetry() {
+        failWithStatus.put(1, 400);
+        AIService aiService = aiService(settings().build());
+
+        OpenAiHttpException ex = assertThrows(OpenAiHttpException.class, () -> aiService.generateStudyPlan("prompt"));
+
+        assertEquals(400, ex.statusCode);
+        assertEquals(1, requests.get());
+        assertEquals(0.0, aiService.getResilienceStats().getFailureRate());
+    }
+
+    @Test
+    void generateStudyPlan_WhenAttemptIsSlow_ShouldTimeOutAndRetry() {
+        delayMillis.put(1, 3_000L);
+        AIService aiService = aiService(settings()
+                .attemptTimeoutMin(Duration.ofMillis(300))
+                .attemptTimeoutMax(Duration.ofMillis(300))
+                .build());
+
+        assertEquals("plan", aiService.generateStudyPlan("prompt"));
+
+        assertEquals(2, requests.get());
+        assertEquals(1, aiService.getResilienceStats().getAttemptTimeouts());
+    }
+
+    @Test
+    void generateStudyPlan_WhenFirstAttemptLagsBehindP95_ShouldHedge() {
+        delayMillis.put(2, 3_000L);
+        AIService aiService = aiService(settings()
+                .hedgeEnabled(true)
+                .hedgeMinDelay(Duration.ofMillis(100))
+                .minLatencySamples(1)
+                .build());
+        assertEquals("plan", aiService.generateStudyPlan("warm up"));
+
+        long start = System.nanoTime();
+        assertEquals("plan", aiService.generateStudyPlan("prompt"));
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 2_000);
+        assertEquals(3, requests.get());
+        assertEquals(1, aiService.getResilienceStats().getHedgedCalls());
+        assertEquals(1, aiService.getResilienceStats().getHedgeWins());
+        assertEquals(0, aiService.getResilienceStats().getRetries());
+    }
+
+    @Test
+    void generateStudyPlan_WhenUpstreamKeepsFailing_ShouldOpenCircuitAndStopCallingIt() {
+        for (int i = 1; i <= 10; i++) {
+            failWithStatus.put(i, 503);
+        }
+        AIService aiService = aiService(settings()
+                .maxAttempts(1)
+                .breakerWindowSize(4)
+                .breakerMinimumCalls(2)
+                .build());
+
+        assertThrows(OpenAiHttpException.class, () -> aiService.generateStudyPlan("prompt"));
+        assertThrows(OpenAiHttpException.class, () -> aiService.generateStudyPlan("prompt"));
+        assertThrows(CallNotPermittedException.class, () -> aiService.generateStudyPlan("prompt"));
+
+        assertEquals(2, requests.get());
+        assertEquals("OPEN", aiService.getResilienceStats().getCircuitState());
+        assertEquals(1, aiService.getResilienceStats().getNotPermittedCalls());
+    }
+
+    private static ResilienceSettings.ResilienceSettingsBuilder settings() {
+        return ResilienceSettings.builder()
+                .backoffInitial(Duration.ofMillis(10))
+                .backoffMax(Duration.ofMillis(50))
+                .totalBudget(Duration.ofSeconds(10))
+                .attemptTimeoutMax(Duration.ofSeconds(5));
+    }
+
+    private AIService aiService(ResilienceSettings settings) {
+        httpClient = OpenAiService.defaultClient("test-key", Duration.ofSeconds(10));
+        OpenAiApi api = OpenAiService.defaultRetrofit(httpClient, OpenAiService.defaultObjectMapper())
+                .newBuilder()
+                .baseUrl("http://localhost:" + server.getAddress().getPort() + "/")
+                .build()
+                .create(OpenAiApi.class);
+        caller = new ResilientCaller("AI service", settings, Executors.newCachedThreadPool(),
+                AIService::isTransientFailure);
+        return new AIService(new OpenAiService(api, httpClient.dispatcher().executorService()), httpClient, caller,
+                new SimpleMeterRegistry(), ObservationRegistry.NOOP, "gpt-4o", 4, 1000);
+    }
+
+    private void reply(HttpExchange exchange) throws IOException {
+        int number = requests.incrementAndGet();
+        exchange.getRequestBody().readAllBytes();
+        try {
+            Thread.sleep(delayMillis.getOrDefault(number, 0L));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        Integer status = failWithStatus.get(number);
+        String body = status == null
+                ? "{\"id\":\"1\",\"object\":\"chat.completion\",\"created\":0,\"model\":\"gpt-4o\",\"choices\":"
+                  + "[{\"index\":0,\"message\":{\"role\":\"assistant\",\"content\":\"plan\"},\"finish_reason\":\"stop\"}]}"
+                : "{\"error\":{\"message\":\"scripted failure\",\"type\":\"server_error\"}}";
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status == null ? 200 : status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        } catch (IOException ignored) {
+            // The client gave up on this attempt
+        }
+    }
+}
@@ -1,31 +1,39 @@
 package com.studywala.backend.service;
 
+import com.studywala.backend.exception.ServiceUnavailableException;
+import com.studywala.backend.resilience.ResilienceSettings;
+import com.studywala.backend.resilience.ResilientCaller;
+import com.theokanning.openai.Usage;
+import com.theokanning.openai.completion.chat.ChatCompletionChoice;
+import com.theokanning.openai.completion.chat.ChatCompletionChunk;
 import com.theokanning.openai.completion.chat.ChatCompletionRequest;
 import com.theokanning.openai.completion.chat.ChatCompletionResult;
 import com.theokanning.openai.completion.chat.ChatMessage;
 import com.theokanning.openai.service.OpenAiService;
+import io.reactivex.Flowable;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import okhttp3.OkHttpClient;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.InterruptedIOException;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
-@SpringBootTest
-@TestPropertySource(properties = {
-    "openai.api.key=test-api-key",
-    "openai.model=gpt-4o",
-    "openai.timeout.seconds=60"
-})
 class AIServiceTest {
 
     @Mock
@@ -33,11 +41,16 @@ class AIServiceTest {
 
     private AIService aiService;
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        aiService = new AIService("test-api-key", "gpt-4o", 60);
-        aiService.setOpenAiService(openAiService); // Inject mock
+        aiService = new AIService(openAiService, new OkHttpClient(),
+                new ResilientCaller("AI service", ResilienceSettings.builder().build(),
+                        Executors.newCachedThreadPool(), AIService::isTransientFailure),
+                meterRegistry, observationRegistry(),
+                "gpt-4o", 1, 50);
     }
 
     @Test
@@ -46,19 +59,8 @@ class AIServiceTest {
         String prompt = "Create a study plan for Java programming";
         String expectedResponse = "{\"title\":\"Java Programming Study Plan\",\"description\":\"A comprehensive study plan for Java\"}";
         
-        ChatCompletionResult mockResult = mock(ChatCompletionResult.class);
-        ChatMessage mockMessage = new ChatMessage();
-        mockMessage.setContent(expectedResponse);
-        
-        when(mockResult.getChoices()).thenReturn(List.of(
-            new ChatCompletionResult.Choice() {{
-                setMessage(mockMessage);
-                setFinishReason("stop");
-            }}
-        ));
-        
         when(openAiService.createChatCompletion(any(ChatCompletionRequest.class)))
-            .thenReturn(mockResult);
+            .thenReturn(completionResult(expectedResponse));
 
         // Act
         String result = aiService.generateStudyPlan(prompt);
@@ -74,44 +76,27 @@ class AIServiceTest {
         ChatCompletionRequest request = captor.getValue();
         assertEquals("gpt-4o", request.getModel());
         assertFalse(request.getMessages().isEmpty());
-        assertTrue(request.getMessages().get(0).getContent().contains(prompt));
+        assertTrue(request.getMessages().get(request.getMessages().size() - 1).getContent().contains(prompt));
     }
 
     @Test
-    void generateStudyGuide_ShouldReturnFormattedResponse() {
+    void generateStudyPlan_ShouldRecordLatencyAndTokenUsage() {
         // Arrange
-        String topic = "Object-Oriented Programming";
-        String expectedResponse = "{\"title\":\"OOP Study Guide\",\"sections\":[{\"title\":\"Encapsulation\"}]}";
-        
-        ChatCompletionResult mockResult = mock(ChatCompletionResult.class);
-        ChatMessage mockMessage = new ChatMessage();
-        mockMessage.setContent(expectedResponse);
-        
-        when(mockResult.getChoices()).thenReturn(List.of(
-            new ChatCompletionResult.Choice() {{
-                setMessage(mockMessage);
-                setFinishReason("stop");
-            }}
-        ));
-        
-        when(openAiService.createChatCompletion(any(ChatCompletionRequest.class)))
-            .thenReturn(mockResult);
+        ChatCompletionResult result = completionResult("{}");
+        Usage usage = new Usage();
+        usage.setPromptTokens(120);
+        usage.setCompletionTokens(80);
+        result.setUsage(usage);
+        when(openAiService.createChatCompletion(any(ChatCompletionRequest.class))).thenReturn(result);
 
         // Act
-        String result = aiService.generateStudyGuide(topic, 5);
+        aiService.generateStudyPlan("prompt");
 
         // Assert
-        assertNotNull(result);
-        assertEquals(expectedResponse, result);
-        
-        // Verify the correct parameters were passed to the OpenAI service
-        ArgumentCaptor<ChatCompletionRequest> captor = ArgumentCaptor.forClass(ChatCompletionRequest.class);
-        verify(openAiService).createChatCompletion(captor.capture());
-        
-        ChatCompletionRequest request = captor.getValue();
-        assertEquals("gpt-4o", request.getModel());
-        assertFalse(request.getMessages().isEmpty());
-        assertTrue(request.getMessages().get(0).getContent().contains(topic));
+        assertEquals(1, meterRegistry.get("ai.requests")
+                .tags("operation", "generate", "outcome", "success").timer().count());
+        assertEquals(120, meterRegistry.get("ai.tokens").tag("type", "prompt").counter().count());
+        assertEquals(80, meterRegistry.get("ai.tokens").tag("type", "completion").counter().count());
     }
 
     @Test
@@ -126,9 +111,90 @@ class AIServiceTest {
     }
 
     @Test
-    void testDefaultConstructor() {
-        // This test ensures the default constructor works with environment variables
-        AIService defaultService = new AIService();
-        assertNotNull(defaultService);
+    void generateStudyPlan_WhenAllCallPermitsInUse_ShouldRejectFast() throws Exception {
+        // Arrange
+        CountDownLatch callStarted = new CountDownLatch(1);
+        CountDownLatch releaseCall = new CountDownLatch(1);
+        when(openAiService.createChatCompletion(any(ChatCompletionRequest.class))).thenAnswer(invocation -> {
+            callStarted.countDown();
+            releaseCall.await(5, TimeUnit.SECONDS);
+            return completionResult("{}");
+        });
+        Thread inFlight = new Thread(() -> aiService.generateStudyPlan("first"));
+        inFlight.start();
+        assertTrue(callStarted.await(5, TimeUnit.SECONDS));
+
+        // Act & Assert
+        assertThrows(ServiceUnavailableException.class, () -> aiService.generateStudyPlan("second"));
+        assertEquals(1, aiService.getClientStats().getInFlightCalls());
+        assertEquals(1, aiService.getClientStats().getRejectedCalls());
+
+        releaseCall.countDown();
+        inFlight.join();
+        assertEquals(0, aiService.getClientStats().getInFlightCalls());
+    }
+
+    @Test
+    void streamStudyPlan_ShouldForwardDeltasAndReleasePermit() {
+        // Arrange
+        when(openAiService.streamChatCompletion(any(ChatCompletionRequest.class)))
+                .thenReturn(Flowable.just(chunk("{\"title\":"), chunk(null), chunk("\"Java\"}")));
+        List<String> deltas = new ArrayList<>();
+
+        // Act
+        aiService.streamStudyPlan("Create a study plan", deltas::add);
+
+        // Assert
+        assertEquals(List.of("{\"title\":", "\"Java\"}"), deltas);
+        ArgumentCaptor<ChatCompletionRequest> captor = ArgumentCaptor.forClass(ChatCompletionRequest.class);
+        verify(openAiService).streamChatCompletion(captor.capture());
+        assertTrue(captor.getValue().getStream());
+        assertEquals(8000, captor.getValue().getMaxTokens());
+        assertEquals(0, aiService.getClientStats().getInFlightCalls());
+    }
+
+    @Test
+    void streamStudyPlan_WhenStreamOutlivesDeadline_ShouldCancelItAndFail() {
+        // Arrange
+        ReflectionTestUtils.setField(aiService, "streamDeadline", Duration.ofMillis(50));
+        when(openAiService.streamChatCompletion(any(ChatCompletionRequest.class)))
+                .thenReturn(Flowable.<ChatCompletionChunk>never().startWith(chunk("{\"title\":")));
+        List<String> deltas = new ArrayList<>();
+
+        // Act
+        RuntimeException failure = assertThrows(RuntimeException.class,
+                () -> aiService.streamStudyPlan("Create a study plan", deltas::add));
+
+        // Assert
+        assertInstanceOf(InterruptedIOException.class, failure.getCause());
+        assertEquals(List.of("{\"title\":"), deltas);
+        assertEquals(0, aiService.getClientStats().getInFlightCalls());
+    }
+
+    private ObservationRegistry observationRegistry() {
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+        return observationRegistry;
+    }
+
+    private static ChatCompletionChunk chunk(String content) {
+        ChatMessage delta = new ChatMessage();
+        delta.setContent(content);
+        ChatCompletionChoice choice = new ChatCompletionChoice();
+        choice.setMessage(delta);
+        ChatCompletionChunk chunk = new ChatCompletionChunk();
+        chunk.setChoices(List.of(choice));
+        return chunk;
+    }
+
+    private static ChatCompletionResult completionResult(String content) {
+        ChatMessage message = new ChatMessage();
+        message.setContent(content);
+        ChatCompletionChoice choice = new ChatCompletionChoice();
+        choice.setMessage(message);
+        choice.setFinishReason("stop");
+        ChatCompletionResult result = new ChatCompletionResult();
+        result.setChoices(List.of(choice));
+        return result;
     }
 }
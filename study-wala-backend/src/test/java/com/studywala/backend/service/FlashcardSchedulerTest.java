@@ -0,0 +1,86 @@
+package com.studywala.backend.service;
+
+import com.studywala.backend.model.Flashcard;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlashcardSchedulerTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T10:00:00Z");
+
+    private final FlashcardScheduler scheduler = new FlashcardScheduler(3650);
+
+    @Test
+    void review_ShouldGrowIntervalsOneSixThenByEaseFactor() {
+        // Arrange
+        Flashcard card = newCard();
+
+        // Act & Assert
+        scheduler.review(card, 4, NOW);
+        assertEquals(1, card.getIntervalDays());
+        assertEquals(NOW.plus(Duration.ofDays(1)), card.getDueAt());
+
+        scheduler.review(card, 4, NOW.plus(Duration.ofDays(1)));
+        assertEquals(6, card.getIntervalDays());
+
+        scheduler.review(card, 4, NOW.plus(Duration.ofDays(7)));
+        assertEquals(15, card.getIntervalDays());
+        assertEquals(3, card.getRepetitions());
+        assertEquals(2.5, card.getEaseFactor(), 1e-9);
+        assertEquals(NOW.plus(Duration.ofDays(22)), card.getDueAt());
+    }
+
+    @Test
+    void review_WhenGradeBelowThree_ShouldLapseAndLowerEase() {
+        // Arrange
+        Flashcard card = newCard();
+        scheduler.review(card, 5, NOW);
+        scheduler.review(card, 5, NOW.plus(Duration.ofDays(1)));
+
+        // Act
+        scheduler.review(card, 1, NOW.plus(Duration.ofDays(7)));
+
+        // Assert
+        assertEquals(0, card.getRepetitions());
+        assertEquals(1, card.getIntervalDays());
+        assertEquals(1, card.getLapses());
+        assertEquals(2.7 - 0.54, card.getEaseFactor(), 1e-9);
+        assertEquals(NOW.plus(Duration.ofDays(8)), card.getDueAt());
+    }
+
+    @Test
+    void review_ShouldKeepEaseFactorAboveMinimumAndCapInterval() {
+        // Arrange
+        FlashcardScheduler capped = new FlashcardScheduler(30);
+        Flashcard card = newCard();
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            capped.review(card, 0, NOW);
+        }
+        for (int i = 0; i < 10; i++) {
+            capped.review(card, 5, NOW);
+        }
+
+        // Assert
+        assertTrue(card.getEaseFactor() >= FlashcardScheduler.MIN_EASE_FACTOR);
+        assertEquals(30, card.getIntervalDays());
+    }
+
+    @Test
+    void review_WhenGradeOutOfRange_ShouldThrow() {
+        Flashcard card = newCard();
+
+        assertThrows(IllegalArgumentException.class, () -> scheduler.review(card, 6, NOW));
+    }
+
+    private Flashcard newCard() {
+        Flashcard card = new Flashcard();
+        scheduler.initialize(card, NOW);
+        return card;
+    }
+}
@@ -0,0 +1,247 @@
+package com.studywala.backend.service;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.studywala.backend.dto.FlashcardRequest;
+import com.studywala.backend.dto.FlashcardResponse;
+import com.studywala.backend.dto.FlashcardReview;
+import com.studywala.backend.exception.ResourceNotFoundException;
+import com.studywala.backend.model.Flashcard;
+import com.studywala.backend.model.ReviewLog;
+import com.studywala.backend.model.Subject;
+import com.studywala.backend.model.Topic;
+import com.studywala.backend.repository.FlashcardRepository;
+import com.studywala.backend.repository.ReviewLogRepository;
+import com.studywala.backend.repository.SubjectRepository;
+import com.studywala.backend.repository.TopicRepository;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class FlashcardServiceTest {
+
+    @Mock
+    private FlashcardRepository flashcardRepository;
+
+    @Mock
+    private ReviewLogRepository reviewLogRepository;
+
+    @Mock
+    private TopicRepository topicRepository;
+
+    @Mock
+    private SubjectRepository subjectRepository;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations cardUpdates;
+
+    @Mock
+    private BulkOperations logInserts;
+
+    private FlashcardService flashcardService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        flashcardService = new FlashcardService(flashcardRepository, reviewLogRepository,
+                new TopicAccess(topicRepository, subjectRepository), mongoTemplate, new FlashcardScheduler(3650));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Flashcard.class)).thenReturn(cardUpdates);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ReviewLog.class)).thenReturn(logInserts);
+        when(logInserts.insert(anyList())).thenReturn(logInserts);
+    }
+
+    @Test
+    void createFlashcard_ShouldStartDueWithInitialEase() {
+        // Arrange
+        when(topicRepository.findById("topic1")).thenReturn(Optional.of(topic("topic1", "subj1")));
+        when(subjectRepository.findById("subj1")).thenReturn(Optional.of(subject("subj1", "user1")));
+        when(flashcardRepository.save(any(Flashcard.class))).thenAnswer(invocation -> {
+            Flashcard card = invocation.getArgument(0);
+            card.setId("card1");
+            return card;
+        });
+
+        // Act
+        FlashcardResponse response = flashcardService.createFlashcard(request("topic1"), "user1");
+
+        // Assert
+        assertEquals("card1", response.getId());
+        assertEquals(FlashcardScheduler.INITIAL_EASE_FACTOR, response.getEaseFactor());
+        assertFalse(response.getDueAt().isAfter(Instant.now()));
+    }
+
+    @Test
+    void createFlashcard_WhenTopicBelongsToAnotherUser_ShouldThrow() {
+        // Arrange
+        when(topicRepository.findById("topic1")).thenReturn(Optional.of(topic("topic1", "subj1")));
+        when(subjectRepository.findById("subj1")).thenReturn(Optional.of(subject("subj1", "user2")));
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class,
+                () -> flashcardService.createFlashcard(request("topic1"), "user1"));
+        verify(flashcardRepository, never()).save(any());
+    }
+
+    @Test
+    void getDueFlashcards_ShouldClampLimit() {
+        // Arrange
+        when(flashcardRepository.findByUserIdAndDueAtLessThanEqualOrderByDueAtAsc(eq("user1"), any(), any()))
+                .thenReturn(List.of(card("card1", null)));
+
+        // Act
+        List<FlashcardResponse> due = flashcardService.getDueFlashcards("user1", 10_000);
+
+        // Assert
+        assertEquals(1, due.size());
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(flashcardRepository).findByUserIdAndDueAtLessThanEqualOrderByDueAtAsc(eq("user1"), any(), pageable.capture());
+        assertEquals(100, pageable.getValue().getPageSize());
+    }
+
+    @Test
+    void submitReviews_ShouldApplyReviewsInOrderAndWriteOneBulkPerCollection() {
+        // Arrange
+        Instant first = Instant.now().minus(Duration.ofDays(2));
+        Instant second = first.plus(Duration.ofDays(1));
+        when(flashcardRepository.findByUserIdAndIdIn(eq("user1"), any()))
+                .thenReturn(List.of(card("card1", null), card("card2", null)));
+
+        // Act
+        List<FlashcardResponse> reviewed = flashcardService.submitReviews(List.of(
+                review("card1", 4, second),
+                review("card2", 1, first),
+                review("card1", 5, first)), "user1");
+
+        // Assert
+        assertEquals(2, reviewed.size());
+        FlashcardResponse card1 = reviewed.stream().filter(card -> card.getId().equals("card1")).findFirst().orElseThrow();
+        assertEquals(2, card1.getRepetitions());
+        assertEquals(6, card1.getIntervalDays());
+        assertEquals(second, card1.getLastReviewedAt());
+        verify(cardUpdates, times(2)).updateOne(any(Query.class), any(Update.class));
+        verify(cardUpdates).execute();
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ReviewLog>> logs = ArgumentCaptor.forClass(List.class);
+        verify(logInserts).insert(logs.capture());
+        assertEquals(3, logs.getValue().size());
+        verify(logInserts).execute();
+    }
+
+    @Test
+    void submitReviews_WhenResent_ShouldSkipReviewsNotNewerThanLastReview() {
+        // Arrange
+        Instant reviewedAt = Instant.now().minus(Duration.ofHours(1));
+        when(flashcardRepository.findByUserIdAndIdIn(eq("user1"), any()))
+                .thenReturn(List.of(card("card1", reviewedAt)));
+
+        // Act
+        List<FlashcardResponse> reviewed = flashcardService.submitReviews(
+                List.of(review("card1", 4, reviewedAt)), "user1");
+
+        // Assert
+        assertTrue(reviewed.isEmpty());
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void submitReviews_ShouldOnlyOverwriteCardsWithAnOlderLastReview() {
+        // Arrange
+        Instant lastReviewedAt = Instant.now().minus(Duration.ofDays(3));
+        Instant reviewedAt = lastReviewedAt.plus(Duration.ofDays(1));
+        when(flashcardRepository.findByUserIdAndIdIn(eq("user1"), any()))
+                .thenReturn(List.of(card("card1", lastReviewedAt)));
+        BulkWriteError duplicate = new BulkWriteError(11000, "duplicate key", new BsonDocument(), 0);
+        when(logInserts.execute()).thenThrow(new BulkOperationException("duplicate",
+                new MongoBulkWriteException(BulkWriteResult.acknowledged(0, 0, 0, 0, List.of(), List.of()),
+                        List.of(duplicate), null, new ServerAddress(), Set.of())));
+
+        // Act
+        flashcardService.submitReviews(List.of(review("card1", 4, reviewedAt)), "user1");
+
+        // Assert
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(cardUpdates).updateOne(query.capture(), any(Update.class));
+        assertTrue(query.getValue().getQueryObject().toString().contains("lastReviewedAt=Document{{$lt=" + reviewedAt));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ReviewLog>> logs = ArgumentCaptor.forClass(List.class);
+        verify(logInserts).insert(logs.capture());
+        assertEquals("card1:" + reviewedAt.toEpochMilli(), logs.getValue().get(0).getId());
+    }
+
+    @Test
+    void submitReviews_WhenCardNotOwned_ShouldThrowBeforeWriting() {
+        // Arrange
+        when(flashcardRepository.findByUserIdAndIdIn(eq("user1"), any())).thenReturn(List.of());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class,
+                () -> flashcardService.submitReviews(List.of(review("card1", 4, null)), "user1"));
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    private FlashcardRequest request(String topicId) {
+        FlashcardRequest request = new FlashcardRequest();
+        request.setTopicId(topicId);
+        request.setFront("Derivative of sin x");
+        request.setBack("cos x");
+        return request;
+    }
+
+    private FlashcardReview review(String flashcardId, int grade, Instant reviewedAt) {
+        FlashcardReview review = new FlashcardReview();
+        review.setFlashcardId(flashcardId);
+        review.setGrade(grade);
+        review.setReviewedAt(reviewedAt);
+        return review;
+    }
+
+    private Flashcard card(String id, Instant lastReviewedAt) {
+        Flashcard card = new Flashcard();
+        card.setId(id);
+        card.setUserId("user1");
+        card.setEaseFactor(FlashcardScheduler.INITIAL_EASE_FACTOR);
+        card.setDueAt(Instant.now().minus(Duration.ofDays(3)));
+        card.setLastReviewedAt(lastReviewedAt);
+        return card;
+    }
+
+    private Topic topic(String id, String subjectId) {
+        Topic topic = new Topic();
+        topic.setId(id);
+        topic.setSubjectId(subjectId);
+        return topic;
+    }
+
+    private Subject subject(String id, String userId) {
+        Subject subject = new Subject();
+        subject.setId(id);
+        subject.setUserId(userId);
+        return subject;
+    }
+}
@@ -0,0 +1,82 @@
+package com.studywala.backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlanEventStreamTest {
+
+    @Test
+    void drain_WhenBufferOverflows_ShouldDropPartialEventsAndReportCount() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        PlanEventStream stream = new PlanEventStream(emitter, 2, Duration.ofSeconds(1));
+
+        stream.publishPartial("topic", "t1");
+        stream.publishPartial("topic", "t2");
+        stream.publishPartial("topic", "t3");
+        stream.publish("plan", "p");
+        stream.finish();
+        stream.drain();
+
+        assertEquals(List.of("topic", "dropped", "plan"), emitter.names);
+        assertTrue(emitter.completed);
+    }
+
+    @Test
+    void publish_AfterClientWentAway_ShouldCancelGenerator() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitter.failSends = true;
+        PlanEventStream stream = new PlanEventStream(emitter, 4, Duration.ofSeconds(1));
+
+        stream.publish("stage", "GENERATING");
+        stream.finish();
+        stream.drain();
+
+        assertTrue(stream.isClosed());
+        assertFalse(emitter.completed);
+        assertThrows(CancellationException.class, () -> stream.publish("plan", "p"));
+    }
+
+    @Test
+    void publish_WhenClientStopsReading_ShouldGiveUpAfterTimeout() {
+        PlanEventStream stream = new PlanEventStream(new RecordingEmitter(), 1, Duration.ofMillis(20));
+
+        stream.publish("stage", "GENERATING");
+
+        assertThrows(CancellationException.class, () -> stream.publish("plan", "p"));
+        assertTrue(stream.isClosed());
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> names = new ArrayList<>();
+        private boolean failSends;
+        private boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failSends) {
+                throw new IOException("Broken pipe");
+            }
+            for (ResponseBodyEmitter.DataWithMediaType part : builder.build()) {
+                String text = String.valueOf(part.getData());
+                if (text.startsWith("event:")) {
+                    names.add(text.substring("event:".length(), text.indexOf('\n')));
+                }
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}
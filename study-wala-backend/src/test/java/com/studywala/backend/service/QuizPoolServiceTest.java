@@ -0,0 +1,239 @@
+package com.studywala.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteResult;
+import com.studywala.backend.model.Flashcard;
+import com.studywala.backend.model.QuizQuestion;
+import com.studywala.backend.model.Topic;
+import com.studywala.backend.repository.FlashcardRepository;
+import com.studywala.backend.repository.QuizQuestionRepository;
+import com.studywala.backend.repository.TopicRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class QuizPoolServiceTest {
+
+    @Mock
+    private QuizQuestionRepository questionRepository;
+
+    @Mock
+    private FlashcardRepository flashcardRepository;
+
+    @Mock
+    private TopicRepository topicRepository;
+
+    @Mock
+    private AIService aiService;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private ThreadPoolTaskExecutor executor;
+
+    @Mock
+    private BulkOperations inserts;
+
+    private QuizPoolService poolService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        poolService = new QuizPoolService(questionRepository, flashcardRepository, topicRepository,
+                new QuizTemplateGenerator(), aiService, mongoTemplate, executor, new ObjectMapper(),
+                Duration.ofMinutes(1), 100, Duration.ofMinutes(10));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, QuizQuestion.class)).thenReturn(inserts);
+        when(inserts.insert(anyList())).thenReturn(inserts);
+        when(inserts.execute()).thenAnswer(invocation -> BulkWriteResult.acknowledged(2, 0, 0, 0, List.of(), List.of()));
+    }
+
+    @Test
+    void getPool_ShouldReadEachTopicOnceWhileCached() {
+        when(questionRepository.findByTopicIdAndSource("topic1", QuizQuestion.Source.AI)).thenReturn(List.of(new QuizQuestion()));
+        when(questionRepository.findByTopicIdAndUserId("topic1", "user1")).thenReturn(List.of(new QuizQuestion()));
+
+        poolService.getPool("topic1", "user1");
+        List<QuizQuestion> pool = poolService.getPool("topic1", "user1");
+
+        assertEquals(2, pool.size());
+        verify(questionRepository, times(1)).findByTopicIdAndSource("topic1", QuizQuestion.Source.AI);
+        verify(questionRepository, times(1)).findByTopicIdAndUserId("topic1", "user1");
+    }
+
+    @Test
+    void getPool_WhenUsersShareATopic_ShouldOnlyServeEachUserTheirOwnFlashcards() {
+        // Arrange
+        QuizQuestion shared = question(null, "d/dx x^2?");
+        when(questionRepository.findByTopicIdAndSource("topic1", QuizQuestion.Source.AI)).thenReturn(List.of(shared));
+        when(questionRepository.findByTopicIdAndUserId(eq("topic1"), anyString()))
+                .thenAnswer(invocation -> List.of(question(invocation.getArgument(1), "sin' x")));
+
+        // Act
+        List<QuizQuestion> first = poolService.getPool("topic1", "user1");
+        List<QuizQuestion> second = poolService.getPool("topic1", "user2");
+
+        // Assert
+        assertEquals(2, first.size());
+        assertEquals(2, second.size());
+        assertTrue(first.contains(shared) && second.contains(shared));
+        assertTrue(first.stream().allMatch(q -> q.getUserId() == null || q.getUserId().equals("user1")));
+        assertTrue(second.stream().allMatch(q -> q.getUserId() == null || q.getUserId().equals("user2")));
+        verify(questionRepository, times(1)).findByTopicIdAndSource("topic1", QuizQuestion.Source.AI);
+    }
+
+    @Test
+    void refillTemplates_WhenUsersShareATopic_ShouldOnlyBuildFromTheRequestingUsersCards() {
+        // Arrange
+        when(flashcardRepository.findByTopicIdAndUserId(eq("topic1"), eq("user2"), any(Pageable.class)))
+                .thenReturn(List.of(card("sin' x", "cos x"), card("cos' x", "-sin x")));
+
+        // Act
+        poolService.refillTemplates("topic1", "user2");
+
+        // Assert
+        verify(flashcardRepository, never()).findByTopicIdAndUserId(eq("topic1"), eq("user1"), any(Pageable.class));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<QuizQuestion>> stored = ArgumentCaptor.forClass(List.class);
+        verify(inserts).insert(stored.capture());
+        assertTrue(stored.getValue().stream().allMatch(q -> "user2".equals(q.getUserId())));
+    }
+
+    @Test
+    void refillTemplates_ShouldBuildTemplateQuestionsFromFlashcards() {
+        // Arrange
+        when(flashcardRepository.findByTopicIdAndUserId(eq("topic1"), eq("user1"), any(Pageable.class)))
+                .thenReturn(List.of(card("sin' x", "cos x"), card("cos' x", "-sin x")));
+
+        // Act
+        int added = poolService.refillTemplates("topic1", "user1");
+
+        // Assert
+        assertEquals(2, added);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<QuizQuestion>> stored = ArgumentCaptor.forClass(List.class);
+        verify(inserts).insert(stored.capture());
+        QuizQuestion first = stored.getValue().get(0);
+        assertEquals("sin' x", first.getPrompt());
+        assertEquals("cos x", first.getChoices().get(first.getCorrectIndex()));
+        assertEquals(2, first.getChoices().size());
+        assertEquals(QuizQuestion.Source.TEMPLATE, first.getSource());
+        assertEquals("user1", first.getUserId());
+        assertNotNull(first.getFingerprint());
+        verifyNoInteractions(aiService);
+    }
+
+    @Test
+    void topUpAI_ShouldStoreOnlyValidAiQuestions() {
+        // Arrange
+        Topic topic = new Topic();
+        topic.setId("topic1");
+        topic.setName("Derivatives");
+        when(topicRepository.findById("topic1")).thenReturn(Optional.of(topic));
+        when(aiService.generateQuizQuestions(anyString())).thenReturn("""
+                Here you go:
+                ```json
+                [{"question": "d/dx x^2?", "choices": ["x", "2x", "x^2", "2"], "answerIndex": 1, "explanation": "Power rule"},
+                 {"question": "broken", "choices": ["a"], "answerIndex": 3}]
+                ```""");
+
+        // Act
+        poolService.topUpAI("topic1");
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<QuizQuestion>> stored = ArgumentCaptor.forClass(List.class);
+        verify(inserts).insert(stored.capture());
+        assertEquals(1, stored.getValue().size());
+        assertEquals("2x", stored.getValue().get(0).getChoices().get(stored.getValue().get(0).getCorrectIndex()));
+        assertEquals(QuizQuestion.Source.AI, stored.getValue().get(0).getSource());
+        assertNull(stored.getValue().get(0).getUserId());
+    }
+
+    @Test
+    void requestRefill_ShouldQueueOneRefillPerPoolAndForgetRejectedOnes() {
+        // Act
+        poolService.requestRefill("topic1", "user1");
+        poolService.requestRefill("topic1", "user1");
+
+        // Assert
+        verify(executor, times(1)).execute(any(Runnable.class));
+
+        doThrow(new TaskRejectedException("full")).when(executor).execute(any(Runnable.class));
+        poolService.requestRefill("topic2", "user1");
+        poolService.requestRefill("topic2", "user1");
+        verify(executor, times(3)).execute(any(Runnable.class));
+    }
+
+    @Test
+    void requestRefill_WhenPoolWasJustRefilled_ShouldNotQueueAnotherOne() {
+        // Arrange
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+
+        // Act
+        poolService.requestRefill("topic1", "user1");
+        poolService.requestRefill("topic1", "user1");
+
+        // Assert
+        verify(executor, times(1)).execute(any(Runnable.class));
+        verify(flashcardRepository, times(1)).findByTopicIdAndUserId(eq("topic1"), eq("user1"), any(Pageable.class));
+    }
+
+    @Test
+    void requestRefill_WhenAiGenerationEnabled_ShouldTopUpEachTopicOnceForAllUsers() {
+        // Arrange
+        ReflectionTestUtils.setField(poolService, "aiGenerationEnabled", true);
+        List<Runnable> queued = new ArrayList<>();
+        doAnswer(invocation -> queued.add(invocation.getArgument(0))).when(executor).execute(any(Runnable.class));
+        when(topicRepository.findById("topic1")).thenReturn(Optional.empty());
+
+        // Act
+        poolService.requestRefill("topic1", "user1");
+        poolService.requestRefill("topic1", "user2");
+        poolService.requestRefill("topic1", "user3");
+
+        // Assert: one template refill per user, one AI top-up for the topic
+        assertEquals(4, queued.size());
+        queued.forEach(Runnable::run);
+        verify(questionRepository, times(1)).countByTopicIdAndSource("topic1", QuizQuestion.Source.AI);
+    }
+
+    private QuizQuestion question(String userId, String prompt) {
+        QuizQuestion question = new QuizQuestion();
+        question.setTopicId("topic1");
+        question.setUserId(userId);
+        question.setPrompt(prompt);
+        return question;
+    }
+
+    private Flashcard card(String front, String back) {
+        Flashcard card = new Flashcard();
+        card.setTopicId("topic1");
+        card.setFront(front);
+        card.setBack(back);
+        return card;
+    }
+}
@@ -0,0 +1,179 @@
+package com.studywala.backend.service;
+
+import com.mongodb.client.result.UpdateResult;
+import com.studywala.backend.dto.QuizRequest;
+import com.studywala.backend.dto.QuizResponse;
+import com.studywala.backend.dto.QuizSubmission;
+import com.studywala.backend.exception.ServiceUnavailableException;
+import com.studywala.backend.model.Quiz;
+import com.studywala.backend.model.QuizQuestion;
+import com.studywala.backend.model.Topic;
+import com.studywala.backend.repository.QuizRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class QuizServiceTest {
+
+    @Mock
+    private QuizRepository quizRepository;
+
+    @Mock
+    private QuizPoolService quizPoolService;
+
+    @Mock
+    private TopicAccess topicAccess;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations stats;
+
+    private QuizService quizService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        quizService = new QuizService(quizRepository, quizPoolService, topicAccess, mongoTemplate);
+        Topic topic = new Topic();
+        topic.setId("topic1");
+        when(topicAccess.requireOwned("topic1", "user1")).thenReturn(topic);
+        when(quizRepository.save(any(Quiz.class))).thenAnswer(invocation -> {
+            Quiz quiz = invocation.getArgument(0);
+            quiz.setId("quiz1");
+            return quiz;
+        });
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, QuizQuestion.class)).thenReturn(stats);
+    }
+
+    @Test
+    void startQuiz_ShouldSampleFromPoolWithoutRevealingAnswers() {
+        // Arrange
+        List<QuizQuestion> pool = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            pool.add(question("q" + i));
+        }
+        when(quizPoolService.getPool("topic1", "user1")).thenReturn(pool);
+
+        // Act
+        QuizResponse quiz = quizService.startQuiz(request(5), "user1");
+
+        // Assert
+        assertEquals("quiz1", quiz.getId());
+        assertEquals(5, quiz.getTotal());
+        assertEquals(5, quiz.getQuestions().stream().map(q -> q.getQuestionId()).distinct().count());
+        assertTrue(quiz.getQuestions().stream().allMatch(q -> q.getCorrectIndex() == null));
+        verify(quizPoolService, never()).requestRefill(any(), any());
+    }
+
+    @Test
+    void startQuiz_WhenPoolEmpty_ShouldQueueRefillAndRefuse() {
+        when(quizPoolService.getPool("topic1", "user1")).thenReturn(List.of());
+        when(quizPoolService.isBelowTarget(List.of())).thenReturn(true);
+
+        assertThrows(ServiceUnavailableException.class, () -> quizService.startQuiz(request(5), "user1"));
+        verify(quizPoolService).requestRefill("topic1", "user1");
+        verify(quizRepository, never()).save(any());
+    }
+
+    @Test
+    void submitQuiz_ShouldGradeOnceAndBatchAnswerStats() {
+        // Arrange
+        when(quizRepository.findByIdAndUserId("quiz1", "user1")).thenReturn(Optional.of(quiz()));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Quiz.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        // Act
+        QuizResponse graded = quizService.submitQuiz("quiz1", submission(1, 0), "user1");
+
+        // Assert
+        assertEquals(1, graded.getScore());
+        assertTrue(graded.getQuestions().get(0).getCorrect());
+        assertFalse(graded.getQuestions().get(1).getCorrect());
+        assertEquals(1, graded.getQuestions().get(1).getCorrectIndex());
+        verify(stats, times(2)).updateOne(any(Query.class), any(Update.class));
+        verify(stats).execute();
+    }
+
+    @Test
+    void submitQuiz_WhenAlreadySubmitted_ShouldReturnStoredResult() {
+        Quiz submitted = quiz();
+        submitted.setScore(2);
+        submitted.setSubmittedAt(Instant.now());
+        when(quizRepository.findByIdAndUserId("quiz1", "user1")).thenReturn(Optional.of(submitted));
+
+        QuizResponse result = quizService.submitQuiz("quiz1", submission(0, 0), "user1");
+
+        assertEquals(2, result.getScore());
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void weight_ShouldFavourQuestionsThatAreOftenMissed() {
+        QuizQuestion missed = question("missed");
+        missed.setTimesAsked(10);
+        missed.setTimesCorrect(1);
+        QuizQuestion known = question("known");
+        known.setTimesAsked(10);
+        known.setTimesCorrect(10);
+
+        assertTrue(QuizService.weight(missed) > QuizService.weight(question("new")));
+        assertTrue(QuizService.weight(question("new")) > QuizService.weight(known));
+    }
+
+    private QuizRequest request(int questionCount) {
+        QuizRequest request = new QuizRequest();
+        request.setTopicId("topic1");
+        request.setQuestionCount(questionCount);
+        return request;
+    }
+
+    private QuizSubmission submission(Integer... answers) {
+        QuizSubmission submission = new QuizSubmission();
+        submission.setAnswers(Arrays.asList(answers));
+        return submission;
+    }
+
+    private Quiz quiz() {
+        Quiz quiz = new Quiz();
+        quiz.setId("quiz1");
+        quiz.setUserId("user1");
+        quiz.setTopicId("topic1");
+        List<Quiz.Item> items = new ArrayList<>();
+        for (String id : List.of("q1", "q2")) {
+            Quiz.Item item = new Quiz.Item();
+            item.setQuestionId(id);
+            item.setChoices(List.of("a", "b"));
+            item.setCorrectIndex(1);
+            items.add(item);
+        }
+        quiz.setItems(items);
+        return quiz;
+    }
+
+    private QuizQuestion question(String id) {
+        QuizQuestion question = new QuizQuestion();
+        question.setId(id);
+        question.setTopicId("topic1");
+        question.setPrompt("Question " + id);
+        question.setChoices(List.of("a", "b"));
+        return question;
+    }
+}
@@ -0,0 +1,158 @@
+package com.studywala.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studywala.backend.dto.StudyPlanRequest;
+import com.studywala.backend.dto.StudyPlanResponse;
+import com.studywala.backend.exception.ResourceNotFoundException;
+import com.studywala.backend.mapper.StudyPlanMapper;
+import com.studywala.backend.model.StudyPlan;
+import com.studywala.backend.model.Subject;
+import com.studywala.backend.model.Topic;
+import com.studywala.backend.repository.ReactiveStudyPlanRepository;
+import com.studywala.backend.repository.ReactiveSubjectRepository;
+import com.studywala.backend.repository.ReactiveTopicRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ReactiveStudyPlanServiceTest {
+
+    @Mock
+    private ReactiveStudyPlanRepository studyPlanRepository;
+
+    @Mock
+    private ReactiveSubjectRepository subjectRepository;
+
+    @Mock
+    private ReactiveTopicRepository topicRepository;
+
+    @Mock
+    private ReactiveAIService aiService;
+
+    private ReactiveStudyPlanService reactiveStudyPlanService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        StudyPlanMapper studyPlanMapper = new StudyPlanMapper();
+        StudyPlanService studyPlanService = new StudyPlanService(null, null, studyPlanMapper, null, null, null,
+                new StudyPlanScheduler(120, 30, new int[]{1, 3, 7, 14}, 730), new ObjectMapper().findAndRegisterModules());
+        reactiveStudyPlanService = new ReactiveStudyPlanService(studyPlanRepository, subjectRepository,
+                topicRepository, aiService, studyPlanService, studyPlanMapper);
+
+        Subject subject = new Subject();
+        subject.setId("subj1");
+        subject.setPriority(1);
+        Topic topic = new Topic();
+        topic.setId("topic1");
+        topic.setSubjectId("subj1");
+        topic.setEstimatedHours(3);
+        when(subjectRepository.findAllById(anyList())).thenReturn(Flux.just(subject));
+        when(topicRepository.findBySubjectIdIn(List.of("subj1"))).thenReturn(Flux.just(topic));
+        when(studyPlanRepository.save(any(StudyPlan.class))).thenAnswer(invocation -> {
+            StudyPlan plan = invocation.getArgument(0);
+            plan.setId("plan1");
+            return Mono.just(plan);
+        });
+    }
+
+    @Test
+    void createStudyPlan_ShouldScheduleLocallyAndSave() {
+        StepVerifier.create(reactiveStudyPlanService.createStudyPlan(request(), "user1"))
+                .assertNext(plan -> {
+                    assertEquals("plan1", plan.getId());
+                    assertEquals(180, plan.getSessions().stream()
+                            .filter(session -> "STUDY".equals(session.getType()))
+                            .mapToInt(session -> session.getMinutes()).sum());
+                })
+                .verifyComplete();
+        verifyNoInteractions(aiService);
+    }
+
+    @Test
+    void createStudyPlan_WhenSubjectsBelongToAnotherUser_ShouldFail() {
+        Subject foreign = new Subject();
+        foreign.setId("subj1");
+        foreign.setUserId("someone-else");
+        when(subjectRepository.findAllById(anyList())).thenReturn(Flux.just(foreign));
+
+        StepVerifier.create(reactiveStudyPlanService.createStudyPlan(request(), "user1"))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+        verify(studyPlanRepository, never()).save(any());
+    }
+
+    @Test
+    void getStudyPlan_WhenMissing_ShouldFailWithNotFound() {
+        when(studyPlanRepository.findByIdAndUserId("ghost", "user1")).thenReturn(Mono.empty());
+
+        StepVerifier.create(reactiveStudyPlanService.getStudyPlan("ghost", "user1"))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void deleteStudyPlan_WhenNotOwned_ShouldNotDelete() {
+        when(studyPlanRepository.existsByIdAndUserId("plan1", "user1")).thenReturn(Mono.just(false));
+
+        StepVerifier.create(reactiveStudyPlanService.deleteStudyPlan("plan1", "user1"))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+        verify(studyPlanRepository, never()).deleteById(anyString());
+    }
+
+    @Test
+    void streamStudyPlan_ShouldEmitPartsBeforeSavedPlan() {
+        when(aiService.streamStudyPlan(anyString())).thenReturn(Flux.just(
+                "{\"title\":\"Plan\",\"subjects\":[{\"id\":\"subj1\",\"name\":\"Math\"}],",
+                "\"sessions\":[{\"date\":\"2024-05-01\",\"topicId\":\"topic1\",\"minutes\":90},"
+                        + "{\"date\":\"2024-05-01\",\"topicId\":\"made-up\",\"minutes\":90}]}"));
+
+        StepVerifier.create(reactiveStudyPlanService.streamStudyPlan(request(), "user1").map(ServerSentEvent::event))
+                .expectNext("stage", "field", "subject", "session", "stage", "plan")
+                .verifyComplete();
+    }
+
+    @Test
+    void streamStudyPlan_WhenModelReturnsNullField_ShouldStillEmitSavedPlan() {
+        when(aiService.streamStudyPlan(anyString())).thenReturn(Flux.just(
+                "{\"title\":\"Plan\",\"description\":null,", "\"subjects\":[]}"));
+
+        StepVerifier.create(reactiveStudyPlanService.streamStudyPlan(request(), "user1").map(ServerSentEvent::event))
+                .expectNext("stage", "field", "stage", "plan")
+                .verifyComplete();
+    }
+
+    @Test
+    void streamStudyPlan_WhenModelFails_ShouldEmitErrorEvent() {
+        when(aiService.streamStudyPlan(anyString())).thenReturn(Flux.error(new IllegalStateException("boom")));
+
+        StepVerifier.create(reactiveStudyPlanService.streamStudyPlan(request(), "user1"))
+                .assertNext(event -> assertEquals("stage", event.event()))
+                .assertNext(event -> assertEquals("error", event.event()))
+                .verifyComplete();
+        verify(studyPlanRepository, never()).save(any());
+    }
+
+    private static StudyPlanRequest request() {
+        StudyPlanRequest request = new StudyPlanRequest();
+        request.setTitle("Test Plan");
+        request.setSubjectIds(List.of("subj1"));
+        request.setStartDate(LocalDate.now());
+        request.setEndDate(LocalDate.now().plusDays(7));
+        request.setHoursPerDay(2);
+        return request;
+    }
+}
@@ -0,0 +1,109 @@
+package com.studywala.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studywala.backend.model.ScheduledSession;
+import com.studywala.backend.model.Subject;
+import com.studywala.backend.model.Topic;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingPlanParserTest {
+
+    private static final String PLAN = """
+            Sure! Here is your plan:
+            ```json
+            {"title":"Finals","description":"Four weeks","meta":{"subjects":[{"id":"ignored"}]},
+             "subjects":[{"id":"math","name":"Mathematics","priority":3},{"id":"phys","name":"Physics \u269B","priority":2}],
+             "topics":[{"id":"t1","name":"Integrals","subjectId":"math","estimatedHours":10,"tags":["calculus"]}],
+             "sessions":[{"date":"2024-05-01","subjectId":"math","topicId":"t1","minutes":90,"type":"STUDY"}]}
+            ```
+            Good luck!""";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void feed_InSmallChunks_ShouldEmitEachElementOnceComplete() {
+        // Arrange
+        List<String> events = new ArrayList<>();
+        int[] fedWhenFirstSubject = {-1};
+        int[] fed = {0};
+        StreamingPlanParser parser = new StreamingPlanParser(objectMapper, new PlanGenerationListener() {
+            @Override
+            public void onField(String name, String value) {
+                events.add(name + "=" + value);
+            }
+
+            @Override
+            public void onSubject(Subject subject) {
+                if (fedWhenFirstSubject[0] < 0) {
+                    fedWhenFirstSubject[0] = fed[0];
+                }
+                events.add("subject:" + subject.getName());
+            }
+
+            @Override
+            public void onTopic(Topic topic) {
+                events.add("topic:" + topic.getId() + "/" + topic.getEstimatedHours());
+            }
+
+            @Override
+            public void onSession(ScheduledSession session) {
+                assertEquals(LocalDate.of(2024, 5, 1), session.getDate());
+                events.add("session:" + session.getTopicId() + "/" + session.getMinutes());
+            }
+        });
+
+        // Act
+        for (int i = 0; i < PLAN.length(); i += 3) {
+            String chunk = PLAN.substring(i, Math.min(PLAN.length(), i + 3));
+            fed[0] += chunk.length();
+            parser.feed(chunk);
+        }
+        parser.finish();
+
+        // Assert
+        assertEquals(List.of("title=Finals", "description=Four weeks", "subject:Mathematics", "subject:Physics \u269B",
+                "topic:t1/10", "session:t1/90"), events);
+        assertTrue(parser.isComplete());
+        assertTrue(fedWhenFirstSubject[0] < PLAN.indexOf("\"topics\""));
+    }
+
+    @Test
+    void feed_WithNullField_ShouldSkipIt() {
+        // Arrange
+        List<String> fields = new ArrayList<>();
+        StreamingPlanParser parser = new StreamingPlanParser(objectMapper, new PlanGenerationListener() {
+            @Override
+            public void onField(String name, String value) {
+                fields.add(name + "=" + value);
+            }
+        });
+
+        // Act
+        parser.feed("{\"title\": null, \"description\": \"Four weeks\"}");
+        parser.finish();
+
+        // Assert
+        assertEquals(List.of("description=Four weeks"), fields);
+    }
+
+    @Test
+    void finish_WhenStreamStopsEarly_ShouldFail() {
+        StreamingPlanParser parser = new StreamingPlanParser(objectMapper, new PlanGenerationListener() { });
+        parser.feed("{\"title\":\"Finals\",\"subjects\":[");
+
+        assertThrows(IllegalArgumentException.class, parser::finish);
+    }
+
+    @Test
+    void feed_WithMalformedJson_ShouldFail() {
+        StreamingPlanParser parser = new StreamingPlanParser(objectMapper, new PlanGenerationListener() { });
+
+        assertThrows(IllegalArgumentException.class, () -> parser.feed("{\"title\" \"Finals\"}"));
+    }
+}
@@ -0,0 +1,104 @@
+package com.studywala.backend.service;
+
+import com.studywala.backend.dto.StudyPlanRequest;
+import com.studywala.backend.dto.StudyPlanResponse;
+import com.studywala.backend.exception.TooManyRequestsException;
+import com.studywala.backend.model.StudyPlanJob;
+import com.studywala.backend.repository.StudyPlanJobRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class StudyPlanJobServiceTest {
+
+    @Mock
+    private StudyPlanJobRepository jobRepository;
+
+    @Mock
+    private StudyPlanService studyPlanService;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private ThreadPoolTaskExecutor executor;
+
+    private StudyPlanJobService jobService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        jobService = new StudyPlanJobService(jobRepository, studyPlanService, mongoTemplate, executor);
+        when(jobRepository.save(any(StudyPlanJob.class))).thenAnswer(invocation -> {
+            StudyPlanJob job = invocation.getArgument(0);
+            job.setId("job1");
+            return job;
+        });
+    }
+
+    @Test
+    void submit_ShouldPersistPendingJobAndQueueIt() {
+        // Act
+        var result = jobService.submit(new StudyPlanRequest(), "user1");
+
+        // Assert
+        assertEquals("job1", result.getId());
+        assertEquals("PENDING", result.getStatus());
+        verify(executor).execute(any(Runnable.class));
+    }
+
+    @Test
+    void submit_WhenQueueIsFull_ShouldRejectAndDropJob() {
+        // Arrange
+        doThrow(new TaskRejectedException("full")).when(executor).execute(any(Runnable.class));
+
+        // Act & Assert
+        assertThrows(TooManyRequestsException.class, () -> jobService.submit(new StudyPlanRequest(), "user1"));
+        verify(jobRepository).deleteById("job1");
+    }
+
+    @Test
+    void run_WhenJobClaimed_ShouldGeneratePlanAndMarkCompleted() {
+        // Arrange
+        StudyPlanJob job = new StudyPlanJob();
+        job.setId("job1");
+        job.setUserId("user1");
+        job.setRequest(new StudyPlanRequest());
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class),
+                any(FindAndModifyOptions.class), eq(StudyPlanJob.class))).thenReturn(job);
+        StudyPlanResponse plan = new StudyPlanResponse();
+        plan.setId("plan1");
+        when(studyPlanService.createStudyPlan(job.getRequest(), "user1")).thenReturn(plan);
+
+        // Act
+        jobService.run("job1");
+
+        // Assert
+        ArgumentCaptor<Update> captor = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), captor.capture(), eq(StudyPlanJob.class));
+        assertEquals(StudyPlanJob.Status.COMPLETED, captor.getValue().getUpdateObject().get("$set", Document.class).get("status"));
+    }
+
+    @Test
+    void run_WhenJobAlreadyClaimed_ShouldDoNothing() {
+        // Act
+        jobService.run("job1");
+
+        // Assert
+        verifyNoInteractions(studyPlanService);
+    }
+}
@@ -0,0 +1,128 @@
+package com.studywala.backend.service;
+
+import com.studywala.backend.model.ScheduledSession;
+import com.studywala.backend.model.Subject;
+import com.studywala.backend.model.Topic;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudyPlanSchedulerTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    private final StudyPlanScheduler scheduler = new StudyPlanScheduler(120, 30, new int[]{1, 3, 7, 14}, 730);
+
+    @Test
+    void schedule_ShouldPlaceHigherPriorityTopicsFirstWithinDailyBudget() {
+        // Arrange
+        List<Subject> subjects = List.of(subject("math", 1), subject("phys", 3));
+        List<Topic> topics = List.of(topic("algebra", "math", 4, 1), topic("optics", "phys", 2, 1));
+
+        // Act
+        StudyPlanScheduler.Schedule schedule = scheduler.schedule(subjects, topics, START, START.plusDays(30), 2);
+
+        // Assert
+        List<ScheduledSession> study = study(schedule);
+        assertEquals("optics", study.get(0).getTopicId());
+        assertEquals(START, study.get(0).getDate());
+        Map<LocalDate, Integer> minutesPerDay = schedule.sessions().stream()
+                .collect(Collectors.groupingBy(ScheduledSession::getDate, Collectors.summingInt(ScheduledSession::getMinutes)));
+        assertTrue(minutesPerDay.values().stream().allMatch(minutes -> minutes <= 120));
+        assertEquals(6 * 60, study.stream().mapToInt(ScheduledSession::getMinutes).sum());
+        assertTrue(schedule.unscheduledTopicIds().isEmpty());
+    }
+
+    @Test
+    void schedule_ShouldAddSpacedRevisionsAfterLastStudyBlock() {
+        // Act
+        StudyPlanScheduler.Schedule schedule = scheduler.schedule(List.of(subject("math", 1)),
+                List.of(topic("algebra", "math", 2, 1)), START, START.plusDays(30), 3);
+
+        // Assert
+        List<LocalDate> revisions = schedule.sessions().stream()
+                .filter(session -> session.getType() == ScheduledSession.Type.REVISION)
+                .map(ScheduledSession::getDate)
+                .toList();
+        assertEquals(List.of(START.plusDays(1), START.plusDays(3), START.plusDays(7), START.plusDays(14)), revisions);
+        assertEquals(2 * 60 + 4 * 15, schedule.totalMinutes());
+    }
+
+    @Test
+    void schedule_WhenTopicsDoNotFit_ShouldReportLowestPriorityAsUnscheduled() {
+        // Act
+        StudyPlanScheduler.Schedule schedule = scheduler.schedule(List.of(subject("math", 1)),
+                List.of(topic("important", "math", 3, 5), topic("optional", "math", 3, 1)), START, START.plusDays(1), 2);
+
+        // Assert
+        assertEquals(List.of("optional"), schedule.unscheduledTopicIds());
+        assertTrue(study(schedule).stream().allMatch(session -> "important".equals(session.getTopicId())));
+    }
+
+    @Test
+    void schedule_WithThousandsOfTopicsOverAYear_ShouldStayWithinTheRangeAndDailyHours() {
+        // Arrange
+        List<Subject> subjects = new ArrayList<>();
+        List<Topic> topics = new ArrayList<>();
+        for (int s = 0; s < 20; s++) {
+            subjects.add(subject("subject" + s, s % 5));
+            for (int t = 0; t < 250; t++) {
+                topics.add(topic("topic" + s + "-" + t, "subject" + s, 1 + t % 4, t % 3));
+            }
+        }
+
+        // Act
+        StudyPlanScheduler.Schedule schedule = scheduler.schedule(subjects, topics, START, START.plusDays(364), 8);
+
+        // Assert
+        assertFalse(schedule.sessions().isEmpty());
+        assertFalse(schedule.unscheduledTopicIds().isEmpty());
+        assertTrue(schedule.sessions().stream()
+                .allMatch(session -> !session.getDate().isBefore(START) && !session.getDate().isAfter(START.plusDays(364))));
+        assertTrue(schedule.sessions().stream()
+                .collect(Collectors.groupingBy(ScheduledSession::getDate, Collectors.summingInt(ScheduledSession::getMinutes)))
+                .values().stream()
+                .allMatch(minutes -> minutes <= 8 * 60));
+    }
+
+    @Test
+    void schedule_WithHugeRange_ShouldOnlyPlanTheFirstMaxDays() {
+        // Act
+        StudyPlanScheduler.Schedule schedule = scheduler.schedule(List.of(subject("math", 1)),
+                List.of(topic("algebra", "math", 20_000, 2), topic("optics", "math", 2, 1)),
+                LocalDate.of(1, 1, 1), LocalDate.of(9999, 12, 31), 24);
+
+        // Assert
+        assertEquals(List.of("algebra"), schedule.unscheduledTopicIds());
+        assertTrue(schedule.sessions().stream()
+                .allMatch(session -> session.getDate().isBefore(LocalDate.of(1, 1, 1).plusDays(730))));
+    }
+
+    private static List<ScheduledSession> study(StudyPlanScheduler.Schedule schedule) {
+        return schedule.sessions().stream()
+                .filter(session -> session.getType() == ScheduledSession.Type.STUDY)
+                .toList();
+    }
+
+    private static Subject subject(String id, int priority) {
+        Subject subject = new Subject();
+        subject.setId(id);
+        subject.setPriority(priority);
+        return subject;
+    }
+
+    private static Topic topic(String id, String subjectId, int hours, int priority) {
+        Topic topic = new Topic();
+        topic.setId(id);
+        topic.setSubjectId(subjectId);
+        topic.setEstimatedHours(hours);
+        topic.setPriority(priority);
+        return topic;
+    }
+}
@@ -1,21 +1,35 @@
 package com.studywala.backend.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studywala.backend.dto.CursorPage;
 import com.studywala.backend.dto.StudyPlanRequest;
+import com.studywala.backend.dto.StudyPlanResponse;
+import com.studywala.backend.dto.SubjectResponse;
+import com.studywala.backend.mapper.StudyPlanMapper;
 import com.studywala.backend.model.StudyPlan;
 import com.studywala.backend.model.Subject;
 import com.studywala.backend.model.Topic;
+import com.studywala.backend.repository.AIResponseCacheRepository;
 import com.studywala.backend.repository.StudyPlanRepository;
+import com.studywala.backend.repository.SubjectRepository;
+import com.studywala.backend.repository.TopicRepository;
+import com.studywala.backend.resilience.CallNotPermittedException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -29,44 +43,186 @@ class StudyPlanServiceTest {
     @Mock
     private AIService aiService;
 
+    @Mock
+    private AIResponseCacheRepository aiResponseCacheRepository;
+
+    @Mock
+    private SubjectRepository subjectRepository;
+
+    @Mock
+    private TopicRepository topicRepository;
+
     @InjectMocks
     private StudyPlanService studyPlanService;
 
-    private final ModelMapper modelMapper = new ModelMapper();
+    private final StudyPlanMapper studyPlanMapper = new StudyPlanMapper();
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        studyPlanService = new StudyPlanService(studyPlanRepository, aiService, modelMapper);
+        studyPlanService = new StudyPlanService(studyPlanRepository, aiService, studyPlanMapper,
+                new AIResponseCache(aiResponseCacheRepository, true, 100, Duration.ofMinutes(5), false),
+                subjectRepository, topicRepository, new StudyPlanScheduler(120, 30, new int[]{1, 3, 7, 14}, 730),
+                new ObjectMapper().findAndRegisterModules());
+
+        Subject subject = new Subject();
+        subject.setId("subj1");
+        subject.setPriority(1);
+        Topic topic = new Topic();
+        topic.setId("topic1");
+        topic.setSubjectId("subj1");
+        topic.setEstimatedHours(3);
+        when(subjectRepository.findAllById(anyList())).thenReturn(List.of(subject));
+        when(topicRepository.findBySubjectIdIn(List.of("subj1"))).thenReturn(List.of(topic));
     }
 
     @Test
-    void createStudyPlan_ShouldReturnCreatedStudyPlan() {
+    void createStudyPlan_ShouldScheduleLocallyWithoutCallingAI() {
         // Arrange
-        StudyPlanRequest request = new StudyPlanRequest();
-        request.setTitle("Test Plan");
-        request.setDescription("Test Description");
-        request.setSubjectIds(Arrays.asList("subj1", "subj2"));
-        request.setStartDate(LocalDate.now());
-        request.setEndDate(LocalDate.now().plusDays(7));
-        request.setHoursPerDay(2);
-
-        StudyPlan savedPlan = new StudyPlan();
-        savedPlan.setId("plan1");
-        savedPlan.setTitle(request.getTitle());
-        savedPlan.setDescription(request.getDescription());
-
-        when(aiService.generateStudyPlan(anyString())).thenReturn("{\"title\":\"Test Plan\",\"description\":\"Test Description\"}");
-        when(studyPlanRepository.save(any(StudyPlan.class))).thenReturn(savedPlan);
+        StudyPlanRequest request = request("Test Description");
+        when(studyPlanRepository.save(any(StudyPlan.class))).thenAnswer(invocation -> {
+            StudyPlan plan = invocation.getArgument(0);
+            plan.setId("plan1");
+            return plan;
+        });
 
         // Act
         var result = studyPlanService.createStudyPlan(request, "user1");
 
         // Assert
-        assertNotNull(result);
         assertEquals("plan1", result.getId());
         assertEquals("Test Plan", result.getTitle());
-        verify(studyPlanRepository, times(1)).save(any(StudyPlan.class));
+        assertEquals("user1", captureSavedPlan().getUserId());
+        assertEquals(180, result.getSessions().stream()
+                .filter(session -> "STUDY".equals(session.getType()))
+                .mapToInt(session -> session.getMinutes()).sum());
+        assertTrue(result.getUnscheduledTopicIds().isEmpty());
+        verifyNoInteractions(aiService);
+    }
+
+    @Test
+    void createStudyPlan_WithAIEnrichment_ShouldUseSuggestedDescription() {
+        // Arrange
+        ReflectionTestUtils.setField(studyPlanService, "aiEnrichmentEnabled", true);
+        when(aiService.generateStudyPlan(anyString()))
+                .thenReturn("Here you go:\n```json\n{\"title\":\"Plan\",\"description\":\"Start with the basics\"}\n```");
+        when(studyPlanRepository.save(any(StudyPlan.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        var result = studyPlanService.createStudyPlan(request(null), "user1");
+
+        // Assert
+        assertEquals("Start with the basics", result.getDescription());
+        assertFalse(result.getSessions().isEmpty());
+    }
+
+    @Test
+    void createStudyPlan_WhenAIEnrichmentFails_ShouldStillSavePlan() {
+        // Arrange
+        ReflectionTestUtils.setField(studyPlanService, "aiEnrichmentEnabled", true);
+        when(aiService.generateStudyPlan(anyString())).thenReturn("I cannot help with that");
+        when(studyPlanRepository.save(any(StudyPlan.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        var result = studyPlanService.createStudyPlan(request(null), "user1");
+
+        // Assert
+        assertNull(result.getDescription());
+        assertFalse(result.getSessions().isEmpty());
+    }
+
+    @Test
+    void generateStudyPlanStreaming_ShouldForwardPartsBeforeSavingPlan() {
+        // Arrange
+        doAnswer(invocation -> {
+            Consumer<String> onDelta = invocation.getArgument(1);
+            onDelta.accept("{\"title\":\"Plan\",\"subjects\":[{\"id\":\"subj1\",\"name\":\"Math\"}],");
+            onDelta.accept("\"sessions\":[{\"date\":\"" + LocalDate.now() + "\",\"topicId\":\"topic1\",\"minutes\":90}]}");
+            return null;
+        }).when(aiService).streamStudyPlan(anyString(), any());
+        when(studyPlanRepository.save(any(StudyPlan.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        List<String> forwarded = new ArrayList<>();
+
+        // Act
+        var result = studyPlanService.generateStudyPlanStreaming(request(null), "user1", new PlanGenerationListener() {
+            @Override
+            public void onSubject(Subject subject) {
+                verifyNoInteractions(studyPlanRepository);
+                forwarded.add(subject.getId());
+            }
+        });
+
+        // Assert
+        assertEquals(List.of("subj1"), forwarded);
+        assertEquals(1, result.getSubjects().size());
+        assertEquals(90, result.getSessions().get(0).getMinutes());
+        assertEquals(2, result.getTotalHours());
+    }
+
+    @Test
+    void generateStudyPlanStreaming_ShouldPromptWithOwnedSubjectsAndDropWhatTheModelMadeUp() {
+        // Arrange
+        LocalDate start = LocalDate.now();
+        doAnswer(invocation -> {
+            Consumer<String> onDelta = invocation.getArgument(1);
+            onDelta.accept("{\"title\":\"Plan\",\"subjects\":[{\"id\":\"subj1\",\"name\":\"Renamed\"},"
+                    + "{\"id\":\"other-users-subject\",\"name\":\"Secret\"},{\"id\":\"subj1\"}],");
+            onDelta.accept("\"topics\":[{\"id\":\"topic1\"},{\"id\":\"made-up\",\"subjectId\":\"subj1\"}],");
+            onDelta.accept("\"sessions\":["
+                    + "{\"date\":\"2020-01-01\",\"topicId\":\"topic1\",\"subjectId\":\"other-users-subject\",\"minutes\":60},"
+                    + "{\"date\":\"2999-01-01\",\"subjectId\":\"subj1\",\"minutes\":30},"
+                    + "{\"date\":\"" + start + "\",\"topicId\":\"made-up\",\"minutes\":45},"
+                    + "{\"date\":\"" + start + "\",\"subjectId\":\"other-users-subject\",\"minutes\":45},"
+                    + "{\"subjectId\":\"subj1\",\"minutes\":45}]}");
+            return null;
+        }).when(aiService).streamStudyPlan(anyString(), any());
+        when(studyPlanRepository.save(any(StudyPlan.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        var result = studyPlanService.generateStudyPlanStreaming(request(null), "user1", new PlanGenerationListener() {
+        });
+
+        // Assert
+        ArgumentCaptor<String> prompt = ArgumentCaptor.forClass(String.class);
+        verify(aiService).streamStudyPlan(prompt.capture(), any());
+        assertTrue(prompt.getValue().contains("- subj1: "));
+        assertTrue(prompt.getValue().contains("- topic1: null (subject subj1, about 3 hours"));
+        assertFalse(prompt.getValue().contains("title and description"));
+
+        assertEquals(List.of("subj1"), result.getSubjects().stream().map(SubjectResponse::getId).toList());
+        assertNull(result.getSubjects().get(0).getName());
+        assertEquals(1, result.getTopics().size());
+        assertEquals(2, result.getSessions().size());
+        assertEquals(start, result.getSessions().get(0).getDate());
+        assertEquals("subj1", result.getSessions().get(0).getSubjectId());
+        assertEquals(start.plusDays(7), result.getSessions().get(1).getDate());
+    }
+
+    @Test
+    void generateStudyPlanStreaming_WhenCircuitOpen_ShouldScheduleLocally() {
+        // Arrange
+        doThrow(new CallNotPermittedException("AI service is temporarily unavailable"))
+                .when(aiService).streamStudyPlan(anyString(), any());
+        when(studyPlanRepository.save(any(StudyPlan.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        List<String> forwarded = new ArrayList<>();
+
+        // Act
+        var result = studyPlanService.generateStudyPlanStreaming(request(null), "user1", new PlanGenerationListener() {
+            @Override
+            public void onField(String name, String value) {
+                forwarded.add(name + "=" + value);
+            }
+
+            @Override
+            public void onTopic(Topic topic) {
+                forwarded.add(topic.getId());
+            }
+        });
+
+        // Assert
+        assertEquals(List.of("fallback=local", "topic1"), forwarded);
+        assertEquals(List.of("subj1"), result.getSubjects().stream().map(SubjectResponse::getId).toList());
+        assertFalse(result.getSessions().isEmpty());
     }
 
     @Test
@@ -133,4 +289,46 @@ class StudyPlanServiceTest {
         // Assert
         verify(studyPlanRepository, times(1)).deleteById(planId);
     }
+
+    @Test
+    void getUserStudyPlansPage_WhenMoreRowsExist_ShouldReturnNextCursor() {
+        // Arrange
+        StudyPlan first = new StudyPlan();
+        first.setId("plan1");
+        StudyPlan second = new StudyPlan();
+        second.setId("plan2");
+        StudyPlan third = new StudyPlan();
+        third.setId("plan3");
+        when(studyPlanRepository.findByUserIdOrderByIdAsc("user1", PageRequest.of(0, 3)))
+                .thenReturn(List.of(first, second, third));
+        when(studyPlanRepository.findByUserIdAndIdGreaterThanOrderByIdAsc("user1", "plan2", PageRequest.of(0, 3)))
+                .thenReturn(List.of(third));
+
+        // Act
+        CursorPage<StudyPlanResponse> page = studyPlanService.getUserStudyPlansPage("user1", null, 2);
+        CursorPage<StudyPlanResponse> last = studyPlanService.getUserStudyPlansPage("user1", page.getNextCursor(), 2);
+
+        // Assert
+        assertEquals(List.of("plan1", "plan2"), page.getItems().stream().map(StudyPlanResponse::getId).toList());
+        assertEquals("plan2", page.getNextCursor());
+        assertEquals(1, last.getItems().size());
+        assertNull(last.getNextCursor());
+    }
+
+    private static StudyPlanRequest request(String description) {
+        StudyPlanRequest request = new StudyPlanRequest();
+        request.setTitle("Test Plan");
+        request.setDescription(description);
+        request.setSubjectIds(Arrays.asList("subj1", "subj2"));
+        request.setStartDate(LocalDate.now());
+        request.setEndDate(LocalDate.now().plusDays(7));
+        request.setHoursPerDay(2);
+        return request;
+    }
+
+    private StudyPlan captureSavedPlan() {
+        ArgumentCaptor<StudyPlan> captor = ArgumentCaptor.forClass(StudyPlan.class);
+        verify(studyPlanRepository).save(captor.capture());
+        return captor.getValue();
+    }
 }
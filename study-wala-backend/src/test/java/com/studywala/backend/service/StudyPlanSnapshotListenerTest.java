@@ -0,0 +1,83 @@
+package com.studywala.backend.service;
+
+import com.studywala.backend.model.StudyPlan;
+import com.studywala.backend.model.Subject;
+import com.studywala.backend.model.Topic;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class StudyPlanSnapshotListenerTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final StudyPlanSnapshotListener listener = new StudyPlanSnapshotListener(mongoTemplate);
+
+    @Test
+    void onAfterSave_WhenSubjectIsRenamed_ShouldUpdateItsSnapshotInEveryPlan() {
+        // Arrange
+        ObjectId id = new ObjectId();
+        Subject subject = new Subject();
+        subject.setId(id.toHexString());
+        subject.setName("Linear Algebra");
+        subject.setColor("#00ff00");
+        subject.setPriority(2);
+
+        // Act
+        listener.onAfterSave(new AfterSaveEvent<>(subject, new Document(), "subjects"));
+
+        // Assert
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateMulti(query.capture(), update.capture(), eq(StudyPlan.class));
+        assertEquals(id, query.getValue().getQueryObject().get("subjects._id"));
+        Document set = update.getValue().getUpdateObject().get("$set", Document.class);
+        assertEquals("Linear Algebra", set.get("subjects.$[s].name"));
+        assertEquals("#00ff00", set.get("subjects.$[s].color"));
+        assertEquals(2, set.get("subjects.$[s].priority"));
+        assertEquals(1, update.getValue().getArrayFilters().size());
+        assertEquals(new Document("s._id", id), update.getValue().getArrayFilters().get(0).asDocument());
+    }
+
+    @Test
+    void onAfterSave_WhenTopicIsRenamed_ShouldKeepThePlansProgressOnIt() {
+        // Arrange
+        Topic topic = new Topic();
+        topic.setId("topic1");
+        topic.setName("Eigenvalues");
+        topic.setSubjectId("math");
+        topic.setEstimatedHours(6);
+        topic.setPriority(1);
+        topic.setCompleted(true);
+
+        // Act
+        listener.onAfterSave(new AfterSaveEvent<>(topic, new Document(), "topics"));
+
+        // Assert
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateMulti(query.capture(), update.capture(), eq(StudyPlan.class));
+        assertEquals("topic1", query.getValue().getQueryObject().get("topics._id"));
+        Document set = update.getValue().getUpdateObject().get("$set", Document.class);
+        assertEquals("Eigenvalues", set.get("topics.$[t].name"));
+        assertEquals("math", set.get("topics.$[t].subjectId"));
+        assertFalse(set.containsKey("topics.$[t].completed"));
+        assertFalse(set.containsKey("topics.$[t].completedMinutes"));
+        assertEquals(new Document("t._id", "topic1"), update.getValue().getArrayFilters().get(0).asDocument());
+    }
+
+    @Test
+    void onAfterSave_WhenOtherDocumentIsSaved_ShouldNotTouchPlans() {
+        listener.onAfterSave(new AfterSaveEvent<>(new StudyPlan(), new Document(), "study_plans"));
+
+        verifyNoInteractions(mongoTemplate);
+    }
+}
@@ -0,0 +1,109 @@
+package com.studywala.backend.service;
+
+import com.mongodb.client.result.UpdateResult;
+import com.studywala.backend.model.StudyPlan;
+import com.studywala.backend.model.UserStudyStats;
+import com.studywala.backend.repository.TopicRepository;
+import com.studywala.backend.repository.UserStudyStatsRepository;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class StudyPlanStatsListenerTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Mock
+    private UserStudyStatsRepository statsRepository;
+
+    @Mock
+    private TopicRepository topicRepository;
+
+    private StudyPlanStatsListener listener;
+
+    private ReactiveStudyPlanStatsListener reactiveListener;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        UserStudyStatsService statsService = new UserStudyStatsService(mongoTemplate, statsRepository, topicRepository,
+                90, 52, Clock.fixed(Instant.parse("2026-10-17T12:00:00Z"), ZoneOffset.UTC));
+        listener = new StudyPlanStatsListener(statsService);
+        reactiveListener = new ReactiveStudyPlanStatsListener(reactiveMongoTemplate, statsService);
+    }
+
+    @Test
+    void onAfterSave_ShouldAddThePlanToItsOwnersStats() {
+        // Act
+        listener.onAfterSave(new AfterSaveEvent<>(plan(), new Document(), "study_plans"));
+
+        // Assert
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).upsert(any(Query.class), update.capture(), eq(UserStudyStats.class));
+        Document set = update.getValue().getUpdateObject().get("$set", Document.class);
+        assertEquals("Calculus", set.get("plans.plan1.title"));
+        assertEquals(40, set.get("plans.plan1.totalHours"));
+    }
+
+    @Test
+    void onAfterDelete_ShouldOnlyHandleStudyPlansDeletedById() {
+        // Act
+        listener.onAfterDelete(new AfterDeleteEvent<>(new Document("_id", new ObjectId()), StudyPlan.class, "study_plans"));
+        listener.onAfterDelete(new AfterDeleteEvent<>(new Document("userId", "user1"), StudyPlan.class, "study_plans"));
+        listener.onAfterDelete(new AfterDeleteEvent<>(new Document("_id", "user1"), UserStudyStats.class, "user_study_stats"));
+
+        // Assert
+        verify(mongoTemplate, times(1)).updateFirst(any(Query.class), any(Update.class), eq(UserStudyStats.class));
+    }
+
+    @Test
+    void reactiveListener_ShouldUpdateStatsThroughTheReactiveTemplate() {
+        // Arrange
+        when(reactiveMongoTemplate.upsert(any(Query.class), any(Update.class), eq(UserStudyStats.class)))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+        when(reactiveMongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(UserStudyStats.class)))
+                .thenReturn(Mono.error(new IllegalStateException("connection closed")));
+
+        // Act
+        reactiveListener.onAfterSave(new AfterSaveEvent<>(plan(), new Document(), "study_plans"));
+        reactiveListener.onAfterDelete(new AfterDeleteEvent<>(new Document("_id", "plan1"), StudyPlan.class, "study_plans"));
+
+        // Assert
+        verify(reactiveMongoTemplate).upsert(any(Query.class), any(Update.class), eq(UserStudyStats.class));
+        verify(reactiveMongoTemplate).updateFirst(any(Query.class), any(Update.class), eq(UserStudyStats.class));
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    private StudyPlan plan() {
+        StudyPlan plan = new StudyPlan();
+        plan.setId("plan1");
+        plan.setUserId("user1");
+        plan.setTitle("Calculus");
+        plan.setTotalHours(40);
+        return plan;
+    }
+}
@@ -0,0 +1,67 @@
+package com.studywala.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studywala.backend.dto.StudyPlanRequest;
+import com.studywala.backend.dto.StudyPlanResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class StudyPlanStreamServiceTest {
+
+    private final StudyPlanService studyPlanService = mock(StudyPlanService.class);
+
+    private final StudyPlanStreamService streamService =
+            new StudyPlanStreamService(studyPlanService, mock(ThreadPoolTaskExecutor.class));
+
+    @Test
+    void generate_WhenModelReturnsNullField_ShouldStillStreamThePlan() {
+        // Arrange
+        when(studyPlanService.generateStudyPlanStreaming(any(StudyPlanRequest.class), eq("user1"), any()))
+                .thenAnswer(invocation -> {
+                    StreamingPlanParser parser = new StreamingPlanParser(new ObjectMapper().findAndRegisterModules(),
+                            invocation.getArgument(2));
+                    parser.feed("{\"title\":\"Finals\",\"description\":null,\"subjects\":[]}");
+                    parser.finish();
+                    return new StudyPlanResponse();
+                });
+        RecordingEmitter emitter = new RecordingEmitter();
+        PlanEventStream events = new PlanEventStream(emitter, 16, Duration.ofSeconds(1));
+
+        // Act
+        streamService.generate(new StudyPlanRequest(), "user1", events);
+        events.drain();
+
+        // Assert
+        assertEquals(List.of("stage", "field", "stage", "plan"), emitter.names);
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> names = new ArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            for (ResponseBodyEmitter.DataWithMediaType part : builder.build()) {
+                String text = String.valueOf(part.getData());
+                if (text.startsWith("event:")) {
+                    names.add(text.substring("event:".length(), text.indexOf('\n')));
+                }
+            }
+        }
+
+        @Override
+        public void complete() {
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.studywala.backend.service;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.studywala.backend.dto.StudySessionEvent;
+import com.studywala.backend.exception.TooManyRequestsException;
+import com.studywala.backend.model.StudyPlan;
+import com.studywala.backend.model.StudySession;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class StudySessionServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations sessionInserts;
+
+    @Mock
+    private BulkOperations planUpdates;
+
+    @Mock
+    private UserStudyStatsService userStudyStatsService;
+
+    private StudySessionService sessionService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        sessionService = new StudySessionService(mongoTemplate, userStudyStatsService, 3, 100, Duration.ofMinutes(2));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, StudySession.class)).thenReturn(sessionInserts);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, StudyPlan.class)).thenReturn(planUpdates);
+        when(sessionInserts.insert(anyList())).thenReturn(sessionInserts);
+        when(mongoTemplate.find(any(Query.class), eq(StudyPlan.class))).thenReturn(List.of(plan("plan1"), plan("plan2")));
+    }
+
+    @Test
+    void flush_ShouldRollUpSessionsWithOneIncrementPerPlan() {
+        // Arrange
+        List<Integer> recorded = new ArrayList<>();
+        doAnswer(invocation -> recorded.add(invocation.<List<?>>getArgument(1).size()))
+                .when(userStudyStatsService).recordSessions(anyString(), anyList());
+        sessionService.accept(List.of(
+                event("e1", "plan1", "topic1", 25, false),
+                event("e2", "plan1", "topic1", 25, true),
+                event("e3", "plan2", null, 30, false)), "user1");
+
+        // Act
+        sessionService.flush();
+
+        // Assert
+        assertEquals(0, sessionService.getBufferedCount());
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(planUpdates, times(2)).updateOne(queries.capture(), updates.capture());
+        verify(planUpdates).execute();
+        assertEquals("user1", queries.getValue().getQueryObject().get("userId"));
+
+        Document plan1 = updates.getAllValues().get(0).getUpdateObject();
+        assertEquals(50 / 60.0, plan1.get("$inc", Document.class).get("completedHours"));
+        assertEquals(50, plan1.get("$inc", Document.class).get("topics.$[t0].completedMinutes"));
+        assertEquals(true, plan1.get("$set", Document.class).get("topics.$[t0].completed"));
+        assertTrue(plan1.containsKey("$push"));
+        assertEquals(List.of(3), recorded);
+        verify(mongoTemplate).updateMulti(any(Query.class), any(Update.class), eq(StudySession.class));
+    }
+
+    @Test
+    void flush_ShouldSkipSessionsThatWereAlreadyRecorded() {
+        // Arrange
+        sessionService.accept(List.of(
+                event("e1", "plan1", null, 25, false),
+                event("e2", "plan2", null, 25, false)), "user1");
+        BulkWriteError duplicate = new BulkWriteError(11000, "duplicate key", new BsonDocument(), 1);
+        when(sessionInserts.execute()).thenThrow(new BulkOperationException("duplicate",
+                new MongoBulkWriteException(BulkWriteResult.acknowledged(1, 0, 0, 0, List.of(), List.of()),
+                        List.of(duplicate), null, new ServerAddress(), Set.of())));
+
+        // Act
+        sessionService.flush();
+
+        // Assert
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        verify(planUpdates, times(1)).updateOne(queries.capture(), any(Update.class));
+        assertEquals("plan1", queries.getValue().getQueryObject().get("_id"));
+    }
+
+    @Test
+    void flush_ShouldOnlyRollUpSessionsOfPlansTheUserOwns() {
+        // Arrange
+        List<Integer> recorded = new ArrayList<>();
+        doAnswer(invocation -> recorded.add(invocation.<List<?>>getArgument(1).size()))
+                .when(userStudyStatsService).recordSessions(anyString(), anyList());
+        sessionService.accept(List.of(
+                event("e1", "plan1", null, 25, false),
+                event("e2", "made-up", null, 600, false)), "user1");
+        sessionService.accept(List.of(event("e3", "plan2", null, 600, false)), "user2");
+
+        // Act
+        sessionService.flush();
+
+        // Assert
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        verify(planUpdates, times(1)).updateOne(queries.capture(), any(Update.class));
+        assertEquals("plan1", queries.getValue().getQueryObject().get("_id"));
+        assertEquals(List.of(1), recorded);
+        verify(mongoTemplate).updateMulti(any(Query.class), any(Update.class), eq(StudySession.class));
+    }
+
+    @Test
+    void flush_WhenNoSessionHitsAnOwnedPlan_ShouldOnlyMarkThemApplied() {
+        when(mongoTemplate.find(any(Query.class), eq(StudyPlan.class))).thenReturn(List.of());
+        sessionService.accept(List.of(event("e1", "made-up", null, 25, false)), "user1");
+
+        sessionService.flush();
+
+        verifyNoInteractions(planUpdates, userStudyStatsService);
+        verify(mongoTemplate).updateMulti(any(Query.class), any(Update.class), eq(StudySession.class));
+    }
+
+    @Test
+    void flush_WhenMongoFails_ShouldKeepSessionsForTheNextFlush() {
+        sessionService.accept(List.of(event("e1", "plan1", null, 25, false)), "user1");
+        when(sessionInserts.execute()).thenThrow(new DataAccessResourceFailureException("down"));
+
+        sessionService.flush();
+
+        assertEquals(1, sessionService.getBufferedCount());
+        verifyNoInteractions(planUpdates, userStudyStatsService);
+    }
+
+    @Test
+    void accept_WhenBufferCannotHoldTheBatch_ShouldRefuseIt() {
+        sessionService.accept(List.of(event("e1", "plan1", null, 25, false)), "user1");
+
+        assertThrows(TooManyRequestsException.class, () -> sessionService.accept(List.of(
+                event("e2", "plan1", null, 25, false),
+                event("e3", "plan1", null, 25, false),
+                event("e4", "plan1", null, 25, false)), "user1"));
+        assertEquals(1, sessionService.getBufferedCount());
+    }
+
+    @Test
+    void recoverUnapplied_WhenOneFlushFails_ShouldStillApplyTheFlushesBehindIt() {
+        // Arrange
+        when(mongoTemplate.find(any(Query.class), eq(StudySession.class)))
+                .thenReturn(List.of(stored("s1", "flush1"), stored("s2", "flush2")));
+        when(planUpdates.execute()).thenThrow(new DataAccessResourceFailureException("poison")).thenReturn(null);
+
+        // Act
+        sessionService.recoverUnapplied();
+
+        // Assert
+        verify(planUpdates, times(2)).execute();
+        verify(userStudyStatsService, never()).recordSessions(eq("flush1"), anyList());
+        verify(userStudyStatsService).recordSessions(eq("flush2"), anyList());
+        verify(mongoTemplate, times(1)).updateMulti(any(Query.class), any(Update.class), eq(StudySession.class));
+    }
+
+    @Test
+    void recoverUnapplied_WhenPageIsFull_ShouldReplayTheCutOffLastFlushFromTheNextPage() {
+        // Arrange
+        StudySessionService pagedService = new StudySessionService(mongoTemplate, userStudyStatsService, 3, 3, Duration.ofMinutes(2));
+        when(mongoTemplate.find(any(Query.class), eq(StudySession.class))).thenReturn(
+                List.of(stored("s1", "flush1"), stored("s2", "flush1"), stored("s3", "flush2")),
+                List.of(stored("s3", "flush2"), stored("s4", "flush2")));
+        List<Integer> recorded = new ArrayList<>();
+        doAnswer(invocation -> recorded.add(invocation.<List<?>>getArgument(1).size()))
+                .when(userStudyStatsService).recordSessions(anyString(), anyList());
+
+        // Act
+        pagedService.recoverUnapplied();
+
+        // Assert
+        ArgumentCaptor<Query> pages = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).find(pages.capture(), eq(StudySession.class));
+        assertNull(pages.getAllValues().get(0).getQueryObject().get("flushId"));
+        assertEquals(new Document("$gt", "flush1"), pages.getAllValues().get(1).getQueryObject().get("flushId"));
+        assertEquals(List.of(2, 2), recorded);
+    }
+
+    @Test
+    void recoverUnapplied_WhenFlushWasAlreadyApplied_ShouldReplayItUnderItsOwnFlushId() {
+        // Arrange
+        when(mongoTemplate.find(any(Query.class), eq(StudySession.class)))
+                .thenReturn(List.of(stored("s1", "flush1")));
+
+        // Act
+        sessionService.recoverUnapplied();
+
+        // Assert
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        verify(planUpdates).updateOne(queries.capture(), any(Update.class));
+        assertEquals(new Document("$ne", "flush1"), queries.getValue().getQueryObject().get("appliedFlushIds"));
+        verify(userStudyStatsService).recordSessions(eq("flush1"), anyList());
+        verify(mongoTemplate).updateMulti(any(Query.class), any(Update.class), eq(StudySession.class));
+    }
+
+    private StudySession stored(String id, String flushId) {
+        StudySession session = new StudySession();
+        session.setId(id);
+        session.setUserId("user1");
+        session.setPlanId("plan1");
+        session.setMinutes(25);
+        session.setFlushId(flushId);
+        return session;
+    }
+
+    private StudyPlan plan(String id) {
+        StudyPlan plan = new StudyPlan();
+        plan.setId(id);
+        plan.setUserId("user1");
+        return plan;
+    }
+
+    private StudySessionEvent event(String eventId, String planId, String topicId, int minutes, boolean completed) {
+        StudySessionEvent event = new StudySessionEvent();
+        event.setEventId(eventId);
+        event.setPlanId(planId);
+        event.setTopicId(topicId);
+        event.setMinutes(minutes);
+        event.setTopicCompleted(completed);
+        return event;
+    }
+}
@@ -0,0 +1,220 @@
+package com.studywala.backend.service;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.UpdateResult;
+import com.studywala.backend.dto.DashboardResponse;
+import com.studywala.backend.model.StudySession;
+import com.studywala.backend.model.Topic;
+import com.studywala.backend.model.UserStudyStats;
+import com.studywala.backend.repository.TopicRepository;
+import com.studywala.backend.repository.UserStudyStatsRepository;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class UserStudyStatsServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 17);
+    private static final Instant NOW = TODAY.atTime(12, 0).toInstant(ZoneOffset.UTC);
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private UserStudyStatsRepository statsRepository;
+
+    @Mock
+    private TopicRepository topicRepository;
+
+    @Mock
+    private BulkOperations statsUpserts;
+
+    private UserStudyStatsService statsService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        statsService = new UserStudyStatsService(mongoTemplate, statsRepository, topicRepository, 90, 52,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UserStudyStats.class)).thenReturn(statsUpserts);
+        when(statsUpserts.upsert(any(Query.class), any(Update.class))).thenReturn(statsUpserts);
+    }
+
+    @Test
+    void recordSessions_ShouldIncrementTheBucketMatchingTheAgeOfEachSession() {
+        // Arrange
+        Topic topic = new Topic();
+        topic.setId("topic1");
+        topic.setSubjectId("subject1");
+        when(topicRepository.findAllById(anyIterable())).thenReturn(List.of(topic));
+
+        // Act
+        statsService.recordSessions("flush1", List.of(
+                session("user1", "plan1", "topic1", 25, TODAY.minusDays(10)),
+                session("user1", "plan1", "topic1", 20, LocalDate.of(2026, 3, 4)),
+                session("user1", "plan2", null, 30, LocalDate.of(2024, 5, 10))));
+
+        // Assert
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(statsUpserts).upsert(query.capture(), update.capture());
+        verify(statsUpserts).execute();
+        assertEquals("user1", query.getValue().getQueryObject().get("_id"));
+
+        Document inc = update.getValue().getUpdateObject().get("$inc", Document.class);
+        assertEquals(75L, inc.get("totalMinutes"));
+        assertEquals(3, inc.get("sessionCount"));
+        assertEquals(45L, inc.get("subjectMinutes.subject1"));
+        assertEquals(45L, inc.get("plans.plan1.completedMinutes"));
+        assertEquals(30L, inc.get("plans.plan2.completedMinutes"));
+        assertEquals(25L, inc.get("dailyMinutes.2026-10-07"));
+        assertEquals(20L, inc.get("weeklyMinutes.2026-03-02"));
+        assertEquals(30L, inc.get("monthlyMinutes.2024-05"));
+
+        Document min = update.getValue().getUpdateObject().get("$min", Document.class);
+        assertEquals("2026-10-07", min.get("oldestDay"));
+        assertEquals("2026-03-02", min.get("oldestWeek"));
+    }
+
+    @Test
+    void recordSessions_WhenTheFlushWasAlreadyCounted_ShouldIgnoreTheCollision() {
+        BulkWriteError duplicate = new BulkWriteError(11000, "duplicate key", new BsonDocument(), 0);
+        when(statsUpserts.execute()).thenThrow(new BulkOperationException("duplicate",
+                new MongoBulkWriteException(BulkWriteResult.acknowledged(0, 0, 0, 0, List.of(), List.of()),
+                        List.of(duplicate), null, new ServerAddress(), Set.of())));
+
+        assertDoesNotThrow(() -> statsService.recordSessions("flush1",
+                List.of(session("user1", "plan1", null, 25, TODAY))));
+    }
+
+    @Test
+    void compaction_ShouldFoldOldDaysIntoWeeksAndOldWeeksIntoMonths() {
+        // Arrange
+        UserStudyStats stats = new UserStudyStats();
+        stats.setDailyMinutes(new HashMap<>(Map.of("2026-07-17", 30L, "2026-07-18", 20L, "2026-10-16", 40L)));
+        stats.setWeeklyMinutes(new HashMap<>(Map.of("2025-10-06", 100L, "2025-11-03", 50L)));
+        stats.setCarriedStreakDays(3);
+        stats.setCarriedStreakEnd("2026-07-16");
+
+        // Act
+        Document update = statsService.compaction(stats, TODAY).getUpdateObject();
+
+        // Assert
+        Document unset = update.get("$unset", Document.class);
+        assertEquals(Set.of("dailyMinutes.2026-07-17", "dailyMinutes.2026-07-18", "weeklyMinutes.2025-10-06"),
+                unset.keySet());
+        assertEquals(Map.of("weeklyMinutes.2026-07-13", 50L, "monthlyMinutes.2025-10", 100L),
+                update.get("$inc", Document.class));
+        Document set = update.get("$set", Document.class);
+        assertEquals("2026-10-16", set.get("oldestDay"));
+        assertEquals("2025-11-03", set.get("oldestWeek"));
+        assertEquals(5, set.get("carriedStreakDays"));
+        assertEquals("2026-07-18", set.get("carriedStreakEnd"));
+        assertEquals(5, update.get("$max", Document.class).get("longestStreakDays"));
+    }
+
+    @Test
+    void compact_WhenNothingIsDueOrTheDocumentChanged_ShouldNotOverwriteIt() {
+        UserStudyStats recent = new UserStudyStats();
+        recent.setDailyMinutes(Map.of("2026-10-16", 40L));
+        assertNull(statsService.compaction(recent, TODAY));
+
+        UserStudyStats changed = new UserStudyStats();
+        changed.setId("user1");
+        changed.setDailyMinutes(Map.of("2026-01-01", 40L));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(UserStudyStats.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        assertFalse(statsService.compact(changed, TODAY));
+    }
+
+    @Test
+    void getDashboard_ShouldBuildStreaksProgressAndHistoryFromOneDocument() {
+        // Arrange
+        UserStudyStats stats = new UserStudyStats();
+        stats.setId("user1");
+        stats.setTotalMinutes(600);
+        stats.setSessionCount(12);
+        stats.setSubjectMinutes(Map.of("subject1", 120L, "subject2", 480L));
+        stats.setPlans(Map.of(
+                "plan1", plan("Algebra", 4, 300),
+                "plan2", plan(null, 0, 60)));
+        stats.setDailyMinutes(Map.of("2026-07-19", 30L, "2026-07-20", 30L, "2026-10-16", 40L));
+        stats.setWeeklyMinutes(Map.of("2026-07-13", 50L));
+        stats.setMonthlyMinutes(Map.of("2025-10", 100L));
+        stats.setLongestStreakDays(4);
+        stats.setCarriedStreakDays(5);
+        stats.setCarriedStreakEnd("2026-07-18");
+        when(statsRepository.findById("user1")).thenReturn(Optional.of(stats));
+
+        // Act
+        DashboardResponse dashboard = statsService.getDashboard("user1");
+
+        // Assert
+        assertEquals(10.0, dashboard.getTotalHours());
+        assertEquals(1, dashboard.getCurrentStreakDays());
+        assertEquals(7, dashboard.getLongestStreakDays());
+        assertEquals("subject2", dashboard.getSubjects().get(0).getSubjectId());
+        assertEquals(1, dashboard.getPlans().size());
+        assertEquals(100.0, dashboard.getPlans().get(0).getCompletionPercent());
+        assertEquals(List.of("DAY", "DAY", "DAY", "WEEK", "MONTH"),
+                dashboard.getHistory().stream().map(DashboardResponse.HistoryBucket::getPeriod).toList());
+        assertEquals(LocalDate.of(2026, 10, 16), dashboard.getHistory().get(0).getStart());
+    }
+
+    @Test
+    void currentStreak_ShouldContinueACarriedStreakAndAllowTodayToBeEmpty() {
+        Set<LocalDate> active = Set.of(TODAY.minusDays(1), TODAY.minusDays(2));
+
+        assertEquals(2, UserStudyStatsService.currentStreak(active, TODAY, 0, null));
+        assertEquals(12, UserStudyStatsService.currentStreak(active, TODAY, 10, TODAY.minusDays(3)));
+        assertEquals(0, UserStudyStatsService.currentStreak(Set.of(TODAY.minusDays(2)), TODAY, 10, TODAY.minusDays(3)));
+    }
+
+    private static StudySession session(String userId, String planId, String topicId, int minutes, LocalDate day) {
+        StudySession session = new StudySession();
+        session.setUserId(userId);
+        session.setPlanId(planId);
+        session.setTopicId(topicId);
+        session.setMinutes(minutes);
+        session.setEndedAt(day.atTime(18, 0).toInstant(ZoneOffset.UTC));
+        session.setReceivedAt(NOW);
+        return session;
+    }
+
+    private static UserStudyStats.PlanProgress plan(String title, int totalHours, long completedMinutes) {
+        UserStudyStats.PlanProgress progress = new UserStudyStats.PlanProgress();
+        progress.setTitle(title);
+        progress.setTotalHours(totalHours);
+        progress.setCompletedMinutes(completedMinutes);
+        return progress;
+    }
+}
@@ -0,0 +1,173 @@
+package com.studywala.backend.service;
+
+import com.studywala.backend.model.AIResponseCacheEntry;
+import com.studywala.backend.model.User;
+import com.studywala.backend.repository.AIResponseCacheRepository;
+import com.studywala.backend.repository.UserRepository;
+import com.studywala.backend.security.CaffeineUserPrincipalCache;
+import com.studywala.backend.security.CustomUserDetailsService;
+import io.micrometer.observation.ObservationRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the hot paths on virtual threads with blocking I/O simulated by sleeps and fails if JFR
+ * reports a {@code jdk.VirtualThreadPinned} event from our code, e.g. a repository or AI call made
+ * while holding a monitor or inside a cache compute.
+ */
+class VirtualThreadPinningTest {
+
+    private static final int CONCURRENCY = 16;
+
+    @Test
+    void guard_WhenBlockingInsideMonitor_ShouldReportPinning() throws Exception {
+        Object lock = new Object();
+
+        List<RecordedEvent> pinned = pinnedEvents(() -> {
+            synchronized (lock) {
+                sleep();
+            }
+        });
+
+        assertFalse(pinned.isEmpty());
+    }
+
+    @Test
+    void planEventStream_UnderBackPressure_ShouldNotPin() throws Exception {
+        PlanEventStream stream = new PlanEventStream(new SlowEmitter(), 1, Duration.ofSeconds(5));
+
+        List<RecordedEvent> pinned = pinnedEvents(stream::drain, () -> {
+            for (int i = 0; i < 20; i++) {
+                stream.publish("stage", i);
+            }
+            stream.finish();
+        });
+
+        assertNoPinning(pinned);
+    }
+
+    @Test
+    void aiResponseCache_WithBlockingGeneratorAndStore_ShouldNotPin() throws Exception {
+        AIResponseCacheRepository repository = mock(AIResponseCacheRepository.class);
+        when(repository.findById(anyString())).thenAnswer(blocking(Optional.empty()));
+        when(repository.save(any(AIResponseCacheEntry.class))).thenAnswer(invocation -> {
+            sleep();
+            return invocation.getArgument(0);
+        });
+        AIResponseCache cache = new AIResponseCache(repository, true, 100, Duration.ofMinutes(5), true);
+
+        List<RecordedEvent> pinned = pinnedEvents(() -> cache.getOrGenerate("Plan for finals", prompt -> {
+            sleep();
+            return "{}";
+        }));
+
+        assertNoPinning(pinned);
+    }
+
+    @Test
+    void userDetailsService_WithBlockingRepository_ShouldNotPin() throws Exception {
+        UserRepository repository = mock(UserRepository.class);
+        User user = new User("testuser", "test@example.com", "hash");
+        user.setId("user1");
+        when(repository.findByUsernameOrEmail(anyString(), anyString())).thenAnswer(blocking(Optional.of(user)));
+        CustomUserDetailsService service =
+                new CustomUserDetailsService(repository, new CaffeineUserPrincipalCache(100, Duration.ofMinutes(5)),
+                        ObservationRegistry.NOOP);
+
+        List<RecordedEvent> pinned = pinnedEvents(() -> service.loadUserByUsername("testuser"));
+
+        assertNoPinning(pinned);
+    }
+
+    /** Runs every task {@link #CONCURRENCY} times on virtual threads and returns the pinning events. */
+    private static List<RecordedEvent> pinnedEvents(Runnable... tasks) throws Exception {
+        Path file = Files.createTempFile("pinning", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+            List<Future<?>> futures = new ArrayList<>();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (Runnable task : tasks) {
+                    int copies = tasks.length == 1 ? CONCURRENCY : 1;
+                    for (int i = 0; i < copies; i++) {
+                        futures.add(executor.submit(task));
+                    }
+                }
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    // Frames of this test (the simulated I/O) are in every trace, so only application frames count.
+    private static void assertNoPinning(List<RecordedEvent> events) {
+        List<String> ours = events.stream()
+                .filter(event -> event.getStackTrace() != null)
+                .filter(event -> event.getStackTrace().getFrames().stream()
+                        .map(frame -> frame.getMethod().getType().getName())
+                        .anyMatch(type -> type.startsWith("com.studywala.backend.")
+                                && !type.startsWith(VirtualThreadPinningTest.class.getName())))
+                .map(event -> event.getStackTrace().getFrames().stream()
+                        .map(RecordedFrame::getMethod)
+                        .map(method -> method.getType().getName() + "." + method.getName())
+                        .collect(Collectors.joining(" <- ")))
+                .toList();
+        assertTrue(ours.isEmpty(), () -> "Virtual threads pinned in:\n" + String.join("\n", ours));
+    }
+
+    private static <T> Answer<T> blocking(T result) {
+        return invocation -> {
+            sleep();
+            return result;
+        };
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(5);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class SlowEmitter extends SseEmitter {
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sleep();
+        }
+
+        @Override
+        public void complete() {
+        }
+    }
+}
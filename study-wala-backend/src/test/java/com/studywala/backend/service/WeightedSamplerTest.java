@@ -0,0 +1,45 @@
+package com.studywala.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeightedSamplerTest {
+
+    @Test
+    void sample_ShouldReturnDistinctItemsUpToK() {
+        List<Integer> items = List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+
+        List<Integer> picked = WeightedSampler.sample(items, item -> 1.0, 4, new Random(1));
+
+        assertEquals(4, picked.size());
+        assertEquals(4, new HashSet<>(picked).size());
+        assertEquals(3, WeightedSampler.sample(List.of(1, 2, 3), item -> 1.0, 10, new Random(1)).size());
+    }
+
+    @Test
+    void sample_ShouldFavourHeavierItemsAndSkipZeroWeights() {
+        // Arrange
+        List<String> items = List.of("heavy", "light", "never");
+        Map<String, Double> weights = Map.of("heavy", 9.0, "light", 1.0, "never", 0.0);
+        Random random = new Random(42);
+        Map<String, Integer> firstPicks = new HashMap<>();
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            List<String> picked = WeightedSampler.sample(items, weights::get, 1, random);
+            firstPicks.merge(picked.get(0), 1, Integer::sum);
+        }
+
+        // Assert
+        assertFalse(firstPicks.containsKey("never"));
+        double heavyShare = firstPicks.get("heavy") / 10_000.0;
+        assertEquals(0.9, heavyShare, 0.02);
+    }
+}